@@ -0,0 +1,35 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.clustering.ejb;
+
+import java.util.function.Function;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.as.controller.transform.description.TransformationDescriptionBuilder;
+
+/**
+ * Transformer for the distributable-ejb subsystem resource.
+ */
+public class DistributableEjbResourceTransformer implements Function<ModelVersion, TransformationDescriptionBuilder> {
+
+    @Override
+    public ResourceTransformationDescriptionBuilder apply(ModelVersion version) {
+        ResourceTransformationDescriptionBuilder builder = TransformationDescriptionBuilder.Factory.createSubsystemInstance();
+
+        if (DistributableEjbSubsystemModel.VERSION_2_0_0.requiresTransformation(version)) {
+            String[] attributes = new String[] { InfinispanTimerManagementResourceDefinition.TimeoutAttribute.TIMEOUT_THREADS.getName(), InfinispanTimerManagementResourceDefinition.TimeoutAttribute.VIRTUAL_THREADS.getName() };
+            builder.addChildResource(InfinispanTimerManagementResourceDefinition.WILDCARD_PATH).getAttributeBuilder()
+                    .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, attributes)
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, attributes)
+                    .end();
+        }
+
+        return builder;
+    }
+}
@@ -10,6 +10,7 @@ import java.util.function.Function;
 import java.util.stream.Stream;
 
 import org.jboss.as.clustering.controller.Attribute;
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.PersistentResourceXMLDescription;
 
 /**
@@ -26,7 +27,12 @@ public enum DistributableEjbXMLDescriptionFactory implements Function<Distributa
                 .addChild(builder(InfinispanBeanManagementResourceDefinition.WILDCARD_PATH).addAttributes(Stream.concat(Attribute.stream(BeanManagementResourceDefinition.Attribute.class), Attribute.stream(InfinispanBeanManagementResourceDefinition.Attribute.class))))
                 .addChild(builder(LocalClientMappingsRegistryProviderResourceDefinition.PATH).setXmlElementName("local-client-mappings-registry"))
                 .addChild(builder(InfinispanClientMappingsRegistryProviderResourceDefinition.PATH).addAttributes(Attribute.stream(InfinispanClientMappingsRegistryProviderResourceDefinition.Attribute.class)).setXmlElementName("infinispan-client-mappings-registry"))
-                .addChild(builder(InfinispanTimerManagementResourceDefinition.WILDCARD_PATH).addAttributes(Attribute.stream(InfinispanTimerManagementResourceDefinition.Attribute.class)).setXmlElementName("infinispan-timer-management"))
+                .addChild(builder(InfinispanTimerManagementResourceDefinition.WILDCARD_PATH).addAttributes(this.getInfinispanTimerManagementAttributes(schema)).setXmlElementName("infinispan-timer-management"))
                 .build();
     }
+
+    private Stream<AttributeDefinition> getInfinispanTimerManagementAttributes(DistributableEjbSubsystemSchema schema) {
+        Stream<AttributeDefinition> attributes = Attribute.stream(InfinispanTimerManagementResourceDefinition.Attribute.class);
+        return schema.getNamespace().since(DistributableEjbSubsystemSchema.VERSION_2_0) ? Stream.concat(attributes, Attribute.stream(InfinispanTimerManagementResourceDefinition.TimeoutAttribute.class)) : attributes;
+    }
 }
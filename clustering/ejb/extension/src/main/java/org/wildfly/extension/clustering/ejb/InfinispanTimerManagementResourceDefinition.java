@@ -101,6 +101,37 @@ public class InfinispanTimerManagementResourceDefinition extends ChildResourceDe
         }
     }
 
+    enum TimeoutAttribute implements org.jboss.as.clustering.controller.Attribute, UnaryOperator<SimpleAttributeDefinitionBuilder> {
+        TIMEOUT_THREADS("timeout-threads", ModelType.INT, new ModelNode(1)) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setValidator(new IntRangeValidatorBuilder().min(1).configure(builder).build());
+            }
+        },
+        VIRTUAL_THREADS("virtual-threads", ModelType.BOOLEAN, ModelNode.FALSE),
+        ;
+        private final AttributeDefinition definition;
+
+        TimeoutAttribute(String name, ModelType type, ModelNode defaultValue) {
+            this.definition = this.apply(new SimpleAttributeDefinitionBuilder(name, type)
+                    .setAllowExpression(true)
+                    .setRequired(false)
+                    .setDefaultValue(defaultValue)
+                    .setFlags(Flag.RESTART_RESOURCE_SERVICES)
+                ).build();
+        }
+
+        @Override
+        public AttributeDefinition getDefinition() {
+            return this.definition;
+        }
+
+        @Override
+        public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+            return builder;
+        }
+    }
+
     private final ResourceModelResolver<BinaryServiceConfiguration> resolver = BinaryServiceConfiguration.resolver(Attribute.CACHE_CONTAINER.getDefinition(), Attribute.CACHE.getDefinition());
 
     InfinispanTimerManagementResourceDefinition() {
@@ -114,6 +145,7 @@ public class InfinispanTimerManagementResourceDefinition extends ChildResourceDe
         // create the resolver for the infinispan-bean-management resource
         ResourceDescriptor descriptor = new ResourceDescriptor(this.getResourceDescriptionResolver())
                 .addAttributes(Attribute.class)
+                .addAttributes(TimeoutAttribute.class)
                 .addCapabilities(List.of(CAPABILITY))
                 ;
         // create the service handler for the infinispan-brean-management resource
@@ -128,6 +160,8 @@ public class InfinispanTimerManagementResourceDefinition extends ChildResourceDe
     public ResourceServiceInstaller configure(OperationContext context, ModelNode model) throws OperationFailedException {
         OptionalInt maxActiveTimers = Optional.ofNullable(Attribute.MAX_ACTIVE_TIMERS.getDefinition().resolveModelAttribute(context, model).asIntOrNull()).map(OptionalInt::of).orElse(OptionalInt.empty());
         Function<Module, ByteBufferMarshaller> marshallerFactory = TimerContextMarshallerFactory.valueOf(Attribute.MARSHALLER.resolveModelAttribute(context, model).asString());
+        int timeoutThreads = TimeoutAttribute.TIMEOUT_THREADS.resolveModelAttribute(context, model).asInt();
+        boolean virtualThreads = TimeoutAttribute.VIRTUAL_THREADS.resolveModelAttribute(context, model).asBoolean();
         TimerManagementConfiguration config = new TimerManagementConfiguration() {
             @Override
             public Function<Module, ByteBufferMarshaller> getMarshallerFactory() {
@@ -138,6 +172,16 @@ public class InfinispanTimerManagementResourceDefinition extends ChildResourceDe
             public OptionalInt getMaxActiveTimers() {
                 return maxActiveTimers;
             }
+
+            @Override
+            public int getTimeoutThreads() {
+                return timeoutThreads;
+            }
+
+            @Override
+            public boolean isVirtualThreads() {
+                return virtualThreads;
+            }
         };
         return CapabilityServiceInstaller.builder(CAPABILITY, new InfinispanTimerManagementProvider(config, this.resolver.resolve(context, model))).build();
     }
@@ -36,8 +36,11 @@ public class DistributableEjbSubsystemTestCase extends AbstractSubsystemSchemaTe
         return EnumSet.allOf(DistributableEjbSubsystemSchema.class);
     }
 
+    private final DistributableEjbSubsystemSchema schema;
+
     public DistributableEjbSubsystemTestCase(DistributableEjbSubsystemSchema schema) {
         super(DistributableEjbExtension.SUBSYSTEM_NAME, new DistributableEjbExtension(), schema, DistributableEjbSubsystemSchema.CURRENT);
+        this.schema = schema;
     }
 
     /**
@@ -135,5 +138,9 @@ public class DistributableEjbSubsystemTestCase extends AbstractSubsystemSchemaTe
 
         ModelNode transientTimerManagement = subsystem.get(InfinispanTimerManagementResourceDefinition.pathElement("transient").getKeyValuePair());
         assertEquals(1000, transientTimerManagement.get(InfinispanTimerManagementResourceDefinition.Attribute.MAX_ACTIVE_TIMERS.getName()).resolve().asInt());
+
+        if (this.schema.since(DistributableEjbSubsystemSchema.VERSION_2_0)) {
+            assertEquals(4, persistentTimerManagement.get(InfinispanTimerManagementResourceDefinition.TimeoutAttribute.TIMEOUT_THREADS.getName()).resolve().asInt());
+        }
     }
 }
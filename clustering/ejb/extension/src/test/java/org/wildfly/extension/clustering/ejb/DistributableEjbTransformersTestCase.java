@@ -10,6 +10,7 @@ import java.util.List;
 
 import org.jboss.as.clustering.subsystem.AdditionalInitialization;
 import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.model.test.FailedOperationTransformationConfig;
 import org.jboss.as.model.test.ModelTestControllerVersion;
 import org.jboss.as.model.test.ModelTestUtils;
@@ -122,7 +123,14 @@ public class DistributableEjbTransformersTestCase extends AbstractSubsystemTest
     }
 
     private static FailedOperationTransformationConfig createFailedOperationConfig(ModelVersion version) {
-        return new FailedOperationTransformationConfig();
+        FailedOperationTransformationConfig config = new FailedOperationTransformationConfig();
+        PathAddress subsystemAddress = PathAddress.pathAddress(DistributableEjbResourceDefinition.PATH);
+
+        if (DistributableEjbSubsystemModel.VERSION_2_0_0.requiresTransformation(version)) {
+            config.addFailedAttribute(subsystemAddress.append(InfinispanTimerManagementResourceDefinition.pathElement("distributed")), new FailedOperationTransformationConfig.NewAttributesConfig(InfinispanTimerManagementResourceDefinition.TimeoutAttribute.TIMEOUT_THREADS.getName(), InfinispanTimerManagementResourceDefinition.TimeoutAttribute.VIRTUAL_THREADS.getName()));
+        }
+
+        return config;
     }
 
     private KernelServicesBuilder createKernelServicesBuilder() {
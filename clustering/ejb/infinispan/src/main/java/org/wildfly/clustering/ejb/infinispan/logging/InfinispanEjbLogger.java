@@ -64,4 +64,8 @@ public interface InfinispanEjbLogger extends BasicLogger {
     @LogMessage(level = WARN)
     @Message(id = 10, value = "Disabling expiration for '%s'. SFSB expiration should be configured per \u00A74.3.11 of the Jakarta Enterprise Beans specification.")
     void expirationDisabled(String cacheName);
+
+    @LogMessage(level = WARN)
+    @Message(id = 11, value = "Virtual threads are not supported by this JVM. Timeouts will be dispatched via platform threads instead.")
+    void virtualThreadsNotSupported();
 }
@@ -7,6 +7,7 @@ package org.wildfly.clustering.ejb.infinispan.timer;
 
 import java.util.List;
 import java.util.OptionalInt;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -96,6 +97,12 @@ public class InfinispanTimerManagementProvider implements TimerManagementProvide
             public CacheContainerCommandDispatcherFactory getCommandDispatcherFactory() {
                 return commandDispatcherFactory.get();
             }
+
+            @Override
+            public Supplier<ExecutorService> getTimeoutExecutorFactory() {
+                TimerManagementConfiguration config = InfinispanTimerManagementProvider.this.configuration;
+                return new TimeoutExecutorFactory(config.getTimeoutThreads(), config.isVirtualThreads());
+            }
         };
         ServiceInstaller factoryInstaller = ServiceInstaller.builder(Functions.constantSupplier(new InfinispanTimerManagerFactory<>(factoryConfiguration)))
                 .provides(name)
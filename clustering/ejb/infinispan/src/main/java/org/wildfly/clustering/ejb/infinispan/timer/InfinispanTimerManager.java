@@ -9,6 +9,7 @@ import java.io.IOException;
 import java.lang.reflect.Method;
 import java.time.Duration;
 import java.util.AbstractMap;
+import java.util.concurrent.ExecutorService;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -32,6 +33,7 @@ import org.wildfly.clustering.ejb.cache.timer.TimerMetaDataFactory;
 import org.wildfly.clustering.ejb.timer.ImmutableTimerMetaData;
 import org.wildfly.clustering.ejb.timer.IntervalTimerConfiguration;
 import org.wildfly.clustering.ejb.timer.ScheduleTimerConfiguration;
+import org.wildfly.clustering.ejb.timer.TimeoutStatistics;
 import org.wildfly.clustering.ejb.timer.Timer;
 import org.wildfly.clustering.ejb.timer.TimerManager;
 import org.wildfly.clustering.ejb.timer.TimerRegistry;
@@ -66,8 +68,9 @@ public class InfinispanTimerManager<I, C> implements TimerManager<I> {
     private final Supplier<Batch> batchFactory;
     private final CacheContainerCommandDispatcherFactory dispatcherFactory;
     private final TimerRegistry<I> registry;
+    private final Supplier<ExecutorService> timeoutExecutorFactory;
 
-    private volatile Scheduler<I, ImmutableTimerMetaData> scheduledTimers;
+    private volatile TimerScheduler<I, RemappableTimerMetaDataEntry<C>> scheduledTimers;
     private volatile Scheduler<I, ImmutableTimerMetaData> scheduler;
     private volatile ListenerRegistration schedulerListenerRegistration;
 
@@ -80,13 +83,14 @@ public class InfinispanTimerManager<I, C> implements TimerManager<I> {
         this.dispatcherFactory = config.getCommandDispatcherFactory();
         this.factory = config.getTimerFactory();
         this.registry = config.getRegistry();
+        this.timeoutExecutorFactory = config.getTimeoutExecutorFactory();
     }
 
     @Override
     public void start() {
         Supplier<Locality> locality = () -> Locality.forCurrentConsistentHash(this.cache);
 
-        TimerScheduler<I, RemappableTimerMetaDataEntry<C>> localScheduler = new TimerScheduler<>(this.factory, this, locality, Duration.ofMillis(this.cache.getCacheConfiguration().transaction().cacheStopTimeout()), this.registry);
+        TimerScheduler<I, RemappableTimerMetaDataEntry<C>> localScheduler = new TimerScheduler<>(this.factory, this, locality, Duration.ofMillis(this.cache.getCacheConfiguration().transaction().cacheStopTimeout()), this.registry, this.timeoutExecutorFactory.get());
         this.scheduledTimers = localScheduler;
 
         CacheContainerGroup group = this.dispatcherFactory.getGroup();
@@ -214,6 +218,12 @@ public class InfinispanTimerManager<I, C> implements TimerManager<I> {
         return this.batchFactory;
     }
 
+    @Override
+    public TimeoutStatistics getTimeoutStatistics() {
+        TimerScheduler<I, RemappableTimerMetaDataEntry<C>> scheduler = this.scheduledTimers;
+        return (scheduler != null) ? scheduler.getTimeoutStatistics() : null;
+    }
+
     @Override
     public String toString() {
         return this.cache.getName();
@@ -5,6 +5,7 @@
 
 package org.wildfly.clustering.ejb.infinispan.timer;
 
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 
 import org.wildfly.clustering.cache.infinispan.embedded.EmbeddedCacheConfiguration;
@@ -24,4 +25,5 @@ public interface InfinispanTimerManagerConfiguration<I, C> extends EmbeddedCache
     Marshaller<Object, C> getMarshaller();
     Supplier<I> getIdentifierFactory();
     CacheContainerCommandDispatcherFactory getCommandDispatcherFactory();
+    Supplier<ExecutorService> getTimeoutExecutorFactory();
 }
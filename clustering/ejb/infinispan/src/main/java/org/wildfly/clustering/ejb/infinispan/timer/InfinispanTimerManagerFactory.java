@@ -5,6 +5,7 @@
 
 package org.wildfly.clustering.ejb.infinispan.timer;
 
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 
 import org.infinispan.Cache;
@@ -99,6 +100,11 @@ public class InfinispanTimerManagerFactory<I> implements TimerManagerFactory<I>
             public CacheContainerCommandDispatcherFactory getCommandDispatcherFactory() {
                 return factoryConfiguration.getCommandDispatcherFactory();
             }
+
+            @Override
+            public Supplier<ExecutorService> getTimeoutExecutorFactory() {
+                return factoryConfiguration.getTimeoutExecutorFactory();
+            }
         });
     }
 }
@@ -5,6 +5,9 @@
 
 package org.wildfly.clustering.ejb.infinispan.timer;
 
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
 import org.wildfly.clustering.cache.infinispan.embedded.EmbeddedCacheConfiguration;
 import org.wildfly.clustering.ejb.timer.TimerManagerFactoryConfiguration;
 import org.wildfly.clustering.marshalling.ByteBufferMarshaller;
@@ -17,4 +20,5 @@ public interface InfinispanTimerManagerFactoryConfiguration<I> extends TimerMana
 
     ByteBufferMarshaller getMarshaller();
     CacheContainerCommandDispatcherFactory getCommandDispatcherFactory();
+    Supplier<ExecutorService> getTimeoutExecutorFactory();
 }
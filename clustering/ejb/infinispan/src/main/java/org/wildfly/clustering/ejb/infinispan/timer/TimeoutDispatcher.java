@@ -0,0 +1,120 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.ejb.infinispan.timer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.wildfly.clustering.ejb.infinispan.logging.InfinispanEjbLogger;
+import org.wildfly.clustering.ejb.timer.TimeoutStatistics;
+
+/**
+ * Dispatches timeouts to an executor, such that the timeouts of distinct timers may run concurrently, while the timeouts of a given timer never overlap.
+ * A timeout dispatched for a timer whose previous timeout is still in progress is deferred until the previous timeout completes.
+ * @param <I> the timer identifier type
+ */
+class TimeoutDispatcher<I> implements TimeoutStatistics, AutoCloseable {
+
+    private final ExecutorService executor;
+    private final Duration closeTimeout;
+    // Timers with a timeout in progress, mapped to whether another timeout was dispatched in the meantime
+    private final Map<I, Boolean> dispatched = new ConcurrentHashMap<>();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder totalLag = new LongAdder();
+    private final LongAccumulator maxLag = new LongAccumulator(Math::max, 0L);
+
+    TimeoutDispatcher(ExecutorService executor, Duration closeTimeout) {
+        this.executor = executor;
+        this.closeTimeout = closeTimeout;
+    }
+
+    /**
+     * Dispatches the timeout task of the specified timer.
+     * @param id a timer identifier
+     * @param task a timeout task, returning true if the timer should no longer be scheduled
+     * @param rescheduler invoked with the timer identifier following the completion of its timeout, if the timer should be rescheduled
+     */
+    void dispatch(I id, Callable<Boolean> task, Consumer<I> rescheduler) {
+        if (this.dispatched.compute(id, (key, pending) -> (pending == null) ? Boolean.FALSE : Boolean.TRUE)) {
+            InfinispanEjbLogger.ROOT_LOGGER.debugf("Deferring timeout of timer %s until its previous timeout completes", id);
+            return;
+        }
+        try {
+            this.executor.execute(() -> this.run(id, task, rescheduler));
+        } catch (RejectedExecutionException e) {
+            // Scheduler was shutdown
+            this.dispatched.remove(id);
+        }
+    }
+
+    private void run(I id, Callable<Boolean> task, Consumer<I> rescheduler) {
+        boolean reschedule = true;
+        try {
+            reschedule = !task.call();
+        } catch (Exception e) {
+            InfinispanEjbLogger.ROOT_LOGGER.info(e.getLocalizedMessage(), e);
+        } finally {
+            // Timeout may have been dispatched again while in progress
+            boolean pending = this.dispatched.remove(id);
+            if ((reschedule || pending) && !this.executor.isShutdown()) {
+                rescheduler.accept(id);
+            }
+        }
+    }
+
+    /**
+     * Records the lag between the scheduled time of a timeout and its actual processing.
+     * @param lag a scheduling lag
+     */
+    void recordLag(Duration lag) {
+        long millis = Math.max(0L, lag.toMillis());
+        this.timeouts.increment();
+        this.totalLag.add(millis);
+        this.maxLag.accumulate(millis);
+    }
+
+    @Override
+    public long getTimeoutCount() {
+        return this.timeouts.sum();
+    }
+
+    @Override
+    public int getActiveTimeoutCount() {
+        return this.dispatched.size();
+    }
+
+    @Override
+    public Duration getMeanTimeoutLag() {
+        long timeouts = this.timeouts.sum();
+        return (timeouts > 0) ? Duration.ofMillis(this.totalLag.sum() / timeouts) : Duration.ZERO;
+    }
+
+    @Override
+    public Duration getMaxTimeoutLag() {
+        return Duration.ofMillis(this.maxLag.get());
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdown();
+        try {
+            if (!this.executor.awaitTermination(this.closeTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                this.executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.ejb.infinispan.timer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.wildfly.clustering.context.DefaultThreadFactory;
+import org.wildfly.clustering.ejb.infinispan.logging.InfinispanEjbLogger;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Creates the executor to which a {@link TimerScheduler} dispatches timeouts.
+ * The executor runs at most the configured number of timeouts concurrently, using either platform or virtual threads.
+ */
+public class TimeoutExecutorFactory implements Supplier<ExecutorService> {
+    private static final ClassLoader LOADER = WildFlySecurityManager.getClassLoaderPrivileged(TimerScheduler.class);
+    private static final ThreadFactory THREAD_FACTORY = new DefaultThreadFactory(TimerScheduler.class, LOADER);
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    private final int threads;
+    private final boolean virtual;
+
+    /**
+     * Creates an executor factory.
+     * @param threads the maximum number of concurrent timeouts
+     * @param virtual indicates whether timeouts should be dispatched via virtual threads
+     */
+    public TimeoutExecutorFactory(int threads, boolean virtual) {
+        this.threads = threads;
+        this.virtual = virtual;
+    }
+
+    @Override
+    public ExecutorService get() {
+        ThreadFactory factory = this.virtual ? createVirtualThreadFactory() : THREAD_FACTORY;
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(this.threads, this.threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static ThreadFactory createVirtualThreadFactory() {
+        // Thread.ofVirtual() requires JDK 21+
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            ThreadFactory factory = (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+            return new DefaultThreadFactory(factory, LOADER);
+        } catch (ReflectiveOperationException e) {
+            InfinispanEjbLogger.ROOT_LOGGER.virtualThreadsNotSupported();
+            return THREAD_FACTORY;
+        }
+    }
+}
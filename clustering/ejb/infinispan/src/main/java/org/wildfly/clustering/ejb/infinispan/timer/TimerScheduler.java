@@ -11,8 +11,6 @@ import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
@@ -27,11 +25,13 @@ import org.wildfly.clustering.ejb.cache.timer.TimerMetaDataFactory;
 import org.wildfly.clustering.ejb.cache.timer.TimerMetaDataKey;
 import org.wildfly.clustering.ejb.infinispan.logging.InfinispanEjbLogger;
 import org.wildfly.clustering.ejb.timer.ImmutableTimerMetaData;
+import org.wildfly.clustering.ejb.timer.TimeoutStatistics;
 import org.wildfly.clustering.ejb.timer.Timer;
 import org.wildfly.clustering.ejb.timer.TimerManager;
 import org.wildfly.clustering.ejb.timer.TimerMetaData;
 import org.wildfly.clustering.ejb.timer.TimerRegistry;
 import org.wildfly.clustering.server.infinispan.scheduler.AbstractCacheEntryScheduler;
+import org.wildfly.clustering.server.infinispan.scheduler.CacheEntryScheduler;
 import org.wildfly.clustering.server.local.scheduler.LocalScheduler;
 import org.wildfly.clustering.server.local.scheduler.LocalSchedulerConfiguration;
 import org.wildfly.clustering.server.local.scheduler.ScheduledEntries;
@@ -39,6 +39,8 @@ import org.wildfly.clustering.server.scheduler.Scheduler;
 import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
+ * Schedules timers owned by the local member.
+ * Timeouts are dispatched to an executor, such that the timeouts of distinct timers may run concurrently, while the timeouts of a given timer never overlap.
  * @author Paul Ferraro
  * @param <I> the timer identifier type
  * @param <V> the timer metadata value type
@@ -47,16 +49,17 @@ public class TimerScheduler<I, V> extends AbstractCacheEntryScheduler<I, Immutab
     private static final ThreadFactory THREAD_FACTORY = new DefaultThreadFactory(TimerScheduler.class, WildFlySecurityManager.getClassLoaderPrivileged(TimerScheduler.class));
 
     private final TimerFactory<I, V> factory;
+    private final TimeoutStatistics statistics;
 
-    public TimerScheduler(TimerFactory<I, V> factory, TimerManager<I> manager, Supplier<Locality> locality, Duration closeTimeout, TimerRegistry<I> registry) {
-        this(factory, manager, locality, closeTimeout, registry, ScheduledEntries.sorted(), Executors.newSingleThreadExecutor(THREAD_FACTORY));
+    public TimerScheduler(TimerFactory<I, V> factory, TimerManager<I> manager, Supplier<Locality> locality, Duration closeTimeout, TimerRegistry<I> registry, ExecutorService executor) {
+        this(factory, manager, locality, closeTimeout, registry, ScheduledEntries.sorted(), new TimeoutDispatcher<>(executor, closeTimeout));
     }
 
-    private TimerScheduler(TimerFactory<I, V> factory, TimerManager<I> manager, Supplier<Locality> locality, Duration closeTimeout, TimerRegistry<I> registry, ScheduledEntries<I, Instant> entries, ExecutorService executor) {
-        this(entries, new InvokeTask<>(factory, manager, locality, entries, registry, executor), closeTimeout, registry, executor, factory);
+    private TimerScheduler(TimerFactory<I, V> factory, TimerManager<I> manager, Supplier<Locality> locality, Duration closeTimeout, TimerRegistry<I> registry, ScheduledEntries<I, Instant> entries, TimeoutDispatcher<I> dispatcher) {
+        this(entries, new InvokeTask<>(factory, manager, locality, entries, registry, dispatcher), closeTimeout, registry, dispatcher, factory);
     }
 
-    private <T extends Predicate<I> & Consumer<Scheduler<I, ImmutableTimerMetaData>>> TimerScheduler(ScheduledEntries<I, Instant> entries, T invokeTask, Duration closeTimeout, TimerRegistry<I> registry, ExecutorService executor, TimerFactory<I, V> factory) {
+    private <T extends Predicate<I> & Consumer<CacheEntryScheduler<I, ImmutableTimerMetaData>>> TimerScheduler(ScheduledEntries<I, Instant> entries, T invokeTask, Duration closeTimeout, TimerRegistry<I> registry, TimeoutDispatcher<I> dispatcher, TimerFactory<I, V> factory) {
         this(new LocalSchedulerConfiguration<>() {
             @Override
             public ScheduledEntries<I, Instant> getScheduledEntries() {
@@ -77,10 +80,10 @@ public class TimerScheduler<I, V> extends AbstractCacheEntryScheduler<I, Immutab
             public Duration getCloseTimeout() {
                 return closeTimeout;
             }
-        }, registry, executor, invokeTask, factory);
+        }, registry, dispatcher, invokeTask, factory);
     }
 
-    private TimerScheduler(LocalSchedulerConfiguration<I> schedulerConfig, TimerRegistry<I> registry, ExecutorService executor, Consumer<Scheduler<I, ImmutableTimerMetaData>> injector, TimerFactory<I, V> factory) {
+    private TimerScheduler(LocalSchedulerConfiguration<I> schedulerConfig, TimerRegistry<I> registry, TimeoutDispatcher<I> dispatcher, Consumer<CacheEntryScheduler<I, ImmutableTimerMetaData>> injector, TimerFactory<I, V> factory) {
         this(new LocalScheduler<>(schedulerConfig) {
             @Override
             public void cancel(I id) {
@@ -90,18 +93,28 @@ public class TimerScheduler<I, V> extends AbstractCacheEntryScheduler<I, Immutab
 
             @Override
             public void close() {
+                // Stop dispatching before closing the scheduler, so that completing timeouts are not rescheduled
+                dispatcher.close();
                 super.close();
-                executor.shutdown();
             }
-        }, injector, factory);
+        }, injector, factory, dispatcher);
     }
 
-    private TimerScheduler(Scheduler<I, Instant> scheduler, Consumer<Scheduler<I, ImmutableTimerMetaData>> injector, TimerFactory<I, V> factory) {
+    private TimerScheduler(Scheduler<I, Instant> scheduler, Consumer<CacheEntryScheduler<I, ImmutableTimerMetaData>> injector, TimerFactory<I, V> factory, TimeoutStatistics statistics) {
         super(scheduler, ImmutableTimerMetaData::getNextTimeout);
         this.factory = factory;
+        this.statistics = statistics;
         injector.accept(this);
     }
 
+    /**
+     * Returns statistics for the timeouts dispatched by this scheduler.
+     * @return timeout statistics
+     */
+    public TimeoutStatistics getTimeoutStatistics() {
+        return this.statistics;
+    }
+
     @Override
     public void schedule(I id) {
         TimerMetaDataFactory<I, V> metaDataFactory = this.factory.getMetaDataFactory();
@@ -112,26 +125,26 @@ public class TimerScheduler<I, V> extends AbstractCacheEntryScheduler<I, Immutab
         }
     }
 
-    private static class InvokeTask<I, V> implements Predicate<I>, Consumer<Scheduler<I, ImmutableTimerMetaData>> {
+    private static class InvokeTask<I, V> implements Predicate<I>, Consumer<CacheEntryScheduler<I, ImmutableTimerMetaData>> {
         private final TimerFactory<I, V> factory;
         private final TimerManager<I> manager;
         private final Supplier<Locality> locality;
         private final ScheduledEntries<I, Instant> entries;
         private final TimerRegistry<I> registry;
-        private final ExecutorService executor;
-        private Scheduler<I, ImmutableTimerMetaData> scheduler;
+        private final TimeoutDispatcher<I> dispatcher;
+        private CacheEntryScheduler<I, ImmutableTimerMetaData> scheduler;
 
-        InvokeTask(TimerFactory<I, V> factory, TimerManager<I> manager, Supplier<Locality> locality, ScheduledEntries<I, Instant> entries, TimerRegistry<I> registry, ExecutorService executor) {
+        InvokeTask(TimerFactory<I, V> factory, TimerManager<I> manager, Supplier<Locality> locality, ScheduledEntries<I, Instant> entries, TimerRegistry<I> registry, TimeoutDispatcher<I> dispatcher) {
             this.factory = factory;
             this.manager = manager;
             this.locality = locality;
             this.entries = entries;
             this.registry = registry;
-            this.executor = executor;
+            this.dispatcher = dispatcher;
         }
 
         @Override
-        public void accept(Scheduler<I, ImmutableTimerMetaData> scheduler) {
+        public void accept(CacheEntryScheduler<I, ImmutableTimerMetaData> scheduler) {
             this.scheduler = scheduler;
         }
 
@@ -140,9 +153,9 @@ public class TimerScheduler<I, V> extends AbstractCacheEntryScheduler<I, Immutab
             TimerFactory<I, V> factory = this.factory;
             TimerManager<I> manager = this.manager;
             Supplier<Locality> locality = this.locality;
-            ScheduledEntries<I, Instant> entries = this.entries;
             TimerRegistry<I> registry = this.registry;
-            Scheduler<I, ImmutableTimerMetaData> scheduler = this.scheduler;
+            TimeoutDispatcher<I> dispatcher = this.dispatcher;
+            CacheEntryScheduler<I, ImmutableTimerMetaData> scheduler = this.scheduler;
             TimerMetaDataKey<I> key = new InfinispanTimerMetaDataKey<>(id);
             // Ensure timer is owned by local member
             if (!locality.get().isLocal(key)) {
@@ -177,6 +190,8 @@ public class TimerScheduler<I, V> extends AbstractCacheEntryScheduler<I, Immutab
                             return false;
                         }
 
+                        dispatcher.recordLag(Duration.between(currentTimeout, now));
+
                         // Capture previous last timeout in case we need to reset it
                         Optional<Instant> originalLastTimeout = metaData.getLastTimeout();
                         // Record new last timeout - expected to be set prior to triggering timeout
@@ -226,27 +241,16 @@ public class TimerScheduler<I, V> extends AbstractCacheEntryScheduler<I, Immutab
                             return true;
                         }
 
-                        // Reschedule using next timeout
+                        // Reschedule using next timeout, once committed
                         InfinispanEjbLogger.ROOT_LOGGER.debugf("Rescheduling timer %s for next timeout %s", id, nextTimeout.get());
-                        entries.add(id, nextTimeout.get());
                         return false;
                     }
                 }
             };
-            try {
-                Future<Boolean> result = this.executor.submit(task);
-                return result.get();
-            } catch (RejectedExecutionException e) {
-                // Scheduler was shutdown
-                return false;
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                // Timer was canceled by the scheduler
-                return false;
-            } catch (ExecutionException e) {
-                InfinispanEjbLogger.ROOT_LOGGER.info(e.getLocalizedMessage(), e);
-                return false;
-            }
+            // Timer is rescheduled, per its committed meta data, upon completion of its timeout
+            this.entries.remove(id);
+            this.dispatcher.dispatch(id, task, scheduler::schedule);
+            return false;
         }
     }
 }
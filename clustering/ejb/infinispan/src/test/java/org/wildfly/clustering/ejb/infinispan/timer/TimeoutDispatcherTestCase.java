@@ -0,0 +1,107 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.ejb.infinispan.timer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link TimeoutDispatcher}.
+ */
+public class TimeoutDispatcherTestCase {
+
+    @Test
+    public void concurrent() throws InterruptedException {
+        try (TimeoutDispatcher<String> dispatcher = new TimeoutDispatcher<>(Executors.newFixedThreadPool(2), Duration.ofSeconds(5))) {
+            CountDownLatch started = new CountDownLatch(2);
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch rescheduled = new CountDownLatch(2);
+            for (String id : List.of("foo", "bar")) {
+                dispatcher.dispatch(id, () -> {
+                    started.countDown();
+                    release.await();
+                    return false;
+                }, key -> rescheduled.countDown());
+            }
+            // A slow timeout must not delay the timeout of another timer
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertEquals(2, dispatcher.getActiveTimeoutCount());
+            release.countDown();
+            assertTrue(rescheduled.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void overlap() throws InterruptedException {
+        try (TimeoutDispatcher<String> dispatcher = new TimeoutDispatcher<>(Executors.newFixedThreadPool(4), Duration.ofSeconds(5))) {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch rescheduled = new CountDownLatch(1);
+            AtomicInteger invocations = new AtomicInteger();
+            List<String> rescheduledTimers = new CopyOnWriteArrayList<>();
+            dispatcher.dispatch("foo", () -> {
+                invocations.incrementAndGet();
+                started.countDown();
+                release.await();
+                // Timer expired, so would not otherwise be rescheduled
+                return true;
+            }, key -> {
+                rescheduledTimers.add(key);
+                rescheduled.countDown();
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // Timeout of the same timer dispatched while in progress must be deferred
+            dispatcher.dispatch("foo", () -> {
+                invocations.incrementAndGet();
+                return true;
+            }, rescheduledTimers::add);
+            assertEquals(1, dispatcher.getActiveTimeoutCount());
+
+            release.countDown();
+            // Deferred timeout results in a reschedule of the timer following completion of the in-progress timeout
+            assertTrue(rescheduled.await(5, TimeUnit.SECONDS));
+            assertEquals(1, invocations.get());
+            assertEquals(List.of("foo"), rescheduledTimers);
+        }
+    }
+
+    @Test
+    public void close() {
+        TimeoutDispatcher<String> dispatcher = new TimeoutDispatcher<>(Executors.newSingleThreadExecutor(), Duration.ofSeconds(5));
+        dispatcher.close();
+        AtomicInteger invocations = new AtomicInteger();
+        dispatcher.dispatch("foo", () -> invocations.incrementAndGet() > 0, key -> invocations.incrementAndGet());
+        assertEquals(0, invocations.get());
+        assertEquals(0, dispatcher.getActiveTimeoutCount());
+    }
+
+    @Test
+    public void lag() {
+        try (TimeoutDispatcher<String> dispatcher = new TimeoutDispatcher<>(Executors.newSingleThreadExecutor(), Duration.ofSeconds(5))) {
+            assertEquals(Duration.ZERO, dispatcher.getMeanTimeoutLag());
+            dispatcher.recordLag(Duration.ofMillis(10));
+            dispatcher.recordLag(Duration.ofMillis(30));
+            // Negative lag is treated as no lag
+            dispatcher.recordLag(Duration.ofMillis(-5));
+            assertEquals(3, dispatcher.getTimeoutCount());
+            assertEquals(Duration.ofMillis(13), dispatcher.getMeanTimeoutLag());
+            assertEquals(Duration.ofMillis(30), dispatcher.getMaxTimeoutLag());
+            assertFalse(dispatcher.getMaxTimeoutLag().isNegative());
+        }
+    }
+}
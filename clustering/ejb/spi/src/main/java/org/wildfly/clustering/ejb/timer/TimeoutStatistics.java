@@ -0,0 +1,38 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.ejb.timer;
+
+import java.time.Duration;
+
+/**
+ * Exposes statistics for the timeouts of the timers of a timer manager.
+ */
+public interface TimeoutStatistics {
+
+    /**
+     * Returns the number of timeouts that were triggered, i.e. not skipped as premature or unexpected.
+     * @return a number of timeouts
+     */
+    long getTimeoutCount();
+
+    /**
+     * Returns the number of timeouts currently in progress.
+     * @return a number of timeouts
+     */
+    int getActiveTimeoutCount();
+
+    /**
+     * Returns the mean scheduling lag of triggered timeouts, i.e. the time between the scheduled timeout and its actual processing.
+     * @return the mean scheduling lag
+     */
+    Duration getMeanTimeoutLag();
+
+    /**
+     * Returns the maximum scheduling lag of triggered timeouts.
+     * @return the maximum scheduling lag
+     */
+    Duration getMaxTimeoutLag();
+}
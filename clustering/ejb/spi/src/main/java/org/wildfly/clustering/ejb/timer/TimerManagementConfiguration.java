@@ -20,4 +20,17 @@ public interface TimerManagementConfiguration {
     Function<Module, ByteBufferMarshaller> getMarshallerFactory();
 
     OptionalInt getMaxActiveTimers();
+
+    /**
+     * Returns the maximum number of timeouts that may be processed concurrently.
+     * The timeouts of a given timer never overlap, regardless of this value.
+     * @return a number of threads
+     */
+    int getTimeoutThreads();
+
+    /**
+     * Indicates whether timeouts should be processed by virtual threads.
+     * @return true, if virtual threads should be used, false otherwise.
+     */
+    boolean isVirtualThreads();
 }
@@ -26,4 +26,12 @@ public interface TimerManager<I> extends Manager<I> {
     Timer<I> getTimer(I id);
 
     Stream<I> getActiveTimers();
+
+    /**
+     * Returns statistics for the timeouts of the timers managed by this timer manager.
+     * @return timeout statistics, or null if this timer manager does not record statistics, or is not started
+     */
+    default TimeoutStatistics getTimeoutStatistics() {
+        return null;
+    }
 }
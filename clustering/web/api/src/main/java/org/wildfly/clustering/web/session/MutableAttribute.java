@@ -0,0 +1,24 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.clustering.web.session;
+
+/**
+ * Implemented by a mutable session attribute value that tracks its own modifications.
+ * Re-setting the bound instance of an unmodified value via {@code HttpSession.setAttribute(...)} is a no-op, i.e. does not trigger its replication.
+ * Reading such a value via {@code HttpSession.getAttribute(...)} is otherwise treated like reading any other mutable value.
+ */
+public interface MutableAttribute {
+
+    /**
+     * Indicates whether this value was modified since it was last set as a session attribute.
+     * @return true, if this value was modified, false otherwise.
+     */
+    boolean isModified();
+
+    /**
+     * Resets the modified state of this value, once it was set as a session attribute.
+     */
+    void clearModified();
+}
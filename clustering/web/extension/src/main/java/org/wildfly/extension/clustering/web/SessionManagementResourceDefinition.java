@@ -20,6 +20,7 @@ import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.capability.RuntimeCapability;
 import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.AttributeAccess.Flag;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.server.deployment.DeploymentUnit;
@@ -46,6 +47,12 @@ public abstract class SessionManagementResourceDefinition extends ChildResourceD
             .build();
 
     enum Attribute implements org.jboss.as.clustering.controller.Attribute, UnaryOperator<SimpleAttributeDefinitionBuilder> {
+        ASYNC_COMMIT_CAPACITY("async-commit-capacity", ModelType.INT, ModelNode.ZERO) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setValidator(new IntRangeValidator(0));
+            }
+        },
         GRANULARITY("granularity", ModelType.STRING, null) {
             @Override
             public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
@@ -103,6 +110,7 @@ public abstract class SessionManagementResourceDefinition extends ChildResourceD
     public DistributableSessionManagementConfiguration<DeploymentUnit> resolve(OperationContext context, ModelNode model) throws OperationFailedException {
         SessionGranularity granularity = SessionGranularity.valueOf(Attribute.GRANULARITY.resolveModelAttribute(context, model).asString());
         SessionMarshallerFactory marshallerFactory = SessionMarshallerFactory.valueOf(Attribute.MARSHALLER.resolveModelAttribute(context, model).asString());
+        int asyncCommitCapacity = Attribute.ASYNC_COMMIT_CAPACITY.resolveModelAttribute(context, model).asInt();
         return new DistributableSessionManagementConfiguration<>() {
             @Override
             public SessionAttributePersistenceStrategy getAttributePersistenceStrategy() {
@@ -113,6 +121,11 @@ public abstract class SessionManagementResourceDefinition extends ChildResourceD
             public Function<DeploymentUnit, ByteBufferMarshaller> getMarshallerFactory() {
                 return marshallerFactory;
             }
+
+            @Override
+            public int getAsyncCommitCapacity() {
+                return asyncCommitCapacity;
+            }
         };
     }
 }
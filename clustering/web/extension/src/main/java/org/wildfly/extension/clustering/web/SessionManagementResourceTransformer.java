@@ -19,6 +19,12 @@ public class SessionManagementResourceTransformer implements BiConsumer<ModelVer
 
     @Override
     public void accept(ModelVersion version, ResourceTransformationDescriptionBuilder builder) {
+        if (DistributableWebSubsystemModel.VERSION_5_0_0.requiresTransformation(version)) {
+            builder.getAttributeBuilder()
+                    .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, SessionManagementResourceDefinition.Attribute.ASYNC_COMMIT_CAPACITY.getName())
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, SessionManagementResourceDefinition.Attribute.ASYNC_COMMIT_CAPACITY.getName())
+                    .end();
+        }
         if (DistributableWebSubsystemModel.VERSION_3_0_0.requiresTransformation(version)) {
             builder.getAttributeBuilder()
                     .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, SessionManagementResourceDefinition.Attribute.MARSHALLER.getName())
@@ -176,6 +176,11 @@ public class DistributableWebTransformerTestCase extends AbstractSubsystemTest {
             config.addFailedAttribute(subsystemAddress.append(HotRodSessionManagementResourceDefinition.pathElement("remote-protostream")), new FailedOperationTransformationConfig.NewAttributesConfig(SessionManagementResourceDefinition.Attribute.MARSHALLER.getName()));
         }
 
+        if (DistributableWebSubsystemModel.VERSION_5_0_0.requiresTransformation(this.version)) {
+            config.addFailedAttribute(subsystemAddress.append(InfinispanSessionManagementResourceDefinition.pathElement("async")), new FailedOperationTransformationConfig.NewAttributesConfig(SessionManagementResourceDefinition.Attribute.ASYNC_COMMIT_CAPACITY.getName()));
+            config.addFailedAttribute(subsystemAddress.append(HotRodSessionManagementResourceDefinition.pathElement("remote-async")), new FailedOperationTransformationConfig.NewAttributesConfig(SessionManagementResourceDefinition.Attribute.ASYNC_COMMIT_CAPACITY.getName()));
+        }
+
         return config;
     }
 }
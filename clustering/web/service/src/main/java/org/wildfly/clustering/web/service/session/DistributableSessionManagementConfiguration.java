@@ -20,4 +20,12 @@ public interface DistributableSessionManagementConfiguration<M> {
     SessionAttributePersistenceStrategy getAttributePersistenceStrategy();
 
     Function<M, ByteBufferMarshaller> getMarshallerFactory();
+
+    /**
+     * Returns the maximum number of sessions of completed requests pending an asynchronous commit.
+     * @return a number of commits, or 0 if sessions are committed synchronously, i.e. before a response is sent.
+     */
+    default int getAsyncCommitCapacity() {
+        return 0;
+    }
 }
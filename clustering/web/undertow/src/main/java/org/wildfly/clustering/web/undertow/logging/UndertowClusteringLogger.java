@@ -6,6 +6,7 @@
 package org.wildfly.clustering.web.undertow.logging;
 
 import java.lang.invoke.MethodHandles;
+import java.time.Duration;
 
 import org.jboss.logging.BasicLogger;
 import org.jboss.logging.Logger;
@@ -46,4 +47,8 @@ public interface UndertowClusteringLogger extends BasicLogger {
 
     @Message(id = 9, value = "Invalidation attempted for session %s after the response was committed (e.g. after HttpServletResponse.sendRedirect or sendError)")
     IllegalStateException batchIsAlreadyClosed(String sessionId);
+
+    @Message(id = 10, value = "Timed out after %s waiting for the pending session commits of %s; stopping its session manager with %d commits still pending")
+    @LogMessage(level = Level.WARN)
+    void sessionCommitsPending(Duration timeout, String deploymentName, int pending);
 }
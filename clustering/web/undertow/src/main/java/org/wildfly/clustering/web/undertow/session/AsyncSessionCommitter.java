@@ -0,0 +1,241 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.clustering.web.undertow.session;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.wildfly.clustering.context.Contextualizer;
+import org.wildfly.clustering.context.DefaultThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Commits the batches of completed requests in the background, so that request latency does not include the replication of session changes.
+ * Commits of the same session are executed in the order they were submitted, while commits of distinct sessions are executed concurrently.
+ * The number of pending commits is bounded, beyond which the submitting thread executes its commit itself, unless commits of the same session are still pending.
+ * Commits are only executed in the background while the committer is started, and are otherwise executed by the submitting thread.
+ */
+public class AsyncSessionCommitter {
+    private static final ThreadFactory THREAD_FACTORY = new DefaultThreadFactory(AsyncSessionCommitter.class, WildFlySecurityManager.getClassLoaderPrivileged(AsyncSessionCommitter.class));
+
+    private static final int THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+    private final Contextualizer contextualizer;
+    private final int capacity;
+    private final Permits permits;
+    // Pending commits per session, whose head is the executing commit
+    private final Map<String, Queue<Runnable>> queues = new ConcurrentHashMap<>();
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder totalLag = new LongAdder();
+    private final AtomicLong maxLag = new AtomicLong();
+    private volatile ThreadPoolExecutor executor;
+
+    /**
+     * Creates an asynchronous session committer.
+     * @param capacity the maximum number of pending commits
+     * @param contextualizer applies the context of the deployment to each commit
+     */
+    public AsyncSessionCommitter(int capacity, Contextualizer contextualizer) {
+        this.contextualizer = contextualizer;
+        this.capacity = capacity;
+        this.permits = new Permits(capacity);
+    }
+
+    /**
+     * Starts executing commits in the background, and resets the statistics of this committer.
+     */
+    public synchronized void start() {
+        if (this.executor == null) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), THREAD_FACTORY);
+            executor.allowCoreThreadTimeOut(true);
+            this.executor = executor;
+        }
+        this.reset();
+    }
+
+    /**
+     * Waits for all pending commits to complete, then stops executing commits in the background.
+     * @param timeout the maximum duration to wait
+     * @return true, if all pending commits completed, false if the timeout elapsed
+     */
+    public synchronized boolean stop(Duration timeout) {
+        boolean completed = this.await(timeout);
+        ThreadPoolExecutor executor = this.executor;
+        if (executor != null) {
+            // Any remaining commits still complete
+            executor.shutdown();
+            this.executor = null;
+        }
+        return completed;
+    }
+
+    /**
+     * Schedules the specified commit of the specified session, following any pending commits of the same session.
+     * If the number of pending commits has reached capacity, the commit is executed by the calling thread.
+     * @param id a session identifier
+     * @param commit a commit task
+     */
+    public void commit(String id, Runnable commit) {
+        boolean async = this.permits.tryAcquire();
+        if (!async) {
+            // Capacity exhausted, so overdraw a permit that is released once the commit completes
+            this.permits.reducePermits(1);
+        }
+        long submitted = System.nanoTime();
+        Runnable task = this.contextualizer.contextualize(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    commit.run();
+                } finally {
+                    AsyncSessionCommitter.this.recordLag(System.nanoTime() - submitted);
+                    AsyncSessionCommitter.this.permits.release();
+                }
+            }
+        });
+        boolean[] schedule = new boolean[1];
+        this.queues.compute(id, (key, queue) -> {
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                schedule[0] = true;
+            }
+            queue.add(task);
+            return queue;
+        });
+        if (schedule[0]) {
+            if (async) {
+                this.schedule(id, task);
+            } else {
+                this.drain(id, task);
+            }
+        }
+    }
+
+    private void schedule(String id, Runnable task) {
+        ThreadPoolExecutor executor = this.executor;
+        if (executor != null) {
+            try {
+                executor.execute(() -> this.drain(id, task));
+                return;
+            } catch (RejectedExecutionException e) {
+                // Committer was stopped concurrently
+            }
+        }
+        this.drain(id, task);
+    }
+
+    private void drain(String id, Runnable task) {
+        Runnable next = task;
+        try {
+            while (next != null) {
+                next.run();
+                next = this.dequeue(id);
+            }
+        } finally {
+            if (next != null) {
+                // Commit failed, so remove it, and schedule any subsequent commit of this session
+                Runnable following = this.dequeue(id);
+                if (following != null) {
+                    this.schedule(id, following);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the completed commit of the specified session.
+     * @return the subsequent commit of the specified session, or null if there is none
+     */
+    private Runnable dequeue(String id) {
+        Runnable[] following = new Runnable[1];
+        this.queues.computeIfPresent(id, (key, queue) -> {
+            queue.remove();
+            following[0] = queue.peek();
+            return (following[0] != null) ? queue : null;
+        });
+        return following[0];
+    }
+
+    private void recordLag(long lag) {
+        this.commits.increment();
+        this.totalLag.add(lag);
+        long max = this.maxLag.get();
+        while ((lag > max) && !this.maxLag.compareAndSet(max, lag)) {
+            max = this.maxLag.get();
+        }
+    }
+
+    /**
+     * Waits for all pending commits to complete.
+     * @param timeout the maximum duration to wait
+     * @return true, if all pending commits completed, false if the timeout elapsed
+     */
+    public boolean await(Duration timeout) {
+        try {
+            if (this.permits.tryAcquire(this.capacity, timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                this.permits.release(this.capacity);
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of commits that were submitted, but have not yet completed.
+     * @return a number of commits
+     */
+    public int getPendingCount() {
+        return this.capacity - this.permits.availablePermits();
+    }
+
+    /**
+     * Returns the mean duration between the submission and completion of a commit.
+     * @return a duration
+     */
+    public Duration getMeanLag() {
+        long commits = this.commits.sum();
+        return (commits > 0) ? Duration.ofNanos(this.totalLag.sum() / commits) : Duration.ZERO;
+    }
+
+    /**
+     * Returns the maximum duration between the submission and completion of a commit.
+     * @return a duration
+     */
+    public Duration getMaxLag() {
+        return Duration.ofNanos(this.maxLag.get());
+    }
+
+    public void reset() {
+        this.commits.reset();
+        this.totalLag.reset();
+        this.maxLag.set(0L);
+    }
+
+    private static class Permits extends Semaphore {
+        private static final long serialVersionUID = -5489102573212587380L;
+
+        Permits(int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
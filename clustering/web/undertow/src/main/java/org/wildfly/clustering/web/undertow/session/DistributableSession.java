@@ -22,9 +22,11 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.wildfly.clustering.cache.batch.Batch;
 import org.wildfly.clustering.cache.batch.BatchContext;
 import org.wildfly.clustering.cache.batch.SuspendedBatch;
+import org.wildfly.clustering.server.immutable.Immutability;
 import org.wildfly.clustering.session.Session;
 import org.wildfly.clustering.session.SessionManager;
 import org.wildfly.clustering.session.SessionMetaData;
+import org.wildfly.clustering.web.session.MutableAttribute;
 import org.wildfly.clustering.web.undertow.logging.UndertowClusteringLogger;
 
 /**
@@ -36,22 +38,29 @@ public class DistributableSession implements io.undertow.server.session.Session
     private static final Set<String> AUTO_REAUTHENTICATING_MECHANISMS = Set.of(HttpServletRequest.BASIC_AUTH, HttpServletRequest.DIGEST_AUTH, HttpServletRequest.CLIENT_CERT_AUTH);
     static final String WEB_SOCKET_CHANNELS_ATTRIBUTE = "io.undertow.websocket.current-connections";
     private static final Set<String> LOCAL_CONTEXT_ATTRIBUTES = Set.of(WEB_SOCKET_CHANNELS_ATTRIBUTE);
+    private static final Immutability IMMUTABILITY = Immutability.getDefault();
 
     private final UndertowSessionManager manager;
     private final SuspendedBatch suspendedBatch;
     private final Consumer<HttpServerExchange> closeTask;
     private final Instant startTime;
     private final RecordableSessionManagerStatistics statistics;
+    private final AsyncSessionCommitter committer;
 
     private volatile Map.Entry<Session<Map<String, Object>>, SessionConfig> entry;
 
     public DistributableSession(UndertowSessionManager manager, Session<Map<String, Object>> session, SessionConfig config, SuspendedBatch suspendedBatch, Consumer<HttpServerExchange> closeTask, RecordableSessionManagerStatistics statistics) {
+        this(manager, session, config, suspendedBatch, closeTask, statistics, null);
+    }
+
+    public DistributableSession(UndertowSessionManager manager, Session<Map<String, Object>> session, SessionConfig config, SuspendedBatch suspendedBatch, Consumer<HttpServerExchange> closeTask, RecordableSessionManagerStatistics statistics, AsyncSessionCommitter committer) {
         this.manager = manager;
         this.entry = Map.entry(session, config);
         this.suspendedBatch = suspendedBatch;
         this.closeTask = closeTask;
         this.startTime = session.getMetaData().isNew() ? session.getMetaData().getCreationTime() : Instant.now();
         this.statistics = statistics;
+        this.committer = committer;
     }
 
     @Override
@@ -62,21 +71,33 @@ public class DistributableSession implements io.undertow.server.session.Session
     @Override
     public void requestDone(HttpServerExchange exchange) {
         Session<Map<String, Object>> requestSession = this.entry.getKey();
+        AsyncSessionCommitter committer = this.committer;
+        try {
+            if (committer != null) {
+                Instant endTime = Instant.now();
+                committer.commit(requestSession.getId(), () -> this.commit(requestSession, endTime));
+            } else {
+                this.commit(requestSession, null);
+            }
+        } finally {
+            this.entry = Map.entry(requestSession, new SimpleSessionConfig(requestSession.getId()));
+            this.closeTask.accept(exchange);
+        }
+    }
+
+    private void commit(Session<Map<String, Object>> requestSession, Instant endTime) {
         try (Batch batch = this.suspendedBatch.resume()) {
             // Ensure session is closed, even if invalid
             try (Session<Map<String, Object>> session = requestSession) {
                 if (session.isValid()) {
                     // According to §7.6 of the servlet specification:
                     // The session is considered to be accessed when a request that is part of the session is first handled by the servlet container.
-                    session.getMetaData().setLastAccess(this.startTime, Instant.now());
+                    session.getMetaData().setLastAccess(this.startTime, (endTime != null) ? endTime : Instant.now());
                 }
             }
         } catch (Throwable e) {
             // Don't propagate exceptions at the stage, since response was already committed
             UndertowClusteringLogger.ROOT_LOGGER.warn(e.getLocalizedMessage(), e);
-        } finally {
-            this.entry = Map.entry(requestSession, new SimpleSessionConfig(requestSession.getId()));
-            this.closeTask.accept(exchange);
         }
     }
 
@@ -173,7 +194,15 @@ public class DistributableSession implements io.undertow.server.session.Session
             if (LOCAL_CONTEXT_ATTRIBUTES.contains(name)) {
                 return session.getContext().put(name, value);
             }
-            Object old = session.getAttributes().put(name, value);
+            Map<String, Object> attributes = session.getAttributes();
+            // Re-setting the bound instance of an unchanged value would needlessly replicate it
+            if (isUnchanged(value) && (attributes.get(name) == value)) {
+                return value;
+            }
+            if (value instanceof MutableAttribute) {
+                ((MutableAttribute) value).clearModified();
+            }
+            Object old = attributes.put(name, value);
             if (old == null) {
                 this.manager.getSessionListeners().attributeAdded(this, name, value);
             } else if (old != value) {
@@ -283,4 +312,11 @@ public class DistributableSession implements io.undertow.server.session.Session
             }
         }
     }
+
+    /**
+     * Indicates whether the specified attribute value cannot have changed since it was last set, i.e. it is either immutable, or an unmodified {@link MutableAttribute}.
+     */
+    private static boolean isUnchanged(Object value) {
+        return (value instanceof MutableAttribute) ? !((MutableAttribute) value).isModified() : IMMUTABILITY.test(value);
+    }
 }
@@ -4,6 +4,7 @@
  */
 package org.wildfly.clustering.web.undertow.session;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
 import java.util.OptionalLong;
@@ -43,6 +44,7 @@ public class DistributableSessionManager implements UndertowSessionManager, Long
     private final SessionListeners listeners;
     private final SessionManager<Map<String, Object>> manager;
     private final RecordableSessionManagerStatistics statistics;
+    private final AsyncSessionCommitter committer;
     private final StampedLock lifecycleLock = new StampedLock();
 
     // Matches io.undertow.server.session.InMemorySessionManager
@@ -54,6 +56,7 @@ public class DistributableSessionManager implements UndertowSessionManager, Long
         this.manager = config.getSessionManager();
         this.listeners = config.getSessionListeners();
         this.statistics = config.getStatistics();
+        this.committer = config.getSessionCommitter();
     }
 
     @Override
@@ -73,6 +76,9 @@ public class DistributableSessionManager implements UndertowSessionManager, Long
         if (this.statistics != null) {
             this.statistics.reset();
         }
+        if (this.committer != null) {
+            this.committer.start();
+        }
     }
 
     @Override
@@ -93,6 +99,13 @@ public class DistributableSessionManager implements UndertowSessionManager, Long
                 Thread.currentThread().interrupt();
             }
         }
+        // Requests complete before their commits, so wait for any pending commits
+        if (this.committer != null) {
+            Duration timeout = Duration.ofSeconds(60);
+            if (!this.committer.stop(timeout)) {
+                UndertowClusteringLogger.ROOT_LOGGER.sessionCommitsPending(timeout, this.deploymentName, this.committer.getPendingCount());
+            }
+        }
         this.manager.stop();
     }
 
@@ -151,7 +164,7 @@ public class DistributableSessionManager implements UndertowSessionManager, Long
                 // Apply session ID encoding
                 config.setSessionId(exchange, id);
 
-                io.undertow.server.session.Session result = new DistributableSession(this, session, config, batch.suspend(), closeTask, this.statistics);
+                io.undertow.server.session.Session result = new DistributableSession(this, session, config, batch.suspend(), closeTask, this.statistics, this.committer);
                 this.listeners.sessionCreated(result, exchange);
                 if (this.statistics != null) {
                     this.statistics.record(session.getMetaData());
@@ -209,7 +222,7 @@ public class DistributableSessionManager implements UndertowSessionManager, Long
                 // Update session ID encoding
                 config.setSessionId(exchange, id);
 
-                io.undertow.server.session.Session result = new DistributableSession(this, session, config, batch.suspend(), closeTask, this.statistics);
+                io.undertow.server.session.Session result = new DistributableSession(this, session, config, batch.suspend(), closeTask, this.statistics, this.committer);
                 if (exchange != null) {
                     exchange.putAttachment(this.key, result);
                 }
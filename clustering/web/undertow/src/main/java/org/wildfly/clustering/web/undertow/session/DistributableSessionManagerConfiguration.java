@@ -19,4 +19,5 @@ public interface DistributableSessionManagerConfiguration {
     SessionManager<Map<String, Object>> getSessionManager();
     SessionListeners getSessionListeners();
     RecordableSessionManagerStatistics getStatistics();
+    AsyncSessionCommitter getSessionCommitter();
 }
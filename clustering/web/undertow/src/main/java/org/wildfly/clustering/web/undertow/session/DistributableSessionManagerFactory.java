@@ -38,10 +38,17 @@ public class DistributableSessionManagerFactory implements io.undertow.servlet.a
 
     private final SessionManagerFactory<ServletContext, Map<String, Object>> factory;
     private final SessionManagerFactoryConfiguration config;
+    // Maximum number of pending asynchronous commits of completed requests, or 0 to commit synchronously
+    private final int asyncCommitCapacity;
 
     public DistributableSessionManagerFactory(SessionManagerFactory<ServletContext, Map<String, Object>> factory, SessionManagerFactoryConfiguration config) {
+        this(factory, config, 0);
+    }
+
+    public DistributableSessionManagerFactory(SessionManagerFactory<ServletContext, Map<String, Object>> factory, SessionManagerFactoryConfiguration config, int asyncCommitCapacity) {
         this.factory = factory;
         this.config = config;
+        this.asyncCommitCapacity = asyncCommitCapacity;
     }
 
     @Override
@@ -89,7 +96,8 @@ public class DistributableSessionManagerFactory implements io.undertow.servlet.a
                 };
             }
         });
-        RecordableSessionManagerStatistics statistics = (inactiveSessionStatistics != null) ? new DistributableSessionManagerStatistics(manager.getStatistics(), inactiveSessionStatistics, this.config.getMaxActiveSessions()) : null;
+        AsyncSessionCommitter committer = (this.asyncCommitCapacity > 0) ? new AsyncSessionCommitter(this.asyncCommitCapacity, contextualizer) : null;
+        RecordableSessionManagerStatistics statistics = (inactiveSessionStatistics != null) ? new DistributableSessionManagerStatistics(manager.getStatistics(), inactiveSessionStatistics, this.config.getMaxActiveSessions(), committer) : null;
         io.undertow.server.session.SessionManager result = new DistributableSessionManager(new DistributableSessionManagerConfiguration() {
             @Override
             public String getDeploymentName() {
@@ -110,6 +118,11 @@ public class DistributableSessionManagerFactory implements io.undertow.servlet.a
             public RecordableSessionManagerStatistics getStatistics() {
                 return statistics;
             }
+
+            @Override
+            public AsyncSessionCommitter getSessionCommitter() {
+                return committer;
+            }
         });
         result.setDefaultSessionTimeout((int) this.config.getDefaultSessionTimeout().getSeconds());
         return result;
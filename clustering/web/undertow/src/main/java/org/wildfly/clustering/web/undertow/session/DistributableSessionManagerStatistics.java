@@ -10,22 +10,29 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import org.wildfly.clustering.session.ImmutableSessionMetaData;
 import org.wildfly.clustering.session.SessionStatistics;
+import org.wildfly.extension.undertow.session.DistributableSessionStatistics;
 
 /**
  * @author Paul Ferraro
  */
-public class DistributableSessionManagerStatistics implements RecordableSessionManagerStatistics {
+public class DistributableSessionManagerStatistics implements RecordableSessionManagerStatistics, DistributableSessionStatistics {
 
     private final RecordableInactiveSessionStatistics inactiveSessionStatistics;
     private final SessionStatistics activeSessionStatistics;
     private final OptionalInt maxActiveSessions;
+    private final AsyncSessionCommitter committer;
     private volatile long startTime = System.currentTimeMillis();
     private final AtomicLong createdSessionCount = new AtomicLong();
 
     public DistributableSessionManagerStatistics(SessionStatistics activeSessionStatistics, RecordableInactiveSessionStatistics inactiveSessionStatistics, OptionalInt maxActiveSessions) {
+        this(activeSessionStatistics, inactiveSessionStatistics, maxActiveSessions, null);
+    }
+
+    public DistributableSessionManagerStatistics(SessionStatistics activeSessionStatistics, RecordableInactiveSessionStatistics inactiveSessionStatistics, OptionalInt maxActiveSessions, AsyncSessionCommitter committer) {
         this.activeSessionStatistics = activeSessionStatistics;
         this.inactiveSessionStatistics = inactiveSessionStatistics;
         this.maxActiveSessions = maxActiveSessions;
+        this.committer = committer;
         this.reset();
     }
 
@@ -86,4 +93,19 @@ public class DistributableSessionManagerStatistics implements RecordableSessionM
     public long getStartTime() {
         return this.startTime;
     }
+
+    @Override
+    public long getMeanCommitLag() {
+        return (this.committer != null) ? this.committer.getMeanLag().toMillis() : 0;
+    }
+
+    @Override
+    public long getMaxCommitLag() {
+        return (this.committer != null) ? this.committer.getMaxLag().toMillis() : 0;
+    }
+
+    @Override
+    public long getPendingCommitCount() {
+        return (this.committer != null) ? this.committer.getPendingCount() : 0;
+    }
 }
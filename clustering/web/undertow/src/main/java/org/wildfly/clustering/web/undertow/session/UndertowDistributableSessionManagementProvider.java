@@ -14,6 +14,7 @@ import jakarta.servlet.ServletContext;
 import io.undertow.servlet.api.SessionConfigWrapper;
 
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
+import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.web.session.SessionIdentifierCodec;
 import org.jboss.msc.service.ServiceName;
 import org.wildfly.clustering.server.immutable.Immutability;
@@ -22,6 +23,7 @@ import org.wildfly.clustering.web.container.SessionManagementProvider;
 import org.wildfly.clustering.web.container.SessionManagerFactoryConfiguration;
 import org.wildfly.clustering.web.container.WebDeploymentConfiguration;
 import org.wildfly.clustering.web.service.WebDeploymentServiceDescriptor;
+import org.wildfly.clustering.web.service.session.DistributableSessionManagementConfiguration;
 import org.wildfly.clustering.web.service.session.DistributableSessionManagementProvider;
 import org.wildfly.clustering.web.undertow.routing.DistributableAffinityLocator;
 import org.wildfly.clustering.web.undertow.routing.DistributableSessionIdentifierCodec;
@@ -50,12 +52,14 @@ public class UndertowDistributableSessionManagementProvider implements SessionMa
     @Override
     public DeploymentServiceInstaller getSessionManagerFactoryServiceInstaller(ServiceName name, SessionManagerFactoryConfiguration configuration) {
 
-        DeploymentServiceInstaller providedInstaller = this.provider.getSessionManagerFactoryServiceInstaller(new SessionManagerFactoryConfigurationAdapter<>(configuration, this.provider.getSessionManagementConfiguration(), this.immutability));
+        DistributableSessionManagementConfiguration<DeploymentUnit> managementConfiguration = this.provider.getSessionManagementConfiguration();
+        DeploymentServiceInstaller providedInstaller = this.provider.getSessionManagerFactoryServiceInstaller(new SessionManagerFactoryConfigurationAdapter<>(configuration, managementConfiguration, this.immutability));
+        int asyncCommitCapacity = managementConfiguration.getAsyncCommitCapacity();
 
         Function<SessionManagerFactory<ServletContext, Map<String, Object>>, io.undertow.servlet.api.SessionManagerFactory> mapper = new Function<>() {
             @Override
             public io.undertow.servlet.api.SessionManagerFactory apply(SessionManagerFactory<ServletContext, Map<String, Object>> factory) {
-                return new DistributableSessionManagerFactory(factory, configuration);
+                return new DistributableSessionManagerFactory(factory, configuration, asyncCommitCapacity);
             }
         };
         DeploymentServiceInstaller installer = ServiceInstaller.builder(ServiceDependency.on(WebDeploymentServiceDescriptor.SESSION_MANAGER_FACTORY, configuration.getDeploymentName()).map(mapper)).provides(name).build();
@@ -0,0 +1,157 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.clustering.web.undertow.session;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+import org.wildfly.clustering.context.Contextualizer;
+
+/**
+ * Unit test for {@link AsyncSessionCommitter}.
+ */
+public class AsyncSessionCommitterTestCase {
+
+    @Test
+    public void test() throws InterruptedException {
+        Contextualizer contextualizer = mock(Contextualizer.class);
+        when(contextualizer.contextualize(any(Runnable.class))).then(returnsFirstArg());
+
+        AsyncSessionCommitter committer = new AsyncSessionCommitter(10, contextualizer);
+        committer.start();
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Integer> commits = new CopyOnWriteArrayList<>();
+
+        committer.commit("session", () -> {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            commits.add(1);
+        });
+        committer.commit("session", () -> commits.add(2));
+        committer.commit("session", () -> commits.add(3));
+
+        // Subsequent commits of the same session wait for the first
+        assertEquals(3, committer.getPendingCount());
+        assertFalse(committer.await(Duration.ofMillis(10)));
+        assertTrue(commits.isEmpty());
+
+        latch.countDown();
+
+        assertTrue(committer.await(Duration.ofSeconds(10)));
+        assertEquals(List.of(1, 2, 3), commits);
+        assertEquals(0, committer.getPendingCount());
+        assertTrue(committer.getMaxLag().compareTo(committer.getMeanLag()) >= 0);
+        assertFalse(committer.getMaxLag().isZero());
+
+        committer.reset();
+        assertTrue(committer.getMaxLag().isZero());
+        assertTrue(committer.getMeanLag().isZero());
+
+        assertTrue(committer.stop(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    public void failure() throws InterruptedException {
+        Contextualizer contextualizer = mock(Contextualizer.class);
+        when(contextualizer.contextualize(any(Runnable.class))).then(returnsFirstArg());
+
+        AsyncSessionCommitter committer = new AsyncSessionCommitter(10, contextualizer);
+        committer.start();
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Integer> commits = new CopyOnWriteArrayList<>();
+
+        committer.commit("session", () -> {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException();
+        });
+        committer.commit("session", () -> commits.add(2));
+
+        latch.countDown();
+
+        // A failed commit does not prevent subsequent commits of the same session
+        assertTrue(committer.await(Duration.ofSeconds(10)));
+        assertEquals(List.of(2), commits);
+        assertEquals(0, committer.getPendingCount());
+
+        assertTrue(committer.stop(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    public void exhausted() throws InterruptedException {
+        Contextualizer contextualizer = mock(Contextualizer.class);
+        when(contextualizer.contextualize(any(Runnable.class))).then(returnsFirstArg());
+
+        AsyncSessionCommitter committer = new AsyncSessionCommitter(1, contextualizer);
+        committer.start();
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Integer> commits = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+
+        committer.commit("session", () -> {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            commits.add(1);
+        });
+
+        // Capacity is exhausted, so a commit of another session is executed by the submitting thread, rather than blocking it
+        committer.commit("other", () -> threads.add(Thread.currentThread()));
+        assertEquals(List.of(Thread.currentThread()), threads);
+        assertEquals(1, committer.getPendingCount());
+
+        // Commit of a session with a pending commit still follows it
+        committer.commit("session", () -> commits.add(2));
+        assertEquals(2, committer.getPendingCount());
+        assertTrue(commits.isEmpty());
+
+        latch.countDown();
+
+        assertTrue(committer.await(Duration.ofSeconds(10)));
+        assertEquals(List.of(1, 2), commits);
+        assertEquals(0, committer.getPendingCount());
+
+        assertTrue(committer.stop(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    public void stopped() {
+        Contextualizer contextualizer = mock(Contextualizer.class);
+        when(contextualizer.contextualize(any(Runnable.class))).then(returnsFirstArg());
+
+        AsyncSessionCommitter committer = new AsyncSessionCommitter(10, contextualizer);
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+
+        // Commits of a committer that is not started are executed by the submitting thread
+        committer.commit("session", () -> threads.add(Thread.currentThread()));
+
+        committer.start();
+        assertTrue(committer.stop(Duration.ofSeconds(10)));
+
+        committer.commit("session", () -> threads.add(Thread.currentThread()));
+
+        assertEquals(List.of(Thread.currentThread(), Thread.currentThread()), threads);
+        assertEquals(0, committer.getPendingCount());
+    }
+}
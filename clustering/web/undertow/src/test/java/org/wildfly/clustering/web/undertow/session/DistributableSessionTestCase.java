@@ -5,11 +5,14 @@
 package org.wildfly.clustering.web.undertow.session;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
@@ -20,13 +23,17 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -54,10 +61,12 @@ import org.mockito.ArgumentCaptor;
 import org.wildfly.clustering.cache.batch.Batch;
 import org.wildfly.clustering.cache.batch.BatchContext;
 import org.wildfly.clustering.cache.batch.SuspendedBatch;
+import org.wildfly.clustering.context.Contextualizer;
 import org.wildfly.clustering.session.ImmutableSessionMetaData;
 import org.wildfly.clustering.session.Session;
 import org.wildfly.clustering.session.SessionManager;
 import org.wildfly.clustering.session.SessionMetaData;
+import org.wildfly.clustering.web.session.MutableAttribute;
 import org.xnio.OptionMap;
 import org.xnio.StreamConnection;
 import org.xnio.channels.Configurable;
@@ -165,6 +174,53 @@ public class DistributableSessionTestCase {
         verify(this.closeTask).accept(exchange);
     }
 
+    @Test
+    public void asyncRequestDone() throws InterruptedException {
+        doReturn(this.metaData).when(this.session).getMetaData();
+        doReturn(false).when(this.metaData).isNew();
+        doReturn("id").when(this.session).getId();
+
+        Contextualizer contextualizer = mock(Contextualizer.class);
+        when(contextualizer.contextualize(any(Runnable.class))).then(returnsFirstArg());
+        AsyncSessionCommitter committer = new AsyncSessionCommitter(10, contextualizer);
+        committer.start();
+
+        io.undertow.server.session.Session session = new DistributableSession(this.manager, this.session, this.config, this.suspendedBatch, this.closeTask, this.statistics, committer);
+
+        HttpServerExchange exchange = new HttpServerExchange(null);
+        Batch batch = mock(Batch.class);
+        CountDownLatch latch = new CountDownLatch(1);
+        ArgumentCaptor<Instant> capturedLastAccessStartTime = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> capturedLastAccessEndTime = ArgumentCaptor.forClass(Instant.class);
+
+        doAnswer(invocation -> {
+            latch.await();
+            return batch;
+        }).when(this.suspendedBatch).resume();
+        doReturn(true).when(this.session).isValid();
+        doNothing().when(this.metaData).setLastAccess(capturedLastAccessStartTime.capture(), capturedLastAccessEndTime.capture());
+
+        session.requestDone(exchange);
+        Instant requestDoneTime = Instant.now();
+
+        // Request completes before its session is committed
+        verify(this.closeTask).accept(exchange);
+        verify(this.session, never()).close();
+        assertEquals(1, committer.getPendingCount());
+
+        latch.countDown();
+
+        assertTrue(committer.stop(Duration.ofSeconds(10)));
+
+        // Last access reflects the completion of the request, rather than of the commit
+        Assert.assertFalse(capturedLastAccessEndTime.getValue().isAfter(requestDoneTime));
+        Assert.assertFalse(capturedLastAccessStartTime.getValue().isAfter(capturedLastAccessEndTime.getValue()));
+
+        verify(this.session).close();
+        verify(batch).close();
+        assertEquals(0, committer.getPendingCount());
+    }
+
     @Test
     public void invalidSessionRequestDone() {
         doReturn(this.metaData).when(this.session).getMetaData();
@@ -564,6 +620,85 @@ public class DistributableSessionTestCase {
         verifyNoInteractions(this.suspendedBatch);
     }
 
+    @Test
+    public void setMutableAttribute() {
+        doReturn(this.metaData).when(this.session).getMetaData();
+        doReturn(false).when(this.metaData).isNew();
+
+        io.undertow.server.session.Session session = new DistributableSession(this.manager, this.session, this.config, this.suspendedBatch, this.closeTask, this.statistics);
+
+        String name = "name";
+        MutableAttribute value = mock(MutableAttribute.class);
+
+        Map<String, Object> attributes = mock(Map.class);
+        SessionListener listener = mock(SessionListener.class);
+        SessionListeners listeners = new SessionListeners();
+        listeners.addSessionListener(listener);
+
+        doReturn(attributes).when(this.session).getAttributes();
+        doReturn(value).when(attributes).get(name);
+        doReturn(listeners).when(this.manager).getSessionListeners();
+        doReturn(false).when(value).isModified();
+
+        // Unmodified value is not re-set
+        Object result = session.setAttribute(name, value);
+
+        assertSame(value, result);
+
+        verify(attributes, never()).put(name, value);
+        verify(value, never()).clearModified();
+        verifyNoInteractions(listener);
+
+        doReturn(true).when(value).isModified();
+        doReturn(value).when(attributes).put(name, value);
+
+        result = session.setAttribute(name, value);
+
+        assertSame(value, result);
+
+        verify(attributes).put(name, value);
+        verify(value).clearModified();
+        verifyNoInteractions(listener);
+        verifyNoInteractions(this.suspendedBatch);
+    }
+
+    @Test
+    public void setUnchangedAttribute() {
+        doReturn(this.metaData).when(this.session).getMetaData();
+        doReturn(false).when(this.metaData).isNew();
+
+        io.undertow.server.session.Session session = new DistributableSession(this.manager, this.session, this.config, this.suspendedBatch, this.closeTask, this.statistics);
+
+        String name = "name";
+        String value = "value";
+        List<Object> mutableValue = new ArrayList<>();
+
+        Map<String, Object> attributes = mock(Map.class);
+        SessionListener listener = mock(SessionListener.class);
+        SessionListeners listeners = new SessionListeners();
+        listeners.addSessionListener(listener);
+
+        doReturn(attributes).when(this.session).getAttributes();
+        doReturn(listeners).when(this.manager).getSessionListeners();
+
+        // Bound instance of an immutable value is not re-set
+        doReturn(value).when(attributes).get(name);
+
+        assertSame(value, session.setAttribute(name, value));
+
+        verify(attributes, never()).put(name, value);
+
+        // Bound instance of a mutable value may have been modified, so is always re-set
+        doReturn(mutableValue).when(attributes).get(name);
+        doReturn(mutableValue).when(attributes).put(name, mutableValue);
+
+        assertSame(mutableValue, session.setAttribute(name, mutableValue));
+
+        verify(attributes).put(name, mutableValue);
+        verifyNoInteractions(listener);
+        verifyNoInteractions(this.suspendedBatch);
+    }
+
     @Test
     public void setAuthenticatedSessionAttribute() {
         doReturn(this.metaData).when(this.session).getMetaData();
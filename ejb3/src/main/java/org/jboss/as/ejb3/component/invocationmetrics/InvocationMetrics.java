@@ -5,29 +5,38 @@
 package org.jboss.as.ejb3.component.invocationmetrics;
 
 import java.lang.reflect.Method;
-import java.util.AbstractMap;
-import java.util.AbstractSet;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
-import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
 public class InvocationMetrics {
+    /**
+     * A snapshot of the invocation metrics of a component or of a single method.
+     * Times are expressed in milliseconds.
+     */
     public static class Values {
         final long invocations;
         final long executionTime;
         final long waitTime;
-
-        private Values(final long invocations, final long waitTime, final long executionTime) {
-            this.invocations = invocations;
-            this.executionTime = executionTime;
-            this.waitTime = waitTime;
+        private final LatencyHistogram.Snapshot executionTimes;
+        private final LatencyHistogram.Snapshot waitTimes;
+
+        private Values(final Recorder recorder) {
+            this.invocations = recorder.invocations.sum();
+            this.executionTime = TimeUnit.NANOSECONDS.toMillis(recorder.executionTime.sum());
+            this.waitTime = TimeUnit.NANOSECONDS.toMillis(recorder.waitTime.sum());
+            this.executionTimes = recorder.executionTimes.snapshot();
+            this.waitTimes = recorder.waitTimes.snapshot();
         }
 
         public long getExecutionTime() {
@@ -41,40 +50,61 @@ public class InvocationMetrics {
         public long getWaitTime() {
             return waitTime;
         }
+
+        /**
+         * @param percentile a percentile, between 0 (exclusive) and 1 (inclusive)
+         * @return the execution time, in milliseconds, below which the specified percentile of invocations completed
+         */
+        public double getExecutionTimePercentile(final double percentile) {
+            return executionTimes.getPercentile(percentile);
+        }
+
+        /**
+         * @param percentile a percentile, between 0 (exclusive) and 1 (inclusive)
+         * @return the wait time, in milliseconds, below which the specified percentile of invocations obtained an instance
+         */
+        public double getWaitTimePercentile(final double percentile) {
+            return waitTimes.getPercentile(percentile);
+        }
+    }
+
+    /**
+     * Records invocation counts and times without allocating or retrying.
+     */
+    private static class Recorder {
+        final LongAdder invocations = new LongAdder();
+        final LongAdder executionTime = new LongAdder();
+        final LongAdder waitTime = new LongAdder();
+        final LatencyHistogram executionTimes = new LatencyHistogram();
+        final LatencyHistogram waitTimes = new LatencyHistogram();
+
+        void record(final long waitNanos, final long executionNanos) {
+            invocations.increment();
+            executionTime.add(executionNanos);
+            waitTime.add(waitNanos);
+            executionTimes.record(executionNanos);
+            waitTimes.record(waitNanos);
+        }
     }
 
-    private final AtomicReference<Values> values = new AtomicReference<Values>(new Values(0, 0, 0));
+    private final Recorder recorder = new Recorder();
     private final AtomicLong concurrent = new AtomicLong(0);
     private final AtomicLong peakConcurrent = new AtomicLong(0);
 
-    private final ConcurrentMap<String, AtomicReference<Values>> methods = new ConcurrentHashMap<String, AtomicReference<Values>>();
+    // Keyed by method name, or by method signature for overloaded methods, so that overloads are tracked separately,
+    // while distinct Methods with the same name (e.g. declared by both a view and the bean class) share a recorder
+    private final ConcurrentMap<String, Recorder> methods = new ConcurrentHashMap<>();
+    // Resolves the recorder of a Method without computing its key on every invocation
+    private final ConcurrentMap<Method, Recorder> recorders = new ConcurrentHashMap<>();
 
-    void finishInvocation(final Method method, final long invocationWaitTime, final long invocationExecutionTime) {
+    void finishInvocation(final Method method, final long invocationWaitNanos, final long invocationExecutionNanos) {
         concurrent.decrementAndGet();
-        for(;;) {
-            final Values oldv = values.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (values.compareAndSet(oldv, newv))
-                break;
-        }
-        final AtomicReference<Values> methodValues = ref(methods, method.getName());
-        for (;;) {
-            final Values oldv = methodValues.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (methodValues.compareAndSet(oldv, newv))
-                break;
+        recorder.record(invocationWaitNanos, invocationExecutionNanos);
+        Recorder methodRecorder = recorders.get(method);
+        if (methodRecorder == null) {
+            methodRecorder = recorders.computeIfAbsent(method, key -> methods.computeIfAbsent(key(key), k -> new Recorder()));
         }
-    }
-
-    private static AtomicReference<Values> ref(final ConcurrentMap<String, AtomicReference<Values>> map, final String key) {
-        AtomicReference<Values> ref = map.get(key);
-        if (ref == null) {
-            ref = new AtomicReference<Values>(new Values(0, 0, 0));
-            final AtomicReference<Values> prevRef = map.putIfAbsent(key, ref);
-            if (prevRef != null)
-                ref = prevRef;
-        }
-        return ref;
+        methodRecorder.record(invocationWaitNanos, invocationExecutionNanos);
     }
 
     public long getConcurrent() {
@@ -82,62 +112,59 @@ public class InvocationMetrics {
     }
 
     public long getExecutionTime() {
-        return values.get().executionTime;
+        return TimeUnit.NANOSECONDS.toMillis(recorder.executionTime.sum());
     }
 
     public long getInvocations() {
-        return values.get().invocations;
+        return recorder.invocations.sum();
+    }
+
+    /**
+     * @param percentile a percentile, between 0 (exclusive) and 1 (inclusive)
+     * @return the execution time, in milliseconds, below which the specified percentile of invocations completed
+     */
+    public double getExecutionTimePercentile(final double percentile) {
+        return recorder.executionTimes.getPercentile(percentile);
     }
 
+    /**
+     * Returns the metrics of each invoked method, keyed by method name, e.g. {@code doIt}.
+     * Overloaded methods are keyed by method name and parameter types instead, e.g. {@code doIt(java.lang.String,int)}.
+     * @return a snapshot of the metrics of each invoked method
+     */
     public Map<String, Values> getMethods() {
-        return new AbstractMap<String, Values>() {
-            @Override
-            public Set<Entry<String, Values>> entrySet() {
-                return new AbstractSet<Entry<String, Values>>() {
-                    @Override
-                    public Iterator<Entry<String, Values>> iterator() {
-                        final Iterator<Entry<String, AtomicReference<Values>>> delegate = methods.entrySet().iterator();
-                        return new Iterator<Entry<String, Values>>() {
-                            @Override
-                            public boolean hasNext() {
-                                return delegate.hasNext();
-                            }
-
-                            @Override
-                            public Entry<String, Values> next() {
-                                final Entry<String, AtomicReference<Values>> next = delegate.next();
-                                return new Entry<String, Values>() {
-                                    @Override
-                                    public String getKey() {
-                                        return next.getKey();
-                                    }
-
-                                    @Override
-                                    public Values getValue() {
-                                        return next.getValue().get();
-                                    }
-
-                                    @Override
-                                    public Values setValue(final Values value) {
-                                        throw new UnsupportedOperationException("NYI");
-                                    }
-                                };
-                            }
-
-                            @Override
-                            public void remove() {
-                                throw new UnsupportedOperationException("NYI");
-                            }
-                        };
-                    }
-
-                    @Override
-                    public int size() {
-                        return methods.size();
-                    }
-                };
+        if (methods.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final Map<String, Values> result = new TreeMap<>();
+        for (Map.Entry<String, Recorder> entry : methods.entrySet()) {
+            result.put(entry.getKey(), new Values(entry.getValue()));
+        }
+        return result;
+    }
+
+    private static String key(final Method method) {
+        return isOverloaded(method) ? signature(method) : method.getName();
+    }
+
+    private static boolean isOverloaded(final Method method) {
+        final Class<?> declaringClass = method.getDeclaringClass();
+        for (Method[] candidates : new Method[][] { declaringClass.getMethods(), declaringClass.getDeclaredMethods() }) {
+            for (Method candidate : candidates) {
+                if (candidate.getName().equals(method.getName()) && !Arrays.equals(candidate.getParameterTypes(), method.getParameterTypes())) {
+                    return true;
+                }
             }
-        };
+        }
+        return false;
+    }
+
+    private static String signature(final Method method) {
+        final StringJoiner joiner = new StringJoiner(",", method.getName() + "(", ")");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            joiner.add(parameterType.getTypeName());
+        }
+        return joiner.toString();
     }
 
     public long getPeakConcurrent() {
@@ -145,13 +172,23 @@ public class InvocationMetrics {
     }
 
     public long getWaitTime() {
-        return values.get().waitTime;
+        return TimeUnit.NANOSECONDS.toMillis(recorder.waitTime.sum());
+    }
+
+    /**
+     * @param percentile a percentile, between 0 (exclusive) and 1 (inclusive)
+     * @return the wait time, in milliseconds, below which the specified percentile of invocations obtained an instance
+     */
+    public double getWaitTimePercentile(final double percentile) {
+        return recorder.waitTimes.getPercentile(percentile);
     }
 
     void startInvocation() {
         final long v = concurrent.incrementAndGet();
         // concurrent might decrement here, but we take that missing peak for granted.
-        if (peakConcurrent.get() < v)
-            peakConcurrent.incrementAndGet();
+        long peak = peakConcurrent.get();
+        while (peak < v && !peakConcurrent.compareAndSet(peak, v)) {
+            peak = peakConcurrent.get();
+        }
     }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size, log-linear histogram of latencies, recorded with microsecond resolution.
+ * Each power-of-2 range is divided into 16 linear sub-buckets, bounding the relative error of any reported percentile to ~6%.
+ * The sub-buckets of a given power-of-2 range are only allocated once a latency within that range is first recorded.
+ * Recording a value is otherwise a single atomic increment and never allocates.
+ */
+class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    // Largest distinguishable latency is 2^36 us (~19 hours), larger values are recorded in the last bucket
+    private static final int MAX_EXPONENT = 35;
+    private static final int RANGE_COUNT = MAX_EXPONENT - SUB_BUCKET_BITS + 2;
+    static final int BUCKET_COUNT = RANGE_COUNT * SUB_BUCKET_COUNT;
+
+    // Sub-buckets per power-of-2 range, allocated on demand
+    private final AtomicReferenceArray<AtomicLongArray> ranges = new AtomicReferenceArray<>(RANGE_COUNT);
+
+    /**
+     * Records the specified latency.
+     * @param nanos a latency in nanoseconds
+     */
+    void record(long nanos) {
+        int index = index(TimeUnit.NANOSECONDS.toMicros(Math.max(0L, nanos)));
+        int range = index >> SUB_BUCKET_BITS;
+        AtomicLongArray buckets = this.ranges.get(range);
+        if (buckets == null) {
+            this.ranges.compareAndSet(range, null, new AtomicLongArray(SUB_BUCKET_COUNT));
+            buckets = this.ranges.get(range);
+        }
+        buckets.incrementAndGet(index & SUB_BUCKET_MASK);
+    }
+
+    /**
+     * Returns the specified percentile of the recorded latencies, in milliseconds.
+     * @param percentile a percentile, between 0 (exclusive) and 1 (inclusive)
+     * @return the latency in milliseconds below which the specified percentile of recorded latencies fall, or 0 if nothing was recorded.
+     */
+    double getPercentile(double percentile) {
+        return this.snapshot().getPercentile(percentile);
+    }
+
+    /**
+     * Returns an immutable copy of the latencies recorded so far.
+     * @return a histogram snapshot
+     */
+    Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0L;
+        for (int range = 0; range < RANGE_COUNT; ++range) {
+            AtomicLongArray buckets = this.ranges.get(range);
+            if (buckets != null) {
+                for (int i = 0; i < SUB_BUCKET_COUNT; ++i) {
+                    long count = buckets.get(i);
+                    counts[(range << SUB_BUCKET_BITS) + i] = count;
+                    total += count;
+                }
+            }
+        }
+        return new Snapshot(counts, total);
+    }
+
+    /**
+     * An immutable copy of the latencies recorded by a histogram.
+     */
+    static class Snapshot {
+        private final long[] counts;
+        private final long total;
+
+        Snapshot(long[] counts, long total) {
+            this.counts = counts;
+            this.total = total;
+        }
+
+        /**
+         * Returns the specified percentile of the recorded latencies, in milliseconds.
+         * @param percentile a percentile, between 0 (exclusive) and 1 (inclusive)
+         * @return the latency in milliseconds below which the specified percentile of recorded latencies fall, or 0 if nothing was recorded.
+         */
+        double getPercentile(double percentile) {
+            if (this.total == 0L) {
+                return 0d;
+            }
+            long rank = Math.max(1L, (long) Math.ceil(percentile * this.total));
+            long cumulative = 0L;
+            for (int i = 0; i < BUCKET_COUNT; ++i) {
+                cumulative += this.counts[i];
+                if (cumulative >= rank) {
+                    return value(i) / 1000d;
+                }
+            }
+            return value(BUCKET_COUNT - 1) / 1000d;
+        }
+    }
+
+    static int index(long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return (int) micros;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & SUB_BUCKET_MASK;
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    /**
+     * Returns the midpoint of the range of values, in microseconds, recorded by the specified bucket.
+     */
+    static long value(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index >> SUB_BUCKET_BITS) - 1;
+        long lowerBound = (long) (SUB_BUCKET_COUNT + (index & SUB_BUCKET_MASK)) << shift;
+        return lowerBound + ((1L << shift) >> 1);
+    }
+}
@@ -57,9 +57,9 @@ public class SingletonComponent extends SessionBeanComponent {
     private final Object creationLock = new Object();
 
     /**
-     * A spec compliant {@link EJBReadWriteLock}
+     * A spec compliant {@link EJBReadWriteLock}, or {@link StripedEJBReadWriteLock} for read-mostly singletons
      */
-    private final ReadWriteLock readWriteLock = new EJBReadWriteLock();
+    private final ReadWriteLock readWriteLock;
 
     /**
      * Construct a new instance.
@@ -72,6 +72,7 @@ public class SingletonComponent extends SessionBeanComponent {
         super(singletonComponentCreateService);
         this.dependsOn = dependsOn;
         this.initOnStartup = singletonComponentCreateService.isInitOnStartup();
+        this.readWriteLock = singletonComponentCreateService.isStripedLock() ? new StripedEJBReadWriteLock() : new EJBReadWriteLock();
 
         this.beanLevelLockType = singletonComponentCreateService.getBeanLockType();
         this.methodLockTypes = singletonComponentCreateService.getMethodApplicableLockTypes();
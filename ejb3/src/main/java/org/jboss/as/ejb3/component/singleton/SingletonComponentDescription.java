@@ -63,6 +63,11 @@ public class SingletonComponentDescription extends SessionBeanComponentDescripti
      */
     private boolean initOnStartup;
 
+    /**
+     * Flag to indicate whether container managed concurrency should use a {@link StripedEJBReadWriteLock}
+     */
+    private boolean stripedLock;
+
     private final List<ServiceName> dependsOn = new ArrayList<ServiceName>();
 
     /**
@@ -94,7 +99,7 @@ public class SingletonComponentDescription extends SessionBeanComponentDescripti
 
         ComponentConfiguration singletonComponentConfiguration = new ComponentConfiguration(this, classIndex, moduleClassLoader, moduleLoader);
         // setup the component create service
-        singletonComponentConfiguration.setComponentCreateServiceFactory(new SingletonComponentCreateServiceFactory(this.isInitOnStartup(), dependsOn));
+        singletonComponentConfiguration.setComponentCreateServiceFactory(new SingletonComponentCreateServiceFactory(this.isInitOnStartup(), this.isStripedLock(), dependsOn));
         final String definedSecurityDomain = getDefinedSecurityDomain();
         final boolean securityRequired = hasBeanLevelSecurityMetadata();
         if (securityRequired) {
@@ -179,6 +184,17 @@ public class SingletonComponentDescription extends SessionBeanComponentDescripti
 
     }
 
+    /**
+     * Returns true if container managed concurrency of this singleton bean uses a lock optimized for read-mostly access.
+     */
+    public boolean isStripedLock() {
+        return this.stripedLock;
+    }
+
+    public void setStripedLock(final boolean stripedLock) {
+        this.stripedLock = stripedLock;
+    }
+
     @Override
     public SessionBeanType getSessionBeanType() {
         return SessionBeanComponentDescription.SessionBeanType.SINGLETON;
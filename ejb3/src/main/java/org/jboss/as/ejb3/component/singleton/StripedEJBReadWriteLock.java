@@ -0,0 +1,317 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.component.singleton;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+
+/**
+ * An implementation of {@link java.util.concurrent.locks.ReadWriteLock}, optimized for read-mostly singletons,
+ * which, like {@link EJBReadWriteLock}, throws an {@link jakarta.ejb.IllegalLoopbackException} when a thread holding a read lock tries to obtain a write lock.
+ * <p>
+ * Readers are counted using striped counters, such that, in the absence of a writer, acquiring a read lock is a single uncontended atomic increment.
+ * A writer first announces itself, which diverts subsequent readers to a slow path, and then waits for the existing readers to drain.
+ * Read locks are reentrant, and may be acquired by the thread holding the write lock.
+ * Write locks are reentrant.
+ */
+public class StripedEJBReadWriteLock implements ReadWriteLock {
+
+    // Separate each stripe by 128 bytes to prevent false sharing
+    private static final int PADDING = 16;
+    private static final int STRIPES = Integer.highestOneBit(Math.min(64, Math.max(1, Runtime.getRuntime().availableProcessors())) * 2 - 1);
+
+    /**
+     * Number of read locks held, per stripe. A given thread always increments and decrements the same stripe.
+     */
+    private final AtomicLongArray readers = new AtomicLongArray(STRIPES * PADDING);
+
+    /**
+     * Number of read locks held by the current thread, used for reentrancy and loopback detection.
+     */
+    private final ThreadLocal<int[]> readHolds = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * Held for the duration of a write lock. Serializes writers, and blocks readers while a writer is active.
+     */
+    private final ReentrantLock writerLock = new ReentrantLock();
+
+    /**
+     * The thread holding, or waiting for readers to drain before holding, the write lock.
+     */
+    private volatile Thread writer;
+
+    private final Lock readLock = new ReadLock();
+    private final Lock writeLock = new WriteLock();
+
+    @Override
+    public Lock readLock() {
+        return this.readLock;
+    }
+
+    @Override
+    public Lock writeLock() {
+        return this.writeLock;
+    }
+
+    private static int stripe() {
+        // N.B. Thread.getId() is deprecated, and its replacement, Thread.threadId(), requires Java 19
+        int hash = System.identityHashCode(Thread.currentThread()) * 0x9E3779B9;
+        return ((hash ^ (hash >>> 16)) & (STRIPES - 1)) * PADDING;
+    }
+
+    private boolean tryAcquireRead() {
+        int[] holds = this.readHolds.get();
+        int stripe = stripe();
+        // Reentrant reads, and reads by the writer, must never wait for a writer
+        if ((holds[0] > 0) || this.writerLock.isHeldByCurrentThread()) {
+            this.readers.incrementAndGet(stripe);
+            holds[0]++;
+            return true;
+        }
+        if (this.writer == null) {
+            this.readers.incrementAndGet(stripe);
+            // Re-check, in case a writer announced itself concurrently
+            if (this.writer == null) {
+                holds[0]++;
+                return true;
+            }
+            this.releaseRead(stripe);
+        }
+        return false;
+    }
+
+    private void acquireRead() {
+        // Wait for any active writer to release its lock
+        this.writerLock.lock();
+        try {
+            this.readers.incrementAndGet(stripe());
+            this.readHolds.get()[0]++;
+        } finally {
+            this.writerLock.unlock();
+        }
+    }
+
+    private void releaseRead(int stripe) {
+        this.readers.decrementAndGet(stripe);
+        Thread writer = this.writer;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private boolean hasReaders() {
+        for (int i = 0; i < STRIPES; ++i) {
+            if (this.readers.get(i * PADDING) != 0L) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ensures that the current thread doesn't hold any read locks. If
+     * the thread holds any read locks, this method throws a {@link jakarta.ejb.IllegalLoopbackException}.
+     */
+    private void checkLoopback() {
+        if (this.readHolds.get()[0] > 0) {
+            throw EjbLogger.ROOT_LOGGER.failToUpgradeToWriteLock();
+        }
+    }
+
+    /**
+     * Waits for readers to drain, following acquisition of {@link #writerLock}.
+     * @param nanos the maximum time to wait, or a negative value to wait indefinitely.
+     * @return true, if all readers have drained, false otherwise
+     */
+    private boolean awaitReaders(long nanos, boolean interruptible) throws InterruptedException {
+        if (this.writerLock.getHoldCount() > 1) {
+            // Reentrant write
+            return true;
+        }
+        this.writer = Thread.currentThread();
+        boolean drained = false;
+        // Like AQS, an uninterruptible wait clears, and later restores, the interrupt status, since park() would otherwise return immediately
+        boolean interrupted = false;
+        try {
+            long deadline = System.nanoTime() + nanos;
+            while (this.hasReaders()) {
+                if (nanos < 0L) {
+                    LockSupport.park(this);
+                } else {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0L) {
+                        return false;
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                }
+                if (Thread.interrupted()) {
+                    if (interruptible) {
+                        throw new InterruptedException();
+                    }
+                    interrupted = true;
+                }
+            }
+            drained = true;
+            return true;
+        } finally {
+            if (!drained) {
+                this.writer = null;
+                this.writerLock.unlock();
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * A read lock which increments the reader count of the stripe associated with the current thread.
+     */
+    class ReadLock implements Lock {
+
+        @Override
+        public void lock() {
+            if (!tryAcquireRead()) {
+                acquireRead();
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            if (!tryAcquireRead()) {
+                if (!this.tryLock(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            if (tryAcquireRead()) {
+                return true;
+            }
+            if (writerLock.tryLock()) {
+                try {
+                    readers.incrementAndGet(stripe());
+                    readHolds.get()[0]++;
+                    return true;
+                } finally {
+                    writerLock.unlock();
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            if (tryAcquireRead()) {
+                return true;
+            }
+            if (writerLock.tryLock(time, unit)) {
+                try {
+                    readers.incrementAndGet(stripe());
+                    readHolds.get()[0]++;
+                    return true;
+                } finally {
+                    writerLock.unlock();
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void unlock() {
+            int[] holds = readHolds.get();
+            assert holds[0] > 0 : "can't unlock, read lock is not held by current thread";
+            holds[0]--;
+            releaseRead(stripe());
+        }
+
+        /**
+         * Not implemented
+         *
+         * @throws UnsupportedOperationException
+         */
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * A write lock which first checks the number of read locks held by this thread.
+     * If the thread already holds a read lock, then this implementation throws an {@link jakarta.ejb.IllegalLoopbackException}.
+     */
+    class WriteLock implements Lock {
+
+        @Override
+        public void lock() {
+            checkLoopback();
+            writerLock.lock();
+            try {
+                awaitReaders(-1L, false);
+            } catch (InterruptedException e) {
+                // Uninterruptible
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            checkLoopback();
+            writerLock.lockInterruptibly();
+            awaitReaders(-1L, true);
+        }
+
+        @Override
+        public boolean tryLock() {
+            checkLoopback();
+            if (!writerLock.tryLock()) {
+                return false;
+            }
+            try {
+                return awaitReaders(0L, false);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            checkLoopback();
+            long nanos = unit.toNanos(time);
+            long start = System.nanoTime();
+            if (!writerLock.tryLock(nanos, TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+            return awaitReaders(Math.max(0L, nanos - (System.nanoTime() - start)), true);
+        }
+
+        @Override
+        public void unlock() {
+            if (writerLock.getHoldCount() == 1) {
+                writer = null;
+            }
+            writerLock.unlock();
+        }
+
+        /**
+         * Not implemented
+         *
+         * @throws UnsupportedOperationException
+         */
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
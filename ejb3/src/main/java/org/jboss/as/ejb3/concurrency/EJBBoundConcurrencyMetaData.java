@@ -0,0 +1,26 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.concurrency;
+
+import org.jboss.metadata.ejb.parser.jboss.ejb3.AbstractEJBBoundMetaData;
+
+/**
+ * Metadata represents the container managed concurrency configured for singleton beans via the jboss-ejb3.xml deployment descriptor
+ */
+public class EJBBoundConcurrencyMetaData extends AbstractEJBBoundMetaData {
+
+    private static final long serialVersionUID = -2738543212843410539L;
+
+    private boolean stripedLock;
+
+    public boolean isStripedLock() {
+        return stripedLock;
+    }
+
+    public void setStripedLock(final boolean stripedLock) {
+        this.stripedLock = stripedLock;
+    }
+}
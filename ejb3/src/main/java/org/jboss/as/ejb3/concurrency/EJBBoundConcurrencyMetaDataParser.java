@@ -0,0 +1,54 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.concurrency;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.jboss.metadata.ejb.parser.jboss.ejb3.AbstractEJBBoundMetaDataParser;
+import org.jboss.metadata.property.PropertyReplacer;
+
+/**
+ * Parser for <code>urn:ejb-concurrency</code> namespace. The <code>urn:ejb-concurrency</code> namespace elements
+ * can be used to configure the lock used by singleton beans with container managed concurrency.
+ */
+public class EJBBoundConcurrencyMetaDataParser extends AbstractEJBBoundMetaDataParser<EJBBoundConcurrencyMetaData> {
+
+    public static final String NAMESPACE_URI_1_0 = "urn:ejb-concurrency:1.0";
+
+    private static final String ROOT_ELEMENT_CONCURRENCY = "concurrency";
+    private static final String ELEMENT_STRIPED_LOCK = "striped-lock";
+
+    @Override
+    public EJBBoundConcurrencyMetaData parse(final XMLStreamReader reader, final PropertyReplacer propertyReplacer) throws XMLStreamException {
+        final String element = reader.getLocalName();
+        // we only parse <concurrency> (root) element
+        if (!ROOT_ELEMENT_CONCURRENCY.equals(element)) {
+            throw unexpectedElement(reader);
+        }
+        final EJBBoundConcurrencyMetaData metaData = new EJBBoundConcurrencyMetaData();
+        this.processElements(metaData, reader, propertyReplacer);
+        return metaData;
+    }
+
+    @Override
+    protected void processElement(final EJBBoundConcurrencyMetaData metaData, final XMLStreamReader reader, final PropertyReplacer propertyReplacer) throws XMLStreamException {
+        // if it doesn't belong to our namespace then let the super handle this
+        if (!NAMESPACE_URI_1_0.equals(reader.getNamespaceURI())) {
+            super.processElement(metaData, reader, propertyReplacer);
+            return;
+        }
+        if (ELEMENT_STRIPED_LOCK.equals(reader.getLocalName())) {
+            requireNoAttributes(reader);
+            final String text = getElementText(reader, propertyReplacer);
+            if (text != null) {
+                metaData.setStripedLock(Boolean.parseBoolean(text.trim()));
+            }
+        } else {
+            throw unexpectedElement(reader);
+        }
+    }
+}
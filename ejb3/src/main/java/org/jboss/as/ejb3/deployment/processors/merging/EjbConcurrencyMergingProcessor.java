@@ -18,14 +18,19 @@ import org.jboss.as.ee.metadata.MethodAnnotationAggregator;
 import org.jboss.as.ee.metadata.RuntimeAnnotationInformation;
 import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.ejb3.component.session.SessionBeanComponentDescription;
+import org.jboss.as.ejb3.component.singleton.SingletonComponentDescription;
 import org.jboss.as.ejb3.concurrency.AccessTimeoutDetails;
+import org.jboss.as.ejb3.concurrency.EJBBoundConcurrencyMetaData;
+import org.jboss.as.ejb3.deployment.EjbDeploymentAttachmentKeys;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.reflect.ClassReflectionIndex;
 import org.jboss.as.server.deployment.reflect.DeploymentReflectionIndex;
 import org.jboss.invocation.proxy.MethodIdentifier;
+import org.jboss.metadata.ejb.spec.AssemblyDescriptorMetaData;
 import org.jboss.metadata.ejb.spec.ConcurrentMethodMetaData;
 import org.jboss.metadata.ejb.spec.ConcurrentMethodsMetaData;
+import org.jboss.metadata.ejb.spec.EjbJarMetaData;
 import org.jboss.metadata.ejb.spec.NamedMethodMetaData;
 import org.jboss.metadata.ejb.spec.SessionBean31MetaData;
 import org.jboss.metadata.ejb.spec.SessionBeanMetaData;
@@ -73,6 +78,10 @@ public class EjbConcurrencyMergingProcessor extends AbstractMergingProcessor<Ses
 
     protected void handleDeploymentDescriptor(final DeploymentUnit deploymentUnit, final DeploymentReflectionIndex deploymentReflectionIndex, final Class<?> componentClass, final SessionBeanComponentDescription componentConfiguration) throws DeploymentUnitProcessingException {
 
+        if (componentConfiguration instanceof SingletonComponentDescription) {
+            handleConcurrencyMetaData(deploymentUnit, (SingletonComponentDescription) componentConfiguration);
+        }
+
         if (componentConfiguration.getDescriptorData() == null) {
             return;
         }
@@ -141,4 +150,31 @@ public class EjbConcurrencyMergingProcessor extends AbstractMergingProcessor<Ses
         }
         return resolveMethod(index, currentClass.getSuperclass(), componentClass, methodData);
     }
+
+    private static void handleConcurrencyMetaData(final DeploymentUnit deploymentUnit, final SingletonComponentDescription componentConfiguration) {
+        final EjbJarMetaData ejbJarMetaData = deploymentUnit.getAttachment(EjbDeploymentAttachmentKeys.EJB_JAR_METADATA);
+        if (ejbJarMetaData == null) {
+            return;
+        }
+        final AssemblyDescriptorMetaData assemblyMetadata = ejbJarMetaData.getAssemblyDescriptor();
+        if (assemblyMetadata == null) {
+            return;
+        }
+        final List<EJBBoundConcurrencyMetaData> concurrencyMetaDatas = assemblyMetadata.getAny(EJBBoundConcurrencyMetaData.class);
+        if (concurrencyMetaDatas == null) {
+            return;
+        }
+        Boolean allBeansStripedLock = null;
+        for (final EJBBoundConcurrencyMetaData concurrencyMetaData : concurrencyMetaDatas) {
+            if ("*".equals(concurrencyMetaData.getEjbName())) {
+                allBeansStripedLock = concurrencyMetaData.isStripedLock();
+            } else if (componentConfiguration.getComponentName().equals(concurrencyMetaData.getEjbName())) {
+                componentConfiguration.setStripedLock(concurrencyMetaData.isStripedLock());
+                return;
+            }
+        }
+        if (allBeansStripedLock != null) {
+            componentConfiguration.setStripedLock(allBeansStripedLock);
+        }
+    }
 }
@@ -3255,4 +3255,19 @@ public interface EjbLogger extends BasicLogger {
 
     @Message(id = 536, value = "Unsupported EJB receiver protocol %s")
     IllegalArgumentException unsupportedEJBReceiverProtocol(String uriScheme);
+
+    @LogMessage(level = WARN)
+    @Message(id = 537, value = "Failed to write a batch of %d pending timer state changes to the database; writing them individually")
+    void failedToWriteTimerUpdates(int count, @Cause Exception e);
+
+    @LogMessage(level = WARN)
+    @Message(id = 538, value = "Discarding %d bytes of incomplete or corrupt records from timer journal %s")
+    void discardedTimerJournalRecords(long bytes, File file);
+
+    @Message(id = 539, value = "%s is not a supported timer journal")
+    IOException invalidTimerJournal(File file);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 540, value = "Failed to run scheduled timeout task %s")
+    void failedToRunScheduledTimeout(Runnable task, @Cause Throwable cause);
 }
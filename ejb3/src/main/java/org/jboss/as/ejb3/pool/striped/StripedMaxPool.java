@@ -0,0 +1,266 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.pool.striped;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.pool.AbstractPool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+
+/**
+ * A pool with a maximum size, whose idle instances are spread across a number of stripes.
+ * <p/>
+ * Semantically equivalent to {@link org.jboss.as.ejb3.pool.strictmax.StrictMaxPool}, but designed for highly concurrent access:
+ * <ul>
+ * <li>Permits are tracked by a single atomic counter; threads only block on a lock when no permit is available.</li>
+ * <li>Idle instances are parked in fixed-size slot arrays, one per stripe, so that {@link #get()} and {@link #release(Object)}
+ * do not allocate. A thread prefers its own stripe, and steals from the other stripes when its own stripe is empty or full.</li>
+ * </ul>
+ */
+public class StripedMaxPool<T> extends AbstractPool<T> {
+
+    private static final int MAX_STRIPES = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+
+    /**
+     * The maximum number of instances allowed in the pool
+     */
+    private final int maxSize;
+    /**
+     * The time to wait for a permit.
+     */
+    private final long timeout;
+    private final TimeUnit timeUnit;
+    /**
+     * The number of instances that may still be handed out.
+     */
+    private final AtomicInteger permits;
+    /**
+     * Idle instances, partitioned into stripes.
+     */
+    private final AtomicReferenceArray<T>[] stripes;
+    private final int stripeMask;
+    /**
+     * Guards the slow path of {@link #get()}, i.e. when no permit is available.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitAvailable = this.lock.newCondition();
+    /**
+     * Number of threads waiting for a permit. Only modified while holding {@link #lock}.
+     */
+    private volatile int waiters = 0;
+
+    public StripedMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit) {
+        this(factory, maxSize, timeout, timeUnit, MAX_STRIPES);
+    }
+
+    @SuppressWarnings("unchecked")
+    StripedMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit, int maxStripes) {
+        super(factory);
+        this.maxSize = maxSize;
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+        this.permits = new AtomicInteger(maxSize);
+        // Use a power of 2 number of stripes, no more than necessary to hold maxSize instances
+        int stripeCount = Math.min(Integer.highestOneBit(Math.max(1, maxStripes)), Integer.highestOneBit(Math.max(1, maxSize)));
+        // Ensure total capacity across all stripes can accommodate maxSize idle instances
+        int stripeSize = (maxSize + stripeCount - 1) / stripeCount;
+        this.stripes = new AtomicReferenceArray[stripeCount];
+        for (int i = 0; i < stripeCount; ++i) {
+            this.stripes[i] = new AtomicReferenceArray<>(stripeSize);
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    @Override
+    public void discard(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Discard instance %s#%s", this, ctx);
+        }
+
+        this.releasePermit();
+
+        super.doRemove(ctx);
+    }
+
+    @Override
+    public int getCurrentSize() {
+        return getCreateCount() - getRemoveCount();
+    }
+
+    @Override
+    public int getAvailableCount() {
+        return this.permits.get();
+    }
+
+    @Override
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    @Override
+    public void setMaxSize(int maxSize) {
+        throw EjbLogger.ROOT_LOGGER.methodNotImplemented();
+    }
+
+    @Override
+    public T get() {
+        if (!this.tryAcquirePermit()) {
+            this.acquirePermit();
+        }
+
+        T bean = this.poll();
+
+        if (bean != null) {
+            return bean;
+        }
+
+        try {
+            // Pool is empty, create an instance
+            bean = create();
+        } finally {
+            if (bean == null) {
+                this.releasePermit();
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public void release(T obj) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("%s/%s Free instance: %s", this.maxSize - this.permits.get(), this.maxSize, this);
+        }
+
+        if (!this.offer(obj)) {
+            // Should not happen, since the stripes can hold maxSize idle instances
+            super.doRemove(obj);
+        }
+
+        this.releasePermit();
+    }
+
+    @Override
+    @Deprecated
+    public void remove(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Removing instance: %s#%s", this, ctx);
+        }
+
+        this.releasePermit();
+
+        super.doRemove(ctx);
+    }
+
+    @Override
+    public void start() {
+        // Nothing to start
+    }
+
+    @Override
+    public void stop() {
+        for (AtomicReferenceArray<T> stripe : this.stripes) {
+            for (int i = 0; i < stripe.length(); ++i) {
+                T obj = stripe.getAndSet(i, null);
+                if (obj != null) {
+                    destroy(obj);
+                }
+            }
+        }
+    }
+
+    private boolean tryAcquirePermit() {
+        int available = this.permits.get();
+        while (available > 0) {
+            int current = this.permits.compareAndExchange(available, available - 1);
+            if (current == available) {
+                return true;
+            }
+            available = current;
+        }
+        return false;
+    }
+
+    private void acquirePermit() {
+        long nanos = this.timeUnit.toNanos(this.timeout);
+        ReentrantLock lock = this.lock;
+        try {
+            lock.lockInterruptibly();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+        }
+        try {
+            // Publish our intent to wait before re-checking for a permit, so that a concurrent release cannot miss us
+            this.waiters++;
+            while (!this.tryAcquirePermit()) {
+                if (nanos <= 0L) {
+                    throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(this.timeout, this.timeUnit);
+                }
+                nanos = this.permitAvailable.awaitNanos(nanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+        } finally {
+            this.waiters--;
+            lock.unlock();
+        }
+    }
+
+    private void releasePermit() {
+        this.permits.incrementAndGet();
+        // Only contend for the lock if some thread is actually waiting for a permit
+        if (this.waiters > 0) {
+            ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                this.permitAvailable.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private T poll() {
+        int home = this.stripeIndex();
+        for (int i = 0; i <= this.stripeMask; ++i) {
+            AtomicReferenceArray<T> stripe = this.stripes[(home + i) & this.stripeMask];
+            for (int j = 0; j < stripe.length(); ++j) {
+                T obj = stripe.getPlain(j);
+                if ((obj != null) && stripe.compareAndSet(j, obj, null)) {
+                    return obj;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean offer(T obj) {
+        int home = this.stripeIndex();
+        for (int i = 0; i <= this.stripeMask; ++i) {
+            AtomicReferenceArray<T> stripe = this.stripes[(home + i) & this.stripeMask];
+            for (int j = 0; j < stripe.length(); ++j) {
+                if ((stripe.getPlain(j) == null) && stripe.compareAndSet(j, null, obj)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private int stripeIndex() {
+        // Spread the identity hash of the current thread so that threads map evenly across stripes
+        // N.B. Thread.getId() is deprecated, and its replacement, Thread.threadId(), requires Java 19
+        int hash = System.identityHashCode(Thread.currentThread()) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & this.stripeMask;
+    }
+}
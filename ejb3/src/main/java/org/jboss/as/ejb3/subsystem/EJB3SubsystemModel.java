@@ -57,6 +57,7 @@ public interface EJB3SubsystemModel {
     String MAX_POOL_SIZE = "max-pool-size";
     String DERIVE_SIZE = "derive-size";
     String DERIVED_SIZE = "derived-size";
+    String STRIPED = "striped";
 
     String STRICT_MAX_BEAN_INSTANCE_POOL = "strict-max-bean-instance-pool";
 
@@ -65,6 +66,7 @@ public interface EJB3SubsystemModel {
 
     String RELATIVE_TO = "relative-to";
     String PATH = "path";
+    String FORMAT = "format";
 
     String DEFAULT_SINGLETON_BEAN_ACCESS_TIMEOUT = "default-singleton-bean-access-timeout";
     String DEFAULT_STATEFUL_BEAN_ACCESS_TIMEOUT = "default-stateful-bean-access-timeout";
@@ -72,6 +74,7 @@ public interface EJB3SubsystemModel {
     String DEFAULT_DATA_STORE = "default-data-store";
     String DEFAULT_PERSISTENT_TIMER_MANAGEMENT = "default-persistent-timer-management";
     String DEFAULT_TRANSIENT_TIMER_MANAGEMENT = "default-transient-timer-management";
+    String TIMING_WHEEL = "timing-wheel";
 
     String REMOTE = "remote";
     String SERVICE = "service";
@@ -126,6 +129,7 @@ public interface EJB3SubsystemModel {
     String PARTITION  = "partition";
     String REFRESH_INTERVAL = "refresh-interval";
     String ALLOW_EXECUTION = "allow-execution";
+    String WRITE_BEHIND_INTERVAL = "write-behind-interval";
 
     String STATIC_URLS = "static-urls";
 
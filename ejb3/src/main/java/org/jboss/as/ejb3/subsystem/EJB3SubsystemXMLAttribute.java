@@ -43,6 +43,8 @@ public enum EJB3SubsystemXMLAttribute {
     ENABLE_BY_DEFAULT("enable-by-default"),
     EXCLUDE_LOCAL_RECEIVER("exclude-local-receiver"),
 
+    FORMAT("format"),
+
     @Deprecated GROUPS_PATH("groups-path"),
 
     @Deprecated IDLE_TIMEOUT("idle-timeout"),
@@ -77,15 +79,19 @@ public enum EJB3SubsystemXMLAttribute {
 
     @Deprecated SESSIONS_PATH("sessions-path"),
     STATIC_URLS("static-urls"),
+    STRIPED("striped"),
     @Deprecated SUBDIRECTORY_COUNT("subdirectory-count"),
 
     THREAD_POOL_NAME("thread-pool-name"),
+    TIMING_WHEEL(EJB3SubsystemModel.TIMING_WHEEL),
     TYPE("type"),
 
     USE_QUALIFIED_NAME("use-qualified-name"),
 
     VALUE("value"),
 
+    WRITE_BEHIND_INTERVAL("write-behind-interval"),
+
     ACTIVE("active"),
 
     EXECUTE_IN_WORKER("execute-in-worker"),
@@ -41,6 +41,7 @@ public class FileDataStoreAdd extends AbstractAddStepHandler {
         final String path = pathNode.isDefined() ? pathNode.asString() : null;
         final ModelNode relativeToNode = FileDataStoreResourceDefinition.RELATIVE_TO.resolveModelAttribute(context, model);
         final String relativeTo = relativeToNode.isDefined() ? relativeToNode.asString() : null;
+        final boolean journal = FileDataStoreResourceDefinition.FORMAT.resolveModelAttribute(context, model).asString().equals(FileDataStoreResourceDefinition.JOURNAL_FORMAT);
 
         // add the TimerPersistence instance
         final CapabilityServiceTarget serviceTarget = context.getCapabilityServiceTarget();
@@ -50,7 +51,7 @@ public class FileDataStoreAdd extends AbstractAddStepHandler {
         final Supplier<TransactionSynchronizationRegistry> txnRegistrySupplier = builder.requiresCapability(TRANSACTION_SYNCHRONIZATION_REGISTRY_CAPABILITY_NAME, TransactionSynchronizationRegistry.class);
         final Supplier<ModuleLoader> moduleLoaderSupplier = builder.requires(Services.JBOSS_SERVICE_MODULE_LOADER);
         final Supplier<PathManager> pathManagerSupplier = builder.requires(PathManager.SERVICE_DESCRIPTOR);
-        final FileTimerPersistence fileTimerPersistence = new FileTimerPersistence(consumer, txnRegistrySupplier, moduleLoaderSupplier, pathManagerSupplier, true, path, relativeTo);
+        final FileTimerPersistence fileTimerPersistence = new FileTimerPersistence(consumer, txnRegistrySupplier, moduleLoaderSupplier, pathManagerSupplier, true, path, relativeTo, journal);
         builder.setInstance(fileTimerPersistence);
         builder.install();
     }
@@ -8,8 +8,12 @@ package org.jboss.as.ejb3.subsystem;
 import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
 
 import java.util.Timer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.jboss.as.controller.AbstractBoottimeAddStepHandler;
+import org.jboss.as.controller.CapabilityServiceBuilder;
+import org.jboss.as.controller.CapabilityServiceTarget;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.ejb3.deployment.processors.AroundTimeoutAnnotationParsingProcessor;
@@ -17,6 +21,9 @@ import org.jboss.as.ejb3.deployment.processors.TimerServiceDeploymentProcessor;
 import org.jboss.as.ejb3.deployment.processors.annotation.TimerServiceAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.merging.TimerMethodMergingProcessor;
 import org.jboss.as.ejb3.timerservice.TimerServiceMetaData;
+import org.jboss.as.ejb3.timerservice.scheduler.TimeoutScheduler;
+import org.jboss.as.ejb3.timerservice.scheduler.TimerTimeoutScheduler;
+import org.jboss.as.ejb3.timerservice.scheduler.TimingWheel;
 import org.jboss.as.server.AbstractDeploymentChainStep;
 import org.jboss.as.server.DeploymentProcessorTarget;
 import org.jboss.as.server.deployment.Phase;
@@ -37,6 +44,7 @@ public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
     protected void performBoottime(final OperationContext context, ModelNode operation, final ModelNode model) throws OperationFailedException {
 
         final String threadPoolName = TimerServiceResourceDefinition.THREAD_POOL_NAME.resolveModelAttribute(context, model).asStringOrNull();
+        final boolean timingWheel = TimerServiceResourceDefinition.TIMING_WHEEL.resolveModelAttribute(context, model).asBoolean();
 
         TimerServiceMetaData defaultMetaData = new TimerServiceMetaData();
         defaultMetaData.setDataStoreName(TimerServiceResourceDefinition.DEFAULT_DATA_STORE.resolveModelAttribute(context, model).asStringOrNull());
@@ -56,7 +64,14 @@ public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
         }, OperationContext.Stage.RUNTIME);
 
         if (threadPoolName != null) {
-            context.getCapabilityServiceTarget().addCapability(TimerServiceResourceDefinition.TIMER_SERVICE_CAPABILITY).setInstance(new TimerValueService()).install();
+            final CapabilityServiceTarget target = context.getCapabilityServiceTarget();
+            target.addCapability(TimerServiceResourceDefinition.TIMER_SERVICE_CAPABILITY).setInstance(new TimerValueService()).install();
+
+            final CapabilityServiceBuilder<?> builder = target.addCapability(TimerServiceResourceDefinition.TIMEOUT_SCHEDULER_CAPABILITY);
+            final Consumer<TimeoutScheduler> scheduler = builder.provides(TimerServiceResourceDefinition.TIMEOUT_SCHEDULER_CAPABILITY);
+            final Supplier<Timer> timer = !timingWheel ? builder.requiresCapability(TimerServiceResourceDefinition.TIMER_SERVICE_CAPABILITY_NAME, Timer.class) : null;
+            builder.setInstance(new TimeoutSchedulerService(scheduler, timer));
+            builder.install();
         }
     }
 
@@ -80,4 +95,39 @@ public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
             return timer;
         }
     }
+
+    /**
+     * Provides the scheduler of timeouts for non-distributable timer services.
+     * Uses a timing wheel, unless a {@link Timer} is supplied.
+     */
+    private static final class TimeoutSchedulerService implements org.jboss.msc.Service {
+
+        private final Consumer<TimeoutScheduler> scheduler;
+        private final Supplier<Timer> timer;
+        private TimingWheel wheel;
+
+        TimeoutSchedulerService(Consumer<TimeoutScheduler> scheduler, Supplier<Timer> timer) {
+            this.scheduler = scheduler;
+            this.timer = timer;
+        }
+
+        @Override
+        public synchronized void start(final StartContext context) {
+            if (this.timer != null) {
+                this.scheduler.accept(new TimerTimeoutScheduler(this.timer.get()));
+            } else {
+                this.wheel = new TimingWheel();
+                this.scheduler.accept(this.wheel);
+            }
+        }
+
+        @Override
+        public synchronized void stop(final StopContext context) {
+            if (this.wheel != null) {
+                this.wheel.close();
+                this.wheel = null;
+            }
+            this.scheduler.accept(null);
+        }
+    }
 }
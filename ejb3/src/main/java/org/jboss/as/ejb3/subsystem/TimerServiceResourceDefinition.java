@@ -17,7 +17,9 @@ import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
+import org.jboss.as.ejb3.timerservice.scheduler.TimeoutScheduler;
 import org.jboss.as.threads.ThreadsServices;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.wildfly.clustering.ejb.timer.TimerManagementProvider;
 import org.wildfly.subsystem.resource.capability.CapabilityReferenceRecorder;
@@ -46,6 +48,9 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
     public static final String TIMER_SERVICE_CAPABILITY_NAME = "org.wildfly.ejb3.timer-service";
     public static final RuntimeCapability<Void> TIMER_SERVICE_CAPABILITY = RuntimeCapability.Builder.of(TIMER_SERVICE_CAPABILITY_NAME, Timer.class).build();
 
+    public static final String TIMEOUT_SCHEDULER_CAPABILITY_NAME = "org.wildfly.ejb3.timer-service.timeout-scheduler";
+    public static final RuntimeCapability<Void> TIMEOUT_SCHEDULER_CAPABILITY = RuntimeCapability.Builder.of(TIMEOUT_SCHEDULER_CAPABILITY_NAME, TimeoutScheduler.class).build();
+
     static final SimpleAttributeDefinition THREAD_POOL_NAME =
             new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.THREAD_POOL_NAME, ModelType.STRING)
                     .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
@@ -79,7 +84,15 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
                     .setCapabilityReference(CapabilityReferenceRecorder.builder(TIMER_SERVICE_CAPABILITY, TimerManagementProvider.SERVICE_DESCRIPTOR).build())
                     .build();
 
-    static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { THREAD_POOL_NAME, DEFAULT_DATA_STORE, DEFAULT_PERSISTENT_TIMER_MANAGEMENT, DEFAULT_TRANSIENT_TIMER_MANAGEMENT };
+    static final SimpleAttributeDefinition TIMING_WHEEL =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.TIMING_WHEEL, ModelType.BOOLEAN)
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .setRequired(false)
+                    .setAllowExpression(true)
+                    .setDefaultValue(ModelNode.FALSE)
+                    .build();
+
+    static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { THREAD_POOL_NAME, DEFAULT_DATA_STORE, DEFAULT_PERSISTENT_TIMER_MANAGEMENT, DEFAULT_TRANSIENT_TIMER_MANAGEMENT, TIMING_WHEEL };
 
     private final PathManager pathManager;
 
@@ -89,7 +102,7 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
                 .setRemoveHandler(ReloadRequiredRemoveStepHandler.INSTANCE)
                 .setAddRestartLevel(OperationEntry.Flag.RESTART_ALL_SERVICES)
                 .setRemoveRestartLevel(OperationEntry.Flag.RESTART_ALL_SERVICES)
-                .setCapabilities(TIMER_SERVICE_CAPABILITY, TIMER_PERSISTENCE_CAPABILITY));
+                .setCapabilities(TIMER_SERVICE_CAPABILITY, TIMEOUT_SCHEDULER_CAPABILITY, TIMER_PERSISTENCE_CAPABILITY));
         this.pathManager = pathManager;
     }
 
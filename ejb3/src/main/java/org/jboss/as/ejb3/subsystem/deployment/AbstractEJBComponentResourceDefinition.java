@@ -24,6 +24,7 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.StringListAttributeDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -97,9 +98,17 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
             .build();
 
+    private static final AttributeDefinition EXECUTION_TIME_P50 = createPercentileMetric("execution-time-p50");
+    private static final AttributeDefinition EXECUTION_TIME_P95 = createPercentileMetric("execution-time-p95");
+    private static final AttributeDefinition EXECUTION_TIME_P99 = createPercentileMetric("execution-time-p99");
+    private static final AttributeDefinition WAIT_TIME_P50 = createPercentileMetric("wait-time-p50");
+    private static final AttributeDefinition WAIT_TIME_P95 = createPercentileMetric("wait-time-p95");
+    private static final AttributeDefinition WAIT_TIME_P99 = createPercentileMetric("wait-time-p99");
+
     private static final AttributeDefinition METHODS = ObjectMapAttributeDefinition.Builder.of(
             "methods",
-            ObjectTypeAttributeDefinition.Builder.of("complex", EXECUTION_TIME, INVOCATIONS, WAIT_TIME)
+            ObjectTypeAttributeDefinition.Builder.of("complex", EXECUTION_TIME, INVOCATIONS, WAIT_TIME,
+                    EXECUTION_TIME_P50, EXECUTION_TIME_P95, EXECUTION_TIME_P99, WAIT_TIME_P50, WAIT_TIME_P95, WAIT_TIME_P99)
             .build())
             .setRequired(false)
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
@@ -157,6 +166,14 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setStorageRuntime()
             .build();
 
+    private static AttributeDefinition createPercentileMetric(final String name) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.DOUBLE)
+                .setUndefinedMetricValue(new ModelNode(0d))
+                .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                .build();
+    }
+
     final EJBComponentType componentType;
 
     public AbstractEJBComponentResourceDefinition(final EJBComponentType componentType) {
@@ -243,6 +260,12 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
                 context.getResult().set(component.getInvocationMetrics().getWaitTime());
             }
         });
+        registerPercentileMetric(resourceRegistration, EXECUTION_TIME_P50, true, 0.50);
+        registerPercentileMetric(resourceRegistration, EXECUTION_TIME_P95, true, 0.95);
+        registerPercentileMetric(resourceRegistration, EXECUTION_TIME_P99, true, 0.99);
+        registerPercentileMetric(resourceRegistration, WAIT_TIME_P50, false, 0.50);
+        registerPercentileMetric(resourceRegistration, WAIT_TIME_P95, false, 0.95);
+        registerPercentileMetric(resourceRegistration, WAIT_TIME_P99, false, 0.99);
         resourceRegistration.registerMetric(METHODS, new AbstractRuntimeMetricsHandler() {
             @Override
             protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) {
@@ -253,12 +276,28 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
                     result.get("execution-time").set(values.getExecutionTime());
                     result.get("invocations").set(values.getInvocations());
                     result.get("wait-time").set(values.getWaitTime());
+                    result.get(EXECUTION_TIME_P50.getName()).set(values.getExecutionTimePercentile(0.50));
+                    result.get(EXECUTION_TIME_P95.getName()).set(values.getExecutionTimePercentile(0.95));
+                    result.get(EXECUTION_TIME_P99.getName()).set(values.getExecutionTimePercentile(0.99));
+                    result.get(WAIT_TIME_P50.getName()).set(values.getWaitTimePercentile(0.50));
+                    result.get(WAIT_TIME_P95.getName()).set(values.getWaitTimePercentile(0.95));
+                    result.get(WAIT_TIME_P99.getName()).set(values.getWaitTimePercentile(0.99));
                     context.getResult().get(entry.getKey()).set(result);
                 }
             }
         });
     }
 
+    private static void registerPercentileMetric(final ManagementResourceRegistration resourceRegistration, final AttributeDefinition attribute, final boolean execution, final double percentile) {
+        resourceRegistration.registerMetric(attribute, new AbstractRuntimeMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) {
+                final InvocationMetrics metrics = component.getInvocationMetrics();
+                context.getResult().set(execution ? metrics.getExecutionTimePercentile(percentile) : metrics.getWaitTimePercentile(percentile));
+            }
+        });
+    }
+
     /* (non-Javadoc)
      * @see org.jboss.as.controller.SimpleResourceDefinition#registerChildren(org.jboss.as.controller.registry.ManagementResourceRegistration)
      */
@@ -5,20 +5,46 @@
 
 package org.jboss.as.ejb3.subsystem.deployment;
 
+import java.util.function.ToLongFunction;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.subsystem.EJB3Extension;
 import org.jboss.as.ejb3.subsystem.EJB3SubsystemModel;
+import org.jboss.as.ejb3.timerservice.spi.ManagedTimerService;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.clustering.ejb.timer.TimeoutStatistics;
 
 /**
  * {@link ResourceDefinition} for the timer-service resource for runtime ejb deployment.
- * As of now this is dummy path impl, since mgmt ops are supported by top level service=timer-service
+ * As of now this is dummy path impl, since mgmt ops are supported by top level service=timer-service.
+ * Exposes the timeout statistics of timer services that record them, i.e. distributable timer services.
  * @author baranowb
  */
 public class TimerServiceResourceDefinition<T extends EJBComponent> extends SimpleResourceDefinition {
 
+    static final AttributeDefinition TIMEOUT_COUNT = new SimpleAttributeDefinitionBuilder("timeout-count", ModelType.LONG, true)
+            .setStorageRuntime()
+            .build();
+    static final AttributeDefinition ACTIVE_TIMEOUT_COUNT = new SimpleAttributeDefinitionBuilder("active-timeout-count", ModelType.INT, true)
+            .setStorageRuntime()
+            .build();
+    static final AttributeDefinition MEAN_TIMEOUT_LAG = new SimpleAttributeDefinitionBuilder("mean-timeout-lag", ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setStorageRuntime()
+            .build();
+    static final AttributeDefinition MAX_TIMEOUT_LAG = new SimpleAttributeDefinitionBuilder("max-timeout-lag", ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setStorageRuntime()
+            .build();
+
     private final AbstractEJBComponentRuntimeHandler<T> parentHandler;
     TimerServiceResourceDefinition(AbstractEJBComponentRuntimeHandler<T> parentHandler) {
         super(new SimpleResourceDefinition.Parameters(EJB3SubsystemModel.TIMER_SERVICE_PATH, EJB3Extension.getResourceDescriptionResolver(EJB3SubsystemModel.TIMER_SERVICE))
@@ -26,6 +52,29 @@ public class TimerServiceResourceDefinition<T extends EJBComponent> extends Simp
         this.parentHandler = parentHandler;
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        registerTimeoutMetric(resourceRegistration, TIMEOUT_COUNT, TimeoutStatistics::getTimeoutCount);
+        registerTimeoutMetric(resourceRegistration, ACTIVE_TIMEOUT_COUNT, TimeoutStatistics::getActiveTimeoutCount);
+        registerTimeoutMetric(resourceRegistration, MEAN_TIMEOUT_LAG, statistics -> statistics.getMeanTimeoutLag().toMillis());
+        registerTimeoutMetric(resourceRegistration, MAX_TIMEOUT_LAG, statistics -> statistics.getMaxTimeoutLag().toMillis());
+    }
+
+    private static void registerTimeoutMetric(ManagementResourceRegistration resourceRegistration, AttributeDefinition attribute, ToLongFunction<TimeoutStatistics> metric) {
+        resourceRegistration.registerMetric(attribute, new AbstractRuntimeMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(OperationContext context, ModelNode operation, EJBComponent component) {
+                ManagedTimerService timerService = component.getTimerService();
+                TimeoutStatistics statistics = (timerService != null) ? timerService.getTimeoutStatistics() : null;
+                // Undefined if the timer service does not record timeout statistics
+                if (statistics != null) {
+                    context.getResult().set(metric.applyAsLong(statistics));
+                }
+            }
+        });
+    }
+
     @Override
     public void registerChildren(ManagementResourceRegistration resourceRegistration) {
         super.registerChildren(resourceRegistration);
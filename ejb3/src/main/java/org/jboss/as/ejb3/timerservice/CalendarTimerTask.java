@@ -4,9 +4,8 @@
  */
 package org.jboss.as.ejb3.timerservice;
 
-import java.util.Calendar;
+import java.time.Instant;
 import java.util.Date;
-import java.util.GregorianCalendar;
 
 import org.jboss.as.ejb3.timerservice.schedule.CalendarBasedTimeout;
 import org.jboss.as.ejb3.timerservice.spi.TimedObjectInvoker;
@@ -53,17 +52,16 @@ public class CalendarTimerTask extends TimerTask {
         if (currentTimeout == null) {
             return null;
         }
-        Calendar nextTimeout = new GregorianCalendar();
-        nextTimeout.setTime(currentTimeout);
+        Instant nextTimeout = currentTimeout.toInstant();
 
         CalendarBasedTimeout timeout = ((CalendarTimer) timer).getCalendarTimeout();
-        Date now = new Date();
+        Instant now = Instant.now();
         do {
             nextTimeout = timeout.getNextTimeout(nextTimeout);
             // Ensure next timeout is in the future
-        } while ((nextTimeout != null) && nextTimeout.getTime().before(now));
+        } while ((nextTimeout != null) && nextTimeout.isBefore(now));
 
-        return (nextTimeout != null) ? nextTimeout.getTime() : null;
+        return (nextTimeout != null) ? Date.from(nextTimeout) : null;
     }
 
     @Override
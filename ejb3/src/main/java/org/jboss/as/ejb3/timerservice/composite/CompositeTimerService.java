@@ -7,6 +7,7 @@ package org.jboss.as.ejb3.timerservice.composite;
 
 import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -19,6 +20,7 @@ import org.jboss.as.ejb3.timerservice.spi.ManagedTimer;
 import org.jboss.as.ejb3.timerservice.spi.ManagedTimerService;
 import org.jboss.as.ejb3.timerservice.spi.TimedObjectInvoker;
 import org.jboss.as.ejb3.timerservice.spi.TimerServiceRegistry;
+import org.wildfly.clustering.ejb.timer.TimeoutStatistics;
 
 /**
  * A composite timer service that manages persistent vs transient timers separately.
@@ -122,8 +124,61 @@ public class CompositeTimerService implements ManagedTimerService {
         return timer;
     }
 
+    @Override
+    public TimeoutStatistics getTimeoutStatistics() {
+        TimeoutStatistics transientStatistics = this.transientTimerService.getTimeoutStatistics();
+        TimeoutStatistics persistentStatistics = this.persistentTimerService.getTimeoutStatistics();
+        if (transientStatistics == null) {
+            return persistentStatistics;
+        }
+        if (persistentStatistics == null) {
+            return transientStatistics;
+        }
+        return new CompositeTimeoutStatistics(transientStatistics, persistentStatistics);
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s)", this.getClass().getSimpleName(), this.invoker.getTimedObjectId());
     }
+
+    private static class CompositeTimeoutStatistics implements TimeoutStatistics {
+        private final TimeoutStatistics transientStatistics;
+        private final TimeoutStatistics persistentStatistics;
+
+        CompositeTimeoutStatistics(TimeoutStatistics transientStatistics, TimeoutStatistics persistentStatistics) {
+            this.transientStatistics = transientStatistics;
+            this.persistentStatistics = persistentStatistics;
+        }
+
+        @Override
+        public long getTimeoutCount() {
+            return this.transientStatistics.getTimeoutCount() + this.persistentStatistics.getTimeoutCount();
+        }
+
+        @Override
+        public int getActiveTimeoutCount() {
+            return this.transientStatistics.getActiveTimeoutCount() + this.persistentStatistics.getActiveTimeoutCount();
+        }
+
+        @Override
+        public Duration getMeanTimeoutLag() {
+            long transientCount = this.transientStatistics.getTimeoutCount();
+            long persistentCount = this.persistentStatistics.getTimeoutCount();
+            long count = transientCount + persistentCount;
+            if (count == 0L) {
+                return Duration.ZERO;
+            }
+            // Weigh the mean lag of each timer service by its number of timeouts
+            long totalLag = this.transientStatistics.getMeanTimeoutLag().toMillis() * transientCount + this.persistentStatistics.getMeanTimeoutLag().toMillis() * persistentCount;
+            return Duration.ofMillis(totalLag / count);
+        }
+
+        @Override
+        public Duration getMaxTimeoutLag() {
+            Duration transientLag = this.transientStatistics.getMaxTimeoutLag();
+            Duration persistentLag = this.persistentStatistics.getMaxTimeoutLag();
+            return (transientLag.compareTo(persistentLag) >= 0) ? transientLag : persistentLag;
+        }
+    }
 }
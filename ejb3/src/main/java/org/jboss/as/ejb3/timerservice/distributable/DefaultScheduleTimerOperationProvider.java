@@ -8,7 +8,6 @@ package org.jboss.as.ejb3.timerservice.distributable;
 import java.time.Instant;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.GregorianCalendar;
 import java.util.TimeZone;
 import java.util.function.UnaryOperator;
 
@@ -40,7 +39,7 @@ public class DefaultScheduleTimerOperationProvider implements ScheduleTimerOpera
 
     private static class DefaultScheduleTimerOperator implements UnaryOperator<Instant> {
         private final CalendarBasedTimeout timeout;
-        private final Calendar first;
+        private final Instant first;
 
         DefaultScheduleTimerOperator(ImmutableScheduleExpression expression) {
             Instant start = expression.getStart();
@@ -55,19 +54,13 @@ public class DefaultScheduleTimerOperationProvider implements ScheduleTimerOpera
                         TimeZone.getTimeZone(expression.getZone()),
                         (start != null) ? Date.from(start) : null,
                         (end != null) ? Date.from(end) : null);
-            this.first = (start != null) ? this.timeout.getFirstTimeout() : this.timeout.getNextTimeout();
+            Calendar first = (start != null) ? this.timeout.getFirstTimeout() : this.timeout.getNextTimeout();
+            this.first = (first != null) ? first.toInstant() : null;
         }
 
         @Override
         public Instant apply(Instant lastTimeout) {
-            Calendar next = (lastTimeout != null) ? this.timeout.getNextTimeout(createCalendar(lastTimeout)) : this.first;
-            return (next != null) ? next.toInstant() : null;
-        }
-
-        private static Calendar createCalendar(Instant instant) {
-            Calendar calendar = new GregorianCalendar();
-            calendar.setTimeInMillis(instant.toEpochMilli());
-            return calendar;
+            return (lastTimeout != null) ? this.timeout.getNextTimeout(lastTimeout) : this.first;
         }
     }
 }
@@ -45,6 +45,7 @@ import org.wildfly.clustering.cache.batch.SuspendedBatch;
 import org.wildfly.clustering.ejb.timer.ImmutableScheduleExpression;
 import org.wildfly.clustering.ejb.timer.IntervalTimerConfiguration;
 import org.wildfly.clustering.ejb.timer.ScheduleTimerConfiguration;
+import org.wildfly.clustering.ejb.timer.TimeoutStatistics;
 import org.wildfly.clustering.ejb.timer.Timer;
 import org.wildfly.clustering.ejb.timer.TimerManager;
 
@@ -76,6 +77,11 @@ public class DistributableTimerService<I> implements ManagedTimerService {
         return this.invoker;
     }
 
+    @Override
+    public TimeoutStatistics getTimeoutStatistics() {
+        return this.manager.getTimeoutStatistics();
+    }
+
     @Override
     public void start() {
         this.manager.start();
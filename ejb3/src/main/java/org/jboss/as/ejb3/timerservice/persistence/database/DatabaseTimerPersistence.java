@@ -41,8 +41,12 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
@@ -108,12 +112,21 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
     private final int refreshInterval;
     /** Flag whether this instance should execute persistent timers*/
     private final boolean allowExecution;
+    /** Interval in millis within which timer state updates are coalesced, or 0 to write each update immediately*/
+    private final int writeBehindInterval;
+    /** Timer state updates not yet written to the persistence store, keyed by timer id*/
+    private final Map<String, TimerUpdate> pendingUpdates = new ConcurrentHashMap<>();
+    /** Timer state updates being written by a flush, keyed by timer id, each mapped to the completion of its flush*/
+    private final Map<String, CompletableFuture<Void>> flushingUpdates = new ConcurrentHashMap<>();
+    /** Makes the hand-over of pending updates to a flush atomic with respect to {@link #shouldRun(TimerImpl)}, so that a timer is never claimed while a stale update of it may still be written*/
+    private final ReadWriteLock pendingUpdatesLock = new ReentrantReadWriteLock();
     private volatile ManagedReference managedReference;
     private volatile DataSource dataSource;
     private volatile Properties sql;
     private MarshallerFactory factory;
     private MarshallingConfiguration configuration;
     private RefreshTask refreshTask;
+    private volatile WriteBehindTask writeBehindTask;
 
     /** database values */
     private static final String POSTGRES = "postgres";
@@ -137,6 +150,9 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
     private static final String UPDATE_TIMER = "update-timer";
     private static final String LOAD_ALL_TIMERS = "load-all-timers";
     private static final String LOAD_TIMER = "load-timer";
+    private static final String LOAD_TIMER_STATES = "load-timer-states";
+    /** Maximum number of retries of a failed timer state update, consistent with the retries of an immediate update*/
+    private static final int MAX_UPDATE_RETRIES = Integer.getInteger("jboss.timer.TaskPostPersist.maxRetry", 10);
     private static final String DELETE_TIMER = "delete-timer";
     private static final String UPDATE_RUNNING = "update-running";
     private static final String GET_TIMER_INFO = "get-timer-info";
@@ -171,7 +187,8 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
                                     final Supplier<ManagedReferenceFactory> dataSourceSupplier,
                                     final Supplier<ModuleLoader> moduleLoaderSupplier,
                                     final Supplier<Timer> timerSupplier,
-                                    final String database, String partition, String nodeName, int refreshInterval, boolean allowExecution) {
+                                    final String database, String partition, String nodeName, int refreshInterval, boolean allowExecution,
+                                    int writeBehindInterval) {
         this.dbConsumer = dbConsumer;
         this.dataSourceSupplier = dataSourceSupplier;
         this.moduleLoaderSupplier = moduleLoaderSupplier;
@@ -181,6 +198,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         this.nodeName = nodeName;
         this.refreshInterval = refreshInterval;
         this.allowExecution = allowExecution;
+        this.writeBehindInterval = writeBehindInterval;
     }
 
     @Override
@@ -199,12 +217,22 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         if (refreshInterval > 0) {
             timerSupplier.get().schedule(refreshTask, refreshInterval, refreshInterval);
         }
+        if (writeBehindInterval > 0) {
+            writeBehindTask = new WriteBehindTask();
+            timerSupplier.get().schedule(writeBehindTask, writeBehindInterval, writeBehindInterval);
+        }
     }
 
     @Override
     public synchronized void stop(final StopContext context) {
         dbConsumer.accept(null);
         refreshTask.cancel();
+        if (writeBehindTask != null) {
+            writeBehindTask.cancel();
+            writeBehindTask = null;
+            // nothing flushes updates requeued from here on
+            flushUpdates(false);
+        }
         knownTimerIds.clear();
         managedReference.release();
         managedReference = null;
@@ -479,12 +507,22 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
 
     @Override
     public void persistTimer(final TimerImpl timerEntity) {
+        if ((writeBehindTask != null) && (timerEntity.getState() != TimerState.CANCELED) && (timerEntity.getState() != TimerState.EXPIRED)) {
+            synchronized (this) {
+                knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
+            }
+            // coalesce with any pending update of the same timer
+            pendingUpdates.put(timerEntity.getId(), new TimerUpdate(timerEntity));
+            return;
+        }
         Connection connection = null;
         PreparedStatement statement = null;
         try {
             connection = dataSource.getConnection();
             if (timerEntity.getState() == TimerState.CANCELED ||
                     timerEntity.getState() == TimerState.EXPIRED) {
+                // a pending state update is superseded by the removal
+                pendingUpdates.remove(timerEntity.getId());
                 String deleteTimer = sql.getProperty(DELETE_TIMER);
                 statement = connection.prepareStatement(deleteTimer);
                 statement.setString(1, timerEntity.getTimedObjectId());
@@ -521,11 +559,39 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
 
     @Override
     public boolean shouldRun(TimerImpl timer) {
-        final ContextTransactionManager tm = ContextTransactionManager.getInstance();
         if (!allowExecution) {
             //timers never execute on this node
             return false;
         }
+        if (writeBehindInterval > 0) {
+            // a pending state update must not overwrite the state of a running timer
+            final TimerUpdate pendingUpdate;
+            final CompletableFuture<Void> flushing;
+            pendingUpdatesLock.readLock().lock();
+            try {
+                pendingUpdate = pendingUpdates.remove(timer.getId());
+                flushing = flushingUpdates.get(timer.getId());
+            } finally {
+                pendingUpdatesLock.readLock().unlock();
+            }
+            if (pendingUpdate != null) {
+                // the update is superseded by the running state, so it is never requeued
+                try {
+                    executeUpdates(Collections.singletonList(pendingUpdate));
+                } catch (Exception e) {
+                    EjbLogger.EJB3_TIMER_LOGGER.exceptionPersistTimerState(timer, e);
+                }
+            }
+            if (flushing != null) {
+                // only wait for the flush that is writing an update of this timer
+                flushing.join();
+            }
+        }
+        return updateRunning(timer);
+    }
+
+    private boolean updateRunning(TimerImpl timer) {
+        final ContextTransactionManager tm = ContextTransactionManager.getInstance();
         String loadTimer = sql.getProperty(UPDATE_RUNNING);
         Connection connection = null;
         PreparedStatement statement = null;
@@ -1029,6 +1095,214 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         }
     }
 
+    /**
+     * Writes all pending timer state updates to the persistence store.
+     * Pending updates are handed over to this flush while holding the lock, but written without it, so that
+     * {@link #shouldRun(TimerImpl)} only waits for a flush that is writing an update of the same timer.
+     *
+     * @param requeue indicates whether updates that fail to be written should be requeued for a subsequent flush
+     */
+    private void flushUpdates(final boolean requeue) {
+        if (pendingUpdates.isEmpty()) {
+            return;
+        }
+        final CompletableFuture<Void> flushed = new CompletableFuture<>();
+        final List<TimerUpdate> updates = new ArrayList<>(pendingUpdates.size());
+        pendingUpdatesLock.writeLock().lock();
+        try {
+            for (String timerId : pendingUpdates.keySet()) {
+                // remove by key, so that a concurrent update of the same timer is never lost
+                final TimerUpdate update = pendingUpdates.remove(timerId);
+                if (update != null) {
+                    updates.add(update);
+                    flushingUpdates.put(timerId, flushed);
+                }
+            }
+        } finally {
+            pendingUpdatesLock.writeLock().unlock();
+        }
+        try {
+            if (!updates.isEmpty()) {
+                writeUpdates(updates, requeue);
+            }
+        } finally {
+            for (TimerUpdate update : updates) {
+                flushingUpdates.remove(update.timerId, flushed);
+            }
+            flushed.complete(null);
+        }
+    }
+
+    /**
+     * Writes the specified timer state updates to the persistence store using a single batch and transaction.
+     * If the batch fails, each update is written individually, so that a single failing row cannot fail the others.
+     * Like the retries of an immediate update, an update that fails individually is optionally requeued,
+     * unless it was superseded by a more recent update of the same timer, until it exhausts its attempts
+     * or the next expiration of its timer has passed, after which its failure is logged as an error.
+     *
+     * @param updates the timer state updates to write
+     * @param requeue indicates whether failed updates should be requeued
+     */
+    private void writeUpdates(final List<TimerUpdate> updates, final boolean requeue) {
+        if (updates.size() > 1) {
+            try {
+                executeUpdates(updates);
+                return;
+            } catch (Exception e) {
+                EjbLogger.EJB3_TIMER_LOGGER.failedToWriteTimerUpdates(updates.size(), e);
+            }
+        }
+        for (TimerUpdate update : updates) {
+            try {
+                executeUpdates(Collections.singletonList(update));
+            } catch (Exception e) {
+                if (update.isSuperseded()) {
+                    EjbLogger.EJB3_TIMER_LOGGER.debugf(e, "Failed to persist superseded state %s of timer %s", update.state, update.timerId);
+                } else if (requeue && update.isRetryable()) {
+                    EjbLogger.EJB3_TIMER_LOGGER.exceptionPersistTimerState(update.timer, e);
+                    pendingUpdates.putIfAbsent(update.timerId, update.retry());
+                } else {
+                    EjbLogger.EJB3_TIMER_LOGGER.exceptionPersistPostTimerState(update.timer, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Executes the specified timer state updates within a single batch and transaction.
+     *
+     * @param updates the timer state updates to write
+     * @throws Exception if the updates could not be written, in which case none were
+     */
+    private void executeUpdates(final List<TimerUpdate> updates) throws Exception {
+        final ContextTransactionManager tm = ContextTransactionManager.getInstance();
+        final String updateTimer = sql.getProperty(UPDATE_TIMER);
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            tm.begin();
+            try {
+                connection = dataSource.getConnection();
+                statement = connection.prepareStatement(updateTimer);
+                for (TimerUpdate update : updates) {
+                    statement.setTimestamp(1, timestamp(update.nextExpiration));
+                    statement.setTimestamp(2, timestamp(update.previousRun));
+                    statement.setString(3, update.state.name());
+                    setNodeName(update.state, statement, 4);
+                    // WHERE CLAUSE
+                    statement.setString(5, update.timedObjectId);
+                    statement.setString(6, update.timerId);
+                    statement.setString(7, partition);
+                    statement.setString(8, nodeName);   // only persist if this node or empty
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            } catch (SQLException e) {
+                try {
+                    tm.rollback();
+                } catch (Exception ee) {
+                    EjbLogger.EJB3_TIMER_LOGGER.timerUpdateFailedAndRollbackNotPossible(ee);
+                }
+                throw e;
+            }
+            tm.commit();
+        } finally {
+            safeClose(statement);
+            safeClose(connection);
+        }
+    }
+
+    /**
+     * Loads the specified timers of a timed object, using a single connection.
+     *
+     * @param timedObjectId the timed object id
+     * @param timerIds the ids of the timers to load
+     * @param timerService the timer service of the timed object
+     * @return the loaded timers, keyed by timer id
+     * @throws SQLException if the timers could not be loaded
+     */
+    private Map<String, TimerImpl> loadTimers(final String timedObjectId, final Set<String> timerIds, final TimerServiceImpl timerService) throws SQLException {
+        final String loadTimer = sql.getProperty(LOAD_TIMER);
+        final Map<String, TimerImpl> result = new HashMap<>();
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = dataSource.getConnection();
+            statement = connection.prepareStatement(loadTimer);
+            for (String id : timerIds) {
+                statement.setString(1, timedObjectId);
+                statement.setString(2, id);
+                statement.setString(3, partition);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        final Holder holder = timerFromResult(resultSet, timerService, id, null);
+                        if (holder != null) {
+                            result.put(id, holder.timer);
+                        }
+                    }
+                } catch (SQLException e) {
+                    throw e;
+                } catch (Exception e) {
+                    EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, id, e);
+                }
+            }
+        } finally {
+            safeClose(statement);
+            safeClose(connection);
+        }
+        return result;
+    }
+
+    /**
+     * Loads the id and state of every timer of this partition.
+     *
+     * @return the state of each timer, keyed by timed object id and timer id
+     * @throws SQLException if the timers could not be loaded
+     */
+    private Map<String, Map<String, TimerState>> loadTimerStates() throws SQLException {
+        final String loadTimerStates = sql.getProperty(LOAD_TIMER_STATES);
+        final Map<String, Map<String, TimerState>> result = new HashMap<>();
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = dataSource.getConnection();
+            statement = connection.prepareStatement(loadTimerStates);
+            statement.setString(1, partition);
+            resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                final String id = resultSet.getString(1);
+                final String timedObjectId = resultSet.getString(2);
+                try {
+                    result.computeIfAbsent(timedObjectId, key -> new HashMap<>()).put(id, TimerState.valueOf(resultSet.getString(3)));
+                } catch (IllegalArgumentException e) {
+                    EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, id, e);
+                }
+            }
+        } finally {
+            safeClose(resultSet);
+            safeClose(statement);
+            safeClose(connection);
+        }
+        return result;
+    }
+
+    /**
+     * Periodically writes coalesced timer state updates to the persistence store.
+     */
+    private class WriteBehindTask extends TimerTask {
+
+        @Override
+        public void run() {
+            flushUpdates(true);
+        }
+    }
+
+    /**
+     * Synchronizes the timers of each deployed timed object with the persistence store.
+     * Only the id and state of each timer of this partition are queried, using a single query for all timed objects;
+     * complete timer rows are only loaded for timers that are unknown to, or out of sync with, this node.
+     */
     private class RefreshTask extends TimerTask {
 
         private volatile AtomicBoolean running = new AtomicBoolean();
@@ -1037,87 +1311,106 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         public void run() {
             if (running.compareAndSet(false, true)) {
                 try {
-                    Set<String> timedObjects;
+                    final Map<String, Set<String>> timedObjects = new HashMap<>();
                     synchronized (DatabaseTimerPersistence.this) {
-                        timedObjects = new HashSet<>(knownTimerIds.keySet());
+                        for (Map.Entry<String, Set<String>> entry : knownTimerIds.entrySet()) {
+                            if (changeListeners.containsKey(entry.getKey())) {
+                                timedObjects.put(entry.getKey(), new HashSet<>(entry.getValue()));
+                            }
+                        }
+                    }
+                    if (timedObjects.isEmpty()) {
+                        return;
+                    }
+                    // ensure the persistence store reflects the state of our own timers
+                    flushUpdates(true);
+                    final Map<String, Map<String, TimerState>> timerStates;
+                    try {
+                        timerStates = loadTimerStates();
+                    } catch (SQLException e) {
+                        for (String timedObjectId : timedObjects.keySet()) {
+                            EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
+                        }
+                        return;
                     }
-                    for (String timedObjectId : timedObjects) {
-                        TimerChangeListener listener = changeListeners.get(timedObjectId);
+                    for (Map.Entry<String, Set<String>> entry : timedObjects.entrySet()) {
+                        final String timedObjectId = entry.getKey();
+                        final Set<String> existing = entry.getValue();
+                        final TimerChangeListener listener = changeListeners.get(timedObjectId);
                         if (listener == null) {
                             continue;
                         }
-                        final Set<String> existing;
-                        synchronized (DatabaseTimerPersistence.this) {
-                            existing = new HashSet<>(knownTimerIds.get(timedObjectId));
+                        final TimerServiceImpl timerService = listener.getTimerService();
+                        // timers unknown to this node
+                        final Set<String> added = new HashSet<>();
+                        // timers out of sync with this node, mapped to their in-memory counterpart
+                        final Map<String, TimerImpl> unsynced = new HashMap<>();
+                        for (Map.Entry<String, TimerState> timerState : timerStates.getOrDefault(timedObjectId, Collections.emptyMap()).entrySet()) {
+                            final String id = timerState.getKey();
+                            if (!existing.remove(id)) {
+                                added.add(id);
+                            } else {
+                                TimerImpl oldTimer = timerService.getTimer(id);
+                                // if it is already in memory but it is not in sync we have a problem
+                                // remove and add -> the probable cause is db glitch
+                                boolean invalidMemoryTimer = oldTimer != null && !TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(oldTimer.getState());
+
+                                // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
+                                if (invalidMemoryTimer && TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(timerState.getValue())) {
+                                    unsynced.put(id, oldTimer);
+                                }
+                            }
                         }
-                        String loadTimer = sql.getProperty(LOAD_ALL_TIMERS);
-                        Connection connection = null;
-                        PreparedStatement statement = null;
-                        ResultSet resultSet = null;
-                        try {
-                            connection = dataSource.getConnection();
-                            statement = connection.prepareStatement(loadTimer);
-                            statement.setString(1, timedObjectId);
-                            statement.setString(2, partition);
-                            resultSet = statement.executeQuery();
-                            final TimerServiceImpl timerService = listener.getTimerService();
-                            while (resultSet.next()) {
-                                String id = null;
+                        if (!added.isEmpty() || !unsynced.isEmpty()) {
+                            final Set<String> ids = new HashSet<>(added);
+                            ids.addAll(unsynced.keySet());
+                            final Map<String, TimerImpl> loaded;
+                            try {
+                                loaded = loadTimers(timedObjectId, ids, timerService);
+                            } catch (SQLException e) {
+                                EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
+                                continue;
+                            }
+                            for (Map.Entry<String, TimerImpl> loadedTimer : loaded.entrySet()) {
+                                final String id = loadedTimer.getKey();
+                                final TimerImpl timer = loadedTimer.getValue();
                                 try {
-                                    id = resultSet.getString(1);
-                                    if (!existing.remove(id)) {
-                                        final Holder holder = timerFromResult(resultSet, timerService, id, null);
-                                        if(holder != null) {
-                                            synchronized (DatabaseTimerPersistence.this) {
-                                                knownTimerIds.get(timedObjectId).add(id);
-                                                listener.timerAdded(holder.timer);
-                                            }
+                                    synchronized (DatabaseTimerPersistence.this) {
+                                        final Set<String> knownIds = knownTimerIds.get(timedObjectId);
+                                        if (knownIds == null) {
+                                            // timed object was undeployed concurrently
+                                            break;
                                         }
-                                    } else {
-                                        TimerImpl oldTimer = timerService.getTimer(id);
-                                        // if it is already in memory but it is not in sync we have a problem
-                                        // remove and add -> the probable cause is db glitch
-                                        boolean invalidMemoryTimer = oldTimer != null && !TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(oldTimer.getState());
-
-                                        // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
-                                        if (invalidMemoryTimer) {
-                                            TimerState dbTimerState = TimerState.valueOf(resultSet.getString(9));
-                                            boolean validDBTimer = TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(dbTimerState);
-                                            if (validDBTimer) {
-                                                final Holder holder = timerFromResult(resultSet, timerService, id, dbTimerState);
-                                                if (holder != null) {
-                                                    synchronized (DatabaseTimerPersistence.this) {
-                                                        knownTimerIds.get(timedObjectId).add(id);
-                                                        listener.timerSync(oldTimer, holder.timer);
-                                                    }
-                                                }
-                                            }
+                                        knownIds.add(id);
+                                        final TimerImpl oldTimer = unsynced.get(id);
+                                        if (oldTimer != null) {
+                                            listener.timerSync(oldTimer, timer);
+                                        } else {
+                                            listener.timerAdded(timer);
                                         }
                                     }
                                 } catch (Exception e) {
-                                    EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), id, e);
+                                    EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, id, e);
                                 }
                             }
+                        }
 
-                            Set<String> timers;
-                            synchronized (DatabaseTimerPersistence.this) {
-                                 timers = knownTimerIds.get(timedObjectId);
-                            }
-                            for (String timer : existing) {
-                                TimerImpl timer1 = timerService.getTimer(timer);
-                                if (timer1 != null && timer1.getState() != TimerState.CREATED) {
-                                    synchronized (DatabaseTimerPersistence.this) {
-                                        timers.remove(timer);
-                                        listener.timerRemoved(timer);
-                                    }
+                        Set<String> timers;
+                        synchronized (DatabaseTimerPersistence.this) {
+                            timers = knownTimerIds.get(timedObjectId);
+                        }
+                        if (timers == null) {
+                            // timed object was undeployed concurrently
+                            continue;
+                        }
+                        for (String timer : existing) {
+                            TimerImpl timer1 = timerService.getTimer(timer);
+                            if (timer1 != null && timer1.getState() != TimerState.CREATED) {
+                                synchronized (DatabaseTimerPersistence.this) {
+                                    timers.remove(timer);
+                                    listener.timerRemoved(timer);
                                 }
                             }
-                        } catch (SQLException e) {
-                            EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
-                        } finally {
-                            safeClose(resultSet);
-                            safeClose(statement);
-                            safeClose(connection);
                         }
                     }
                 } finally {
@@ -1128,6 +1421,59 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         }
     }
 
+    /**
+     * Snapshot of the state of a timer, to be written to the persistence store.
+     */
+    private static final class TimerUpdate {
+        final TimerImpl timer;
+        final String timedObjectId;
+        final String timerId;
+        final Date nextExpiration;
+        final Date previousRun;
+        final TimerState state;
+        final int attempts;
+
+        TimerUpdate(TimerImpl timer) {
+            this.timer = timer;
+            this.timedObjectId = timer.getTimedObjectId();
+            this.timerId = timer.getId();
+            this.nextExpiration = timer.getNextExpiration();
+            this.previousRun = timer.getPreviousRun();
+            this.state = timer.getState();
+            this.attempts = 1;
+        }
+
+        private TimerUpdate(TimerUpdate update) {
+            this.timer = update.timer;
+            this.timedObjectId = update.timedObjectId;
+            this.timerId = update.timerId;
+            this.nextExpiration = update.nextExpiration;
+            this.previousRun = update.previousRun;
+            this.state = update.state;
+            this.attempts = update.attempts + 1;
+        }
+
+        /**
+         * Indicates whether this update should be retried following a failed write.
+         * An update is not retried once it exhausts its attempts, once the next expiration of its timer has passed,
+         * or once it was {@link #isSuperseded() superseded}.
+         */
+        boolean isRetryable() {
+            return (this.attempts <= MAX_UPDATE_RETRIES) && !this.isSuperseded()
+                    && ((this.nextExpiration == null) || (this.nextExpiration.getTime() > System.currentTimeMillis()));
+        }
+
+        /**
+         * Indicates whether the state of the timer of this update has since changed, i.e. whether a more recent update exists.
+         */
+        boolean isSuperseded() {
+            return this.timer.getState() != this.state;
+        }
+
+        TimerUpdate retry() {
+            return new TimerUpdate(this);
+        }
+    }
 
     static final class Holder {
         final TimerImpl timer;
@@ -17,6 +17,7 @@ import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -59,6 +60,9 @@ import org.wildfly.transaction.client.ContextTransactionManager;
 /**
  * File based persistent timer store.
  * <p/>
+ * Timers are either stored as one XML file per timer, or, if configured to use a journal, within a {@link TimerJournal} per timed object.
+ * Timers stored in one format are migrated to the configured format when their timed object is first accessed.
+ * <p/>
  * TODO: this is fairly hackey at the moment, it should be registered as an XA resource to support proper XA semantics
  *
  * @author Stuart Douglas
@@ -77,17 +81,20 @@ public class FileTimerPersistence implements TimerPersistence, Service {
     private final Supplier<PathManager> pathManagerSupplier;
     private final String path;
     private final String pathRelativeTo;
+    private final boolean journal;
     private File baseDir;
     private PathManager.Callback.Handle callbackHandle;
 
     private final ConcurrentMap<String, Lock> locks = new ConcurrentHashMap<String, Lock>();
     private final ConcurrentMap<String, String> directories = new ConcurrentHashMap<String, String>();
+    private final ConcurrentMap<String, TimerJournal> journals = new ConcurrentHashMap<String, TimerJournal>();
 
     public FileTimerPersistence(final Consumer<FileTimerPersistence> consumer,
                                 final Supplier<TransactionSynchronizationRegistry> txnRegistrySupplier,
                                 final Supplier<ModuleLoader> moduleLoaderSupplier,
                                 final Supplier<PathManager> pathManagerSupplier,
-                                final boolean createIfNotExists, final String path, final String pathRelativeTo) {
+                                final boolean createIfNotExists, final String path, final String pathRelativeTo,
+                                final boolean journal) {
         this.consumer = consumer;
         this.txnRegistrySupplier = txnRegistrySupplier;
         this.moduleLoaderSupplier = moduleLoaderSupplier;
@@ -99,6 +106,7 @@ public class FileTimerPersistence implements TimerPersistence, Service {
         this.createIfNotExists = createIfNotExists;
         this.path = path;
         this.pathRelativeTo = pathRelativeTo;
+        this.journal = journal;
     }
 
     @Override
@@ -147,6 +155,10 @@ public class FileTimerPersistence implements TimerPersistence, Service {
         consumer.accept(null);
         locks.clear();
         directories.clear();
+        for (TimerJournal journal : journals.values()) {
+            safeClose(journal);
+        }
+        journals.clear();
         if (callbackHandle != null) {
             callbackHandle.remove();
         }
@@ -203,6 +215,10 @@ public class FileTimerPersistence implements TimerPersistence, Service {
             if (status == Status.STATUS_NO_TRANSACTION ||
                     status == Status.STATUS_UNKNOWN || isBeforeCompletion()
                     || status == Status.STATUS_COMMITTED) {
+                if (journal) {
+                    writeJournal(timer, newTimer);
+                    return;
+                }
                 Map<String, TimerImpl> map = getTimers(timer.getTimedObjectId(), timer.getTimerService());
                 if (timer.getState() == TimerState.CANCELED ||
                         timer.getState() == TimerState.EXPIRED) {
@@ -243,6 +259,7 @@ public class FileTimerPersistence implements TimerPersistence, Service {
             lock.lock();
             locks.remove(timedObjectId);
             directories.remove(timedObjectId);
+            safeClose(journals.remove(timedObjectId));
         } finally {
             lock.unlock();
         }
@@ -262,11 +279,11 @@ public class FileTimerPersistence implements TimerPersistence, Service {
         final Lock lock = getLock(timedObjectId);
         try {
             lock.lock();
-            final Map<String, TimerImpl> timers = getTimers(timedObjectId, timerService);
+            final Collection<TimerImpl> timers = journal ? loadTimersFromJournal(timedObjectId, timerService) : getTimers(timedObjectId, timerService).values();
 
             final List<TimerImpl> entities = new ArrayList<TimerImpl>();
-            for (Map.Entry<String, TimerImpl> entry : timers.entrySet()) {
-                entities.add(mostRecentEntityVersion(entry.getValue()));
+            for (TimerImpl timer : timers) {
+                entities.add(mostRecentEntityVersion(timer));
             }
             return entities;
         } finally {
@@ -321,9 +338,86 @@ public class FileTimerPersistence implements TimerPersistence, Service {
      * @return The timers for the object
      */
     private Map<String, TimerImpl> getTimers(final String timedObjectId, final TimerServiceImpl timerService) {
+        final File directory = new File(getDirectory(timedObjectId));
+        if (TimerJournal.exists(directory)) {
+            //the store was previously configured to use a journal, rewrite its timers as xml
+            final TimerJournal journal = new TimerJournal(directory, timedObjectId, factory, configuration);
+            try {
+                journal.open();
+                for (TimerImpl timer : journal.load(timerService)) {
+                    writeFile(timer);
+                }
+                journal.delete();
+            } catch (IOException e) {
+                safeClose(journal);
+                throw new RuntimeException(e);
+            }
+        }
         return loadTimersFromFile(timedObjectId, timerService);
     }
 
+    /**
+     * Gets the journal for the given timed object, opening it if necessary. Should be called under lock
+     * <p/>
+     * When first opened, any timers stored as xml, or in the legacy format, are migrated into the journal.
+     *
+     * @param timedObjectId The timed object id
+     * @return The journal for the timed object
+     */
+    private TimerJournal getJournal(final String timedObjectId, final TimerServiceImpl timerService) throws IOException {
+        TimerJournal journal = journals.get(timedObjectId);
+        if (journal == null) {
+            journal = new TimerJournal(new File(getDirectory(timedObjectId)), timedObjectId, factory, configuration);
+            try {
+                journal.open();
+                final Map<String, TimerImpl> timers = loadTimersFromFile(timedObjectId, timerService);
+                if (!timers.isEmpty()) {
+                    final List<String> migrated = new ArrayList<>(timers.size());
+                    for (TimerImpl timer : timers.values()) {
+                        //timers that could not be written to the journal retain their files
+                        if (journal.contains(timer.getId()) || journal.write(timer)) {
+                            migrated.add(timer.getId());
+                        }
+                    }
+                    //make sure the migrated timers are durable before removing their files
+                    journal.compact();
+                    for (String timerId : migrated) {
+                        fileName(timedObjectId, timerId).delete();
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                safeClose(journal);
+                throw e;
+            }
+            journals.put(timedObjectId, journal);
+        }
+        return journal;
+    }
+
+    private List<TimerImpl> loadTimersFromJournal(final String timedObjectId, final TimerServiceImpl timerService) {
+        try {
+            return getJournal(timedObjectId, timerService).load(timerService);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void writeJournal(final TimerImpl timer, final boolean newTimer) {
+        try {
+            final TimerJournal journal = getJournal(timer.getTimedObjectId(), timer.getTimerService());
+            if (timer.getState() == TimerState.CANCELED ||
+                    timer.getState() == TimerState.EXPIRED) {
+                journal.remove(timer.getId());
+            } else if (newTimer || journal.contains(timer.getId())) {
+                //if it is not a new timer and is not in the journal then it has
+                //been removed by another thread.
+                journal.write(timer);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private Map<String, TimerImpl> loadTimersFromFile(String timedObjectId, TimerServiceImpl timerService) {
         Map<String, TimerImpl> timers = new HashMap<>();
         String directory = getDirectory(timedObjectId);
@@ -447,7 +541,9 @@ public class FileTimerPersistence implements TimerPersistence, Service {
                     }
                     try {
                         lock.lock();
-                        if (status == Status.STATUS_COMMITTED) {
+                        if (status == Status.STATUS_COMMITTED && journal) {
+                            writeJournal(timer, newTimer);
+                        } else if (status == Status.STATUS_COMMITTED) {
                             final Map<String, TimerImpl> map = getTimers(timer.getTimedObjectId(), timer.getTimerService());
                             if (timer.getState() == TimerState.CANCELED ||
                                     timer.getState() == TimerState.EXPIRED) {
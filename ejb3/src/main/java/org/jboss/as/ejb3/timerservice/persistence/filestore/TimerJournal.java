@@ -0,0 +1,523 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import jakarta.ejb.ScheduleExpression;
+
+import org.jboss.as.ejb3.timerservice.CalendarTimer;
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimeoutMethod;
+import org.jboss.marshalling.ByteBufferInput;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.MarshallerFactory;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.jboss.marshalling.OutputStreamByteOutput;
+import org.jboss.marshalling.Unmarshaller;
+
+/**
+ * Append-only store of the persistent timers of a single timed object.
+ * <p/>
+ * Timers are stored as compact binary records, within a checkpoint snapshot followed by a journal of subsequent changes.
+ * A timer is written in full when it is created; thereafter, only its state is appended when it changes.
+ * Once the journal holds sufficiently more records than there are live timers, the live timers are compacted into a new snapshot
+ * and the journal is truncated.
+ * Each record is framed by its length and checksum, so that any record torn by a crash is discarded on replay.
+ * <p/>
+ * This class is not thread safe, and is expected to be guarded by the lock of its timed object.
+ */
+final class TimerJournal implements Closeable {
+
+    static final String SNAPSHOT = "timers.snapshot";
+    static final String JOURNAL = "timers.journal";
+    private static final String COMPACTION = SNAPSHOT + ".tmp";
+
+    private static final int MAGIC = 0x454A4254;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES;
+    // Largest plausible record, used to detect a corrupt length
+    private static final int MAX_RECORD_SIZE = 64 * 1024 * 1024;
+
+    private static final byte TIMER = 1;
+    private static final byte STATE = 2;
+    private static final byte REMOVE = 3;
+
+    // Minimum number of journal records before compaction is considered
+    private static final int COMPACTION_THRESHOLD = 1024;
+
+    private static final long UNDEFINED = -1L;
+
+    private final File directory;
+    private final String timedObjectId;
+    private final MarshallerFactory factory;
+    private final MarshallingConfiguration configuration;
+
+    // Live timers, in creation order
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+    private final CRC32 checksum = new CRC32();
+    private FileChannel channel;
+    private int records;
+
+    /**
+     * Indicates whether the specified directory contains a timer journal.
+     */
+    static boolean exists(File directory) {
+        return new File(directory, SNAPSHOT).exists() || new File(directory, JOURNAL).exists();
+    }
+
+    TimerJournal(File directory, String timedObjectId, MarshallerFactory factory, MarshallingConfiguration configuration) {
+        this.directory = directory;
+        this.timedObjectId = timedObjectId;
+        this.factory = factory;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Replays the snapshot and journal, and opens the journal for appending.
+     */
+    void open() throws IOException {
+        File snapshot = new File(this.directory, SNAPSHOT);
+        if (snapshot.exists()) {
+            this.replay(snapshot);
+        }
+        File journal = new File(this.directory, JOURNAL);
+        long valid = journal.exists() ? this.replay(journal) : 0L;
+        this.channel = FileChannel.open(journal.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (valid < HEADER_SIZE) {
+            this.channel.truncate(0L);
+            this.channel.write(header());
+        } else {
+            long size = this.channel.size();
+            if (size > valid) {
+                EJB3_TIMER_LOGGER.discardedTimerJournalRecords(size - valid, journal);
+                this.channel.truncate(valid);
+            }
+            this.channel.position(valid);
+        }
+    }
+
+    /**
+     * Replays the records of the specified file.
+     * @return the length of the valid portion of the file
+     */
+    private long replay(File file) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            try {
+                if ((input.readInt() != MAGIC) || (input.readInt() != VERSION)) {
+                    throw EJB3_TIMER_LOGGER.invalidTimerJournal(file);
+                }
+            } catch (EOFException e) {
+                return 0L;
+            }
+            long position = HEADER_SIZE;
+            boolean journal = file.getName().equals(JOURNAL);
+            CRC32 checksum = new CRC32();
+            while (true) {
+                byte[] record;
+                try {
+                    int length = input.readInt();
+                    if ((length <= 0) || (length > MAX_RECORD_SIZE)) {
+                        return position;
+                    }
+                    record = new byte[length];
+                    input.readFully(record);
+                    checksum.reset();
+                    checksum.update(record, 0, length);
+                    if (input.readInt() != (int) checksum.getValue()) {
+                        return position;
+                    }
+                } catch (EOFException e) {
+                    return position;
+                }
+                this.apply(record);
+                if (journal) {
+                    this.records++;
+                }
+                position += Integer.BYTES + record.length + Integer.BYTES;
+            }
+        }
+    }
+
+    private void apply(byte[] record) throws IOException {
+        byte[] payload = new byte[record.length - 1];
+        System.arraycopy(record, 1, payload, 0, payload.length);
+        String id = new DataInputStream(new ByteArrayInputStream(payload)).readUTF();
+        switch (record[0]) {
+            case TIMER: {
+                this.entries.put(id, new Entry(payload));
+                break;
+            }
+            case STATE: {
+                Entry entry = this.entries.get(id);
+                if (entry != null) {
+                    entry.state = payload;
+                }
+                break;
+            }
+            case REMOVE: {
+                this.entries.remove(id);
+                break;
+            }
+            default: {
+                throw new IOException(String.valueOf(record[0]));
+            }
+        }
+    }
+
+    /**
+     * Indicates whether the specified timer is contained in this journal.
+     */
+    boolean contains(String id) {
+        return this.entries.containsKey(id);
+    }
+
+    /**
+     * Appends the specified timer to this journal.
+     * Timers not already contained in this journal are written in full, otherwise only their state is written.
+     * @return true, if the timer was written, false if its info could not be marshalled
+     */
+    boolean write(TimerImpl timer) throws IOException {
+        Entry entry = this.entries.get(timer.getId());
+        if (entry == null) {
+            byte[] info = this.marshal(timer);
+            if ((info == null) && (timer.getTimerInfo() != null)) {
+                return false;
+            }
+            byte[] payload = this.encode(output -> {
+                writeState(output, timer);
+                writeDefinition(output, timer, info);
+            });
+            this.append(TIMER, payload);
+            this.entries.put(timer.getId(), new Entry(payload));
+        } else {
+            byte[] payload = this.encode(output -> writeState(output, timer));
+            this.append(STATE, payload);
+            entry.state = payload;
+        }
+        this.compactIfNecessary();
+        return true;
+    }
+
+    /**
+     * Appends the removal of the specified timer to this journal, if present.
+     */
+    void remove(String id) throws IOException {
+        if (this.entries.remove(id) != null) {
+            this.append(REMOVE, this.encode(output -> output.writeUTF(id)));
+            this.compactIfNecessary();
+        }
+    }
+
+    /**
+     * Reconstitutes the live timers of this journal.
+     */
+    List<TimerImpl> load(TimerServiceImpl timerService) throws IOException {
+        ClassLoader loader = timerService.getInvoker().getClassLoader();
+        List<TimerImpl> timers = new ArrayList<>(this.entries.size());
+        List<String> deleted = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : this.entries.entrySet()) {
+            TimerImpl timer = this.decode(entry.getValue(), timerService, loader);
+            if (timer == null) {
+                deleted.add(entry.getKey());
+            } else {
+                timers.add(timer);
+            }
+        }
+        // Timeout method of an auto timer no longer exists
+        for (String id : deleted) {
+            this.remove(id);
+        }
+        return timers;
+    }
+
+    private void compactIfNecessary() throws IOException {
+        if ((this.records >= COMPACTION_THRESHOLD) && (this.records > 2 * this.entries.size())) {
+            this.compact();
+        }
+    }
+
+    /**
+     * Writes the live timers to a new snapshot, and truncates the journal.
+     * If interrupted by a crash, the journal will simply be replayed on top of the new snapshot.
+     */
+    void compact() throws IOException {
+        File compaction = new File(this.directory, COMPACTION);
+        try (FileOutputStream stream = new FileOutputStream(compaction)) {
+            OutputStream output = new BufferedOutputStream(stream);
+            output.write(header().array());
+            for (Entry entry : this.entries.values()) {
+                writeRecord(output, TIMER, entry.timer);
+                if (entry.state != null) {
+                    writeRecord(output, STATE, entry.state);
+                }
+            }
+            output.flush();
+            stream.getFD().sync();
+        }
+        Files.move(compaction.toPath(), new File(this.directory, SNAPSHOT).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.channel.truncate(HEADER_SIZE);
+        this.channel.position(HEADER_SIZE);
+        this.records = 0;
+    }
+
+    /**
+     * Closes this journal and deletes its files.
+     */
+    void delete() throws IOException {
+        this.close();
+        Files.deleteIfExists(new File(this.directory, JOURNAL).toPath());
+        Files.deleteIfExists(new File(this.directory, SNAPSHOT).toPath());
+        this.entries.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.channel != null) {
+            this.channel.close();
+            this.channel = null;
+        }
+    }
+
+    private void append(byte type, byte[] payload) throws IOException {
+        this.buffer.reset();
+        this.writeRecord(this.buffer, type, payload);
+        ByteBuffer record = ByteBuffer.wrap(this.buffer.toByteArray());
+        while (record.hasRemaining()) {
+            this.channel.write(record);
+        }
+        this.records++;
+    }
+
+    private void writeRecord(OutputStream output, byte type, byte[] payload) throws IOException {
+        this.checksum.reset();
+        this.checksum.update(type);
+        this.checksum.update(payload, 0, payload.length);
+        DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(payload.length + 1);
+        data.writeByte(type);
+        data.write(payload);
+        data.writeInt((int) this.checksum.getValue());
+    }
+
+    private static ByteBuffer header() {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).flip();
+        return header;
+    }
+
+    private byte[] encode(RecordWriter writer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            writer.write(output);
+        }
+        return bytes.toByteArray();
+    }
+
+    private byte[] marshal(TimerImpl timer) {
+        if (timer.getTimerInfo() == null) {
+            return null;
+        }
+        try (Marshaller marshaller = this.factory.createMarshaller(this.configuration)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            marshaller.start(new OutputStreamByteOutput(out));
+            marshaller.writeObject(timer.getTimerInfo());
+            marshaller.flush();
+            return out.toByteArray();
+        } catch (Exception e) {
+            EJB3_TIMER_LOGGER.failedToPersistTimer(timer, e);
+            return null;
+        }
+    }
+
+    private static void writeState(DataOutput output, TimerImpl timer) throws IOException {
+        output.writeUTF(timer.getId());
+        writeDate(output, timer.getNextExpiration());
+        writeDate(output, timer.getPreviousRun());
+        output.writeUTF(timer.getState().name());
+    }
+
+    private static void writeDefinition(DataOutput output, TimerImpl timer, byte[] info) throws IOException {
+        writeDate(output, timer.getInitialExpiration());
+        boolean calendar = timer instanceof CalendarTimer;
+        output.writeBoolean(calendar);
+        if (calendar) {
+            CalendarTimer calendarTimer = (CalendarTimer) timer;
+            ScheduleExpression schedule = calendarTimer.getScheduleExpression();
+            output.writeUTF(schedule.getSecond());
+            output.writeUTF(schedule.getMinute());
+            output.writeUTF(schedule.getHour());
+            output.writeUTF(schedule.getDayOfWeek());
+            output.writeUTF(schedule.getDayOfMonth());
+            output.writeUTF(schedule.getMonth());
+            output.writeUTF(schedule.getYear());
+            writeDate(output, schedule.getStart());
+            writeDate(output, schedule.getEnd());
+            output.writeBoolean(schedule.getTimezone() != null);
+            if (schedule.getTimezone() != null) {
+                output.writeUTF(schedule.getTimezone());
+            }
+            output.writeBoolean(calendarTimer.isAutoTimer());
+            if (calendarTimer.isAutoTimer()) {
+                Method method = calendarTimer.getTimeoutMethod();
+                output.writeUTF(method.getDeclaringClass().getName());
+                output.writeUTF(method.getName());
+                Class<?>[] parameterTypes = method.getParameterTypes();
+                output.writeByte(parameterTypes.length);
+                for (Class<?> parameterType : parameterTypes) {
+                    output.writeUTF(parameterType.getName());
+                }
+            }
+        } else {
+            output.writeLong(timer.getInterval());
+        }
+        output.writeInt((info != null) ? info.length : -1);
+        if (info != null) {
+            output.write(info);
+        }
+    }
+
+    private TimerImpl decode(Entry entry, TimerServiceImpl timerService, ClassLoader loader) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(entry.timer));
+        String id = input.readUTF();
+        Date nextDate = readDate(input);
+        Date previousRun = readDate(input);
+        TimerState state = TimerState.valueOf(input.readUTF());
+        if (entry.state != null) {
+            DataInputStream stateInput = new DataInputStream(new ByteArrayInputStream(entry.state));
+            stateInput.readUTF();
+            nextDate = readDate(stateInput);
+            previousRun = readDate(stateInput);
+            state = TimerState.valueOf(stateInput.readUTF());
+        }
+        Date initialDate = readDate(input);
+        TimerImpl.Builder builder;
+        if (input.readBoolean()) {
+            CalendarTimer.Builder calendarBuilder = CalendarTimer.builder();
+            ScheduleExpression schedule = new ScheduleExpression()
+                    .second(input.readUTF())
+                    .minute(input.readUTF())
+                    .hour(input.readUTF())
+                    .dayOfWeek(input.readUTF())
+                    .dayOfMonth(input.readUTF())
+                    .month(input.readUTF())
+                    .year(input.readUTF())
+                    .start(readDate(input))
+                    .end(readDate(input));
+            if (input.readBoolean()) {
+                schedule.timezone(input.readUTF());
+            }
+            calendarBuilder.setScheduleExpression(schedule);
+            boolean autoTimer = input.readBoolean();
+            calendarBuilder.setAutoTimer(autoTimer);
+            if (autoTimer) {
+                String declaringClass = input.readUTF();
+                String methodName = input.readUTF();
+                String[] parameterTypes = new String[input.readUnsignedByte()];
+                for (int i = 0; i < parameterTypes.length; ++i) {
+                    parameterTypes[i] = input.readUTF();
+                }
+                Method timeoutMethod = CalendarTimer.getTimeoutMethod(new TimeoutMethod(declaringClass, methodName, parameterTypes), loader);
+                if (timeoutMethod == null) {
+                    EJB3_TIMER_LOGGER.timerReinstatementFailed(this.timedObjectId, id, null);
+                    return null;
+                }
+                calendarBuilder.setTimeoutMethod(timeoutMethod);
+            }
+            builder = calendarBuilder;
+        } else {
+            builder = TimerImpl.builder().setRepeatInterval(input.readLong());
+        }
+        builder.setId(id)
+                .setTimedObjectId(this.timedObjectId)
+                .setPersistent(true)
+                .setTimerState(state);
+        if (initialDate != null) {
+            builder.setInitialDate(initialDate);
+        }
+        if (nextDate != null) {
+            builder.setNextDate(nextDate);
+        }
+        if (previousRun != null) {
+            builder.setPreviousRun(previousRun);
+        }
+        int infoLength = input.readInt();
+        try {
+            if (infoLength >= 0) {
+                byte[] info = new byte[infoLength];
+                input.readFully(info);
+                builder.setInfo((Serializable) this.unmarshal(info));
+            }
+            return builder.build(timerService);
+        } catch (Exception e) {
+            EJB3_TIMER_LOGGER.timerReinstatementFailed(this.timedObjectId, id, e);
+            return null;
+        }
+    }
+
+    private Object unmarshal(byte[] info) throws IOException, ClassNotFoundException {
+        try (Unmarshaller unmarshaller = this.factory.createUnmarshaller(this.configuration)) {
+            unmarshaller.start(new ByteBufferInput(ByteBuffer.wrap(info)));
+            return unmarshaller.readObject();
+        }
+    }
+
+    private static void writeDate(DataOutput output, Date date) throws IOException {
+        output.writeLong((date != null) ? date.getTime() : UNDEFINED);
+    }
+
+    private static Date readDate(DataInput input) throws IOException {
+        long time = input.readLong();
+        return (time != UNDEFINED) ? new Date(time) : null;
+    }
+
+    /**
+     * The encoded definition of a live timer, and its most recent state, if changed since creation.
+     */
+    private static class Entry {
+        final byte[] timer;
+        byte[] state;
+
+        Entry(byte[] timer) {
+            this.timer = timer;
+        }
+    }
+
+    private interface RecordWriter {
+        void write(DataOutput output) throws IOException;
+    }
+}
@@ -6,6 +6,11 @@ package org.jboss.as.ejb3.timerservice.schedule;
 
 import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
 
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
@@ -17,6 +22,7 @@ import jakarta.ejb.ScheduleExpression;
 import org.jboss.as.ejb3.timerservice.schedule.attribute.DayOfMonth;
 import org.jboss.as.ejb3.timerservice.schedule.attribute.DayOfWeek;
 import org.jboss.as.ejb3.timerservice.schedule.attribute.Hour;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.IntegerBasedExpression;
 import org.jboss.as.ejb3.timerservice.schedule.attribute.Minute;
 import org.jboss.as.ejb3.timerservice.schedule.attribute.Month;
 import org.jboss.as.ejb3.timerservice.schedule.attribute.Second;
@@ -25,6 +31,12 @@ import org.jboss.as.ejb3.timerservice.schedule.value.ScheduleExpressionType;
 
 /**
  * CalendarBasedTimeout
+ * <p>
+ * Each attribute of the schedule is precompiled into a bit mask of its matching values, from which the next timeout
+ * is computed field by field, from year down to second, using integer arithmetic on the local date and time.
+ * This computation is only valid as long as the offset of the timezone remains fixed, so if the next timeout would cross
+ * a timezone offset transition (e.g. a daylight saving time change), the next timeout is computed using a {@link Calendar} instead.
+ * </p>
  *
  * @author Jaikiran Pai
  * @author "<a href=\"mailto:wfink@redhat.com\">Wolf-Dieter Fink</a>"
@@ -34,6 +46,12 @@ import org.jboss.as.ejb3.timerservice.schedule.value.ScheduleExpressionType;
 public class CalendarBasedTimeout {
     private static final TimeZone DEFAULT_TIMEZONE = TimeZone.getDefault();
 
+    private static final int SECONDS_PER_DAY = 86400;
+    // Indicates that a schedule has no more timeouts
+    private static final long NO_TIMEOUT = Long.MIN_VALUE;
+    // Indicates that the next timeout could not be computed from the precompiled schedule
+    private static final long UNRESOLVED = Long.MAX_VALUE;
+
     /**
      * The {@link jakarta.ejb.ScheduleExpression} from which this {@link CalendarBasedTimeout}
      * was created
@@ -89,6 +107,23 @@ public class CalendarBasedTimeout {
     private final Date start;
     private final Date end;
 
+    // The precompiled schedule, where bit n of each mask is set if value n matches the corresponding attribute
+    private final long seconds;
+    private final long minutes;
+    private final long hours;
+    // January is bit 1
+    private final int months;
+    // Sunday is bit 0
+    private final int daysOfWeek;
+    // null, if any year matches
+    private final BitSet years;
+    // Indicates whether the next timeout can be computed from the precompiled schedule
+    private final boolean compiled;
+    // null, if the offset transitions of the timezone are unknown
+    private final ZoneRules rules;
+    // The most recently used interval of fixed timezone offset
+    private volatile OffsetInterval interval;
+
     /**
      * Creates a {@link CalendarBasedTimeout} from the passed <code>schedule</code>.
      * <p>
@@ -131,6 +166,17 @@ public class CalendarBasedTimeout {
         this.start = start;
         this.end = end;
 
+        this.seconds = toMask(second, Second.MIN_SECOND, Second.MAX_SECOND);
+        this.minutes = toMask(minute, Minute.MIN_MINUTE, Minute.MAX_MINUTE);
+        this.hours = toMask(hour, Hour.MIN_HOUR, Hour.MAX_HOUR);
+        this.months = (int) toMask(month, Month.MIN_MONTH, Month.MAX_MONTH);
+        long daysOfWeek = toMask(dayOfWeek, DayOfWeek.MIN_DAY_OF_WEEK, DayOfWeek.MAX_DAY_OF_WEEK);
+        // Both 0 and 7 refer to Sunday
+        this.daysOfWeek = (int) ((daysOfWeek | (daysOfWeek >>> 7)) & 0x7F);
+        this.years = year.toBitSet();
+        this.compiled = (this.seconds != 0) && (this.minutes != 0) && (this.hours != 0) && (this.months != 0) && (this.daysOfWeek != 0) && ((this.years == null) || !this.years.isEmpty());
+        this.rules = getZoneRules(timezone);
+
         // Now that we have parsed the values from the ScheduleExpression,
         // determine and set the first timeout (relative to the current time)
         // of this CalendarBasedTimeout
@@ -152,6 +198,24 @@ public class CalendarBasedTimeout {
         return DEFAULT_TIMEZONE;
     }
 
+    private static long toMask(IntegerBasedExpression expression, int min, int max) {
+        BitSet values = expression.toBitSet();
+        if (values == null) {
+            return (-1L << min) & ((1L << (max + 1)) - 1);
+        }
+        long[] words = values.toLongArray();
+        return (words.length > 0) ? words[0] : 0L;
+    }
+
+    private static ZoneRules getZoneRules(TimeZone timezone) {
+        try {
+            return timezone.toZoneId().getRules();
+        } catch (DateTimeException e) {
+            // e.g. custom timezone
+            return null;
+        }
+    }
+
     public static boolean doesScheduleMatch(final ScheduleExpression expression1, final ScheduleExpression expression2) {
         return Objects.equals(expression1.getHour(), expression2.getHour())
                 && Objects.equals(expression1.getMinute(), expression2.getMinute())
@@ -200,7 +264,264 @@ public class CalendarBasedTimeout {
         return getNextTimeout(currentCal, true);
     }
 
+    /**
+     * Returns the next timeout following the specified timeout.
+     * Unlike {@link #getNextTimeout(Calendar)}, this does not require the construction of a {@link Calendar},
+     * unless the next timeout would cross an offset transition of the timezone of this schedule.
+     *
+     * @param currentTimeout the current timeout
+     * @return the next timeout, or null, if there are no more timeouts
+     */
+    public Instant getNextTimeout(Instant currentTimeout) {
+        long nextTimeout = this.computeNextTimeout(currentTimeout.toEpochMilli(), true);
+        if (nextTimeout == UNRESOLVED) {
+            Calendar currentCal = new GregorianCalendar(this.timezone);
+            currentCal.setTimeInMillis(currentTimeout.toEpochMilli());
+            Calendar nextCal = this.computeNextTimeout(currentCal, true);
+            return (nextCal != null) ? nextCal.toInstant() : null;
+        }
+        return (nextTimeout != NO_TIMEOUT) ? Instant.ofEpochMilli(nextTimeout) : null;
+    }
+
     private Calendar getNextTimeout(Calendar currentCal, boolean increment) {
+        long nextTimeout = this.computeNextTimeout(currentCal.getTimeInMillis(), increment);
+        if (nextTimeout == UNRESOLVED) {
+            return this.computeNextTimeout(currentCal, increment);
+        }
+        if (nextTimeout == NO_TIMEOUT) {
+            return null;
+        }
+        Calendar nextCal = new GregorianCalendar(this.timezone);
+        nextCal.setFirstDayOfWeek(Calendar.SUNDAY);
+        nextCal.setTimeInMillis(nextTimeout);
+        return nextCal;
+    }
+
+    /**
+     * Computes the next timeout from the precompiled schedule.
+     *
+     * @param currentTime the current time in milliseconds since the epoch
+     * @param increment indicates whether the next timeout must follow the current second
+     * @return the next timeout in milliseconds since the epoch, {@link #NO_TIMEOUT} if there are no more timeouts,
+     * or {@link #UNRESOLVED} if the next timeout must be computed using a {@link Calendar}
+     */
+    private long computeNextTimeout(long currentTime, boolean increment) {
+        if (!this.compiled) {
+            return UNRESOLVED;
+        }
+        if ((this.end != null) && (currentTime > this.end.getTime())) {
+            return NO_TIMEOUT;
+        }
+        // Retain any millisecond component of the start time, consistent with computeNextTimeout(Calendar, boolean)
+        long time = ((this.start != null) && (currentTime < this.start.getTime())) ? this.start.getTime() : (Math.floorDiv(currentTime, 1000L) + (increment ? 1 : 0)) * 1000L;
+        long epochSecond = Math.floorDiv(time, 1000L);
+        OffsetInterval interval = this.getOffsetInterval(epochSecond);
+        if (interval == null) {
+            return UNRESOLVED;
+        }
+        long localSecond = this.computeNextLocalSecond(epochSecond + interval.offset);
+        if (localSecond == NO_TIMEOUT) {
+            return NO_TIMEOUT;
+        }
+        long nextEpochSecond = localSecond - interval.offset;
+        if (nextEpochSecond >= interval.end) {
+            return UNRESOLVED;
+        }
+        long nextTimeout = (nextEpochSecond * 1000L) + Math.floorMod(time, 1000L);
+        return ((this.end != null) && (nextTimeout > this.end.getTime())) ? NO_TIMEOUT : nextTimeout;
+    }
+
+    /**
+     * Computes the first local date and time, at or after the specified local date and time, that matches this schedule.
+     *
+     * @param localSecond the number of seconds since the epoch, in local time
+     * @return the matching number of seconds since the epoch, in local time, or {@link #NO_TIMEOUT} if there is none
+     */
+    private long computeNextLocalSecond(long localSecond) {
+        long epochDay = Math.floorDiv(localSecond, SECONDS_PER_DAY);
+        int time = (int) Math.floorMod(localSecond, SECONDS_PER_DAY);
+        // Convert epoch day to proleptic Gregorian year, month and day, using eras of 400 years, with years starting in March
+        long days = epochDay + 719468;
+        long era = Math.floorDiv(days, 146097);
+        int dayOfEra = (int) (days - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = (shiftedMonth < 10) ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = (int) (era * 400) + yearOfEra + ((month <= 2) ? 1 : 0);
+
+        while (true) {
+            int nextYear = (this.years != null) ? this.years.nextSetBit(year) : year;
+            if ((nextYear < 0) || (nextYear > Year.MAX_YEAR)) {
+                return NO_TIMEOUT;
+            }
+            if (nextYear != year) {
+                year = nextYear;
+                month = 1;
+                day = 1;
+                time = 0;
+            }
+            int nextMonth = nextSetBit(this.months, month);
+            if (nextMonth < 0) {
+                year += 1;
+                month = 1;
+                day = 1;
+                time = 0;
+                continue;
+            }
+            if (nextMonth != month) {
+                month = nextMonth;
+                day = 1;
+                time = 0;
+            }
+            long firstDay = toEpochDay(year, month, 1);
+            int nextDay = nextSetBit(this.getMatchingDays(year, month, firstDay), day);
+            if (nextDay < 0) {
+                month += 1;
+                day = 1;
+                time = 0;
+                continue;
+            }
+            if (nextDay != day) {
+                day = nextDay;
+                time = 0;
+            }
+            int nextTime = this.computeNextTime(time);
+            if (nextTime < 0) {
+                day += 1;
+                time = 0;
+                continue;
+            }
+            return (firstDay + day - 1) * SECONDS_PER_DAY + nextTime;
+        }
+    }
+
+    /**
+     * Returns the days of the specified month that match both the day-of-month and day-of-week attributes of this schedule.
+     */
+    private long getMatchingDays(int year, int month, long firstDay) {
+        int lastDay = lengthOfMonth(year, month);
+        long days = (1L << (lastDay + 1)) - 2;
+        if (this.isDayOfMonthWildcard()) {
+            return this.getMatchingDaysOfWeek(firstDay) & days;
+        }
+        long daysOfMonth = this.dayOfMonth.getMatchingDays(lastDay, (int) Math.floorMod(firstDay + 4, 7));
+        if (this.isDayOfWeekWildcard()) {
+            return daysOfMonth;
+        }
+        // If both day-of-month and day-of-week are non-wildcards, a day matches if either matches
+        return (daysOfMonth | this.getMatchingDaysOfWeek(firstDay)) & days;
+    }
+
+    private long getMatchingDaysOfWeek(long firstDay) {
+        // Day of week of the first day of the month, where the epoch day was a Thursday
+        int firstDayOfWeek = (int) Math.floorMod(firstDay + 4, 7);
+        // Rotate the days of week such that bit 1 corresponds to the first day of the month
+        long week = ((((long) this.daysOfWeek >>> firstDayOfWeek) | ((long) this.daysOfWeek << (7 - firstDayOfWeek))) & 0x7F) << 1;
+        return week | (week << 7) | (week << 14) | (week << 21) | (week << 28);
+    }
+
+    /**
+     * Computes the first time of day, at or after the specified time of day, that matches this schedule.
+     *
+     * @param time the number of seconds since midnight
+     * @return the matching number of seconds since midnight, or -1 if there is none
+     */
+    private int computeNextTime(int time) {
+        int currentHour = time / 3600;
+        int currentMinute = (time / 60) % 60;
+        int currentSecond = time % 60;
+        for (int hour = nextSetBit(this.hours, currentHour); hour >= 0; hour = nextSetBit(this.hours, hour + 1)) {
+            for (int minute = nextSetBit(this.minutes, (hour == currentHour) ? currentMinute : 0); minute >= 0; minute = nextSetBit(this.minutes, minute + 1)) {
+                int second = nextSetBit(this.seconds, (hour == currentHour) && (minute == currentMinute) ? currentSecond : 0);
+                if (second >= 0) {
+                    return hour * 3600 + minute * 60 + second;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static int nextSetBit(long mask, int fromIndex) {
+        long bits = (fromIndex < Long.SIZE) ? mask & (-1L << fromIndex) : 0L;
+        return (bits != 0) ? Long.numberOfTrailingZeros(bits) : -1;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return ((year % 4 == 0) && ((year % 100 != 0) || (year % 400 == 0))) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static long toEpochDay(int year, int month, int day) {
+        // Inverse of the conversion in computeNextLocalSecond(long)
+        int marchYear = (month <= 2) ? year - 1 : year;
+        long era = Math.floorDiv(marchYear, 400);
+        int yearOfEra = (int) (marchYear - era * 400);
+        int dayOfYear = (153 * ((month > 2) ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Returns the interval of fixed timezone offset containing the specified instant.
+     * To remain consistent with the handling of skipped and repeated local times by {@link #computeNextTimeout(Calendar, boolean)},
+     * the interval excludes the day on either side of an offset transition.
+     *
+     * @param epochSecond the number of seconds since the epoch
+     * @return an interval of fixed offset, or null, if the instant is too close to an offset transition, or if its offset cannot be determined
+     */
+    private OffsetInterval getOffsetInterval(long epochSecond) {
+        OffsetInterval interval = this.interval;
+        if ((interval != null) && (epochSecond >= interval.start) && (epochSecond < interval.end)) {
+            return interval;
+        }
+        if (this.rules == null) {
+            return null;
+        }
+        Instant instant = Instant.ofEpochSecond(epochSecond);
+        int offset = this.rules.getOffset(instant).getTotalSeconds();
+        // Verify that the rules agree with the timezone used by computeNextTimeout(Calendar, boolean)
+        if (offset * 1000L != this.timezone.getOffset(epochSecond * 1000L)) {
+            return null;
+        }
+        ZoneOffsetTransition previous = this.rules.previousTransition(instant.plusSeconds(SECONDS_PER_DAY));
+        ZoneOffsetTransition next = this.rules.nextTransition(instant.minusSeconds(SECONDS_PER_DAY));
+        long start = (previous != null) ? previous.toEpochSecond() + SECONDS_PER_DAY : Long.MIN_VALUE;
+        long end = (next != null) ? next.toEpochSecond() - SECONDS_PER_DAY : Long.MAX_VALUE;
+        if ((epochSecond < start) || (epochSecond >= end)) {
+            return null;
+        }
+        interval = new OffsetInterval(start, end, offset);
+        this.interval = interval;
+        return interval;
+    }
+
+    /**
+     * An interval of time, in seconds since the epoch, during which the offset of a timezone is fixed.
+     */
+    private static class OffsetInterval {
+        final long start;
+        final long end;
+        final int offset;
+
+        OffsetInterval(long start, long end, int offset) {
+            this.start = start;
+            this.end = end;
+            this.offset = offset;
+        }
+    }
+
+    private Calendar computeNextTimeout(Calendar currentCal, boolean increment) {
         if (this.noMoreTimeouts(currentCal)) {
             return null;
         }
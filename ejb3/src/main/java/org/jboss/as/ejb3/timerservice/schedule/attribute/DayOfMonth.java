@@ -4,12 +4,14 @@
  */
 package org.jboss.as.ejb3.timerservice.schedule.attribute;
 
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.function.IntBinaryOperator;
 import java.util.regex.Pattern;
 
 import org.jboss.as.ejb3.logging.EjbLogger;
@@ -77,6 +79,11 @@ public class DayOfMonth extends IntegerBasedExpression {
      */
     private static final Map<String, Integer> ORDINAL_TO_WEEK_NUMBER_MAPPING = new HashMap<>(8);
 
+    /**
+     * Bit mask of all possible days of a month, i.e. bits 1 through 31.
+     */
+    private static final long ALL_DAYS = ((1L << (MAX_DAY_OF_MONTH + 1)) - 1) & ~1L;
+
     static {
         ORDINAL_TO_WEEK_NUMBER_MAPPING.put("1st", 1);
         ORDINAL_TO_WEEK_NUMBER_MAPPING.put("2nd", 2);
@@ -85,6 +92,17 @@ public class DayOfMonth extends IntegerBasedExpression {
         ORDINAL_TO_WEEK_NUMBER_MAPPING.put("5th", 5);
     }
 
+    /**
+     * The absolute days of month of this expression, as a bit mask.
+     */
+    private final long absoluteDays;
+
+    /**
+     * The start and end of each relative value of this expression, each resolving the day of month
+     * from the last day of the month and the day of week of the first day of the month.
+     */
+    private final IntBinaryOperator[][] relativeDays;
+
     /**
      * Creates a {@link DayOfMonth} by parsing the passed {@link String} <code>value</code>
      * <p>
@@ -99,6 +117,19 @@ public class DayOfMonth extends IntegerBasedExpression {
      */
     public DayOfMonth(String value) {
         super(value);
+        BitSet absoluteDays = this.toBitSet();
+        this.absoluteDays = (absoluteDays != null) ? toDays(absoluteDays) : ALL_DAYS;
+        this.relativeDays = new IntBinaryOperator[this.relativeValues.size()][];
+        int index = 0;
+        for (ScheduleValue relativeValue : this.relativeValues) {
+            if (relativeValue instanceof RangeValue) {
+                RangeValue range = (RangeValue) relativeValue;
+                this.relativeDays[index++] = new IntBinaryOperator[] { this.compileDayOfMonth(range.getStart()), this.compileDayOfMonth(range.getEnd()) };
+            } else {
+                IntBinaryOperator day = this.compileDayOfMonth(((SingleValue) relativeValue).getValue());
+                this.relativeDays[index++] = new IntBinaryOperator[] { day, day };
+            }
+        }
     }
 
     /**
@@ -141,6 +172,67 @@ public class DayOfMonth extends IntegerBasedExpression {
         return eligibleDaysOfMonth.first();
     }
 
+    /**
+     * Returns the days of a month that match this expression, as a bit mask in which bit n is set if day n of the month matches.
+     * Unlike {@link #getNextMatch(Calendar)}, relative values are resolved from the passed month properties,
+     * without requiring a {@link Calendar}.
+     *
+     * @param lastDayOfMonth the last day of the month, i.e. the number of days in the month
+     * @param firstDayOfWeek the day of week of the first day of the month, where 0 is Sunday
+     * @return a bit mask of matching days
+     */
+    public long getMatchingDays(int lastDayOfMonth, int firstDayOfWeek) {
+        long days = this.absoluteDays;
+        for (IntBinaryOperator[] range : this.relativeDays) {
+            int start = range[0].applyAsInt(lastDayOfMonth, firstDayOfWeek);
+            int end = range[1].applyAsInt(lastDayOfMonth, firstDayOfWeek);
+            // In range "x-y", if x is larger than y, the range is equivalent to "x-max, min-y"
+            days |= (start <= end) ? toDays(start, end) : toDays(start, MAX_DAY_OF_MONTH) | toDays(MIN_DAY_OF_MONTH, end);
+        }
+        return days & ((1L << (lastDayOfMonth + 1)) - 1);
+    }
+
+    private static long toDays(BitSet values) {
+        long[] words = values.toLongArray();
+        return (words.length > 0) ? words[0] & ALL_DAYS : 0L;
+    }
+
+    private static long toDays(int start, int end) {
+        return (end < start) ? 0L : ((-1L << Math.max(start, 0)) & ((1L << (Math.min(end, MAX_DAY_OF_MONTH) + 1)) - 1)) & ALL_DAYS;
+    }
+
+    /**
+     * Compiles a day of month, which may be relative, into a function of the last day of the month and the day of week of the first day of the month.
+     * @param value a non-null, trimmed day of month
+     * @return a function returning the absolute day of month
+     */
+    private IntBinaryOperator compileDayOfMonth(String value) {
+        if (!this.isRelativeValue(value)) {
+            Integer day = this.parseInt(value);
+            this.assertValid(day);
+            return (lastDayOfMonth, firstDayOfWeek) -> day;
+        }
+        String lowerCaseValue = value.toLowerCase(Locale.ROOT);
+        if (lowerCaseValue.equals("last")) {
+            return (lastDayOfMonth, firstDayOfWeek) -> lastDayOfMonth;
+        }
+        if (this.isValidNegativeDayOfMonth(lowerCaseValue)) {
+            int offset = Integer.parseInt(lowerCaseValue);
+            return (lastDayOfMonth, firstDayOfWeek) -> lastDayOfMonth + offset;
+        }
+        String[] parts = this.splitDayOfWeekBased(lowerCaseValue);
+        int dayOfWeek = DayOfWeek.DAY_OF_WEEK_ALIAS.get(parts[1]);
+        if (parts[0].equals("last")) {
+            return (lastDayOfMonth, firstDayOfWeek) -> lastDayOfMonth - Math.floorMod(firstDayOfWeek + lastDayOfMonth - 1 - dayOfWeek, 7);
+        }
+        int weekNumber = ORDINAL_TO_WEEK_NUMBER_MAPPING.get(parts[0]);
+        return (lastDayOfMonth, firstDayOfWeek) -> {
+            int day = 1 + Math.floorMod(dayOfWeek - firstDayOfWeek, 7) + (weekNumber - 1) * 7;
+            // Consistent with getAbsoluteDayOfMonth(...), e.g. 5th Wed resolves to the last day of months without a 5th Wed
+            return (day <= lastDayOfMonth) ? day : lastDayOfMonth;
+        };
+    }
+
     @Override
     protected void assertValid(Integer value) throws IllegalArgumentException {
         if (value != null && value == 0) {
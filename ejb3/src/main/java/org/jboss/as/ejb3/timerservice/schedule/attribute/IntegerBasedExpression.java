@@ -4,6 +4,7 @@
  */
 package org.jboss.as.ejb3.timerservice.schedule.attribute;
 
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.SortedSet;
@@ -205,4 +206,23 @@ public abstract class IntegerBasedExpression {
     public ScheduleExpressionType getType() {
         return this.scheduleExpressionType;
     }
+
+    /**
+     * Returns the absolute values of this expression as a {@link BitSet}, in which the bit of each absolute value is set.
+     * Negative values, which may only be matched relative to a calendar, are omitted.
+     *
+     * @return the absolute values of this expression, or null if this expression is a wildcard
+     */
+    public BitSet toBitSet() {
+        if (this.scheduleExpressionType == ScheduleExpressionType.WILDCARD) {
+            return null;
+        }
+        BitSet values = new BitSet();
+        for (Integer value : this.absoluteValues) {
+            if (value >= 0) {
+                values.set(value);
+            }
+        }
+        return values;
+    }
 }
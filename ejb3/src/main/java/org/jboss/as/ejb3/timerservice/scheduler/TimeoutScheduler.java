@@ -0,0 +1,45 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+/**
+ * Schedules the timeouts of the timers of a non-distributable timer service.
+ */
+public interface TimeoutScheduler {
+
+    /**
+     * A handle to a scheduled task.
+     */
+    interface Scheduled {
+        /**
+         * Cancels the scheduled task, if it has not already run.
+         * @return true, if this call prevented one or more executions of the task, false otherwise.
+         */
+        boolean cancel();
+    }
+
+    /**
+     * Schedules the specified task for a single execution after the specified delay.
+     * @param task a task
+     * @param delay the delay in milliseconds
+     * @return a handle to the scheduled task
+     */
+    Scheduled schedule(Runnable task, long delay);
+
+    /**
+     * Schedules the specified task for repeated execution, at the specified period, following the specified initial delay.
+     * @param task a task
+     * @param delay the initial delay in milliseconds
+     * @param period the period between successive executions in milliseconds
+     * @return a handle to the scheduled task
+     */
+    Scheduled scheduleAtFixedRate(Runnable task, long delay, long period);
+
+    /**
+     * Releases any cancelled tasks still retained by this scheduler.
+     */
+    void purge();
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * {@link TimeoutScheduler} backed by a {@link Timer}.
+ * Schedule and cancel operations are O(log n), and contend on the monitor of the timer.
+ */
+public class TimerTimeoutScheduler implements TimeoutScheduler {
+
+    private final Timer timer;
+
+    public TimerTimeoutScheduler(Timer timer) {
+        this.timer = timer;
+    }
+
+    @Override
+    public Scheduled schedule(Runnable task, long delay) {
+        TimerTask timerTask = new RunnableTimerTask(task);
+        this.timer.schedule(timerTask, delay);
+        return timerTask::cancel;
+    }
+
+    @Override
+    public Scheduled scheduleAtFixedRate(Runnable task, long delay, long period) {
+        TimerTask timerTask = new RunnableTimerTask(task);
+        this.timer.scheduleAtFixedRate(timerTask, delay, period);
+        return timerTask::cancel;
+    }
+
+    @Override
+    public void purge() {
+        this.timer.purge();
+    }
+
+    private static class RunnableTimerTask extends TimerTask {
+        private final Runnable task;
+
+        RunnableTimerTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            this.task.run();
+        }
+    }
+}
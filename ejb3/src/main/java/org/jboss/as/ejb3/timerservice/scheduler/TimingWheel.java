@@ -0,0 +1,324 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link TimeoutScheduler} implemented as a hierarchical timing wheel.
+ * <p>
+ * Time is divided into ticks of a fixed duration. A task is linked into the bucket of the root wheel corresponding to its deadline tick,
+ * or, if its deadline is further away than the span of the root wheel, into a bucket of a coarser wheel.
+ * The buckets of a coarser wheel are cascaded into the finer wheels as time advances.
+ * Scheduling and cancelling a task are O(1), and only enqueue the task to a single worker thread, which owns the wheels.
+ * All tasks expiring within a tick are run as a batch by the worker thread, and must therefore not block,
+ * e.g. they should hand off any real work to an executor.
+ * </p>
+ * <p>
+ * Tasks never run before their deadline, but may run up to one tick after their deadline.
+ * The wheels consist of a fixed number of buckets, so the memory consumed is proportional to the number of scheduled tasks.
+ * </p>
+ */
+public class TimingWheel implements TimeoutScheduler, AutoCloseable {
+
+    public static final Duration DEFAULT_TICK = Duration.ofMillis(10);
+
+    private static final int ROOT_BITS = 8;
+    private static final int ROOT_SIZE = 1 << ROOT_BITS;
+    private static final int ROOT_MASK = ROOT_SIZE - 1;
+    private static final int LEVEL_BITS = 6;
+    private static final int LEVEL_SIZE = 1 << LEVEL_BITS;
+    private static final int LEVEL_MASK = LEVEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    // Tasks with a more distant deadline are parked in the outermost wheel, and re-cascaded until their deadline is in range
+    private static final long MAX_TICKS = (1L << (ROOT_BITS + LEVELS * LEVEL_BITS)) - 1;
+
+    private static final int SCHEDULED = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private static final AtomicIntegerFieldUpdater<Entry> STATE = AtomicIntegerFieldUpdater.newUpdater(Entry.class, "state");
+
+    private static final ThreadFactory DEFAULT_THREAD_FACTORY = task -> {
+        Thread thread = new Thread(task, "ejb3-timing-wheel");
+        thread.setDaemon(true);
+        return thread;
+    };
+
+    private final long tickNanos;
+    private final long origin = System.nanoTime();
+    private final Bucket[][] wheels = new Bucket[LEVELS + 1][];
+    private final Queue<Entry> additions = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry> cancellations = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private volatile boolean closed = false;
+    // The next tick to process, only accessed by the worker thread
+    private long currentTick = 0;
+
+    public TimingWheel() {
+        this(DEFAULT_TICK, DEFAULT_THREAD_FACTORY);
+    }
+
+    /**
+     * Creates a timing wheel, and starts its worker thread.
+     * @param tick the duration of a tick, i.e. the resolution of this scheduler
+     * @param threadFactory creates the worker thread of this scheduler
+     */
+    public TimingWheel(Duration tick, ThreadFactory threadFactory) {
+        this.tickNanos = tick.toNanos();
+        if (this.tickNanos <= 0) {
+            throw new IllegalArgumentException(tick.toString());
+        }
+        this.wheels[0] = createBuckets(ROOT_SIZE);
+        for (int level = 1; level <= LEVELS; ++level) {
+            this.wheels[level] = createBuckets(LEVEL_SIZE);
+        }
+        this.worker = threadFactory.newThread(this::run);
+        this.worker.start();
+    }
+
+    private static Bucket[] createBuckets(int size) {
+        Bucket[] buckets = new Bucket[size];
+        for (int i = 0; i < size; ++i) {
+            buckets[i] = new Bucket();
+        }
+        return buckets;
+    }
+
+    @Override
+    public Scheduled schedule(Runnable task, long delay) {
+        return this.add(new Entry(task, this.elapsedNanos() + TimeUnit.MILLISECONDS.toNanos(Math.max(delay, 0)), 0));
+    }
+
+    @Override
+    public Scheduled scheduleAtFixedRate(Runnable task, long delay, long period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException(Long.toString(period));
+        }
+        return this.add(new Entry(task, this.elapsedNanos() + TimeUnit.MILLISECONDS.toNanos(Math.max(delay, 0)), TimeUnit.MILLISECONDS.toNanos(period)));
+    }
+
+    @Override
+    public void purge() {
+        // Cancelled tasks are unlinked from the wheels by the worker thread on its next tick
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        LockSupport.unpark(this.worker);
+    }
+
+    private Entry add(Entry entry) {
+        if (this.closed) {
+            throw new IllegalStateException();
+        }
+        this.additions.add(entry);
+        return entry;
+    }
+
+    private long elapsedNanos() {
+        return System.nanoTime() - this.origin;
+    }
+
+    private void run() {
+        while (!this.closed) {
+            long tick = this.elapsedNanos() / this.tickNanos;
+            Entry entry = this.additions.poll();
+            while (entry != null) {
+                if (entry.state == SCHEDULED) {
+                    this.link(entry);
+                }
+                entry = this.additions.poll();
+            }
+            entry = this.cancellations.poll();
+            while (entry != null) {
+                if (entry.bucket != null) {
+                    entry.bucket.unlink(entry);
+                }
+                entry = this.cancellations.poll();
+            }
+            while (this.currentTick <= tick) {
+                this.advance();
+            }
+            long delay = (this.currentTick * this.tickNanos) - this.elapsedNanos();
+            if (delay > 0) {
+                LockSupport.parkNanos(this, delay);
+            }
+        }
+        this.additions.clear();
+        this.cancellations.clear();
+        for (Bucket[] buckets : this.wheels) {
+            for (Bucket bucket : buckets) {
+                bucket.clear();
+            }
+        }
+    }
+
+    /**
+     * Processes the current tick, cascading the buckets of the coarser wheels whenever a finer wheel completes a revolution.
+     */
+    private void advance() {
+        long tick = this.currentTick;
+        int index = (int) (tick & ROOT_MASK);
+        if (index == 0) {
+            for (int level = 1; level <= LEVELS; ++level) {
+                int slot = (int) (tick >>> (ROOT_BITS + (level - 1) * LEVEL_BITS)) & LEVEL_MASK;
+                Entry entry = this.wheels[level][slot].clear();
+                while (entry != null) {
+                    Entry next = entry.next;
+                    this.link(entry);
+                    entry = next;
+                }
+                if (slot != 0) {
+                    break;
+                }
+            }
+        }
+        Entry entry = this.wheels[0][index].clear();
+        // Fixed rate tasks expiring in this tick are rescheduled no earlier than the next tick
+        this.currentTick = tick + 1;
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.prev = null;
+            entry.next = null;
+            entry.bucket = null;
+            this.expire(entry);
+            entry = next;
+        }
+    }
+
+    private void expire(Entry entry) {
+        if (entry.period > 0) {
+            if (entry.state == SCHEDULED) {
+                this.run(entry.task);
+                entry.reschedule();
+                if (entry.state == SCHEDULED) {
+                    this.link(entry);
+                }
+            }
+        } else if (STATE.compareAndSet(entry, SCHEDULED, EXPIRED)) {
+            this.run(entry.task);
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable e) {
+            EJB3_TIMER_LOGGER.failedToRunScheduledTimeout(task, e);
+        }
+    }
+
+    private void link(Entry entry) {
+        long deadline = Math.max(entry.tick, this.currentTick);
+        long ticks = Math.min(deadline - this.currentTick, MAX_TICKS);
+        if (ticks < ROOT_SIZE) {
+            this.wheels[0][(int) (deadline & ROOT_MASK)].link(entry);
+        } else {
+            long capped = this.currentTick + ticks;
+            int level = 1;
+            int shift = ROOT_BITS;
+            while (ticks >= (1L << (shift + LEVEL_BITS))) {
+                level += 1;
+                shift += LEVEL_BITS;
+            }
+            this.wheels[level][(int) (capped >>> shift) & LEVEL_MASK].link(entry);
+        }
+    }
+
+    private class Entry implements Scheduled {
+        final Runnable task;
+        // Period and deadline, in nanoseconds
+        final long period;
+        long deadline;
+        long tick;
+        volatile int state = SCHEDULED;
+        // Only accessed by the worker thread
+        Bucket bucket;
+        Entry prev;
+        Entry next;
+
+        Entry(Runnable task, long deadline, long period) {
+            this.task = task;
+            this.period = period;
+            this.deadline = deadline;
+            this.tick = this.computeTick();
+        }
+
+        void reschedule() {
+            this.deadline += this.period;
+            this.tick = this.computeTick();
+        }
+
+        private long computeTick() {
+            return (this.deadline + TimingWheel.this.tickNanos - 1) / TimingWheel.this.tickNanos;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (STATE.compareAndSet(this, SCHEDULED, CANCELLED)) {
+                TimingWheel.this.cancellations.add(this);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return this.task.toString();
+        }
+    }
+
+    /**
+     * Doubly linked list of the entries expiring in a given tick, or range of ticks.
+     */
+    private static class Bucket {
+        private Entry head;
+
+        void link(Entry entry) {
+            entry.bucket = this;
+            entry.prev = null;
+            entry.next = this.head;
+            if (this.head != null) {
+                this.head.prev = entry;
+            }
+            this.head = entry;
+        }
+
+        void unlink(Entry entry) {
+            if (entry.prev != null) {
+                entry.prev.next = entry.next;
+            } else {
+                this.head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            }
+            entry.prev = null;
+            entry.next = null;
+            entry.bucket = null;
+        }
+
+        /**
+         * Detaches all entries from this bucket.
+         * @return the first detached entry, whose next entries remain linked.
+         */
+        Entry clear() {
+            Entry head = this.head;
+            this.head = null;
+            return head;
+        }
+    }
+}
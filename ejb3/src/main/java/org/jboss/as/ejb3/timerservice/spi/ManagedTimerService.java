@@ -24,6 +24,7 @@ import org.jboss.as.ejb3.component.allowedmethods.MethodType;
 import org.jboss.as.ejb3.component.stateful.CurrentSynchronizationCallback;
 import org.jboss.as.ejb3.context.CurrentInvocationContext;
 import org.jboss.invocation.InterceptorContext;
+import org.wildfly.clustering.ejb.timer.TimeoutStatistics;
 import org.wildfly.clustering.server.manager.Service;
 import org.wildfly.transaction.client.ContextTransactionManager;
 
@@ -46,6 +47,14 @@ public interface ManagedTimerService extends TimerService, Service {
      */
     TimedObjectInvoker getInvoker();
 
+    /**
+     * Returns statistics for the timeouts of the timers of this timer service.
+     * @return timeout statistics, or null if this timer service does not record statistics
+     */
+    default TimeoutStatistics getTimeoutStatistics() {
+        return null;
+    }
+
     @Override
     default Timer createCalendarTimer(ScheduleExpression schedule) {
         return this.createCalendarTimer(schedule, new TimerConfig());
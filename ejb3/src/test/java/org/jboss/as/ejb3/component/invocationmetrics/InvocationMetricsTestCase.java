@@ -0,0 +1,116 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link InvocationMetrics} and {@link LatencyHistogram}.
+ */
+public class InvocationMetricsTestCase {
+
+    @Test
+    public void histogramIndex() {
+        // Buckets must be contiguous and monotonic
+        int previous = LatencyHistogram.index(0);
+        assertEquals(0, previous);
+        for (long micros = 1; micros < (1L << 20); ++micros) {
+            int index = LatencyHistogram.index(micros);
+            assertTrue(index == previous || index == previous + 1);
+            previous = index;
+        }
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.index(Long.MAX_VALUE));
+        // Representative value must be within ~6% of any value of its bucket
+        for (long micros = 16; micros < (1L << 20); micros += 7) {
+            long value = LatencyHistogram.value(LatencyHistogram.index(micros));
+            assertTrue(Math.abs(value - micros) <= micros / 16);
+        }
+    }
+
+    @Test
+    public void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0d, histogram.getPercentile(0.5), 0d);
+        for (int i = 1; i <= 100; ++i) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        assertEquals(50d, histogram.getPercentile(0.50), 50d / 16);
+        assertEquals(95d, histogram.getPercentile(0.95), 95d / 16);
+        assertEquals(99d, histogram.getPercentile(0.99), 99d / 16);
+    }
+
+    @Test
+    public void methods() throws NoSuchMethodException {
+        Method toString = Object.class.getMethod("toString");
+        Method wait = Object.class.getMethod("wait");
+        Method waitTimeout = Object.class.getMethod("wait", long.class);
+
+        InvocationMetrics metrics = new InvocationMetrics();
+        for (Method method : new Method[] { toString, wait, waitTimeout, waitTimeout }) {
+            metrics.startInvocation();
+            metrics.finishInvocation(method, TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        assertEquals(4L, metrics.getInvocations());
+        assertEquals(40L, metrics.getExecutionTime());
+        assertEquals(4L, metrics.getWaitTime());
+        assertEquals(0L, metrics.getConcurrent());
+        assertEquals(1L, metrics.getPeakConcurrent());
+
+        Map<String, InvocationMetrics.Values> methods = metrics.getMethods();
+        assertEquals(3, methods.size());
+        // Methods are keyed by name, and overloaded methods by signature
+        assertEquals(1L, methods.get("toString").getInvocations());
+        assertEquals(1L, methods.get("wait()").getInvocations());
+        assertEquals(2L, methods.get("wait(long)").getInvocations());
+        assertEquals(20L, methods.get("wait(long)").getExecutionTime());
+        assertEquals(10d, methods.get("wait(long)").getExecutionTimePercentile(0.99), 10d / 16);
+    }
+
+    @Test
+    public void methodsWithSameName() throws NoSuchMethodException {
+        // Distinct Method instances with the same name, e.g. declared by a view and by the bean class, share metrics
+        Method objectToString = Object.class.getMethod("toString");
+        Method stringToString = String.class.getMethod("toString");
+
+        InvocationMetrics metrics = new InvocationMetrics();
+        for (Method method : new Method[] { objectToString, stringToString }) {
+            metrics.startInvocation();
+            metrics.finishInvocation(method, 0L, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        Map<String, InvocationMetrics.Values> methods = metrics.getMethods();
+        assertEquals(1, methods.size());
+        assertEquals(2L, methods.get("toString").getInvocations());
+        assertEquals(20L, methods.get("toString").getExecutionTime());
+    }
+
+    @Test
+    public void valuesAreSnapshot() throws NoSuchMethodException {
+        Method method = Object.class.getMethod("toString");
+
+        InvocationMetrics metrics = new InvocationMetrics();
+        metrics.startInvocation();
+        metrics.finishInvocation(method, 0L, TimeUnit.MILLISECONDS.toNanos(1));
+
+        InvocationMetrics.Values values = metrics.getMethods().get("toString");
+        assertEquals(1d, values.getExecutionTimePercentile(0.99), 1d / 16);
+
+        metrics.startInvocation();
+        metrics.finishInvocation(method, 0L, TimeUnit.MILLISECONDS.toNanos(100));
+
+        // Previously obtained values must not reflect subsequent invocations
+        assertEquals(1L, values.getInvocations());
+        assertEquals(1d, values.getExecutionTimePercentile(0.99), 1d / 16);
+        assertEquals(100d, metrics.getMethods().get("toString").getExecutionTimePercentile(0.99), 100d / 16);
+    }
+}
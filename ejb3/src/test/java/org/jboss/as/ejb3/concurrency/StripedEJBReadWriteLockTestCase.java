@@ -0,0 +1,212 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.concurrency;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+
+import jakarta.ejb.IllegalLoopbackException;
+
+import org.jboss.as.ejb3.component.singleton.StripedEJBReadWriteLock;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the {@link StripedEJBReadWriteLock}
+ */
+public class StripedEJBReadWriteLockTestCase {
+
+    private final StripedEJBReadWriteLock lock = new StripedEJBReadWriteLock();
+
+    @Test
+    public void testIllegalLoopBack() {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            this.lock.writeLock().lock();
+            this.lock.writeLock().unlock();
+            Assert.fail("Unexpected acquired write lock");
+        } catch (IllegalLoopbackException e) {
+            // expected
+        } finally {
+            readLock.unlock();
+        }
+        // Once released, the write lock must be obtainable
+        Assert.assertTrue(this.lock.writeLock().tryLock());
+        this.lock.writeLock().unlock();
+    }
+
+    @Test
+    public void testReentrancy() throws Exception {
+        Lock readLock = this.lock.readLock();
+        Lock writeLock = this.lock.writeLock();
+
+        writeLock.lock();
+        try {
+            Assert.assertTrue(writeLock.tryLock(0, TimeUnit.SECONDS));
+            writeLock.unlock();
+            // The writer can also read
+            Assert.assertTrue(readLock.tryLock(0, TimeUnit.SECONDS));
+            readLock.unlock();
+        } finally {
+            writeLock.unlock();
+        }
+
+        readLock.lock();
+        try {
+            Assert.assertTrue(readLock.tryLock(0, TimeUnit.SECONDS));
+            readLock.unlock();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> reader = executor.submit(() -> {
+                this.lock.readLock().lock();
+                try {
+                    locked.countDown();
+                    release.await();
+                } finally {
+                    this.lock.readLock().unlock();
+                }
+                return null;
+            });
+            locked.await();
+
+            // A reader does not block other readers
+            Assert.assertTrue(this.lock.readLock().tryLock(0, TimeUnit.SECONDS));
+            this.lock.readLock().unlock();
+
+            // ... but blocks a writer
+            Assert.assertFalse(this.lock.writeLock().tryLock(100, TimeUnit.MILLISECONDS));
+            // A timed out writer must not block subsequent readers
+            Assert.assertTrue(this.lock.readLock().tryLock(0, TimeUnit.SECONDS));
+            this.lock.readLock().unlock();
+
+            release.countDown();
+            reader.get(5, TimeUnit.SECONDS);
+
+            Assert.assertTrue(this.lock.writeLock().tryLock(5, TimeUnit.SECONDS));
+            try {
+                // A writer blocks readers
+                Future<Boolean> result = executor.submit(() -> this.lock.readLock().tryLock(100, TimeUnit.MILLISECONDS));
+                Assert.assertFalse(result.get(5, TimeUnit.SECONDS));
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Verifies that an interrupted writer waiting uninterruptibly for readers to drain still acquires the lock,
+     * and that its interrupt status is preserved.
+     */
+    @Test
+    public void testUninterruptibleWriteLock() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> reader = executor.submit(() -> {
+                this.lock.readLock().lock();
+                try {
+                    locked.countDown();
+                    release.await();
+                } finally {
+                    this.lock.readLock().unlock();
+                }
+                return null;
+            });
+            locked.await();
+
+            Future<Boolean> writer = executor.submit(() -> {
+                Thread.currentThread().interrupt();
+                this.lock.writeLock().lock();
+                try {
+                    return Thread.currentThread().isInterrupted();
+                } finally {
+                    this.lock.writeLock().unlock();
+                    Thread.interrupted();
+                }
+            });
+            // Wait for the writer to block readers, i.e. while it waits for the active reader to drain
+            while (this.lock.readLock().tryLock()) {
+                this.lock.readLock().unlock();
+                Thread.yield();
+            }
+
+            release.countDown();
+            reader.get(5, TimeUnit.SECONDS);
+            Assert.assertTrue(writer.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Verifies mutual exclusion of writers against readers and other writers.
+     */
+    @Test
+    public void testConcurrency() throws Exception {
+        int threads = 8;
+        int iterations = 20000;
+        AtomicInteger readers = new AtomicInteger();
+        AtomicInteger writers = new AtomicInteger();
+        AtomicInteger violations = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] results = new Future<?>[threads];
+            for (int i = 0; i < threads; ++i) {
+                boolean writer = (i == 0) || (i == 1);
+                results[i] = executor.submit(() -> {
+                    for (int j = 0; j < iterations; ++j) {
+                        if (writer && (j % 10 == 0)) {
+                            Assert.assertTrue(this.lock.writeLock().tryLock(10, TimeUnit.SECONDS));
+                            try {
+                                if (writers.incrementAndGet() != 1 || readers.get() != 0) {
+                                    violations.incrementAndGet();
+                                }
+                                writers.decrementAndGet();
+                            } finally {
+                                this.lock.writeLock().unlock();
+                            }
+                        } else {
+                            Assert.assertTrue(this.lock.readLock().tryLock(10, TimeUnit.SECONDS));
+                            try {
+                                readers.incrementAndGet();
+                                if (writers.get() != 0) {
+                                    violations.incrementAndGet();
+                                }
+                                readers.decrementAndGet();
+                            } finally {
+                                this.lock.readLock().unlock();
+                            }
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(0, violations.get());
+    }
+}
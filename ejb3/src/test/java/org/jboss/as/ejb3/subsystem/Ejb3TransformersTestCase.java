@@ -69,7 +69,7 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXsdPath() throws Exception {
-        return "schema/wildfly-ejb3_10_0.xsd";
+        return "schema/wildfly-ejb3_11_0.xsd";
     }
 
     /*
@@ -148,6 +148,21 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
         FailedOperationTransformationConfig config = new FailedOperationTransformationConfig();
         PathAddress subsystemAddress = PathAddress.pathAddress(EJB3Extension.SUBSYSTEM_PATH);
 
+        // need to include all changes from current to 10.0.0
+        if (EJB3Model.VERSION_10_0_0.requiresTransformation(version)) {
+            // reject the striped attribute of /subsystem=ejb3/strict-max-bean-instance-pool=*
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(StrictMaxPoolResourceDefinition.STRIPED));
+            // reject the write-behind-interval attribute of /subsystem=ejb3/service=timer-service/database-data-store=*
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH, EJB3SubsystemModel.DATABASE_DATA_STORE_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(DatabaseDataStoreResourceDefinition.WRITE_BEHIND_INTERVAL));
+            // reject the format attribute of /subsystem=ejb3/service=timer-service/file-data-store=*
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH, EJB3SubsystemModel.FILE_DATA_STORE_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(FileDataStoreResourceDefinition.FORMAT));
+            if (!EJB3Model.VERSION_9_0_0.requiresTransformation(version)) {
+                // reject the timing-wheel attribute of /subsystem=ejb3/service=timer-service
+                // (the whole resource is rejected by 9.0.0, see below)
+                config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(TimerServiceResourceDefinition.TIMING_WHEEL));
+            }
+        }
+
         // need to include all changes from current to 9.0.0
         if (EJB3Model.VERSION_9_0_0.requiresTransformation(version)) {
             // reject the resource /subsystem=ejb3/simple-cache
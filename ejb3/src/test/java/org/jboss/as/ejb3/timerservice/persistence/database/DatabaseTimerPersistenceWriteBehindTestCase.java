@@ -0,0 +1,314 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.persistence.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence.TimerChangeListener;
+import org.jboss.as.naming.ManagedReference;
+import org.jboss.as.naming.ManagedReferenceFactory;
+import org.jboss.modules.ModuleLoader;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StopContext;
+import org.jboss.tm.XAResourceRecovery;
+import org.jboss.tm.XAResourceRecoveryRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.wildfly.transaction.client.LocalTransactionContext;
+import org.wildfly.transaction.client.provider.jboss.JBossLocalTransactionProvider;
+
+import com.arjuna.ats.arjuna.common.arjPropertyManager;
+import com.arjuna.ats.internal.jta.transaction.arjunacore.jca.XATerminatorImple;
+import com.arjuna.ats.jta.common.jtaPropertyManager;
+
+/**
+ * Unit test for the write-behind of timer state updates and the refresh of timers by {@link DatabaseTimerPersistence},
+ * using an in-memory database.
+ */
+public class DatabaseTimerPersistenceWriteBehindTestCase {
+
+    private static final String TIMED_OBJECT_ID = "test.jar.TestBean";
+    private static final int WRITE_BEHIND_INTERVAL = 1000;
+
+    private final Timer timer = mock(Timer.class);
+    private final TimerServiceImpl timerService = mock(TimerServiceImpl.class);
+    private String url;
+    private final DataSource dataSource = mock(DataSource.class);
+    private DatabaseTimerPersistence persistence;
+    private TimerTask writeBehindTask;
+
+    @BeforeClass
+    public static void init() {
+        jtaPropertyManager.getJTAEnvironmentBean().setTransactionManagerClassName("com.arjuna.ats.internal.jta.transaction.arjunacore.TransactionManagerImple");
+        arjPropertyManager.getObjectStoreEnvironmentBean().setObjectStoreDir(new File("target", "tx-object-store").getAbsolutePath());
+        JBossLocalTransactionProvider.Builder builder = JBossLocalTransactionProvider.builder();
+        builder.setTransactionManager(com.arjuna.ats.jta.TransactionManager.transactionManager());
+        builder.setExtendedJBossXATerminator(new XATerminatorImple());
+        builder.setXAResourceRecoveryRegistry(new XAResourceRecoveryRegistry() {
+            @Override
+            public void addXAResourceRecovery(XAResourceRecovery xaResourceRecovery) {
+            }
+
+            @Override
+            public void removeXAResourceRecovery(XAResourceRecovery xaResourceRecovery) {
+            }
+        });
+        LocalTransactionContext.getContextManager().setGlobalDefault(new LocalTransactionContext(builder.build()));
+    }
+
+    @Before
+    public void start() throws Exception {
+        this.url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        this.connect();
+        this.persistence = this.createPersistence("nodeA", WRITE_BEHIND_INTERVAL);
+        this.persistence.start(mock(StartContext.class));
+        this.persistence.timerDeployed(TIMED_OBJECT_ID);
+
+        ArgumentCaptor<TimerTask> task = ArgumentCaptor.forClass(TimerTask.class);
+        verify(this.timer).schedule(task.capture(), anyLong(), anyLong());
+        this.writeBehindTask = task.getValue();
+    }
+
+    @After
+    public void stop() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(this.url); Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    public void coalescing() throws Exception {
+        TimerImpl timer = this.createTimer();
+        this.persistence.addTimer(timer);
+        clearInvocations(this.dataSource);
+
+        for (int i = 1; i <= 3; i++) {
+            timer.setNextTimeout(new Date(timer.getNextExpiration().getTime() + TimeUnit.MINUTES.toMillis(i)));
+            this.persistence.persistTimer(timer);
+        }
+        // Updates are deferred
+        verify(this.dataSource, never()).getConnection();
+        Date expected = timer.getNextExpiration();
+
+        this.writeBehindTask.run();
+
+        // Only the most recent update of the timer is written
+        verify(this.dataSource, times(1)).getConnection();
+        assertEquals(expected.getTime(), this.nextDate(timer.getId()).getTime());
+
+        // Nothing left to write
+        this.writeBehindTask.run();
+        verify(this.dataSource, times(1)).getConnection();
+    }
+
+    @Test
+    public void stopFlushes() throws Exception {
+        TimerImpl timer = this.createTimer();
+        this.persistence.addTimer(timer);
+
+        timer.setNextTimeout(new Date(timer.getNextExpiration().getTime() + TimeUnit.MINUTES.toMillis(1)));
+        this.persistence.persistTimer(timer);
+        Date expected = timer.getNextExpiration();
+
+        this.persistence.stop(mock(StopContext.class));
+
+        // Pending update is written on shutdown
+        assertEquals(expected.getTime(), this.nextDate(timer.getId()).getTime());
+    }
+
+    @Test
+    public void retry() throws Exception {
+        TimerImpl timer = this.createTimer();
+        this.persistence.addTimer(timer);
+        Date initial = timer.getNextExpiration();
+
+        timer.setNextTimeout(new Date(initial.getTime() + TimeUnit.MINUTES.toMillis(1)));
+        this.persistence.persistTimer(timer);
+        Date expected = timer.getNextExpiration();
+
+        doThrow(new SQLException()).when(this.dataSource).getConnection();
+        this.writeBehindTask.run();
+
+        // Failed update is requeued
+        assertEquals(initial.getTime(), this.nextDate(timer.getId()).getTime());
+
+        this.connect();
+        this.writeBehindTask.run();
+
+        // Requeued update is written by the next flush
+        assertEquals(expected.getTime(), this.nextDate(timer.getId()).getTime());
+    }
+
+    @Test
+    public void superseded() throws Exception {
+        TimerImpl timer = this.createTimer();
+        this.persistence.addTimer(timer);
+        Date initial = timer.getNextExpiration();
+
+        timer.setNextTimeout(new Date(initial.getTime() + TimeUnit.MINUTES.toMillis(1)));
+        this.persistence.persistTimer(timer);
+
+        doThrow(new SQLException()).when(this.dataSource).getConnection();
+        // State of the timer changes after the update was queued
+        timer.setTimerState(TimerState.IN_TIMEOUT, Thread.currentThread());
+        this.writeBehindTask.run();
+        clearInvocations(this.dataSource);
+
+        // Superseded update is not requeued
+        this.writeBehindTask.run();
+        verify(this.dataSource, never()).getConnection();
+        assertEquals(initial.getTime(), this.nextDate(timer.getId()).getTime());
+    }
+
+    @Test
+    public void shouldRun() throws Exception {
+        TimerImpl timer = this.createTimer();
+        this.persistence.addTimer(timer);
+
+        timer.setNextTimeout(new Date(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(1)));
+        this.persistence.persistTimer(timer);
+        Date expected = timer.getNextExpiration();
+
+        // Pending update is written before the timer is claimed, so that it cannot overwrite its running state
+        assertTrue(this.persistence.shouldRun(timer));
+        assertEquals(expected.getTime(), this.nextDate(timer.getId()).getTime());
+        assertEquals(TimerState.IN_TIMEOUT.name(), this.state(timer.getId()));
+
+        this.writeBehindTask.run();
+        assertEquals(TimerState.IN_TIMEOUT.name(), this.state(timer.getId()));
+
+        // Timer cannot be claimed twice
+        assertFalse(this.persistence.shouldRun(timer));
+    }
+
+    @Test
+    public void refresh() throws Exception {
+        TimerImpl existing = this.createTimer();
+        this.persistence.addTimer(existing);
+
+        TimerChangeListener listener = mock(TimerChangeListener.class);
+        when(listener.getTimerService()).thenReturn(this.timerService);
+        this.persistence.registerChangeListener(TIMED_OBJECT_ID, listener);
+
+        // Timer created by another node of the same partition
+        DatabaseTimerPersistence other = this.createPersistence("nodeB", 0);
+        other.start(mock(StartContext.class));
+        TimerImpl added = this.createTimer();
+        try {
+            other.timerDeployed(TIMED_OBJECT_ID);
+            other.addTimer(added);
+        } finally {
+            other.stop(mock(StopContext.class));
+        }
+        clearInvocations(this.dataSource);
+
+        this.persistence.refreshTimers();
+
+        ArgumentCaptor<TimerImpl> timer = ArgumentCaptor.forClass(TimerImpl.class);
+        verify(listener).timerAdded(timer.capture());
+        verify(listener, never()).timerSync(any(), any());
+        verify(listener, never()).timerRemoved(any());
+        assertEquals(added.getId(), timer.getValue().getId());
+        assertEquals(added.getNextExpiration().getTime(), timer.getValue().getNextExpiration().getTime());
+        // Timer states are loaded using one connection, and the added timer using another
+        verify(this.dataSource, times(2)).getConnection();
+
+        // Added timer is now known to this node
+        reset(listener);
+        when(listener.getTimerService()).thenReturn(this.timerService);
+        this.persistence.refreshTimers();
+        verify(listener, never()).timerAdded(any());
+
+        // Timer removed by another node
+        try (Connection connection = DriverManager.getConnection(this.url); PreparedStatement statement = connection.prepareStatement("DELETE FROM JBOSS_EJB_TIMER WHERE ID=?")) {
+            statement.setString(1, added.getId());
+            statement.execute();
+        }
+        TimerImpl removed = mock(TimerImpl.class);
+        when(this.timerService.getTimer(added.getId())).thenReturn(removed);
+        this.persistence.refreshTimers();
+        verify(listener).timerRemoved(added.getId());
+    }
+
+    private void connect() throws SQLException {
+        doAnswer(invocation -> DriverManager.getConnection(this.url)).when(this.dataSource).getConnection();
+    }
+
+    private DatabaseTimerPersistence createPersistence(String nodeName, int writeBehindInterval) throws Exception {
+        ManagedReference reference = mock(ManagedReference.class);
+        when(reference.getInstance()).thenReturn(this.dataSource);
+        ManagedReferenceFactory factory = mock(ManagedReferenceFactory.class);
+        when(factory.getReference()).thenReturn(reference);
+        return new DatabaseTimerPersistence(persistence -> { }, () -> factory, () -> mock(ModuleLoader.class), () -> this.timer, "h2", "part", nodeName, 0, true, writeBehindInterval);
+    }
+
+    private TimerImpl createTimer() {
+        Date initial = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        return TimerImpl.builder()
+                .setId(UUID.randomUUID().toString())
+                .setTimedObjectId(TIMED_OBJECT_ID)
+                .setInitialDate(initial)
+                .setRepeatInterval(TimeUnit.HOURS.toMillis(1))
+                .setNextDate(initial)
+                .setTimerState(TimerState.ACTIVE)
+                .setPersistent(true)
+                .build(this.timerService);
+    }
+
+    private Timestamp nextDate(String id) throws SQLException {
+        return this.query(id, "NEXT_DATE", Timestamp.class);
+    }
+
+    private String state(String id) throws SQLException {
+        return this.query(id, "TIMER_STATE", String.class);
+    }
+
+    private <T> T query(String id, String column, Class<T> type) throws SQLException {
+        // Bypasses the data source, whose connections are counted
+        try (Connection connection = DriverManager.getConnection(this.url); PreparedStatement statement = connection.prepareStatement("SELECT " + column + " FROM JBOSS_EJB_TIMER WHERE ID=?")) {
+            statement.setString(1, id);
+            try (ResultSet result = statement.executeQuery()) {
+                assertTrue(result.next());
+                return result.getObject(1, type);
+            }
+        }
+    }
+}
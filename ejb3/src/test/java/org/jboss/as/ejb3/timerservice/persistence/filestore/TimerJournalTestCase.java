@@ -0,0 +1,259 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.ejb.ScheduleExpression;
+
+import org.jboss.as.ejb3.timerservice.CalendarTimer;
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.spi.TimedObjectInvoker;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.jboss.marshalling.river.RiverMarshallerFactory;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link TimerJournal}.
+ */
+public class TimerJournalTestCase {
+
+    private static final String TIMED_OBJECT_ID = "app.module.bean";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final RiverMarshallerFactory factory = new RiverMarshallerFactory();
+    private final MarshallingConfiguration configuration = new MarshallingConfiguration();
+    private TimerServiceImpl timerService;
+
+    @Before
+    public void init() {
+        this.configuration.setVersion(3);
+        TimedObjectInvoker invoker = mock(TimedObjectInvoker.class);
+        when(invoker.getClassLoader()).thenReturn(this.getClass().getClassLoader());
+        this.timerService = mock(TimerServiceImpl.class);
+        when(this.timerService.getInvoker()).thenReturn(invoker);
+    }
+
+    @Test
+    public void replay() throws IOException {
+        File directory = this.folder.newFolder();
+        TimerImpl interval = TimerImpl.builder()
+                .setId("interval")
+                .setTimedObjectId(TIMED_OBJECT_ID)
+                .setInitialDate(new Date(1000L))
+                .setRepeatInterval(500L)
+                .setNextDate(new Date(1000L))
+                .setInfo("info")
+                .setTimerState(TimerState.ACTIVE)
+                .setPersistent(true)
+                .build(this.timerService);
+        ScheduleExpression schedule = new ScheduleExpression().second("*/10").minute("*").hour("*").timezone("UTC");
+        TimerImpl calendar = CalendarTimer.builder()
+                .setScheduleExpression(schedule)
+                .setAutoTimer(false)
+                .setId("calendar")
+                .setTimedObjectId(TIMED_OBJECT_ID)
+                .setNextDate(new Date(2000L))
+                .setTimerState(TimerState.CREATED)
+                .setPersistent(true)
+                .build(this.timerService);
+        TimerImpl single = TimerImpl.builder()
+                .setId("single")
+                .setTimedObjectId(TIMED_OBJECT_ID)
+                .setInitialDate(new Date(3000L))
+                .setNextDate(new Date(3000L))
+                .setTimerState(TimerState.ACTIVE)
+                .setPersistent(true)
+                .build(this.timerService);
+
+        try (TimerJournal journal = this.open(directory)) {
+            journal.write(interval);
+            journal.write(calendar);
+            journal.write(single);
+            interval.setPreviousRun(new Date(1000L));
+            interval.setNextTimeout(new Date(1500L));
+            journal.write(interval);
+            journal.remove(single.getId());
+        }
+        assertTrue(TimerJournal.exists(directory));
+
+        try (TimerJournal journal = this.open(directory)) {
+            assertTrue(journal.contains(interval.getId()));
+            assertTrue(journal.contains(calendar.getId()));
+            assertFalse(journal.contains(single.getId()));
+
+            Map<String, TimerImpl> timers = this.load(journal);
+            assertEquals(2, timers.size());
+
+            TimerImpl timer = timers.get(interval.getId());
+            assertEquals(TIMED_OBJECT_ID, timer.getTimedObjectId());
+            assertEquals(1000L, timer.getInitialExpiration().getTime());
+            assertEquals(500L, timer.getInterval());
+            assertEquals(1500L, timer.getNextExpiration().getTime());
+            assertEquals(1000L, timer.getPreviousRun().getTime());
+            assertEquals(TimerState.ACTIVE, timer.getState());
+            assertEquals("info", timer.getTimerInfo());
+            assertTrue(timer.isPersistent());
+
+            timer = timers.get(calendar.getId());
+            assertTrue(timer instanceof CalendarTimer);
+            ScheduleExpression expression = ((CalendarTimer) timer).getScheduleExpression();
+            assertEquals("*/10", expression.getSecond());
+            assertEquals("UTC", expression.getTimezone());
+            assertNull(expression.getStart());
+            assertEquals(2000L, timer.getNextExpiration().getTime());
+            assertEquals(TimerState.CREATED, timer.getState());
+            assertNull(timer.getTimerInfo());
+        }
+    }
+
+    @Test
+    public void compaction() throws IOException {
+        File directory = this.folder.newFolder();
+        TimerImpl timer = this.createTimer("timer");
+        try (TimerJournal journal = this.open(directory)) {
+            journal.write(timer);
+            for (int i = 0; i < 5000; ++i) {
+                timer.setNextTimeout(new Date(i));
+                journal.write(timer);
+            }
+        }
+        // Journal must have been truncated on compaction, each state record being less than 64 bytes
+        assertTrue(new File(directory, TimerJournal.SNAPSHOT).exists());
+        assertTrue(new File(directory, TimerJournal.JOURNAL).length() < 1024 * 64);
+
+        try (TimerJournal journal = this.open(directory)) {
+            assertEquals(4999L, this.load(journal).get("timer").getNextExpiration().getTime());
+        }
+    }
+
+    @Test
+    public void tornRecord() throws IOException {
+        File directory = this.folder.newFolder();
+        try (TimerJournal journal = this.open(directory)) {
+            journal.write(this.createTimer("timer"));
+        }
+        // Simulate a crash in the middle of an append
+        try (FileOutputStream output = new FileOutputStream(new File(directory, TimerJournal.JOURNAL), true)) {
+            output.write(new byte[] { 0, 0, 0, 42, 1, 2, 3 });
+        }
+        try (TimerJournal journal = this.open(directory)) {
+            assertEquals(1, this.load(journal).size());
+            journal.write(this.createTimer("another"));
+        }
+        try (TimerJournal journal = this.open(directory)) {
+            assertEquals(2, this.load(journal).size());
+        }
+    }
+
+    @Test
+    public void unmarshallableInfo() throws IOException {
+        File directory = this.folder.newFolder();
+        ArrayList<Object> info = new ArrayList<>();
+        info.add(new Object());
+        TimerImpl timer = TimerImpl.builder()
+                .setId("timer")
+                .setTimedObjectId(TIMED_OBJECT_ID)
+                .setInitialDate(new Date(1000L))
+                .setNextDate(new Date(1000L))
+                .setInfo(info)
+                .setTimerState(TimerState.ACTIVE)
+                .setPersistent(true)
+                .build(this.timerService);
+        try (TimerJournal journal = this.open(directory)) {
+            // A timer whose info cannot be marshalled must not be reported as written, e.g. so that it is not considered migrated
+            assertFalse(journal.write(timer));
+            assertFalse(journal.contains(timer.getId()));
+            assertTrue(journal.write(this.createTimer("another")));
+        }
+        try (TimerJournal journal = this.open(directory)) {
+            assertEquals(1, this.load(journal).size());
+        }
+    }
+
+    @Test
+    public void delete() throws IOException {
+        File directory = this.folder.newFolder();
+        TimerJournal journal = this.open(directory);
+        journal.write(this.createTimer("timer"));
+        journal.compact();
+        journal.delete();
+        assertFalse(TimerJournal.exists(directory));
+    }
+
+    /**
+     * Verifies that a large number of timers can be written, and replayed on startup.
+     */
+    @Test
+    public void load() throws IOException {
+        File directory = this.folder.newFolder();
+        int count = 50000;
+        try (TimerJournal journal = this.open(directory)) {
+            for (int i = 0; i < count; ++i) {
+                journal.write(this.createTimer(Integer.toString(i)));
+            }
+            // Simulate an expiration of every timer
+            for (int i = 0; i < count; ++i) {
+                TimerImpl timer = this.createTimer(Integer.toString(i));
+                timer.setNextTimeout(new Date(2000L));
+                journal.write(timer);
+            }
+        }
+        try (TimerJournal journal = this.open(directory)) {
+            List<TimerImpl> timers = journal.load(this.timerService);
+            assertEquals(count, timers.size());
+            for (TimerImpl timer : timers) {
+                assertEquals(2000L, timer.getNextExpiration().getTime());
+            }
+        }
+    }
+
+    private TimerJournal open(File directory) throws IOException {
+        TimerJournal journal = new TimerJournal(directory, TIMED_OBJECT_ID, this.factory, this.configuration);
+        journal.open();
+        return journal;
+    }
+
+    private Map<String, TimerImpl> load(TimerJournal journal) throws IOException {
+        Map<String, TimerImpl> timers = new HashMap<>();
+        for (TimerImpl timer : journal.load(this.timerService)) {
+            timers.put(timer.getId(), timer);
+        }
+        return timers;
+    }
+
+    private TimerImpl createTimer(String id) {
+        return TimerImpl.builder()
+                .setId(id)
+                .setTimedObjectId(TIMED_OBJECT_ID)
+                .setInitialDate(new Date(1000L))
+                .setRepeatInterval(1000L)
+                .setNextDate(new Date(1000L))
+                .setTimerState(TimerState.ACTIVE)
+                .setPersistent(true)
+                .build(this.timerService);
+    }
+}
@@ -4,6 +4,7 @@
  */
 package org.jboss.as.ejb3.timerservice.schedule;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
@@ -1142,6 +1143,81 @@ public class CalendarBasedTimeoutTestCase {
         }
     }
 
+    /**
+     * Asserts that the next timeouts computed from an {@link Instant} are consistent with those computed from a {@link Calendar},
+     * including across daylight saving time changes.
+     */
+    @Test
+    public void testNextTimeoutFromInstant() {
+        ScheduleExpression[] schedules = new ScheduleExpression[] {
+                new ScheduleExpression().hour("*").minute("*/20").second("0"),
+                new ScheduleExpression().hour("1-3").minute("30").second("15"),
+                new ScheduleExpression().dayOfWeek("Mon-Fri").hour("8").minute("15").second("0"),
+                new ScheduleExpression().dayOfMonth("last, 1st Sun").hour("2").minute("0").second("0"),
+        };
+        for (String zone : Arrays.asList("UTC", "Europe/Lisbon", "America/New_York", "Australia/Lord_Howe")) {
+            for (ScheduleExpression schedule : schedules) {
+                Calendar start = new GregorianCalendar(TimeZone.getTimeZone(zone));
+                start.clear();
+                start.set(2017, Calendar.JANUARY, 1, 0, 0, 0);
+                CalendarBasedTimeout calendarTimeout = new CalendarBasedTimeout(schedule.timezone(zone).start(start.getTime()));
+
+                Calendar timeout = calendarTimeout.getFirstTimeout();
+                while (timeout.get(Calendar.YEAR) == 2017) {
+                    Calendar nextTimeout = calendarTimeout.getNextTimeout(timeout);
+                    Assert.assertEquals(zone + " " + timeout.getTime(), nextTimeout.toInstant(), calendarTimeout.getNextTimeout(timeout.toInstant()));
+                    timeout = nextTimeout;
+                }
+            }
+        }
+    }
+
+    /**
+     * Asserts that the next timeout matches the day-of-week after advancing to the next year.
+     */
+    @Test
+    public void testNextDayOfWeekInNextYear() {
+        ScheduleExpression schedule = new ScheduleExpression();
+        schedule.dayOfWeek("Sun")
+                .month("Dec")
+                .hour("12")
+                .minute("0")
+                .second("0")
+                .timezone("UTC");
+        CalendarBasedTimeout calendarTimeout = new CalendarBasedTimeout(schedule);
+
+        // Sunday, 28 December 2025, 12:00:00
+        Calendar current = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        current.clear();
+        current.set(2025, Calendar.DECEMBER, 28, 12, 0, 0);
+
+        Calendar timeout = calendarTimeout.getNextTimeout(current);
+
+        // Sunday, 6 December 2026, 12:00:00
+        Assert.assertNotNull(timeout);
+        Assert.assertEquals(2026, timeout.get(Calendar.YEAR));
+        Assert.assertEquals(Calendar.DECEMBER, timeout.get(Calendar.MONTH));
+        Assert.assertEquals(6, timeout.get(Calendar.DAY_OF_MONTH));
+        Assert.assertEquals(Calendar.SUNDAY, timeout.get(Calendar.DAY_OF_WEEK));
+        Assert.assertEquals(12, timeout.get(Calendar.HOUR_OF_DAY));
+    }
+
+    /**
+     * Asserts that a schedule whose year does not contain its date has no timeouts.
+     */
+    @Test
+    public void testNoTimeoutInYearWithoutDate() {
+        ScheduleExpression schedule = new ScheduleExpression();
+        schedule.dayOfMonth("29")
+                .month("Feb")
+                .year("2031")
+                .timezone("UTC");
+        CalendarBasedTimeout calendarTimeout = new CalendarBasedTimeout(schedule);
+
+        Assert.assertNull(calendarTimeout.getFirstTimeout());
+        Assert.assertNull(calendarTimeout.getNextTimeout(Instant.parse("2030-01-01T00:00:00Z")));
+    }
+
     private ScheduleExpression getTimezoneSpecificScheduleExpression() {
         ScheduleExpression scheduleExpression = new ScheduleExpression().timezone(this.timezone.getID());
         GregorianCalendar start = new GregorianCalendar(this.timezone);
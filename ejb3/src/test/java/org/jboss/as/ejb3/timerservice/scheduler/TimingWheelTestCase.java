@@ -0,0 +1,93 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimingWheel}.
+ */
+public class TimingWheelTestCase {
+
+    private static final Duration TICK = Duration.ofMillis(1);
+
+    @Test
+    public void schedule() throws InterruptedException {
+        try (TimingWheel wheel = new TimingWheel(TICK, Executors.defaultThreadFactory())) {
+            // Covers the root wheel, as well as deadlines that must be cascaded from the next wheel
+            for (long delay : new long[] { 0, 5, 50, 300, 1000 }) {
+                CountDownLatch latch = new CountDownLatch(1);
+                long start = System.nanoTime();
+                wheel.schedule(latch::countDown, delay);
+                Assert.assertTrue(latch.await(delay + 5000, TimeUnit.MILLISECONDS));
+                Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= delay);
+            }
+        }
+    }
+
+    @Test
+    public void cancel() throws InterruptedException {
+        try (TimingWheel wheel = new TimingWheel(TICK, Executors.defaultThreadFactory())) {
+            AtomicInteger count = new AtomicInteger();
+            TimeoutScheduler.Scheduled cancelled = wheel.schedule(count::incrementAndGet, 50);
+            Assert.assertTrue(cancelled.cancel());
+            Assert.assertFalse(cancelled.cancel());
+
+            CountDownLatch latch = new CountDownLatch(1);
+            TimeoutScheduler.Scheduled expired = wheel.schedule(latch::countDown, 100);
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+            // Task already ran
+            Assert.assertFalse(expired.cancel());
+            Assert.assertEquals(0, count.get());
+        }
+    }
+
+    @Test
+    public void scheduleAtFixedRate() throws InterruptedException {
+        try (TimingWheel wheel = new TimingWheel(TICK, Executors.defaultThreadFactory())) {
+            AtomicInteger count = new AtomicInteger();
+            CountDownLatch latch = new CountDownLatch(5);
+            TimeoutScheduler.Scheduled scheduled = wheel.scheduleAtFixedRate(() -> {
+                count.incrementAndGet();
+                latch.countDown();
+            }, 0, 10);
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+            Assert.assertTrue(scheduled.cancel());
+            int executions = count.get();
+            Thread.sleep(100);
+            // At most one execution may have been in progress while cancelling
+            Assert.assertTrue(count.get() <= executions + 1);
+        }
+    }
+
+    @Test
+    public void many() throws InterruptedException {
+        int timers = 100_000;
+        try (TimingWheel wheel = new TimingWheel(TICK, Executors.defaultThreadFactory())) {
+            CountDownLatch latch = new CountDownLatch(timers / 2);
+            AtomicInteger cancelledCount = new AtomicInteger();
+            TimeoutScheduler.Scheduled[] scheduled = new TimeoutScheduler.Scheduled[timers];
+            for (int i = 0; i < timers; ++i) {
+                long delay = ThreadLocalRandom.current().nextLong(1000);
+                scheduled[i] = (i % 2 == 0) ? wheel.schedule(latch::countDown, delay) : wheel.schedule(cancelledCount::incrementAndGet, delay + 500);
+            }
+            for (int i = 1; i < timers; i += 2) {
+                Assert.assertTrue(scheduled[i].cancel());
+            }
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            Thread.sleep(600);
+            Assert.assertEquals(0, cancelledCount.get());
+        }
+    }
+}
@@ -5,6 +5,8 @@
 
 package org.jboss.as.jpa.config;
 
+import static org.jboss.as.jpa.messages.JpaLogger.ROOT_LOGGER;
+
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -148,6 +150,18 @@ public class Configuration {
      */
     private static final String JPA_SKIP_QUERY_DETACH = "wildfly.jpa.skipquerydetach";
 
+    /**
+     * set to a positive number to pool (up to that many) cleared entity managers for reuse by transaction scoped
+     * entity managers used without an active Jakarta Transactions transaction (defaults to 0, which disables pooling).
+     * Pooled entity managers are only cleared between invocations, so an entity manager is not returned to the pool once
+     * the application changes its state via setFlushMode, setProperty, unwrap or getDelegate (e.g. Hibernate filters,
+     * fetch profiles, cache mode or default read-only).
+     * NOTE: since any unwrap discards the entity manager, pooling has no effect for applications that unwrap the Hibernate
+     * Session (or call getDelegate) in most non-transactional invocations, which can be verified via the
+     * non-tx-entity-manager-pool-hit-count metric.
+     */
+    public static final String NON_TX_ENTITY_MANAGER_POOL_SIZE = "wildfly.jpa.nontxpoolsize";
+
     /**
      * unique name for the persistence unit that is unique across all deployments (
      * defaults to include the application name prepended to the persistence unit name)
@@ -391,6 +405,29 @@ public class Configuration {
         return result;
     }
 
+    /**
+     * Return the maximum number of entity managers pooled for reuse by non-transactional invocations.
+     *
+     * @param pu
+     * @return the pool size or 0 (default) if entity managers should not be pooled, or the property value is invalid
+     */
+    public static int nonTxEntityManagerPoolSize(PersistenceUnitMetadata pu) {
+        int result = 0;
+        String value = pu.getProperties().getProperty(Configuration.NON_TX_ENTITY_MANAGER_POOL_SIZE);
+        if (value != null) {
+            try {
+                result = Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                result = -1;
+            }
+            if (result < 0) {
+                ROOT_LOGGER.invalidNonTxEntityManagerPoolSize(value, NON_TX_ENTITY_MANAGER_POOL_SIZE, pu.getScopedPersistenceUnitName());
+                result = 0;
+            }
+        }
+        return result;
+    }
+
     public static String getScopedPersistenceUnitName(PersistenceUnitMetadata pu) {
 
         Object name = pu.getProperties().get(JPA_SCOPED_PERSISTENCE_UNIT_NAME);
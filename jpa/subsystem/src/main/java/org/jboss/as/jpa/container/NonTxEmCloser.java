@@ -38,12 +38,17 @@ public class NonTxEmCloser {
 
     /**
      * current session bean invocation is ending, close any transactional entity managers created without a Jakarta Transactions
-     * transaction.
+     * transaction (or return them to the {@link NonTxEntityManagerPool} of their persistence unit).
      */
     public static void popCall() {
         Map<String, EntityManager> emStack = nonTxStack.pop();
         if (emStack != null) {
-            for (EntityManager entityManager : emStack.values()) {
+            for (Map.Entry<String, EntityManager> entry : emStack.entrySet()) {
+                EntityManager entityManager = entry.getValue();
+                NonTxEntityManagerPool pool = NonTxEntityManagerPool.get(entry.getKey());
+                if (pool != null && pool.release(entityManager)) {
+                    continue;
+                }
                 try {
                     if (entityManager.isOpen()) {
                         entityManager.close();
@@ -73,6 +78,16 @@ public class NonTxEmCloser {
         return null;
     }
 
+    /**
+     * Return true if the current thread is in a session bean (or web) invocation that will close the
+     * transactional entity managers created without a Jakarta Transactions transaction.
+     *
+     * @return
+     */
+    public static boolean isInCall() {
+        return !nonTxStack.isEmpty();
+    }
+
     public static void add(String puScopedName, EntityManager entityManager) {
         Map<String, EntityManager> map = nonTxStack.peek();
         if (map == null && !nonTxStack.isEmpty()) {
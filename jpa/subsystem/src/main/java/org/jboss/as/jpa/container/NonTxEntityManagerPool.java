@@ -0,0 +1,199 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.jpa.container;
+
+import static org.jboss.as.jpa.messages.JpaLogger.ROOT_LOGGER;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Bounded pool of the entity managers used by transaction scoped entity managers without a Jakarta Transactions transaction.
+ * Instead of being closed at the end of the invocation, pooled entity managers are cleared and reused by a subsequent
+ * non-transactional invocation of the same persistence unit.
+ * <p/>
+ * Clearing only discards the persistence context, so an entity manager whose state was otherwise changed (e.g. its flush
+ * mode, properties, or any state of the provider session obtained via unwrap) must be {@link #discard(EntityManager) discarded}
+ * rather than reused.
+ * <p/>
+ * Pools are only registered for persistence units that set {@link org.jboss.as.jpa.config.Configuration#NON_TX_ENTITY_MANAGER_POOL_SIZE}.
+ */
+public final class NonTxEntityManagerPool {
+
+    /**
+     * Key = scoped persistence unit name
+     */
+    private static final Map<String, NonTxEntityManagerPool> pools = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+    // entity managers owned by this pool, whether idle or in use
+    private final Set<EntityManager> members = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Deque<EntityManager> idle = new ConcurrentLinkedDeque<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile boolean closed = false;
+
+    private NonTxEntityManagerPool(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Create the pool of the specified persistence unit, replacing (and closing) any previous pool.
+     *
+     * @param puScopedName scoped persistence unit name
+     * @param maxSize maximum number of entity managers owned by the pool
+     */
+    public static void register(String puScopedName, int maxSize) {
+        NonTxEntityManagerPool previous = pools.put(puScopedName, new NonTxEntityManagerPool(maxSize));
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * Remove and close the pool of the specified persistence unit, which must happen before its entity manager factory is closed.
+     *
+     * @param puScopedName scoped persistence unit name
+     */
+    public static void unregister(String puScopedName) {
+        NonTxEntityManagerPool pool = pools.remove(puScopedName);
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    /**
+     * Return the pool of the specified persistence unit
+     *
+     * @param puScopedName scoped persistence unit name
+     * @return the pool or null if pooling is not enabled for the persistence unit
+     */
+    public static NonTxEntityManagerPool get(String puScopedName) {
+        return pools.get(puScopedName);
+    }
+
+    /**
+     * Return an idle pooled entity manager, or create a new one if there is none.
+     *
+     * @param emf the entity manager factory of the persistence unit
+     * @return an entity manager that should be passed to {@link #release(EntityManager)} once the invocation completes
+     */
+    public EntityManager acquire(EntityManagerFactory emf) {
+        EntityManager entityManager = idle.pollFirst();
+        while (entityManager != null) {
+            if (entityManager.isOpen()) {
+                hits.increment();
+                return entityManager;
+            }
+            remove(entityManager);
+            entityManager = idle.pollFirst();
+        }
+        misses.increment();
+        entityManager = emf.createEntityManager();
+        if (!closed && reserve()) {
+            members.add(entityManager);
+        }
+        return entityManager;
+    }
+
+    /**
+     * Clear the specified entity manager and return it to the pool.
+     *
+     * @param entityManager an entity manager previously returned by {@link #acquire(EntityManagerFactory)}
+     * @return true if the entity manager was returned to the pool, false if the caller should close it
+     */
+    public boolean release(EntityManager entityManager) {
+        if (!members.contains(entityManager)) {
+            return false;
+        }
+        if (closed || !entityManager.isOpen()) {
+            remove(entityManager);
+            return false;
+        }
+        try {
+            entityManager.clear();
+        } catch (RuntimeException e) {
+            remove(entityManager);
+            return false;
+        }
+        // most recently used first, to favour entity managers with warm caches
+        idle.offerFirst(entityManager);
+        if (closed && idle.remove(entityManager)) {
+            // raced with close()
+            remove(entityManager);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Exclude the specified entity manager from the pool, e.g. because its state was changed in a way that clearing does not
+     * undo.  It will be closed instead of released once the invocation completes.
+     *
+     * @param entityManager an entity manager previously returned by {@link #acquire(EntityManagerFactory)}
+     */
+    public void discard(EntityManager entityManager) {
+        remove(entityManager);
+    }
+
+    /**
+     * @return number of non-transactional invocations that reused a pooled entity manager
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of non-transactional invocations that created an entity manager
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    private boolean reserve() {
+        int current = size.get();
+        while (current < maxSize) {
+            if (size.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = size.get();
+        }
+        return false;
+    }
+
+    private void remove(EntityManager entityManager) {
+        if (members.remove(entityManager)) {
+            size.decrementAndGet();
+        }
+    }
+
+    private void close() {
+        closed = true;
+        EntityManager entityManager = idle.pollFirst();
+        while (entityManager != null) {
+            remove(entityManager);
+            try {
+                if (entityManager.isOpen()) {
+                    entityManager.close();
+                }
+            } catch (RuntimeException safeToIgnore) {
+                if (ROOT_LOGGER.isTraceEnabled()) {
+                    ROOT_LOGGER.trace("Could not close pooled (non-transactional) container managed entity manager", safeToIgnore);
+                }
+            }
+            entityManager = idle.pollFirst();
+        }
+    }
+}
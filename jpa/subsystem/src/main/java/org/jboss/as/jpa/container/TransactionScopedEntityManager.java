@@ -14,7 +14,9 @@ import java.util.Map;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.FlushModeType;
 import jakarta.persistence.SynchronizationType;
+import jakarta.transaction.Transaction;
 import jakarta.transaction.TransactionManager;
 import jakarta.transaction.TransactionSynchronizationRegistry;
 
@@ -26,6 +28,7 @@ import org.jboss.as.jpa.util.JPAServiceNames;
 import org.jboss.as.server.CurrentServiceContainer;
 import org.jboss.msc.service.ServiceContainer;
 import org.jboss.msc.service.ServiceController;
+import org.jboss.tm.TxUtils;
 import org.wildfly.transaction.client.ContextTransactionManager;
 
 /**
@@ -49,6 +52,8 @@ public class TransactionScopedEntityManager extends AbstractEntityManager implem
     private transient TransactionManager transactionManager;
     private transient Boolean deferDetach;
     private transient Boolean skipQueryDetach;
+    // entity manager of the transaction most recently used by each thread, which is only valid while that transaction is active
+    private transient ThreadLocal<TransactionEntityManager> transactionEntityManager = new ThreadLocal<>();
 
     public TransactionScopedEntityManager(String puScopedName, Map properties, EntityManagerFactory emf, SynchronizationType synchronizationType, TransactionSynchronizationRegistry transactionSynchronizationRegistry, TransactionManager transactionManager) {
         this.puScopedName = puScopedName;
@@ -62,22 +67,77 @@ public class TransactionScopedEntityManager extends AbstractEntityManager implem
     @Override
     protected EntityManager getEntityManager() {
         EntityManager entityManager;
-        boolean isInTx;
+        Transaction transaction = TransactionUtil.getTransaction(transactionManager);
 
-        isInTx = TransactionUtil.isInTx(transactionManager);
-
-        if (isInTx) {
+        if (transaction != null && TxUtils.isActive(transaction)) {
+            // fast path for repeated calls within the same transaction, which would otherwise look up the entity manager in the transaction registry
+            // the entity manager itself is closed by the SessionSynchronization of the transaction, so a cached entry of
+            // a completed transaction never matches, and is replaced or removed by the next call of this thread
+            TransactionEntityManager cached = transactionEntityManager.get();
+            if (cached != null && cached.transaction == transaction) {
+                return cached.entityManager;
+            }
             entityManager = getOrCreateTransactionScopedEntityManager(emf, puScopedName, properties, synchronizationType);
+            transactionEntityManager.set(new TransactionEntityManager(transaction, entityManager));
         } else {
+            // release the entity manager of any completed transaction
+            transactionEntityManager.remove();
             entityManager = NonTxEmCloser.get(puScopedName);
             if (entityManager == null) {
-                entityManager = createEntityManager(emf, properties, synchronizationType);
+                NonTxEntityManagerPool pool = NonTxEntityManagerPool.get(puScopedName);
+                // only reuse entity managers that are returned to the pool when the invocation completes
+                if (pool != null && isPoolable() && NonTxEmCloser.isInCall()) {
+                    entityManager = pool.acquire(emf);
+                } else {
+                    entityManager = createEntityManager(emf, properties, synchronizationType);
+                }
                 NonTxEmCloser.add(puScopedName, entityManager);
             }
         }
         return entityManager;
     }
 
+    @Override
+    public <T> T unwrap(Class<T> cls) {
+        T result = super.unwrap(cls);
+        discardPooledEntityManager();
+        return result;
+    }
+
+    @Override
+    public Object getDelegate() {
+        Object result = super.getDelegate();
+        discardPooledEntityManager();
+        return result;
+    }
+
+    @Override
+    public void setFlushMode(FlushModeType flushMode) {
+        super.setFlushMode(flushMode);
+        discardPooledEntityManager();
+    }
+
+    @Override
+    public void setProperty(String propertyName, Object value) {
+        super.setProperty(propertyName, value);
+        discardPooledEntityManager();
+    }
+
+    /**
+     * Clearing a pooled entity manager does not undo changes to its flush mode, properties or provider specific state
+     * (e.g. filters, fetch profiles, cache mode or read-only default of a Hibernate session), so the non-transactional
+     * entity manager of the current invocation is closed rather than reused once the application may have changed it.
+     */
+    private void discardPooledEntityManager() {
+        if (!isInTx()) {
+            NonTxEntityManagerPool pool = NonTxEntityManagerPool.get(puScopedName);
+            EntityManager entityManager = NonTxEmCloser.get(puScopedName);
+            if (pool != null && entityManager != null) {
+                pool.discard(entityManager);
+            }
+        }
+    }
+
     @Override
     protected boolean isExtendedPersistenceContext() {
         return false;
@@ -100,6 +160,7 @@ public class TransactionScopedEntityManager extends AbstractEntityManager implem
     private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
         // read all non-transient fields
         in.defaultReadObject();
+        transactionEntityManager = new ThreadLocal<>();
         final ServiceController<?> controller = currentServiceContainer().getService(JPAServiceNames.getPUServiceName(puScopedName));
         final PersistenceUnitServiceImpl persistenceUnitService = (PersistenceUnitServiceImpl) controller.getService();
         transactionManager = ContextTransactionManager.getInstance();
@@ -155,6 +216,14 @@ public class TransactionScopedEntityManager extends AbstractEntityManager implem
         return entityManager;
     }
 
+    /**
+     * pooled entity managers are created without properties, so can only be shared by entity managers that would
+     * otherwise be created the same way
+     */
+    private boolean isPoolable() {
+        return !SynchronizationType.UNSYNCHRONIZED.equals(synchronizationType) && (properties == null || properties.isEmpty());
+    }
+
     private EntityManager createEntityManager(
         EntityManagerFactory emf, Map properties, final SynchronizationType synchronizationType) {
         // only JPA 2.1 applications can specify UNSYNCHRONIZED.
@@ -220,4 +289,18 @@ public class TransactionScopedEntityManager extends AbstractEntityManager implem
             throw JpaLogger.ROOT_LOGGER.badSynchronizationTypeCombination(scopedPuName);
         }
     }
+
+    /**
+     * The entity manager associated with a given transaction, as seen by the thread that cached it.  Only read by that
+     * thread, and only while the current transaction of that thread is active.
+     */
+    private static final class TransactionEntityManager {
+        private final Transaction transaction;
+        private final EntityManager entityManager;
+
+        TransactionEntityManager(Transaction transaction, EntityManager entityManager) {
+            this.transaction = transaction;
+            this.entityManager = entityManager;
+        }
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.jpa.management;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jboss.as.jpa.container.NonTxEntityManagerPool;
+import org.jboss.as.jpa.service.PersistenceUnitServiceImpl;
+import org.jboss.as.jpa.subsystem.PersistenceUnitRegistryImpl;
+import org.jipijapa.management.spi.EntityManagerFactoryAccess;
+import org.jipijapa.management.spi.PathAddress;
+import org.jipijapa.management.spi.StatisticName;
+import org.jipijapa.management.spi.Statistics;
+import org.jipijapa.plugin.spi.PersistenceUnitService;
+
+/**
+ * Adds the statistics maintained by the container for a persistence unit, i.e. the bootstrap times and the statistics of
+ * its {@link NonTxEntityManagerPool}, to the statistics of its persistence provider.
+ */
+public class ContainerStatistics implements Statistics {
+
+    public static final String FIRST_PHASE_BOOTSTRAP_TIME = "first-phase-bootstrap-time";
+    public static final String SECOND_PHASE_BOOTSTRAP_TIME = "second-phase-bootstrap-time";
+    public static final String POOL_HIT_COUNT = "non-tx-entity-manager-pool-hit-count";
+    public static final String POOL_MISS_COUNT = "non-tx-entity-manager-pool-miss-count";
+
+    private static final Set<String> CONTAINER_STATISTICS = Set.of(FIRST_PHASE_BOOTSTRAP_TIME, SECOND_PHASE_BOOTSTRAP_TIME, POOL_HIT_COUNT, POOL_MISS_COUNT);
+
+    private final Statistics statistics;
+    private final String providerLabel;
+    private final Set<String> names;
+
+    public ContainerStatistics(final Statistics statistics, final String providerLabel) {
+        this.statistics = statistics;
+        this.providerLabel = providerLabel;
+        Set<String> names = new HashSet<>(statistics.getNames());
+        names.addAll(CONTAINER_STATISTICS);
+        this.names = Collections.unmodifiableSet(names);
+    }
+
+    private static boolean isContainerStatistic(String name) {
+        return CONTAINER_STATISTICS.contains(name);
+    }
+
+    @Override
+    public Set<String> getNames() {
+        return names;
+    }
+
+    @Override
+    public Collection<String> getDynamicChildrenNames(EntityManagerFactoryAccess entityManagerFactoryAccess, PathAddress pathAddress) {
+        return statistics.getDynamicChildrenNames(entityManagerFactoryAccess, pathAddress);
+    }
+
+    @Override
+    public Class getType(String name) {
+        return isContainerStatistic(name) ? Long.class : statistics.getType(name);
+    }
+
+    @Override
+    public boolean isOperation(String name) {
+        return !isContainerStatistic(name) && statistics.isOperation(name);
+    }
+
+    @Override
+    public boolean isAttribute(String name) {
+        return isContainerStatistic(name) || statistics.isAttribute(name);
+    }
+
+    @Override
+    public boolean isWriteable(String name) {
+        return !isContainerStatistic(name) && statistics.isWriteable(name);
+    }
+
+    @Override
+    public String getResourceBundleName() {
+        return statistics.getResourceBundleName();
+    }
+
+    @Override
+    public String getResourceBundleKeyPrefix() {
+        return statistics.getResourceBundleKeyPrefix();
+    }
+
+    @Override
+    public Object getValue(String name, EntityManagerFactoryAccess entityManagerFactoryAccess, StatisticName statisticName, PathAddress pathAddress) {
+        if (!isContainerStatistic(name)) {
+            return statistics.getValue(name, entityManagerFactoryAccess, statisticName, pathAddress);
+        }
+        String scopedPersistenceUnitName = pathAddress.getValue(providerLabel);
+        if (FIRST_PHASE_BOOTSTRAP_TIME.equals(name) || SECOND_PHASE_BOOTSTRAP_TIME.equals(name)) {
+            PersistenceUnitService persistenceUnitService = PersistenceUnitRegistryImpl.INSTANCE.getPersistenceUnitService(scopedPersistenceUnitName);
+            if (!(persistenceUnitService instanceof PersistenceUnitServiceImpl)) {
+                return 0L;
+            }
+            PersistenceUnitServiceImpl service = (PersistenceUnitServiceImpl) persistenceUnitService;
+            return FIRST_PHASE_BOOTSTRAP_TIME.equals(name) ? service.getFirstPhaseBootstrapTime() : service.getSecondPhaseBootstrapTime();
+        }
+        NonTxEntityManagerPool pool = NonTxEntityManagerPool.get(scopedPersistenceUnitName);
+        if (pool == null) {
+            return 0L;
+        }
+        return POOL_HIT_COUNT.equals(name) ? pool.getHitCount() : pool.getMissCount();
+    }
+
+    @Override
+    public void setValue(String name, Object newValue, EntityManagerFactoryAccess entityManagerFactoryAccess, StatisticName statisticName, PathAddress pathAddress) {
+        statistics.setValue(name, newValue, entityManagerFactoryAccess, statisticName, pathAddress);
+    }
+
+    @Override
+    public Set<String> getChildrenNames() {
+        return statistics.getChildrenNames();
+    }
+
+    @Override
+    public Statistics getChild(String childName) {
+        return statistics.getChild(childName);
+    }
+}
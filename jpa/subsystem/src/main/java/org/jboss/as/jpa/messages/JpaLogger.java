@@ -757,4 +757,15 @@ public interface JpaLogger extends BasicLogger {
     @Message(id = 75, value="Illegal to call this method from injected, managed EntityManager")
     IllegalStateException illegalCallOnCloseMethod();
 
+    /**
+     * Logs a warning message indicating the non-transactional entity manager pool size of a persistence unit is invalid.
+     *
+     * @param value        the invalid value.
+     * @param propertyName the name of the persistence unit property.
+     * @param puName       the persistence unit name.
+     */
+    @LogMessage(level = WARN)
+    @Message(id = 76, value = "Ignoring invalid value '%s' of %s for persistence unit %s, which must be a non-negative integer.  Non-transactional entity managers will not be pooled.")
+    void invalidNonTxEntityManagerPoolSize(String value, String propertyName, String puName);
+
 }
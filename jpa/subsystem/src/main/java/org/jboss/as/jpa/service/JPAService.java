@@ -20,6 +20,7 @@ import org.jboss.as.controller.descriptions.StandardResourceDescriptionResolver;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.jpa.config.ExtendedPersistenceInheritance;
+import org.jboss.as.jpa.management.ContainerStatistics;
 import org.jboss.as.jpa.management.DynamicManagementStatisticsResource;
 import org.jboss.as.jpa.management.EntityManagerFactoryLookup;
 import org.jboss.as.jpa.management.ManagementResourceDefinition;
@@ -119,14 +120,15 @@ public class JPAService implements Service<Void> {
 
         synchronized (existingResourceDescriptionResolver) {
             final EntityManagerFactoryLookup entityManagerFactoryLookup = new EntityManagerFactoryLookup();
-            final Statistics statistics = managementAdaptor.getStatistics();
+            final Statistics providerStatistics = managementAdaptor.getStatistics();
+            final Statistics statistics = new ContainerStatistics(providerStatistics, managementAdaptor.getIdentificationLabel());
 
 
             if (false == existingResourceDescriptionResolver.contains(managementAdaptor.getVersion())) {
 
                 // setup statistics (this used to be part of Jakarta Persistence subsystem startup)
                 ResourceDescriptionResolver resourceDescriptionResolver = new StandardResourceDescriptionResolver(
-                        statistics.getResourceBundleKeyPrefix(), statistics.getResourceBundleName(), statistics.getClass().getClassLoader()){
+                        statistics.getResourceBundleKeyPrefix(), statistics.getResourceBundleName(), providerStatistics.getClass().getClassLoader()){
                     private ResourceDescriptionResolver fallback = JPAExtension.getResourceDescriptionResolver();
                     //add a fallback in case provider doesn't have all properties properly defined
                     @Override
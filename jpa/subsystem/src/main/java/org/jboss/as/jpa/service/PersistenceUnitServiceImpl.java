@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import jakarta.enterprise.inject.spi.BeanManager;
 import jakarta.persistence.EntityManagerFactory;
@@ -23,6 +24,8 @@ import jakarta.validation.ValidatorFactory;
 import org.jboss.as.jpa.beanmanager.BeanManagerAfterDeploymentValidation;
 import org.jboss.as.jpa.beanmanager.ProxyBeanManager;
 import org.jboss.as.jpa.classloader.TempClassLoaderFactoryImpl;
+import org.jboss.as.jpa.config.Configuration;
+import org.jboss.as.jpa.container.NonTxEntityManagerPool;
 import org.jboss.as.jpa.spi.PersistenceUnitService;
 import org.jboss.as.jpa.subsystem.PersistenceUnitRegistryImpl;
 import org.jboss.as.jpa.util.JPAServiceNames;
@@ -77,6 +80,8 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
 
     private volatile EntityManagerFactory entityManagerFactory;
     private volatile ProxyBeanManager proxyBeanManager;
+    private volatile long firstPhaseBootstrapTime;
+    private volatile long secondPhaseBootstrapTime;
     private final SetupAction javaNamespaceSetup;
 
     public PersistenceUnitServiceImpl(
@@ -125,6 +130,7 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
                                     javaNamespaceSetup.setup(Collections.<String, Object>emptyMap());
                                 }
 
+                                final long start = System.nanoTime();
                                 try {
                                     PhaseOnePersistenceUnitServiceImpl phaseOnePersistenceUnitService = phaseOnePersistenceUnitServiceInjectedValue.getOptionalValue();
                                     WritableServiceBasedNamingStore.pushOwner(deploymentUnitServiceName);
@@ -157,6 +163,8 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
 
                                         // get the EntityManagerFactory from the second phase of the persistence unit bootstrap
                                         entityManagerFactory = emfBuilder.build();
+                                        firstPhaseBootstrapTime = phaseOnePersistenceUnitService.getBootstrapTime();
+                                        secondPhaseBootstrapTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
                                     } else {
                                         ROOT_LOGGER.startingService("Persistence Unit", pu.getScopedPersistenceUnitName());
                                         // start the persistence unit in one pass (1 of 1)
@@ -177,6 +185,12 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
                                             }
                                         }
                                         entityManagerFactory = createContainerEntityManagerFactory();
+                                        // a persistence unit started in one pass only has a first phase
+                                        firstPhaseBootstrapTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                                    }
+                                    int nonTxPoolSize = Configuration.nonTxEntityManagerPoolSize(pu);
+                                    if (nonTxPoolSize > 0) {
+                                        NonTxEntityManagerPool.register(getScopedPersistenceUnitName(), nonTxPoolSize);
                                     }
                                     persistenceUnitRegistry.add(getScopedPersistenceUnitName(), getValue());
                                     if(wrapperBeanManagerLifeCycle != null) {
@@ -245,6 +259,8 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
                                             if (entityManagerFactory != null) {
                                                 WritableServiceBasedNamingStore.pushOwner(deploymentUnitServiceName);
                                                 try {
+                                                    // pooled entity managers must be closed before their entity manager factory
+                                                    NonTxEntityManagerPool.unregister(getScopedPersistenceUnitName());
                                                     if (entityManagerFactory.isOpen()) {
                                                         entityManagerFactory.close();
                                                     }
@@ -314,6 +330,24 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
         return pu.getScopedPersistenceUnitName();
     }
 
+    /**
+     * Get the time taken by the first (or only) phase of the persistence unit bootstrap
+     *
+     * @return time in milliseconds
+     */
+    public long getFirstPhaseBootstrapTime() {
+        return firstPhaseBootstrapTime;
+    }
+
+    /**
+     * Get the time taken by the second phase of the persistence unit bootstrap
+     *
+     * @return time in milliseconds, or 0 if the persistence unit was started in one phase
+     */
+    public long getSecondPhaseBootstrapTime() {
+        return secondPhaseBootstrapTime;
+    }
+
     public Injector<DataSource> getJtaDataSourceInjector() {
         return jtaDataSource;
     }
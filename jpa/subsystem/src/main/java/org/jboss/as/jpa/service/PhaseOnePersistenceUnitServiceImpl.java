@@ -13,6 +13,7 @@ import java.security.PrivilegedAction;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import jakarta.enterprise.inject.spi.BeanManager;
 import javax.sql.DataSource;
@@ -60,6 +61,8 @@ public class PhaseOnePersistenceUnitServiceImpl implements Service<PhaseOnePersi
 
     private volatile boolean secondPhaseStarted = false;
 
+    private volatile long bootstrapTime;
+
     public PhaseOnePersistenceUnitServiceImpl(
             final ClassLoader classLoader,
             final PersistenceUnitMetadata pu,
@@ -90,6 +93,7 @@ public class PhaseOnePersistenceUnitServiceImpl implements Service<PhaseOnePersi
                             // run as security privileged action
                             @Override
                             public Void run() {
+                                final long start = System.nanoTime();
                                 try {
                                     ROOT_LOGGER.startingPersistenceUnitService(1, pu.getScopedPersistenceUnitName());
                                     pu.setTempClassLoaderFactory(new TempClassLoaderFactoryImpl(classLoader));
@@ -108,6 +112,7 @@ public class PhaseOnePersistenceUnitServiceImpl implements Service<PhaseOnePersi
 
                                     WritableServiceBasedNamingStore.pushOwner(deploymentUnitServiceName);
                                     entityManagerFactoryBuilder = createContainerEntityManagerFactoryBuilder();
+                                    bootstrapTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
                                     context.complete();
                                 } catch (Throwable t) {
                                     context.failed(new StartException(t));
@@ -203,6 +208,15 @@ public class PhaseOnePersistenceUnitServiceImpl implements Service<PhaseOnePersi
         return entityManagerFactoryBuilder;
     }
 
+    /**
+     * Get the time taken by the first phase of the persistence unit bootstrap
+     *
+     * @return time in milliseconds
+     */
+    public long getBootstrapTime() {
+        return bootstrapTime;
+    }
+
     public void setSecondPhaseStarted(boolean secondPhaseStarted) {
         this.secondPhaseStarted = secondPhaseStarted;
     }
@@ -0,0 +1,227 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.jpa.container;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.SynchronizationType;
+import jakarta.transaction.TransactionManager;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import org.jboss.as.jpa.config.Configuration;
+import org.jboss.as.jpa.config.PersistenceUnitMetadataImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link NonTxEntityManagerPool}.
+ */
+public class NonTxEntityManagerPoolTestCase {
+
+    private static final String PU = "test.jar#pooled";
+
+    private final EntityManagerFactory emf = mock(EntityManagerFactory.class);
+
+    @Before
+    public void init() {
+        when(this.emf.createEntityManager()).thenAnswer(invocation -> entityManager(new AtomicInteger()));
+    }
+
+    @After
+    public void destroy() {
+        NonTxEntityManagerPool.unregister(PU);
+    }
+
+    @Test
+    public void bounds() {
+        NonTxEntityManagerPool.register(PU, 2);
+        NonTxEntityManagerPool pool = NonTxEntityManagerPool.get(PU);
+
+        List<EntityManager> entityManagers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            entityManagers.add(pool.acquire(this.emf));
+        }
+        assertEquals(0, pool.getHitCount());
+        assertEquals(3, pool.getMissCount());
+
+        // Only as many entity managers as the pool size are owned by the pool
+        assertTrue(pool.release(entityManagers.get(0)));
+        assertTrue(pool.release(entityManagers.get(1)));
+        assertFalse(pool.release(entityManagers.get(2)));
+        verify(entityManagers.get(0)).clear();
+        verify(entityManagers.get(2), never()).clear();
+
+        // Most recently released first
+        assertSame(entityManagers.get(1), pool.acquire(this.emf));
+        assertSame(entityManagers.get(0), pool.acquire(this.emf));
+        assertEquals(2, pool.getHitCount());
+
+        // Pool is exhausted, so the next entity manager is not owned by the pool
+        EntityManager entityManager = pool.acquire(this.emf);
+        assertFalse(entityManagers.contains(entityManager));
+        assertFalse(pool.release(entityManager));
+        assertEquals(4, pool.getMissCount());
+    }
+
+    @Test
+    public void closedEntityManager() {
+        NonTxEntityManagerPool.register(PU, 1);
+        NonTxEntityManagerPool pool = NonTxEntityManagerPool.get(PU);
+
+        EntityManager entityManager = pool.acquire(this.emf);
+        assertTrue(pool.release(entityManager));
+        when(entityManager.isOpen()).thenReturn(false);
+
+        // Entity managers closed while idle are replaced, and free their slot in the pool
+        EntityManager replacement = pool.acquire(this.emf);
+        assertNotSame(entityManager, replacement);
+        assertTrue(pool.release(replacement));
+    }
+
+    @Test
+    public void discard() {
+        NonTxEntityManagerPool.register(PU, 1);
+        NonTxEntityManagerPool pool = NonTxEntityManagerPool.get(PU);
+
+        EntityManager entityManager = pool.acquire(this.emf);
+        pool.discard(entityManager);
+
+        assertFalse(pool.release(entityManager));
+        // Discarded entity manager freed its slot in the pool
+        EntityManager replacement = pool.acquire(this.emf);
+        assertTrue(pool.release(replacement));
+    }
+
+    @Test
+    public void stateChange() throws Exception {
+        NonTxEntityManagerPool.register(PU, 1);
+        NonTxEntityManagerPool pool = NonTxEntityManagerPool.get(PU);
+        TransactionScopedEntityManager proxy = new TransactionScopedEntityManager(PU, null, this.emf, SynchronizationType.SYNCHRONIZED, mock(TransactionSynchronizationRegistry.class), mock(TransactionManager.class));
+
+        NonTxEmCloser.pushCall();
+        EntityManager entityManager;
+        try {
+            entityManager = proxy.getEntityManager();
+        } finally {
+            NonTxEmCloser.popCall();
+        }
+        // Unchanged entity manager is returned to the pool
+        verify(entityManager, never()).close();
+
+        NonTxEmCloser.pushCall();
+        try {
+            proxy.setFlushMode(FlushModeType.COMMIT);
+            assertSame(entityManager, NonTxEmCloser.get(PU));
+        } finally {
+            NonTxEmCloser.popCall();
+        }
+        // Entity manager with a changed flush mode is closed instead of reused
+        verify(entityManager).close();
+        assertEquals(1, pool.getHitCount());
+
+        NonTxEmCloser.pushCall();
+        try {
+            assertNotSame(entityManager, proxy.getEntityManager());
+        } finally {
+            NonTxEmCloser.popCall();
+        }
+    }
+
+    @Test
+    public void nonMember() {
+        NonTxEntityManagerPool.register(PU, 1);
+        EntityManager entityManager = entityManager(new AtomicInteger());
+
+        // e.g. created by a proxy with properties, which is not poolable
+        NonTxEmCloser.pushCall();
+        try {
+            NonTxEmCloser.add(PU, entityManager);
+        } finally {
+            NonTxEmCloser.popCall();
+        }
+        verify(entityManager).close();
+        verify(entityManager, never()).clear();
+    }
+
+    @Test
+    public void closeRacingRelease() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            NonTxEntityManagerPool.register(PU, 1);
+            NonTxEntityManagerPool pool = NonTxEntityManagerPool.get(PU);
+            AtomicInteger closes = new AtomicInteger();
+            EntityManager entityManager = entityManager(closes);
+            when(this.emf.createEntityManager()).thenReturn(entityManager);
+            assertSame(entityManager, pool.acquire(this.emf));
+
+            CyclicBarrier barrier = new CyclicBarrier(2);
+            CompletableFuture<Void> unregister = CompletableFuture.runAsync(() -> {
+                await(barrier);
+                NonTxEntityManagerPool.unregister(PU);
+            });
+            await(barrier);
+            boolean released = pool.release(entityManager);
+            unregister.get(10, TimeUnit.SECONDS);
+
+            // Entity manager is either closed by the pool, or left to the caller to close, but never stays idle in a closed pool
+            assertEquals("iteration " + i, released ? 1 : 0, closes.get());
+            assertFalse(pool.release(entityManager));
+        }
+    }
+
+    @Test
+    public void poolSize() {
+        PersistenceUnitMetadataImpl pu = new PersistenceUnitMetadataImpl();
+        pu.setScopedPersistenceUnitName(PU);
+        Properties properties = new Properties();
+        pu.setProperties(properties);
+        assertEquals(0, Configuration.nonTxEntityManagerPoolSize(pu));
+
+        properties.setProperty(Configuration.NON_TX_ENTITY_MANAGER_POOL_SIZE, " 10 ");
+        assertEquals(10, Configuration.nonTxEntityManagerPoolSize(pu));
+
+        // Invalid values disable pooling rather than fail the deployment
+        properties.setProperty(Configuration.NON_TX_ENTITY_MANAGER_POOL_SIZE, "ten");
+        assertEquals(0, Configuration.nonTxEntityManagerPoolSize(pu));
+        properties.setProperty(Configuration.NON_TX_ENTITY_MANAGER_POOL_SIZE, "-1");
+        assertEquals(0, Configuration.nonTxEntityManagerPoolSize(pu));
+    }
+
+    private static EntityManager entityManager(AtomicInteger closes) {
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.isOpen()).thenReturn(true);
+        doAnswer(invocation -> closes.incrementAndGet()).when(entityManager).close();
+        return entityManager;
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
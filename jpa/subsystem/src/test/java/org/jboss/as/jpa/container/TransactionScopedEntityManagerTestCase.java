@@ -0,0 +1,178 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.jpa.container;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.SynchronizationType;
+import jakarta.transaction.Status;
+import jakarta.transaction.Transaction;
+import jakarta.transaction.TransactionManager;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for the caching of the entity manager of the current transaction by {@link TransactionScopedEntityManager}.
+ */
+public class TransactionScopedEntityManagerTestCase {
+
+    private static final String PU = "test.jar#test";
+
+    private final ThreadLocal<Transaction> currentTransaction = new ThreadLocal<>();
+    // entity managers stored in the transaction registry, per transaction
+    private final Map<Transaction, EntityManager> resources = new ConcurrentHashMap<>();
+    private final TransactionManager transactionManager = mock(TransactionManager.class);
+    private final TransactionSynchronizationRegistry tsr = mock(TransactionSynchronizationRegistry.class);
+    private final EntityManagerFactory emf = mock(EntityManagerFactory.class);
+    private TransactionScopedEntityManager proxy;
+
+    @Before
+    public void init() throws Exception {
+        when(this.transactionManager.getTransaction()).thenAnswer(invocation -> this.currentTransaction.get());
+        when(this.tsr.getResource(PU)).thenAnswer(invocation -> this.resources.get(this.currentTransaction.get()));
+        this.proxy = new TransactionScopedEntityManager(PU, null, this.emf, SynchronizationType.SYNCHRONIZED, this.tsr, this.transactionManager);
+    }
+
+    @After
+    public void destroy() {
+        this.currentTransaction.remove();
+    }
+
+    @Test
+    public void hit() throws Exception {
+        EntityManager entityManager = mock(EntityManager.class);
+        this.begin(transaction(), entityManager);
+
+        assertSame(entityManager, this.proxy.getEntityManager());
+        assertSame(entityManager, this.proxy.getEntityManager());
+
+        // Subsequent calls within the same transaction do not consult the transaction registry
+        verify(this.tsr, times(1)).getResource(PU);
+        // Cached entity manager does not require a synchronization of its own
+        verify(this.tsr, never()).registerInterposedSynchronization(any());
+    }
+
+    @Test
+    public void miss() throws Exception {
+        EntityManager entityManager1 = mock(EntityManager.class);
+        this.begin(transaction(), entityManager1);
+
+        assertSame(entityManager1, this.proxy.getEntityManager());
+
+        EntityManager entityManager2 = mock(EntityManager.class);
+        this.begin(transaction(), entityManager2);
+
+        assertSame(entityManager2, this.proxy.getEntityManager());
+        verify(this.tsr, times(2)).getResource(PU);
+    }
+
+    @Test
+    public void completion() throws Exception {
+        EntityManager transactionEntityManager = mock(EntityManager.class);
+        Transaction transaction = transaction();
+        this.begin(transaction, transactionEntityManager);
+
+        assertSame(transactionEntityManager, this.proxy.getEntityManager());
+
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.isOpen()).thenReturn(true);
+        when(this.emf.createEntityManager()).thenReturn(entityManager);
+        when(transaction.getStatus()).thenReturn(Status.STATUS_COMMITTED);
+
+        NonTxEmCloser.pushCall();
+        try {
+            // Completed transaction no longer matches, even though it is still associated with this thread
+            assertSame(entityManager, this.proxy.getEntityManager());
+        } finally {
+            NonTxEmCloser.popCall();
+        }
+        verify(this.tsr, times(1)).getResource(PU);
+    }
+
+    @Test
+    public void threads() throws Exception {
+        EntityManager entityManager1 = mock(EntityManager.class);
+        Transaction transaction1 = transaction();
+        this.begin(transaction1, entityManager1);
+
+        assertSame(entityManager1, this.proxy.getEntityManager());
+
+        // Another thread sharing the same proxy with a different transaction does not evict the entity manager of this thread
+        EntityManager entityManager2 = mock(EntityManager.class);
+        Transaction transaction2 = transaction();
+        this.resources.put(transaction2, entityManager2);
+        CompletableFuture.runAsync(() -> {
+            this.currentTransaction.set(transaction2);
+            try {
+                assertSame(entityManager2, this.proxy.getEntityManager());
+                assertSame(entityManager2, this.proxy.getEntityManager());
+            } finally {
+                this.currentTransaction.remove();
+            }
+        }).get(10, TimeUnit.SECONDS);
+
+        assertSame(entityManager1, this.proxy.getEntityManager());
+        verify(this.tsr, times(2)).getResource(PU);
+    }
+
+    @Test
+    public void nonTx() throws Exception {
+        EntityManager transactionEntityManager = mock(EntityManager.class);
+        Transaction transaction = transaction();
+        this.begin(transaction, transactionEntityManager);
+
+        assertSame(transactionEntityManager, this.proxy.getEntityManager());
+
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.isOpen()).thenReturn(true);
+        when(this.emf.createEntityManager()).thenReturn(entityManager);
+        this.currentTransaction.remove();
+
+        NonTxEmCloser.pushCall();
+        try {
+            // Entity manager is reused for the remainder of the invocation
+            assertSame(entityManager, this.proxy.getEntityManager());
+            assertSame(entityManager, this.proxy.getEntityManager());
+            verify(this.emf, times(1)).createEntityManager();
+            verify(entityManager, never()).close();
+        } finally {
+            NonTxEmCloser.popCall();
+        }
+        verify(entityManager).close();
+
+        // Cached entity manager was released by the non-transactional call
+        this.currentTransaction.set(transaction);
+        assertSame(transactionEntityManager, this.proxy.getEntityManager());
+        verify(this.tsr, times(2)).getResource(PU);
+    }
+
+    private void begin(Transaction transaction, EntityManager entityManager) {
+        this.currentTransaction.set(transaction);
+        this.resources.put(transaction, entityManager);
+    }
+
+    private static Transaction transaction() throws Exception {
+        Transaction transaction = mock(Transaction.class);
+        when(transaction.getStatus()).thenReturn(Status.STATUS_ACTIVE);
+        return transaction;
+    }
+}
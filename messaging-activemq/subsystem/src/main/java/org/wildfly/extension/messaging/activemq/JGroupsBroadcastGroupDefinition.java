@@ -110,6 +110,9 @@ public class JGroupsBroadcastGroupDefinition extends PersistentResourceDefinitio
         }
 
         BroadcastGroupControlHandler.INSTANCE.registerAttributes(registry);
+        if (registerRuntimeOnly) {
+            JGroupsBroadcastGroupStatisticsHandler.INSTANCE.registerMetrics(registry);
+        }
     }
 
     @Override
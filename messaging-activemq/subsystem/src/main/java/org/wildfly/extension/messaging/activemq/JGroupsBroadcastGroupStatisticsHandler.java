@@ -0,0 +1,76 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.messaging.activemq;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import java.util.function.ToLongFunction;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+import org.wildfly.extension.messaging.activemq.broadcast.BroadcastStatistics;
+
+/**
+ * Reads the statistics of the broadcasts received via the channel of a JGroups broadcast group.
+ */
+public class JGroupsBroadcastGroupStatisticsHandler extends AbstractRuntimeOnlyHandler {
+
+    enum Metric {
+        RECEIVED_BROADCASTS("received-broadcasts", BroadcastStatistics::getReceivedBroadcasts),
+        DROPPED_BROADCASTS("dropped-broadcasts", BroadcastStatistics::getDroppedBroadcasts),
+        COALESCED_BROADCASTS("coalesced-broadcasts", BroadcastStatistics::getCoalescedBroadcasts),
+        ;
+        private final AttributeDefinition definition;
+        private final ToLongFunction<BroadcastStatistics> reader;
+
+        Metric(String name, ToLongFunction<BroadcastStatistics> reader) {
+            this.definition = new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                    .setUndefinedMetricValue(ModelNode.ZERO)
+                    .setStorageRuntime()
+                    .build();
+            this.reader = reader;
+        }
+
+        AttributeDefinition getDefinition() {
+            return this.definition;
+        }
+    }
+
+    public static final JGroupsBroadcastGroupStatisticsHandler INSTANCE = new JGroupsBroadcastGroupStatisticsHandler();
+
+    private JGroupsBroadcastGroupStatisticsHandler() {
+    }
+
+    public void registerMetrics(ManagementResourceRegistration registry) {
+        for (Metric metric : Metric.values()) {
+            registry.registerMetric(metric.getDefinition(), this);
+        }
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        String name = operation.require(NAME).asString();
+        ModelNode model = context.readResource(PathAddress.EMPTY_ADDRESS).getModel();
+        String channelName = JGroupsBroadcastGroupDefinition.JGROUPS_CHANNEL.resolveModelAttribute(context, model).asStringOrNull();
+        ServiceController<?> service = context.getServiceRegistry(false).getService(MessagingServices.getBroadcastCommandDispatcherFactoryServiceName(channelName));
+        if ((service != null) && (service.getState() == ServiceController.State.UP)) {
+            BroadcastStatistics statistics = (BroadcastStatistics) service.getValue();
+            for (Metric metric : Metric.values()) {
+                if (metric.getDefinition().getName().equals(name)) {
+                    context.getResult().set(metric.reader.applyAsLong(statistics));
+                }
+            }
+        }
+    }
+}
@@ -12,6 +12,6 @@ import org.wildfly.clustering.server.dispatcher.CommandDispatcherFactory;
  * A {@link CommandDispatcherFactory} that is also a registry of {@link BroadcastReceiver}s.
  * @author Paul Ferraro
  */
-public interface BroadcastCommandDispatcherFactory extends CommandDispatcherFactory<GroupMember>, BroadcastReceiverRegistrar {
+public interface BroadcastCommandDispatcherFactory extends CommandDispatcherFactory<GroupMember>, BroadcastReceiverRegistrar, BroadcastStatistics {
 
 }
@@ -0,0 +1,30 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.messaging.activemq.broadcast;
+
+/**
+ * Exposes statistics of received broadcasts.
+ */
+public interface BroadcastStatistics {
+
+    /**
+     * Returns the number of received broadcasts.
+     * @return a number of broadcasts
+     */
+    long getReceivedBroadcasts();
+
+    /**
+     * Returns the number of received broadcasts that were dropped since too many broadcasts were pending.
+     * @return a number of broadcasts
+     */
+    long getDroppedBroadcasts();
+
+    /**
+     * Returns the number of pending broadcasts that were superseded by a subsequent broadcast from the same sender.
+     * @return a number of broadcasts
+     */
+    long getCoalescedBroadcasts();
+}
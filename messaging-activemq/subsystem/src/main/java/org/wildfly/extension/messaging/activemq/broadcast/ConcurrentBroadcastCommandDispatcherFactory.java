@@ -10,6 +10,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -32,6 +33,10 @@ import org.wildfly.security.manager.WildFlySecurityManager;
 public class ConcurrentBroadcastCommandDispatcherFactory implements BroadcastCommandDispatcherFactory {
 
     private final Set<BroadcastReceiver> receivers = ConcurrentHashMap.newKeySet();
+    // Statistics of unregistered receivers
+    private final LongAdder receivedBroadcasts = new LongAdder();
+    private final LongAdder droppedBroadcasts = new LongAdder();
+    private final LongAdder coalescedBroadcasts = new LongAdder();
     private final CommandDispatcherFactory<GroupMember> dispatcherFactory;
     private final Cache<Object, CachedCommandDispatcher<?>> cache = CacheStrategy.CONCURRENT.createCache(Functions.discardingConsumer(), new Consumer<>() {
         @Override
@@ -54,7 +59,47 @@ public class ConcurrentBroadcastCommandDispatcherFactory implements BroadcastCom
     @Override
     public Registration register(BroadcastReceiver receiver) {
         this.receivers.add(receiver);
-        return () -> this.receivers.remove(receiver);
+        return () -> {
+            if (this.receivers.remove(receiver) && (receiver instanceof BroadcastStatistics)) {
+                BroadcastStatistics statistics = (BroadcastStatistics) receiver;
+                this.receivedBroadcasts.add(statistics.getReceivedBroadcasts());
+                this.droppedBroadcasts.add(statistics.getDroppedBroadcasts());
+                this.coalescedBroadcasts.add(statistics.getCoalescedBroadcasts());
+            }
+        };
+    }
+
+    @Override
+    public long getReceivedBroadcasts() {
+        long result = this.receivedBroadcasts.sum();
+        for (BroadcastReceiver receiver : this.receivers) {
+            if (receiver instanceof BroadcastStatistics) {
+                result += ((BroadcastStatistics) receiver).getReceivedBroadcasts();
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public long getDroppedBroadcasts() {
+        long result = this.droppedBroadcasts.sum();
+        for (BroadcastReceiver receiver : this.receivers) {
+            if (receiver instanceof BroadcastStatistics) {
+                result += ((BroadcastStatistics) receiver).getDroppedBroadcasts();
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public long getCoalescedBroadcasts() {
+        long result = this.coalescedBroadcasts.sum();
+        for (BroadcastReceiver receiver : this.receivers) {
+            if (receiver instanceof BroadcastStatistics) {
+                result += ((BroadcastStatistics) receiver).getCoalescedBroadcasts();
+            }
+        }
+        return result;
     }
 
     @Override
@@ -5,22 +5,49 @@
 
 package org.wildfly.extension.messaging.activemq.broadcast;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
 import org.wildfly.extension.messaging.activemq._private.MessagingLogger;
 
 /**
+ * Bounded queue of received broadcasts.
+ * Each broadcast announces the complete topology of its sender, so a pending broadcast is superseded by any subsequent broadcast from the same sender.
+ * Consequently, at most one broadcast per sender is pending, and identical broadcasts from a lagging sender are collapsed.
+ * Broadcasts from new senders are dropped while the number of pending broadcasts reaches the capacity of this queue.
  * @author Paul Ferraro
  */
-public class QueueBroadcastManager implements BroadcastManager {
-    private final BlockingQueue<byte[]> broadcasts = new LinkedBlockingDeque<>();
+public class QueueBroadcastManager implements BroadcastManager, BroadcastStatistics {
+    static final int DEFAULT_CAPACITY = 1024;
+
+    // Pending broadcast per sender
+    private final Map<Object, byte[]> broadcasts = new ConcurrentHashMap<>();
+    // Senders of pending broadcasts, in the order they were received
+    private final Queue<Object> senders = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Semaphore available = new Semaphore(0);
+    private final int capacity;
     private final String name;
+    private final LongAdder received = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
 
     public QueueBroadcastManager(String name) {
+        this(name, DEFAULT_CAPACITY);
+    }
+
+    public QueueBroadcastManager(String name, int capacity) {
         this.name = name;
+        this.capacity = capacity;
     }
 
     @Override
@@ -28,21 +55,89 @@ public class QueueBroadcastManager implements BroadcastManager {
         if (MessagingLogger.ROOT_LOGGER.isDebugEnabled()) {
             MessagingLogger.ROOT_LOGGER.debugf("Received broadcast from group %s: %s", this.name, Arrays.toString(broadcast));
         }
-        this.broadcasts.add(broadcast);
+        this.received.increment();
+        Object sender = getSender(broadcast);
+        if (this.broadcasts.put(sender, broadcast) != null) {
+            // Sender is already queued
+            this.coalesced.increment();
+            return;
+        }
+        if (this.size.incrementAndGet() > this.capacity) {
+            this.size.decrementAndGet();
+            this.broadcasts.remove(sender);
+            this.dropped.increment();
+            return;
+        }
+        this.senders.add(sender);
+        this.available.release();
     }
 
     @Override
     public byte[] getBroadcast() throws InterruptedException {
-        return this.broadcasts.take();
+        byte[] broadcast = null;
+        while (broadcast == null) {
+            this.available.acquire();
+            broadcast = this.poll();
+        }
+        return broadcast;
     }
 
     @Override
     public byte[] getBroadcast(long timeout, TimeUnit unit) throws InterruptedException {
-        return this.broadcasts.poll(timeout, unit);
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        byte[] broadcast = null;
+        while (broadcast == null) {
+            if (!this.available.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return null;
+            }
+            broadcast = this.poll();
+        }
+        return broadcast;
+    }
+
+    private byte[] poll() {
+        Object sender = this.senders.poll();
+        if (sender == null) {
+            // Concurrently cleared
+            return null;
+        }
+        this.size.decrementAndGet();
+        // Returns the latest broadcast from this sender, or null if it was concurrently dropped
+        return this.broadcasts.remove(sender);
     }
 
     @Override
     public void clear() {
+        this.available.drainPermits();
+        this.senders.clear();
         this.broadcasts.clear();
+        this.size.set(0);
+    }
+
+    @Override
+    public long getReceivedBroadcasts() {
+        return this.received.sum();
+    }
+
+    @Override
+    public long getDroppedBroadcasts() {
+        return this.dropped.sum();
+    }
+
+    @Override
+    public long getCoalescedBroadcasts() {
+        return this.coalesced.sum();
+    }
+
+    /**
+     * Returns the sender of the specified broadcast, i.e. the node identifier with which Artemis prefixes its broadcasts.
+     * If the broadcast cannot be decoded, its content is used instead, such that only identical broadcasts are collapsed.
+     */
+    private static Object getSender(byte[] broadcast) {
+        try {
+            return ActiveMQBuffers.wrappedBuffer(broadcast).readString();
+        } catch (RuntimeException e) {
+            return ByteBuffer.wrap(broadcast);
+        }
     }
 }
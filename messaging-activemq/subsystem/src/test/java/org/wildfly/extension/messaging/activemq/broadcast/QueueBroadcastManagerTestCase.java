@@ -0,0 +1,61 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.messaging.activemq.broadcast;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link QueueBroadcastManager}.
+ */
+public class QueueBroadcastManagerTestCase {
+
+    @Test
+    public void test() throws InterruptedException {
+        QueueBroadcastManager manager = new QueueBroadcastManager("group", 2);
+
+        byte[] broadcast1 = createBroadcast("node1", 1);
+        byte[] broadcast2 = createBroadcast("node2", 1);
+        byte[] broadcast3 = createBroadcast("node1", 2);
+        byte[] broadcast4 = createBroadcast("node3", 1);
+
+        manager.receive(broadcast1);
+        manager.receive(broadcast2);
+        // Supersedes pending broadcast from node1
+        manager.receive(broadcast3);
+        // Exceeds capacity
+        manager.receive(broadcast4);
+
+        Assert.assertEquals(4, manager.getReceivedBroadcasts());
+        Assert.assertEquals(1, manager.getCoalescedBroadcasts());
+        Assert.assertEquals(1, manager.getDroppedBroadcasts());
+
+        Assert.assertSame(broadcast3, manager.getBroadcast());
+        Assert.assertSame(broadcast2, manager.getBroadcast(1, TimeUnit.SECONDS));
+        Assert.assertNull(manager.getBroadcast(1, TimeUnit.MILLISECONDS));
+
+        // Already processed broadcasts are not collapsed
+        manager.receive(broadcast3);
+        Assert.assertSame(broadcast3, manager.getBroadcast(1, TimeUnit.SECONDS));
+
+        manager.receive(broadcast4);
+        manager.clear();
+        Assert.assertNull(manager.getBroadcast(1, TimeUnit.MILLISECONDS));
+    }
+
+    private static byte[] createBroadcast(String nodeId, int sequence) {
+        ActiveMQBuffer buffer = ActiveMQBuffers.dynamicBuffer(64);
+        buffer.writeString(nodeId);
+        buffer.writeInt(sequence);
+        byte[] result = new byte[buffer.writerIndex()];
+        buffer.readBytes(result);
+        return result;
+    }
+}
@@ -10,8 +10,7 @@ package org.wildfly.extension.metrics;
 public interface MetricRegistry {
 
     /**
-     * Registers the given metric. Calls will block if another thread
-     * {@link #readLock() holds the registry read lock}.
+     * Registers the given metric.
      *
      * @param metric the metric. Cannot be {@code null}
      * @param metadata metadata for the metric. Cannot be {@code null}
@@ -19,22 +18,28 @@ public interface MetricRegistry {
     void registerMetric(Metric metric, MetricMetadata metadata);
 
     /**
-     * Unregisters the given metric, if it is registered. Calls will block if another thread
-     * {@link #readLock() holds the registry read lock}.
+     * Unregisters the given metric, if it is registered.
      *
      * @param metricID the id for the metric. Cannot be {@code null}
      */
     void unregister(MetricID metricID);
 
     /**
-     * Acquires a non-exclusive read lock that will cause calls from other threads
-     * to {@link #registerMetric(Metric, MetricMetadata)} or {@link #unregister(MetricID)}
-     * to block. Must be followed by a call to {@link #unlock()}.
+     * Formerly acquired a non-exclusive read lock that caused calls from other threads
+     * to {@link #registerMetric(Metric, MetricMetadata)} or {@link #unregister(MetricID)} to block.
+     * Registries may now be read concurrently with registrations, so this method does nothing.
+     * @deprecated Registries no longer need to be locked while they are read.
      */
-    void readLock();
+    @Deprecated
+    default void readLock() {
+    }
 
     /**
-     * Releases the non-exclusive lock obtained by a call to {@link #readLock()}.
+     * Formerly released the non-exclusive lock obtained by a call to {@link #readLock()}.
+     * This method does nothing.
+     * @deprecated Registries no longer need to be locked while they are read.
      */
-    void unlock();
+    @Deprecated
+    default void unlock() {
+    }
 }
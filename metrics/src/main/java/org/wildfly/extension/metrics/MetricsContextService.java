@@ -10,12 +10,20 @@ import static org.wildfly.extension.metrics.MetricsSubsystemDefinition.METRICS_H
 import static org.wildfly.extension.metrics.MetricsSubsystemDefinition.METRICS_HTTP_SECURITY_CAPABILITY;
 import static org.wildfly.extension.metrics.MetricsSubsystemDefinition.METRICS_REGISTRY_RUNTIME_CAPABILITY;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.OptionalDouble;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.server.mgmt.domain.ExtensibleHttpManagement;
 import org.jboss.msc.Service;
 import org.jboss.msc.service.ServiceBuilder;
@@ -29,12 +37,17 @@ import org.jboss.msc.service.StopContext;
 public class MetricsContextService implements Service {
 
     private static final String CONTEXT_NAME = "/metrics";
+    static final WildFlyMetricMetadata SCRAPE_DURATION = new WildFlyMetricMetadata("scrape-duration", PathAddress.pathAddress(MetricsExtension.SUBSYSTEM_PATH), null,
+            "The duration of the previous scrape of the metrics endpoint", MeasurementUnit.NANOSECONDS, MetricMetadata.Type.GAUGE);
+    // Scrapes within this period of a previous scrape, e.g. by multiple Prometheus replicas, reuse its exposition, if positive
+    private static final long SNAPSHOT_TTL = TimeUnit.MILLISECONDS.toNanos(Long.getLong("wildfly.metrics.snapshot-ttl", 0));
 
     private final Consumer<MetricsContextService> consumer;
     private final Supplier<ExtensibleHttpManagement> extensibleHttpManagement;
     private Supplier<WildFlyMetricRegistry> wildflyMetricRegistry;
     private final Supplier<Boolean> securityEnabledSupplier;
     private final PrometheusExporter prometheusExporter = new PrometheusExporter();
+    private final SnapshotExporter snapshotExporter = new SnapshotExporter(prometheusExporter, SNAPSHOT_TTL, System::nanoTime);
     private HttpHandler overrideableMetricHandler;
 
     static void install(OperationContext context, boolean securityEnabled) {
@@ -68,6 +81,7 @@ public class MetricsContextService implements Service {
 
     @Override
     public void start(StartContext context) {
+        wildflyMetricRegistry.get().registerMetric(new ScrapeDurationMetric(prometheusExporter), SCRAPE_DURATION);
         extensibleHttpManagement.get().addManagementHandler(CONTEXT_NAME, securityEnabledSupplier.get(), new HttpHandler() {
             @Override
             public void handleRequest(HttpServerExchange exchange) throws Exception {
@@ -76,14 +90,18 @@ public class MetricsContextService implements Service {
                     return;
                 }
 
+                if (exchange.isInIoThread()) {
+                    exchange.dispatch(this);
+                    return;
+                }
+
                 WildFlyMetricRegistry metricRegistry = wildflyMetricRegistry.get();
-                metricRegistry.readLock();
-                try {
-                    String wildFlyMetrics = prometheusExporter.export(metricRegistry);
-                    exchange.getResponseSender().send(wildFlyMetrics);
-                } finally {
-                    metricRegistry.unlock();
+                if (SNAPSHOT_TTL > 0) {
+                    exchange.getResponseSender().send(ByteBuffer.wrap(snapshotExporter.export(metricRegistry)));
+                    return;
                 }
+                exchange.startBlocking();
+                prometheusExporter.export(metricRegistry, exchange.getOutputStream());
             }
         });
         consumer.accept(this);
@@ -92,9 +110,87 @@ public class MetricsContextService implements Service {
     @Override
     public void stop(StopContext context) {
         extensibleHttpManagement.get().removeContext(CONTEXT_NAME);
+        wildflyMetricRegistry.get().unregister(SCRAPE_DURATION.getMetricID());
+        snapshotExporter.clear();
         consumer.accept(null);
     }
 
+    /**
+     * Gauge of the duration of the previous export of the specified exporter, undefined until the first export completes.
+     */
+    static class ScrapeDurationMetric implements Metric {
+        private final PrometheusExporter exporter;
+
+        ScrapeDurationMetric(PrometheusExporter exporter) {
+            this.exporter = exporter;
+        }
+
+        @Override
+        public OptionalDouble getValue() {
+            long duration = this.exporter.getLastExportDuration();
+            return (duration > 0) ? OptionalDouble.of(duration) : OptionalDouble.empty();
+        }
+    }
+
+    /**
+     * Shares the metrics exposition between all scrapes within a given period of its creation.
+     */
+    static class SnapshotExporter {
+        private final PrometheusExporter exporter;
+        private final long ttl;
+        private final LongSupplier nanoTime;
+        private volatile Snapshot snapshot;
+
+        /**
+         * @param exporter the exporter of the shared exposition
+         * @param ttl the period, in nanoseconds, during which an exposition is shared
+         * @param nanoTime the clock against which that period is measured
+         */
+        SnapshotExporter(PrometheusExporter exporter, long ttl, LongSupplier nanoTime) {
+            this.exporter = exporter;
+            this.ttl = ttl;
+            this.nanoTime = nanoTime;
+        }
+
+        /**
+         * Returns the current exposition, exporting a new one if the current one expired.
+         */
+        byte[] export(WildFlyMetricRegistry metricRegistry) throws IOException {
+            Snapshot snapshot = this.snapshot;
+            if (snapshot == null || this.isExpired(snapshot)) {
+                // Concurrent scrapes wait for, and then share, a single export
+                synchronized (this) {
+                    snapshot = this.snapshot;
+                    if (snapshot == null || this.isExpired(snapshot)) {
+                        ByteArrayOutputStream out = new ByteArrayOutputStream();
+                        this.exporter.export(metricRegistry, out);
+                        snapshot = new Snapshot(out.toByteArray(), this.nanoTime.getAsLong());
+                        this.snapshot = snapshot;
+                    }
+                }
+            }
+            return snapshot.exposition;
+        }
+
+        void clear() {
+            this.snapshot = null;
+        }
+
+        private boolean isExpired(Snapshot snapshot) {
+            return this.nanoTime.getAsLong() - snapshot.created >= this.ttl;
+        }
+    }
+
+    private static class Snapshot {
+        private final byte[] exposition;
+        private final long created;
+
+        Snapshot(byte[] exposition, long created) {
+            this.exposition = exposition;
+            this.created = created;
+        }
+    }
+
     public void setOverrideableMetricHandler(HttpHandler handler) {
         this.overrideableMetricHandler = handler;
     }
@@ -4,50 +4,139 @@
  */
 package org.wildfly.extension.metrics;
 
-import java.util.HashSet;
-import java.util.Map;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.OptionalDouble;
-import java.util.Set;
 
 import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.wildfly.extension.metrics.MetricMetadata.MetricTag;
 
 public class PrometheusExporter {
 
-    private static final String LF = "\n";
+    private static final int LF = '\n';
+
+    private volatile long lastExportDuration = 0;
 
     public String export(WildFlyMetricRegistry registry) {
-        Set<String> alreadyExportedMetrics = new HashSet<String>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            export(registry, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
 
-        StringBuilder out = new StringBuilder();
+    /**
+     * Writes the metrics of the specified registry to the specified stream, using the Prometheus text format.
+     * The HELP and TYPE lines of each metric, and the name and tags of each sample, are encoded once, and reused by subsequent exports.
+     * All metric values are read before anything is written, and each metric is written in full, so a failure never leaves a partially written metric.
+     * @param registry a metric registry
+     * @param output the output stream
+     * @throws IOException if the metrics could not be written to the stream
+     */
+    public void export(WildFlyMetricRegistry registry, OutputStream output) throws IOException {
+        long start = System.nanoTime();
+
+        List<WildFlyMetricRegistry.RegisteredMetric> metrics = new ArrayList<>(registry.getMetrics());
+        OptionalDouble[] values = getValues(metrics);
 
-        for (Map.Entry<MetricID, Metric> entry : registry.getMetrics().entrySet()) {
-            MetricID metricID = entry.getKey();
+        OutputStream out = new BufferedOutputStream(output);
+        // Buffers the HELP and TYPE lines and samples of a single metric
+        ByteArrayOutputStream family = new ByteArrayOutputStream();
+        // The registry orders metrics by name, so the series of a given metric are contiguous
+        String previousMetricName = null;
+        for (int i = 0; i < metrics.size(); i++) {
+            WildFlyMetricRegistry.RegisteredMetric metric = metrics.get(i);
+            MetricID metricID = metric.getMetricID();
             String metricName = metricID.getMetricName();
-            MetricMetadata metadata = registry.getMetricMetadata().get(metricName);
-            String prometheusMetricName = toPrometheusMetricName(metricID, metadata);
-            OptionalDouble metricValue = entry.getValue().getValue();
+            MetricMetadata metadata = metric.getMetadata();
+            OptionalDouble metricValue = values[i];
             // if the metric does not return a value, we skip printing the HELP and TYPE
             if (!metricValue.isPresent()) {
                 continue;
             }
-            if (!alreadyExportedMetrics.contains(metricName)) {
-                out.append("# HELP " + prometheusMetricName + " " + metadata.getDescription());
-                out.append(LF);
-                out.append("# TYPE " + prometheusMetricName + " " + metadata.getType());
-                out.append(LF);
-                alreadyExportedMetrics.add(metricName);
+            if (!metricName.equals(previousMetricName)) {
+                family.writeTo(out);
+                family.reset();
+                byte[] header = metric.getHeader();
+                if (header == null) {
+                    header = encodeHeader(metricID, metadata);
+                    metric.setHeader(header);
+                }
+                family.write(header);
+                previousMetricName = metricName;
             }
+            byte[] samplePrefix = metric.getSamplePrefix();
+            if (samplePrefix == null) {
+                samplePrefix = encodeSamplePrefix(metricID, metadata);
+                metric.setSamplePrefix(samplePrefix);
+            }
+            family.write(samplePrefix);
             double scaledValue = scaleToBaseUnit(metricValue.getAsDouble(), metadata.getMeasurementUnit());
-            // I'm pretty sure this is incorrect but that aligns with smallrye-metrics OpenMetricsExporter behaviour
-            if (metadata.getType() == MetricMetadata.Type.COUNTER && metadata.getMeasurementUnit() != MeasurementUnit.NONE) {
-                prometheusMetricName += "_" + metadata.getBaseMetricUnit();
+            String value = Double.toString(scaledValue);
+            for (int j = 0; j < value.length(); j++) {
+                family.write(value.charAt(j));
             }
-            out.append(prometheusMetricName + getTagsAsAString(metricID) + " " + scaledValue);
-            out.append(LF);
+            family.write(LF);
         }
+        family.writeTo(out);
+        out.flush();
+
+        lastExportDuration = System.nanoTime() - start;
+    }
 
-        return out.toString();
+    private static byte[] encodeHeader(MetricID metricID, MetricMetadata metadata) {
+        String prometheusMetricName = toPrometheusMetricName(metricID, metadata);
+        StringBuilder out = new StringBuilder();
+        out.append("# HELP ").append(prometheusMetricName).append(' ').append(metadata.getDescription()).append((char) LF);
+        out.append("# TYPE ").append(prometheusMetricName).append(' ').append(metadata.getType()).append((char) LF);
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encodeSamplePrefix(MetricID metricID, MetricMetadata metadata) {
+        String prometheusMetricName = toPrometheusMetricName(metricID, metadata);
+        // I'm pretty sure this is incorrect but that aligns with smallrye-metrics OpenMetricsExporter behaviour
+        if (metadata.getType() == MetricMetadata.Type.COUNTER && metadata.getMeasurementUnit() != MeasurementUnit.NONE) {
+            prometheusMetricName += "_" + metadata.getBaseMetricUnit();
+        }
+        return (prometheusMetricName + getTagsAsAString(metricID) + " ").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the duration of the last export, in nanoseconds.
+     */
+    public long getLastExportDuration() {
+        return lastExportDuration;
+    }
+
+    /**
+     * Reads the values of the specified metrics, reading all management attribute backed metrics in bulk.
+     */
+    private static OptionalDouble[] getValues(List<WildFlyMetricRegistry.RegisteredMetric> metrics) {
+        OptionalDouble[] values = new OptionalDouble[metrics.size()];
+        List<WildFlyMetric> wildFlyMetrics = new ArrayList<>(metrics.size());
+        int[] wildFlyMetricIndexes = new int[metrics.size()];
+        for (int i = 0; i < metrics.size(); i++) {
+            Metric metric = metrics.get(i).getMetric();
+            if (metric instanceof WildFlyMetric) {
+                wildFlyMetricIndexes[wildFlyMetrics.size()] = i;
+                wildFlyMetrics.add((WildFlyMetric) metric);
+            } else {
+                values[i] = metric.getValue();
+            }
+        }
+        OptionalDouble[] wildFlyMetricValues = WildFlyMetric.getValues(wildFlyMetrics);
+        for (int i = 0; i < wildFlyMetricValues.length; i++) {
+            values[wildFlyMetricIndexes[i]] = wildFlyMetricValues[i];
+        }
+        return values;
     }
 
     private static double scaleToBaseUnit(double value, MeasurementUnit unit) {
@@ -5,14 +5,20 @@
  */
 package org.wildfly.extension.metrics;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
 import static org.wildfly.extension.metrics._private.MetricsLogger.LOGGER;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.OptionalDouble;
 
 import org.jboss.as.controller.LocalModelControllerClient;
@@ -23,10 +29,16 @@ import org.jboss.dmr.ModelNode;
 public class WildFlyMetric implements Metric {
 
     private static final ModelNode UNDEFINED = new ModelNode();
+    // Limits the number of steps of the composite operation used to read metrics in bulk
+    private static final int MAX_BATCH_SIZE = 1000;
 
     private LocalModelControllerClient modelControllerClient;
     private final PathAddress address;
     private final String attributeName;
+    // Built once, since the metric is read on every scrape
+    private final ModelNode readAttributeOperation;
+    // Indicates whether the last individual read of this metric failed, in which case it is excluded from bulk reads, since it would fail its batch
+    private volatile boolean failed = false;
 
     static {
         UNDEFINED.protect();
@@ -36,11 +48,87 @@ public class WildFlyMetric implements Metric {
         this.modelControllerClient = modelControllerClient;
         this.address = address;
         this.attributeName = attributeName;
+        this.readAttributeOperation = createReadAttributeOperation(address, attributeName);
     }
 
     @Override
     public OptionalDouble getValue() {
-        ModelNode result = readAttributeValue(address, attributeName);
+        ModelNode response = modelControllerClient.execute(readAttributeOperation);
+        failed = getFailureDescription(response) != null;
+        return toValue(response);
+    }
+
+    /**
+     * Reads the values of the specified metrics in bulk, using a single composite operation per batch of metrics, rather than an operation per metric.
+     * Metrics whose last individual read failed are read individually, until they can be read again.
+     * @param metrics a list of metrics
+     * @return the values of the specified metrics, in the same order
+     */
+    static OptionalDouble[] getValues(List<WildFlyMetric> metrics) {
+        OptionalDouble[] values = new OptionalDouble[metrics.size()];
+        List<Integer> batch = new ArrayList<>();
+        LocalModelControllerClient client = null;
+        for (int i = 0; i < metrics.size(); ++i) {
+            WildFlyMetric metric = metrics.get(i);
+            if (metric.failed) {
+                values[i] = metric.getValue();
+                continue;
+            }
+            if (!batch.isEmpty() && (batch.size() == MAX_BATCH_SIZE || metric.modelControllerClient != client)) {
+                readValues(client, metrics, batch, values);
+                batch.clear();
+            }
+            client = metric.modelControllerClient;
+            batch.add(i);
+        }
+        if (!batch.isEmpty()) {
+            readValues(client, metrics, batch, values);
+        }
+        return values;
+    }
+
+    private static void readValues(LocalModelControllerClient client, List<WildFlyMetric> metrics, List<Integer> batch, OptionalDouble[] values) {
+        if (batch.size() == 1) {
+            int index = batch.get(0);
+            values[index] = metrics.get(index).getValue();
+            return;
+        }
+        final ModelNode compositeOp = new ModelNode();
+        compositeOp.get(OP).set(COMPOSITE);
+        compositeOp.get(OP_ADDR).setEmptyList();
+        ModelNode steps = compositeOp.get(STEPS).setEmptyList();
+        for (int index : batch) {
+            steps.add(metrics.get(index).readAttributeOperation);
+        }
+        ModelNode response = client.execute(compositeOp);
+        if (!SUCCESS.equals(response.get(OUTCOME).asStringOrNull())) {
+            // A single failed step fails the whole composite operation, e.g. if a resource was removed since its metrics were registered
+            // In this case, read each metric individually, so that the failure only affects the relevant metrics.
+            // Those that fail are remembered, and excluded from subsequent batches.
+            for (int index : batch) {
+                values[index] = metrics.get(index).getValue();
+            }
+            return;
+        }
+        ModelNode results = response.get(RESULT);
+        for (int i = 0; i < batch.size(); ++i) {
+            int index = batch.get(i);
+            values[index] = metrics.get(index).toValue(results.get("step-" + (i + 1)));
+        }
+    }
+
+    private static ModelNode createReadAttributeOperation(PathAddress address, String attributeName) {
+        final ModelNode readAttributeOp = new ModelNode();
+        readAttributeOp.get(OP).set(READ_ATTRIBUTE_OPERATION);
+        readAttributeOp.get(OP_ADDR).set(address.toModelNode());
+        readAttributeOp.get(ModelDescriptionConstants.INCLUDE_UNDEFINED_METRIC_VALUES).set(false);
+        readAttributeOp.get(NAME).set(attributeName);
+        readAttributeOp.protect();
+        return readAttributeOp;
+    }
+
+    private OptionalDouble toValue(ModelNode response) {
+        ModelNode result = readAttributeValue(response);
         if (result.isDefined()) {
             try {
                 return OptionalDouble.of(result.asDouble());
@@ -51,13 +139,7 @@ public class WildFlyMetric implements Metric {
         return OptionalDouble.empty();
     }
 
-    private ModelNode readAttributeValue(PathAddress address, String attributeName) {
-        final ModelNode readAttributeOp = new ModelNode();
-        readAttributeOp.get(OP).set(READ_ATTRIBUTE_OPERATION);
-        readAttributeOp.get(OP_ADDR).set(address.toModelNode());
-        readAttributeOp.get(ModelDescriptionConstants.INCLUDE_UNDEFINED_METRIC_VALUES).set(false);
-        readAttributeOp.get(NAME).set(attributeName);
-        ModelNode response = modelControllerClient.execute(readAttributeOp);
+    private ModelNode readAttributeValue(ModelNode response) {
         String error = getFailureDescription(response);
         // TODO: Revisit this handling
         if (error != null) {
@@ -7,35 +7,35 @@ package org.wildfly.extension.metrics;
 import static java.util.Objects.requireNonNull;
 
 import java.io.Closeable;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.Map;
-import java.util.TreeMap;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
+/**
+ * Lock-free registry of metrics.
+ * Metrics are ordered by metric name, so that the series of each metric are contiguous,
+ * and each series is registered along with the metadata of its metric, so exporters need not look it up.
+ * Registering or unregistering metrics does not block concurrent exports, which see a weakly consistent view of the registry.
+ */
 public class WildFlyMetricRegistry implements Closeable, MetricRegistry {
 
     /* Key is the metric name */
-    private Map<String, MetricMetadata> metadataMap = new HashMap();
-    private Map<MetricID, Metric> metricMap = new TreeMap<>();
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
-
+    private final Map<String, MetricMetadata> metadataMap = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<MetricID, RegisteredMetric> metricMap = new ConcurrentSkipListMap<>();
 
     @Override
     public void close() {
-
-        lock.writeLock().lock();
-        try {
-            metricMap.clear();
-            metadataMap.clear();
-        } finally {
-            lock.writeLock().unlock();
-        }
+        metricMap.clear();
+        metadataMap.clear();
     }
 
-    Map<MetricID, Metric> getMetrics() {
-        return metricMap;
+    /**
+     * Returns the registered metrics, ordered by metric identifier.
+     */
+    Collection<RegisteredMetric> getMetrics() {
+        return metricMap.values();
     }
 
     Map<String, MetricMetadata> getMetricMetadata() {
@@ -43,39 +43,64 @@ public class WildFlyMetricRegistry implements Closeable, MetricRegistry {
     }
 
     @Override
-    public synchronized void registerMetric(Metric metric, MetricMetadata metadata) {
+    public void registerMetric(Metric metric, MetricMetadata metadata) {
         requireNonNull(metadata);
         requireNonNull(metric);
 
-        lock.writeLock().lock();
-        try {
-            MetricID metricID = metadata.getMetricID();
-            if (!metadataMap.containsKey(metadata.getMetricName())) {
-                metadataMap.put(metadata.getMetricName(), metadata);
-            }
-            metricMap.put(metricID, metric);
-        } finally {
-            lock.writeLock().unlock();
-        }
+        MetricID metricID = metadata.getMetricID();
+        // All series of a metric share the metadata with which the metric was first registered
+        MetricMetadata metricMetadata = metadataMap.computeIfAbsent(metadata.getMetricName(), name -> metadata);
+        metricMap.put(metricID, new RegisteredMetric(metricID, metric, metricMetadata));
     }
 
     @Override
     public void unregister(MetricID metricID) {
-        lock.writeLock().lock();
-        try {
-            metricMap.remove(metricID);
-        } finally {
-            lock.writeLock().unlock();
-        }
+        metricMap.remove(metricID);
     }
 
-    @Override
-    public void readLock() {
-        lock.readLock().lock();
-    }
+    /**
+     * A registered metric, along with the metadata of its metric name.
+     */
+    static class RegisteredMetric {
+        private final MetricID metricID;
+        private final Metric metric;
+        private final MetricMetadata metadata;
+        // Encoded by, and cached for, the exporter, so that they are discarded along with the metric once unregistered
+        private volatile byte[] header;
+        private volatile byte[] samplePrefix;
 
-    @Override
-    public void unlock() {
-        lock.readLock().unlock();
+        RegisteredMetric(MetricID metricID, Metric metric, MetricMetadata metadata) {
+            this.metricID = metricID;
+            this.metric = metric;
+            this.metadata = metadata;
+        }
+
+        MetricID getMetricID() {
+            return metricID;
+        }
+
+        Metric getMetric() {
+            return metric;
+        }
+
+        MetricMetadata getMetadata() {
+            return metadata;
+        }
+
+        byte[] getHeader() {
+            return header;
+        }
+
+        void setHeader(byte[] header) {
+            this.header = header;
+        }
+
+        byte[] getSamplePrefix() {
+            return samplePrefix;
+        }
+
+        void setSamplePrefix(byte[] samplePrefix) {
+            this.samplePrefix = samplePrefix;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.metrics;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.OptionalDouble;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link PrometheusExporter}.
+ */
+public class PrometheusExporterTestCase {
+
+    private static final PathAddress ADDRESS = PathAddress.pathAddress("subsystem", "test");
+
+    @Test
+    public void export() throws IOException {
+        WildFlyMetricRegistry registry = new WildFlyMetricRegistry();
+        registry.registerMetric(() -> OptionalDouble.of(2), metadata("count", PathAddress.pathAddress("subsystem", "test").append("pool", "b"), "Count", MetricMetadata.Type.COUNTER));
+        registry.registerMetric(() -> OptionalDouble.of(1), metadata("count", PathAddress.pathAddress("subsystem", "test").append("pool", "a"), "Count", MetricMetadata.Type.COUNTER));
+        registry.registerMetric(() -> OptionalDouble.of(3), metadata("active", ADDRESS, "Active", MetricMetadata.Type.GAUGE));
+        // Metrics without a value are omitted
+        registry.registerMetric(OptionalDouble::empty, metadata("undefined", ADDRESS, "Undefined", MetricMetadata.Type.GAUGE));
+
+        PrometheusExporter exporter = new PrometheusExporter();
+        String expected = "# HELP test_active Active\n"
+                + "# TYPE test_active gauge\n"
+                + "test_active 3.0\n"
+                + "# HELP test_count_total Count\n"
+                + "# TYPE test_count_total counter\n"
+                + "test_count_total{pool=\"a\"} 1.0\n"
+                + "test_count_total{pool=\"b\"} 2.0\n";
+
+        assertEquals(expected, export(exporter, registry));
+        // Subsequent exports reuse the encoded metric names and tags
+        assertEquals(expected, export(exporter, registry));
+        assertEquals(expected, exporter.export(registry));
+    }
+
+    @Test
+    public void unregister() throws IOException {
+        WildFlyMetricRegistry registry = new WildFlyMetricRegistry();
+        WildFlyMetricMetadata metadata = metadata("active", ADDRESS, "Active", MetricMetadata.Type.GAUGE);
+        registry.registerMetric(() -> OptionalDouble.of(1), metadata);
+
+        PrometheusExporter exporter = new PrometheusExporter();
+        assertTrue(export(exporter, registry).startsWith("# HELP test_active Active\n"));
+
+        registry.unregister(metadata.getMetricID());
+
+        assertEquals("", export(exporter, registry));
+
+        // Encodings are discarded along with the unregistered metric
+        registry.close();
+        registry.registerMetric(() -> OptionalDouble.of(1), metadata("active", ADDRESS, "Currently active", MetricMetadata.Type.GAUGE));
+
+        assertTrue(export(exporter, registry).startsWith("# HELP test_active Currently active\n"));
+    }
+
+    @Test
+    public void failure() {
+        WildFlyMetricRegistry registry = new WildFlyMetricRegistry();
+        registry.registerMetric(() -> OptionalDouble.of(1), metadata("active", ADDRESS, "Active", MetricMetadata.Type.GAUGE));
+        registry.registerMetric(() -> {
+            throw new IllegalStateException();
+        }, metadata("broken", ADDRESS, "Broken", MetricMetadata.Type.GAUGE));
+
+        PrometheusExporter exporter = new PrometheusExporter();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            exporter.export(registry, out);
+            fail();
+        } catch (IllegalStateException | IOException e) {
+            // Nothing is written, rather than a truncated exposition
+            assertEquals(0, out.size());
+        }
+    }
+
+    @Test
+    public void snapshot() throws IOException {
+        WildFlyMetricRegistry registry = new WildFlyMetricRegistry();
+        AtomicLong value = new AtomicLong(1);
+        registry.registerMetric(() -> OptionalDouble.of(value.get()), metadata("active", ADDRESS, "Active", MetricMetadata.Type.GAUGE));
+
+        AtomicLong time = new AtomicLong(0);
+        long ttl = TimeUnit.SECONDS.toNanos(1);
+        MetricsContextService.SnapshotExporter exporter = new MetricsContextService.SnapshotExporter(new PrometheusExporter(), ttl, time::get);
+
+        byte[] exposition = exporter.export(registry);
+        assertTrue(new String(exposition, StandardCharsets.UTF_8).contains("test_active 1.0\n"));
+
+        value.set(2);
+        time.set(ttl - 1);
+
+        // Scrapes within the TTL share the same exposition
+        assertSame(exposition, exporter.export(registry));
+
+        time.set(ttl);
+
+        byte[] nextExposition = exporter.export(registry);
+        assertNotSame(exposition, nextExposition);
+        assertTrue(new String(nextExposition, StandardCharsets.UTF_8).contains("test_active 2.0\n"));
+
+        exporter.clear();
+        value.set(3);
+
+        byte[] clearedExposition = exporter.export(registry);
+        assertFalse(new String(clearedExposition, StandardCharsets.UTF_8).contains("test_active 2.0\n"));
+        assertArrayEquals(new PrometheusExporter().export(registry).getBytes(StandardCharsets.UTF_8), clearedExposition);
+    }
+
+    @Test
+    public void scrapeDuration() {
+        WildFlyMetricRegistry registry = new WildFlyMetricRegistry();
+        PrometheusExporter exporter = new PrometheusExporter();
+        Metric metric = new MetricsContextService.ScrapeDurationMetric(exporter);
+        registry.registerMetric(metric, MetricsContextService.SCRAPE_DURATION);
+
+        // Undefined until the first export completes
+        assertFalse(metric.getValue().isPresent());
+        assertFalse(exporter.export(registry).contains("metrics_scrape_duration_seconds"));
+
+        OptionalDouble duration = metric.getValue();
+        assertTrue(duration.isPresent());
+        assertTrue(duration.getAsDouble() > 0);
+
+        String exposition = exporter.export(registry);
+        assertTrue(exposition, exposition.contains("# TYPE metrics_scrape_duration_seconds gauge\n"));
+        assertTrue(exposition, exposition.contains("\nmetrics_scrape_duration_seconds "));
+    }
+
+    private static WildFlyMetricMetadata metadata(String attributeName, PathAddress address, String description, MetricMetadata.Type type) {
+        return new WildFlyMetricMetadata(attributeName, address, null, description, MeasurementUnit.NONE, type);
+    }
+
+    private static String export(PrometheusExporter exporter, WildFlyMetricRegistry registry) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(registry, out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
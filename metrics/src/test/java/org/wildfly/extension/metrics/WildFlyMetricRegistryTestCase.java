@@ -0,0 +1,113 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.OptionalDouble;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link WildFlyMetricRegistry}.
+ */
+public class WildFlyMetricRegistryTestCase {
+
+    private static final Metric METRIC = () -> OptionalDouble.of(1);
+
+    @Test
+    public void order() {
+        WildFlyMetricRegistry registry = new WildFlyMetricRegistry();
+        registry.registerMetric(METRIC, metadata("b", "2", "B"));
+        registry.registerMetric(METRIC, metadata("a", "1", "A"));
+        registry.registerMetric(METRIC, metadata("b", "1", "B"));
+        registry.registerMetric(METRIC, metadata("c", "1", "C"));
+        registry.registerMetric(METRIC, metadata("a", "2", "A"));
+
+        List<String> names = new ArrayList<>();
+        List<String> pools = new ArrayList<>();
+        for (WildFlyMetricRegistry.RegisteredMetric metric : registry.getMetrics()) {
+            names.add(metric.getMetricID().getMetricName());
+            pools.add(metric.getMetricID().getTags()[0].getValue());
+        }
+        // Series of each metric are contiguous
+        assertEquals(List.of("test_a", "test_a", "test_b", "test_b", "test_c"), names);
+        assertEquals(List.of("1", "2", "1", "2", "1"), pools);
+    }
+
+    @Test
+    public void metadata() {
+        WildFlyMetricRegistry registry = new WildFlyMetricRegistry();
+        WildFlyMetricMetadata metadata = metadata("a", "1", "First");
+        registry.registerMetric(METRIC, metadata);
+        registry.registerMetric(METRIC, metadata("a", "2", "Second"));
+
+        // All series of a metric share the metadata with which the metric was first registered
+        for (WildFlyMetricRegistry.RegisteredMetric metric : registry.getMetrics()) {
+            assertSame(metadata, metric.getMetadata());
+        }
+        assertSame(metadata, registry.getMetricMetadata().get("test_a"));
+    }
+
+    @Test
+    public void unregister() {
+        WildFlyMetricRegistry registry = new WildFlyMetricRegistry();
+        WildFlyMetricMetadata metadata = metadata("a", "1", "A");
+        registry.registerMetric(METRIC, metadata);
+        registry.registerMetric(METRIC, metadata("a", "2", "A"));
+
+        registry.unregister(metadata.getMetricID());
+
+        assertEquals(1, registry.getMetrics().size());
+        assertEquals("2", registry.getMetrics().iterator().next().getMetricID().getTags()[0].getValue());
+
+        // Unregistering an unknown metric is a no-op
+        registry.unregister(metadata.getMetricID());
+
+        assertEquals(1, registry.getMetrics().size());
+
+        registry.close();
+
+        assertTrue(registry.getMetrics().isEmpty());
+        assertTrue(registry.getMetricMetadata().isEmpty());
+    }
+
+    @Test
+    public void concurrentModification() {
+        WildFlyMetricRegistry registry = new WildFlyMetricRegistry();
+        for (int i = 0; i < 10; i++) {
+            registry.registerMetric(METRIC, metadata("a", String.valueOf(i), "A"));
+        }
+
+        // Registrations and unregistrations during an export do not fail the export
+        int count = 0;
+        Iterator<WildFlyMetricRegistry.RegisteredMetric> metrics = registry.getMetrics().iterator();
+        while (metrics.hasNext()) {
+            WildFlyMetricRegistry.RegisteredMetric metric = metrics.next();
+            registry.unregister(metric.getMetricID());
+            // Ordered before the metrics being iterated
+            registry.registerMetric(METRIC, metadata("0", String.valueOf(count), "0"));
+            count++;
+        }
+
+        assertEquals(10, count);
+        assertEquals(10, registry.getMetrics().size());
+        for (WildFlyMetricRegistry.RegisteredMetric metric : registry.getMetrics()) {
+            assertEquals("test_0", metric.getMetricID().getMetricName());
+        }
+    }
+
+    private static WildFlyMetricMetadata metadata(String attributeName, String pool, String description) {
+        PathAddress address = PathAddress.pathAddress("subsystem", "test").append("pool", pool);
+        return new WildFlyMetricMetadata(attributeName, address, null, description, MeasurementUnit.NONE, MetricMetadata.Type.GAUGE);
+    }
+}
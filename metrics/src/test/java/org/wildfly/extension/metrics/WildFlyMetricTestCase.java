@@ -0,0 +1,173 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.metrics;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+import org.jboss.as.controller.LocalModelControllerClient;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+import org.junit.Test;
+
+/**
+ * Unit test for the bulk reads of {@link WildFlyMetric}.
+ */
+public class WildFlyMetricTestCase {
+
+    private static final PathAddress ADDRESS = PathAddress.pathAddress("subsystem", "test");
+
+    @Test
+    public void batching() {
+        TestModelControllerClient client = new TestModelControllerClient();
+        List<WildFlyMetric> metrics = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            client.values.put("attribute" + i, i);
+            metrics.add(new WildFlyMetric(client, ADDRESS, "attribute" + i));
+        }
+
+        OptionalDouble[] values = WildFlyMetric.getValues(metrics);
+
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(i, values[i].getAsDouble(), 0);
+        }
+        // Batches are limited to 1000 metrics
+        assertEquals(3, client.compositeOperations);
+        assertEquals(0, client.readAttributeOperations);
+    }
+
+    @Test
+    public void fallback() {
+        TestModelControllerClient client = new TestModelControllerClient();
+        List<WildFlyMetric> metrics = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            client.values.put("attribute" + i, i);
+            metrics.add(new WildFlyMetric(client, ADDRESS, "attribute" + i));
+        }
+        // e.g. the resource of this metric was removed
+        client.values.remove("attribute3");
+
+        OptionalDouble[] values = WildFlyMetric.getValues(metrics);
+
+        assertFalse(values[3].isPresent());
+        for (int i = 0; i < values.length; i++) {
+            if (i != 3) {
+                assertEquals(i, values[i].getAsDouble(), 0);
+            }
+        }
+        // Batch is re-read one metric at a time
+        assertEquals(1, client.compositeOperations);
+        assertEquals(10, client.readAttributeOperations);
+
+        client.compositeOperations = 0;
+        client.readAttributeOperations = 0;
+
+        values = WildFlyMetric.getValues(metrics);
+
+        assertFalse(values[3].isPresent());
+        // Failing metric is remembered, so that the remaining metrics are still read in bulk
+        assertEquals(1, client.compositeOperations);
+        assertEquals(1, client.readAttributeOperations);
+
+        client.compositeOperations = 0;
+        client.readAttributeOperations = 0;
+        client.values.put("attribute3", 3);
+
+        values = WildFlyMetric.getValues(metrics);
+
+        assertEquals(3, values[3].getAsDouble(), 0);
+        assertEquals(1, client.compositeOperations);
+        assertEquals(1, client.readAttributeOperations);
+
+        client.compositeOperations = 0;
+        client.readAttributeOperations = 0;
+
+        values = WildFlyMetric.getValues(metrics);
+
+        // Metric that can be read again rejoins its batch
+        assertEquals(3, values[3].getAsDouble(), 0);
+        assertEquals(1, client.compositeOperations);
+        assertEquals(0, client.readAttributeOperations);
+    }
+
+    /**
+     * Client that reads attributes from a map, and fails the read of any attribute missing from it.
+     */
+    static class TestModelControllerClient implements LocalModelControllerClient {
+        final Map<String, Integer> values = new HashMap<>();
+        int compositeOperations = 0;
+        int readAttributeOperations = 0;
+
+        @Override
+        public OperationResponse executeOperation(Operation operation, OperationMessageHandler messageHandler) {
+            ModelNode op = operation.getOperation();
+            ModelNode response = new ModelNode();
+            if (op.get(OP).asString().equals(COMPOSITE)) {
+                this.compositeOperations++;
+                List<ModelNode> steps = op.get(STEPS).asList();
+                for (int i = 0; i < steps.size(); i++) {
+                    ModelNode stepResponse = this.read(steps.get(i));
+                    if (!stepResponse.get(OUTCOME).asString().equals(SUCCESS)) {
+                        response.get(OUTCOME).set(FAILED);
+                        response.get(FAILURE_DESCRIPTION).set("Composite operation failed");
+                        return OperationResponse.Factory.createSimple(response);
+                    }
+                    response.get(RESULT, "step-" + (i + 1)).set(stepResponse);
+                }
+                response.get(OUTCOME).set(SUCCESS);
+            } else {
+                this.readAttributeOperations++;
+                response = this.read(op);
+            }
+            return OperationResponse.Factory.createSimple(response);
+        }
+
+        private ModelNode read(ModelNode op) {
+            ModelNode response = new ModelNode();
+            Integer value = this.values.get(op.get(NAME).asString());
+            if (value != null) {
+                response.get(OUTCOME).set(SUCCESS);
+                response.get(RESULT).set(value);
+            } else {
+                response.get(OUTCOME).set(FAILED);
+                response.get(FAILURE_DESCRIPTION).set("Resource not found");
+            }
+            return response;
+        }
+
+        @Override
+        public AsyncFuture<ModelNode> executeAsync(Operation operation, OperationMessageHandler messageHandler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AsyncFuture<OperationResponse> executeOperationAsync(Operation operation, OperationMessageHandler messageHandler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -139,6 +139,46 @@ final class AtomicMapFieldUpdater<C, K, V> {
         }
     }
 
+    /**
+     * Put all of the given entries, if and only if none of their keys are present, using a single copy of the map.
+     *
+     * @param instance the instance with the map field
+     * @param entries the entries to put
+     * @return {@code null} if the entries were put, a key of the given entries already present otherwise
+     */
+    public K putAllIfAbsent(C instance, Map<K, V> entries) {
+        for (;;) {
+            final Map<K, V> oldMap = updater.get(instance);
+            for (K key : entries.keySet()) {
+                if (oldMap.containsKey(key)) {
+                    return key;
+                }
+            }
+            final Map<K, V> newMap = new FastCopyHashMap<K, V>(oldMap);
+            newMap.putAll(entries);
+            if (updater.compareAndSet(instance, oldMap, newMap)) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Put all of the given entries, replacing any present, using a single copy of the map.
+     *
+     * @param instance the instance with the map field
+     * @param entries the entries to put
+     */
+    public void putAll(C instance, Map<K, V> entries) {
+        for (;;) {
+            final Map<K, V> oldMap = updater.get(instance);
+            final Map<K, V> newMap = new FastCopyHashMap<K, V>(oldMap);
+            newMap.putAll(entries);
+            if (updater.compareAndSet(instance, oldMap, newMap)) {
+                return;
+            }
+        }
+    }
+
     public V remove(C instance, K key) {
         if (key == null) {
             return null;
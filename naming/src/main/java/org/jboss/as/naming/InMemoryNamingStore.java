@@ -15,8 +15,12 @@ import static org.jboss.as.naming.util.NamingUtils.nameNotFoundException;
 import static org.jboss.as.naming.util.NamingUtils.notAContextException;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -36,6 +40,7 @@ import javax.naming.event.NamingEvent;
 import javax.naming.event.NamingListener;
 import javax.naming.spi.ResolveResult;
 import org.jboss.as.naming.logging.NamingLogger;
+import org.jboss.as.naming.util.FastCopyHashMap;
 
 /**
  * In-memory implementation of the NamingStore.  The backing for the entries is a basic tree structure with either context
@@ -111,12 +116,71 @@ public class InMemoryNamingStore implements WritableNamingStore {
             throw emptyNameException();
         }
 
+        final BindVisitor visitor = new BindVisitor(true, name, object, bindType.getName());
         writeLock.lock();
         try {
-            root.accept(new BindVisitor(true, name, object, bindType.getName()));
+            root.accept(visitor);
         } finally {
             writeLock.unlock();
         }
+        visitor.fireEvents();
+    }
+
+    /**
+     * Bind the specified objects, as if by {@link #bind(Name, Object)}, but copying the children of each target context only once,
+     * and passing the resulting naming events to listeners as a single batch.  Either all or none of the objects are bound:
+     * the bindings, and any missing parent contexts, are staged in copies of the affected contexts, which are published to
+     * readers by a single swap of the children of their deepest common context.
+     *
+     * @param bindings The objects to bind, by name
+     * @throws NamingException if any of the names is already bound, or if any of the parent contexts cannot be resolved
+     */
+    public void bindAll(final Map<Name, Object> bindings) throws NamingException {
+        // Group the bindings by target context
+        final Map<Name, Map<String, TreeNode>> bindingsByContext = new LinkedHashMap<Name, Map<String, TreeNode>>();
+        for (Map.Entry<Name, Object> entry : bindings.entrySet()) {
+            final Name name = entry.getKey();
+            if (isLastComponentEmpty(name)) {
+                throw emptyNameException();
+            }
+            final Object object = entry.getValue();
+            final String childName = getLastComponent(name);
+            final Map<String, TreeNode> contextBindings = bindingsByContext.computeIfAbsent(name.getPrefix(name.size() - 1), key -> new LinkedHashMap<String, TreeNode>());
+            if (contextBindings.put(childName, new BindingNode(name, new Binding(childName, object.getClass().getName(), object, true))) != null) {
+                throw nameAlreadyBoundException(name);
+            }
+        }
+        if (bindingsByContext.isEmpty()) {
+            return;
+        }
+
+        final NamingEventCoordinator coordinator = eventCoordinator;
+        final NamingEventCoordinator.EventBatch batch = (coordinator != null) ? coordinator.createEventBatch() : null;
+        writeLock.lock();
+        try {
+            final ContextDraft draft = new ContextDraft(bindingsByContext.keySet());
+            final Map<ContextNode, Collection<TreeNode>> bindingsByNode = new LinkedHashMap<ContextNode, Collection<TreeNode>>();
+            for (Map.Entry<Name, Map<String, TreeNode>> entry : bindingsByContext.entrySet()) {
+                final ContextNode contextNode = draft.getContext(entry.getKey());
+                for (Map.Entry<String, TreeNode> binding : entry.getValue().entrySet()) {
+                    draft.addChild(contextNode, binding.getKey(), binding.getValue());
+                }
+                bindingsByNode.put(contextNode, entry.getValue().values());
+            }
+            draft.publish();
+            if (batch != null) {
+                for (Map.Entry<ContextNode, Collection<TreeNode>> entry : bindingsByNode.entrySet()) {
+                    for (TreeNode bindingNode : entry.getValue()) {
+                        fireEvent(batch, entry.getKey(), bindingNode.fullName, null, bindingNode.binding, NamingEvent.OBJECT_ADDED, "bind");
+                    }
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        if (batch != null) {
+            batch.close();
+        }
     }
 
     /** {@inheritDoc} */
@@ -130,12 +194,14 @@ public class InMemoryNamingStore implements WritableNamingStore {
             throw emptyNameException();
         }
 
+        final RebindVisitor visitor = new RebindVisitor(name, object, bindType.getName());
         writeLock.lock();
         try {
-            root.accept(new RebindVisitor(name, object, bindType.getName()));
+            root.accept(visitor);
         } finally {
             writeLock.unlock();
         }
+        visitor.fireEvents();
     }
 
     /**
@@ -149,12 +215,14 @@ public class InMemoryNamingStore implements WritableNamingStore {
             throw emptyNameException();
         }
 
+        final UnbindVisitor visitor = new UnbindVisitor(name);
         writeLock.lock();
         try {
-            root.accept(new UnbindVisitor(name));
+            root.accept(visitor);
         } finally {
             writeLock.unlock();
         }
+        visitor.fireEvents();
     }
 
     /**
@@ -206,11 +274,21 @@ public class InMemoryNamingStore implements WritableNamingStore {
         if (isLastComponentEmpty(name)) {
             throw emptyNameException();
         }
-        return root.accept(new CreateSubContextVisitor(name));
+        final CreateSubContextVisitor visitor = new CreateSubContextVisitor(name);
+        final Context context;
+        // Excludes the publication of a batch of bindings, whose staged contexts would otherwise discard this one
+        writeLock.lock();
+        try {
+            context = root.accept(visitor);
+        } finally {
+            writeLock.unlock();
+        }
+        visitor.fireEvents();
+        return context;
     }
 
     /**
-     * Close the store.  This will clear all children from the root node.
+     * Close the store.  This will clear all children from the root node, and close the event coordinator, if any.
      *
      * @throws NamingException
      */
@@ -221,6 +299,10 @@ public class InMemoryNamingStore implements WritableNamingStore {
         } finally {
             writeLock.unlock();
         }
+        final NamingEventCoordinator coordinator = eventCoordinator;
+        if (coordinator != null) {
+            coordinator.close();
+        }
     }
 
     /**
@@ -249,13 +331,10 @@ public class InMemoryNamingStore implements WritableNamingStore {
         }
     }
 
-    private void fireEvent(final ContextNode contextNode, final Name name, final Binding existingBinding, final Binding newBinding, final int type, final String changeInfo) {
-        final NamingEventCoordinator coordinator = eventCoordinator;
-        if (eventCoordinator != null) {
-            final Context context = Context.class.cast(contextNode.binding.getObject());
-            if(context instanceof EventContext) {
-                coordinator.fireEvent(EventContext.class.cast(context), name, existingBinding, newBinding, type, changeInfo, NamingEventCoordinator.DEFAULT_SCOPES);
-            }
+    private void fireEvent(final NamingEventCoordinator.EventBatch batch, final ContextNode contextNode, final Name name, final Binding existingBinding, final Binding newBinding, final int type, final String changeInfo) {
+        final Context context = Context.class.cast(contextNode.binding.getObject());
+        if(context instanceof EventContext) {
+            batch.fireEvent(EventContext.class.cast(context), name, existingBinding, newBinding, type, changeInfo, NamingEventCoordinator.DEFAULT_SCOPES);
         }
     }
 
@@ -283,7 +362,8 @@ public class InMemoryNamingStore implements WritableNamingStore {
     private class ContextNode extends TreeNode {
         volatile Map<String, TreeNode> children = Collections.emptyMap();
         protected final String name;
-        protected final ContextNode parentNode;
+        // Only read and written while holding the write lock, since a batch of bindings replaces the parent of the contexts it copies
+        protected ContextNode parentNode;
 
         private ContextNode(final ContextNode parentNode, final String name, final Name fullName, final NamingContext context) {
             super(fullName, new Binding(getLastComponent(fullName), Context.class.getName(), context));
@@ -291,6 +371,13 @@ public class InMemoryNamingStore implements WritableNamingStore {
             this.parentNode = parentNode;
         }
 
+        private ContextNode(final ContextNode parentNode, final ContextNode node) {
+            super(node.fullName, node.binding);
+            this.name = node.name;
+            this.parentNode = parentNode;
+            this.children = new FastCopyHashMap<String, TreeNode>(node.children);
+        }
+
         private void addChild(final String childName, final TreeNode childNode) throws NamingException {
             if (childrenUpdater.putIfAbsent(this, childName, childNode) != null) {
                 throw nameAlreadyBoundException(fullName.add(childName));
@@ -336,6 +423,134 @@ public class InMemoryNamingStore implements WritableNamingStore {
         }
     }
 
+    /**
+     * Stages a batch of bindings in copies of the contexts they modify, beneath the deepest existing context common to all of them.
+     * The staged contexts are invisible to readers until {@link #publish() published}.  Must only be used while holding the write lock.
+     */
+    private final class ContextDraft {
+        private final ContextNode commonNode;
+        private final int commonDepth;
+        // The children of the common context that are added or replaced by this draft
+        private final Map<String, TreeNode> commonChildren = new LinkedHashMap<String, TreeNode>();
+        // The staged contexts, mapped to the context they replace, or to null if they are new
+        private final Map<ContextNode, ContextNode> stagedNodes = new HashMap<ContextNode, ContextNode>();
+
+        ContextDraft(final Collection<Name> contextNames) throws NamingException {
+            final Iterator<Name> names = contextNames.iterator();
+            Name commonName = names.next();
+            while (names.hasNext()) {
+                final Name name = names.next();
+                int size = 0;
+                while (size < Math.min(commonName.size(), name.size()) && commonName.get(size).equals(name.get(size))) {
+                    size++;
+                }
+                commonName = commonName.getPrefix(size);
+            }
+            ContextNode node = root;
+            int depth = 0;
+            while (depth < commonName.size()) {
+                final TreeNode child = node.children.get(commonName.get(depth));
+                if (child == null) {
+                    break;
+                }
+                node = this.requireContext(child, commonName, depth);
+                depth++;
+            }
+            this.commonNode = node;
+            this.commonDepth = depth;
+        }
+
+        /**
+         * Returns the staged context of the specified name, staging it, and its parents, if necessary.
+         */
+        ContextNode getContext(final Name contextName) throws NamingException {
+            ContextNode node = this.commonNode;
+            for (int i = this.commonDepth; i < contextName.size(); i++) {
+                final String childName = contextName.get(i);
+                final TreeNode child = this.getChild(node, childName);
+                final ContextNode staged;
+                if (child == null) {
+                    final Name fullName = contextName.getPrefix(i + 1);
+                    staged = new ContextNode(node, childName, fullName, new NamingContext((Name) fullName.clone(), InMemoryNamingStore.this, new Hashtable<String, Object>()));
+                    staged.children = new FastCopyHashMap<String, TreeNode>();
+                    this.stagedNodes.put(staged, null);
+                } else {
+                    final ContextNode childNode = this.requireContext(child, contextName, i);
+                    if (this.stagedNodes.containsKey(childNode)) {
+                        node = childNode;
+                        continue;
+                    }
+                    staged = new ContextNode(node, childNode);
+                    this.stagedNodes.put(staged, childNode);
+                }
+                this.putChild(node, childName, staged);
+                node = staged;
+            }
+            return node;
+        }
+
+        void addChild(final ContextNode contextNode, final String childName, final TreeNode childNode) throws NamingException {
+            if (this.getChild(contextNode, childName) != null) {
+                throw nameAlreadyBoundException(childNode.fullName);
+            }
+            this.putChild(contextNode, childName, childNode);
+        }
+
+        /**
+         * Publishes the staged contexts to readers, by a single swap of the children of the common context.
+         */
+        void publish() throws NamingException {
+            // Staged copies adopt the contexts beneath the contexts they replace
+            for (Map.Entry<ContextNode, ContextNode> entry : this.stagedNodes.entrySet()) {
+                final ContextNode replaced = entry.getValue();
+                if (replaced != null) {
+                    for (TreeNode child : entry.getKey().children.values()) {
+                        if ((child instanceof ContextNode) && (((ContextNode) child).parentNode == replaced)) {
+                            ((ContextNode) child).parentNode = entry.getKey();
+                        }
+                    }
+                }
+            }
+            boolean replacing = false;
+            for (String childName : this.commonChildren.keySet()) {
+                replacing |= this.commonNode.children.containsKey(childName);
+            }
+            if (replacing) {
+                childrenUpdater.putAll(this.commonNode, this.commonChildren);
+            } else {
+                final String boundName = childrenUpdater.putAllIfAbsent(this.commonNode, this.commonChildren);
+                if (boundName != null) {
+                    throw nameAlreadyBoundException(this.commonChildren.get(boundName).fullName);
+                }
+            }
+        }
+
+        private TreeNode getChild(final ContextNode contextNode, final String childName) {
+            if (contextNode == this.commonNode) {
+                final TreeNode child = this.commonChildren.get(childName);
+                return (child != null) ? child : contextNode.children.get(childName);
+            }
+            return contextNode.children.get(childName);
+        }
+
+        private void putChild(final ContextNode contextNode, final String childName, final TreeNode childNode) {
+            if (contextNode == this.commonNode) {
+                this.commonChildren.put(childName, childNode);
+            } else {
+                // Children of a staged context are not yet visible to readers
+                contextNode.children.put(childName, childNode);
+            }
+        }
+
+        private ContextNode requireContext(final TreeNode node, final Name name, final int depth) throws NamingException {
+            if (node instanceof ContextNode) {
+                return (ContextNode) node;
+            }
+            checkReferenceForContinuation(name.getSuffix(depth + 1), node.binding.getObject());
+            throw notAContextException(node.fullName);
+        }
+    }
+
     private interface NodeVisitor<T> {
         T visit(BindingNode bindingNode) throws NamingException;
 
@@ -397,6 +612,8 @@ public class InMemoryNamingStore implements WritableNamingStore {
 
     private abstract class BindingContextVisitor<T> extends NodeTraversingVisitor<T> {
         protected final Name targetName;
+        // Events fired by this visitor, passed to listeners once it completes, i.e. outside of the write lock
+        private final NamingEventCoordinator.EventBatch events = (eventCoordinator != null) ? eventCoordinator.createEventBatch() : null;
 
         protected BindingContextVisitor(final boolean createIfMissing, final Name targetName) {
             super(createIfMissing, targetName.getPrefix(targetName.size() - 1));
@@ -417,6 +634,18 @@ public class InMemoryNamingStore implements WritableNamingStore {
         }
 
         protected abstract T foundBindContext(final ContextNode contextNode) throws NamingException;
+
+        protected void fireEvent(final ContextNode contextNode, final Name name, final Binding existingBinding, final Binding newBinding, final int type, final String changeInfo) {
+            if (events != null) {
+                InMemoryNamingStore.this.fireEvent(events, contextNode, name, existingBinding, newBinding, type, changeInfo);
+            }
+        }
+
+        void fireEvents() {
+            if (events != null) {
+                events.close();
+            }
+        }
     }
 
     private final class BindVisitor extends BindingContextVisitor<Void> {
@@ -15,6 +15,8 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.Arrays;
 import java.util.Hashtable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.naming.Binding;
 import javax.naming.CannotProceedException;
@@ -57,6 +59,10 @@ public class NamingContext implements EventContext {
      */
     private static volatile NamingStore ACTIVE_NAMING_STORE = new InMemoryNamingStore();
 
+    // Names parsed by previous lookups, by string form, which must therefore never be modified
+    private static final int MAX_LOOKUP_NAMES = 1024;
+    private static final Map<String, Name> LOOKUP_NAMES = new ConcurrentHashMap<>();
+
     /**
      * Set the active naming store
      *
@@ -173,7 +179,7 @@ public class NamingContext implements EventContext {
     }
 
     public Object lookup(final String name, boolean dereference) throws NamingException {
-        return lookup(parseName(name), dereference);
+        return lookup(parseLookupName(name), dereference);
     }
 
     public Object lookup(final Name name, boolean dereference) throws NamingException {
@@ -449,7 +455,7 @@ public class NamingContext implements EventContext {
             if (name.size() == 1) {
                 // name could be a nested name
                 final String firstComponent = name.get(0);
-                result.addAll(parseName(firstComponent));
+                result.addAll(parseLookupName(firstComponent));
             } else {
                 result.addAll(name);
             }
@@ -516,6 +522,22 @@ public class NamingContext implements EventContext {
         return getNameParser(name).parse(name);
     }
 
+    /**
+     * Parses the specified name, reusing the name parsed by a previous lookup, if any.
+     * Since lookups never modify the name to look up, the returned name is shared, and must not be modified.
+     */
+    private Name parseLookupName(final String name) throws NamingException {
+        Name result = LOOKUP_NAMES.get(name);
+        if (result == null) {
+            result = parseName(name);
+            // Names are typically drawn from a small set, e.g. of resource references, so simply stop caching once full
+            if (LOOKUP_NAMES.size() < MAX_LOOKUP_NAMES) {
+                LOOKUP_NAMES.putIfAbsent(name, result);
+            }
+        }
+        return result;
+    }
+
     private Name getAbsoluteName(final Name name) throws NamingException {
         if(name.isEmpty()) {
             return composeName(name, prefix);
@@ -7,6 +7,7 @@ package org.jboss.as.naming;
 
 import java.security.PrivilegedAction;
 import java.util.concurrent.ThreadFactory;
+import org.jboss.as.naming.logging.NamingLogger;
 import org.jboss.as.naming.util.FastCopyHashMap;
 
 import javax.naming.Binding;
@@ -16,15 +17,24 @@ import javax.naming.event.NamespaceChangeListener;
 import javax.naming.event.NamingEvent;
 import javax.naming.event.NamingListener;
 import javax.naming.event.ObjectChangeListener;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import org.jboss.threads.JBossThreadFactory;
 
 import static java.security.AccessController.doPrivileged;
@@ -33,6 +43,16 @@ import static java.security.AccessController.doPrivileged;
  * Coordinator responsible for passing @(code NamingEvent} instances to registered @{code NamingListener} instances.  Two
  * maps are used to managed a mapping between a listener and its configuration as well as a mapping from target name to a list
  * of listener configurations.  These maps are updated atomically on listener add and remove.
+ * <p>
+ * Events are queued per listener, and dispatched by a pool of threads, such that each listener receives its events in order,
+ * while distinct listeners are notified in parallel, i.e. a slow listener only delays its own events.
+ * A change to a name for which the listener has an undispatched event is coalesced into that event.
+ * The number of queued events is bounded: once full, threads firing events wait for listeners to catch up, for a limited time.
+ * If that time elapses, events are queued beyond the bound, without waiting, until listeners have dispatched all queued events.
+ * </p>
+ * <p>
+ * The creator of a coordinator must {@link #close() close} it once it is no longer used, e.g. by closing the naming store using it.
+ * </p>
  *
  * @author John E. Bailey
  */
@@ -46,7 +66,54 @@ public class NamingEventCoordinator {
         }
     });
 
-    private final Executor executor = Executors.newSingleThreadExecutor(threadFactory);
+    private static final int DEFAULT_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+    private static final int DEFAULT_CAPACITY = 10000;
+    // How long a thread firing an event waits for queue capacity
+    private static final long DEFAULT_CAPACITY_TIMEOUT = TimeUnit.SECONDS.toNanos(10);
+
+    // Identifies threads currently passing events to listeners, which must never wait for queue capacity
+    private static final ThreadLocal<Boolean> DISPATCHING = new ThreadLocal<Boolean>();
+
+    private final ThreadPoolExecutor executor;
+    private final int capacity;
+    private final long capacityTimeout;
+    private final Semaphore permits;
+    private final AtomicInteger queuedEvents = new AtomicInteger();
+    // Indicates that listeners did not catch up in time, such that events are queued without waiting, until the queue drains
+    private volatile boolean overflowing = false;
+    // Shared by every coordinator
+    private static final LongAdder COALESCED_EVENTS = new LongAdder();
+    private static final LongAdder DELAYED_EVENTS = new LongAdder();
+    private static final LongAdder OVERFLOWED_EVENTS = new LongAdder();
+
+    public NamingEventCoordinator() {
+        this(DEFAULT_THREADS, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construct a coordinator dispatching events using the specified number of threads.
+     *
+     * @param threads The maximum number of threads passing events to listeners
+     * @param capacity The maximum number of events queued before threads firing events are made to wait
+     */
+    public NamingEventCoordinator(final int threads, final int capacity) {
+        this(threads, capacity, DEFAULT_CAPACITY_TIMEOUT);
+    }
+
+    /**
+     * Construct a coordinator dispatching events using the specified number of threads.
+     *
+     * @param threads The maximum number of threads passing events to listeners
+     * @param capacity The maximum number of events queued before threads firing events are made to wait
+     * @param capacityTimeout The maximum number of nanoseconds threads firing events wait for queue capacity
+     */
+    NamingEventCoordinator(final int threads, final int capacity, final long capacityTimeout) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory);
+        this.executor.allowCoreThreadTimeOut(true);
+        this.capacity = capacity;
+        this.capacityTimeout = capacityTimeout;
+        this.permits = new Semaphore(capacity);
+    }
 
     static final Integer[] DEFAULT_SCOPES = {EventContext.OBJECT_SCOPE, EventContext.ONELEVEL_SCOPE, EventContext.SUBTREE_SCOPE};
 
@@ -97,6 +164,7 @@ public class NamingEventCoordinator {
         final Map<NamingListener, ListenerHolder> byListenerCopy = new FastCopyHashMap<NamingListener, ListenerHolder>(holdersByListener);
         byListenerCopy.remove(namingListener);
         holdersByListener = byListenerCopy;
+        holder.remove();
 
         final Map<TargetScope, List<ListenerHolder>> byTargetCopy = new FastCopyHashMap<TargetScope, List<ListenerHolder>>(holdersByTarget);
         for (TargetScope targetScope : holder.targets) {
@@ -122,9 +190,132 @@ public class NamingEventCoordinator {
      * @param scopes The scopes this event should be fired against
      */
     void fireEvent(final EventContext context, final Name name, final Binding existingBinding, final Binding newBinding, int type, final String changeInfo, final Integer... scopes) {
+        final EventBatch batch = createEventBatch();
+        batch.fireEvent(context, name, existingBinding, newBinding, type, changeInfo, scopes);
+        batch.close();
+    }
+
+    /**
+     * Create a batch of naming events.
+     *
+     * @return a new event batch
+     */
+    EventBatch createEventBatch() {
+        return new EventBatch();
+    }
+
+    /**
+     * Collects the naming events fired by a naming store operation, so that they can be queued for their listeners once the operation
+     * has released any locks.  Events are queued in the order in which they were fired, once the batch is closed.
+     */
+    class EventBatch {
+        private final List<FiredEvent> events = new ArrayList<FiredEvent>();
+
+        /**
+         * Fire a naming event, once this batch is closed.
+         *
+         * @see NamingEventCoordinator#fireEvent(EventContext, Name, Binding, Binding, int, String, Integer...)
+         */
+        void fireEvent(final EventContext context, final Name name, final Binding existingBinding, final Binding newBinding, int type, final String changeInfo, final Integer... scopes) {
+            final Set<ListenerHolder> holdersToFire = getListenerHolders(name, scopes);
+            if (!holdersToFire.isEmpty()) {
+                this.events.add(new FiredEvent(holdersToFire, name.toString(), new NamingEvent(context, type, newBinding, existingBinding, changeInfo)));
+            }
+        }
+
+        /**
+         * Queue the events fired via this batch for their listeners.
+         */
+        void close() {
+            for (FiredEvent fired : this.events) {
+                for (ListenerHolder holder : fired.holders) {
+                    holder.queue(fired.target, fired.event);
+                }
+            }
+            this.events.clear();
+        }
+    }
+
+    /**
+     * Returns the number of events queued for the listeners of this coordinator.
+     *
+     * @return a number of events
+     */
+    public int getQueuedEventCount() {
+        return this.queuedEvents.get();
+    }
+
+    /**
+     * Returns the number of events, fired via any coordinator, that were coalesced into a previously queued event for the same name.
+     *
+     * @return a number of events
+     */
+    public static long getCoalescedEventCount() {
+        return COALESCED_EVENTS.sum();
+    }
+
+    /**
+     * Returns the number of events, fired via any coordinator, whose firing thread had to wait for queue capacity.
+     *
+     * @return a number of events
+     */
+    public static long getDelayedEventCount() {
+        return DELAYED_EVENTS.sum();
+    }
+
+    /**
+     * Returns the number of events, fired via any coordinator, that were queued beyond the capacity of their coordinator,
+     * since listeners did not catch up in time.
+     *
+     * @return a number of events
+     */
+    public static long getOverflowedEventCount() {
+        return OVERFLOWED_EVENTS.sum();
+    }
+
+    /**
+     * Close this coordinator.  Removes all listeners, discarding their undispatched events, and stops the threads passing events to listeners.
+     */
+    public synchronized void close() {
+        for (ListenerHolder holder : holdersByListener.values()) {
+            holder.remove();
+        }
+        holdersByListener = Collections.emptyMap();
+        holdersByTarget = Collections.emptyMap();
+        executor.shutdown();
+    }
+
+    /**
+     * Acquire queue capacity for an event, waiting for listeners to catch up if necessary.
+     *
+     * @return true, if capacity was acquired, false if the event must be queued beyond the capacity of this coordinator
+     */
+    private boolean acquirePermit() {
+        if (this.permits.tryAcquire()) {
+            return true;
+        }
+        // Listeners firing events must not wait for themselves, and once a wait timed out, waiting again is pointless until listeners catch up
+        if ((DISPATCHING.get() == null) && !this.overflowing) {
+            DELAYED_EVENTS.increment();
+            try {
+                if (this.permits.tryAcquire(this.capacityTimeout, TimeUnit.NANOSECONDS)) {
+                    return true;
+                }
+                if (!this.overflowing) {
+                    this.overflowing = true;
+                    NamingLogger.ROOT_LOGGER.namingEventQueueFull(this.capacity);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        OVERFLOWED_EVENTS.increment();
+        return false;
+    }
+
+    private Set<ListenerHolder> getListenerHolders(final Name name, final Integer... scopes) {
         final String target = name.toString();
         final Set<Integer> scopeSet = new HashSet<Integer>(Arrays.asList(scopes));
-        final NamingEvent event = new NamingEvent(context, type, newBinding, existingBinding, changeInfo);
 
         final Set<ListenerHolder> holdersToFire = new HashSet<ListenerHolder>();
 
@@ -163,49 +354,63 @@ public class NamingEventCoordinator {
                 }
             }
         }
-
-        executor.execute(new FireEventTask(holdersToFire, event));
+        return holdersToFire;
     }
 
-    private class FireEventTask implements Runnable {
-        private final Set<ListenerHolder> listenerHolders;
+    private static class FiredEvent {
+        private final Set<ListenerHolder> holders;
+        private final String target;
         private final NamingEvent event;
 
-        private FireEventTask(Set<ListenerHolder> listenerHolders, NamingEvent event) {
-            this.listenerHolders = listenerHolders;
+        private FiredEvent(Set<ListenerHolder> holders, String target, NamingEvent event) {
+            this.holders = holders;
+            this.target = target;
             this.event = event;
         }
+    }
 
-        @Override
-        public void run() {
-            for (ListenerHolder holder : listenerHolders) {
-                final NamingListener listener = holder.listener;
-                switch (event.getType()) {
-                    case NamingEvent.OBJECT_ADDED:
-                        if (listener instanceof NamespaceChangeListener)
-                            ((NamespaceChangeListener) listener).objectAdded(event);
-                        break;
-                    case NamingEvent.OBJECT_REMOVED:
-                        if (listener instanceof NamespaceChangeListener)
-                            ((NamespaceChangeListener) listener).objectRemoved(event);
-                        break;
-                    case NamingEvent.OBJECT_RENAMED:
-                        if (listener instanceof NamespaceChangeListener)
-                            ((NamespaceChangeListener) listener).objectRenamed(event);
-                        break;
-                    case NamingEvent.OBJECT_CHANGED:
-                        if (listener instanceof ObjectChangeListener)
-                            ((ObjectChangeListener) listener).objectChanged(event);
-                        break;
-                }
+    private static class QueuedEvent {
+        private final String target;
+        private final boolean permit;
+        private NamingEvent event;
+
+        private QueuedEvent(String target, NamingEvent event, boolean permit) {
+            this.target = target;
+            this.event = event;
+            this.permit = permit;
+        }
+
+        /**
+         * Coalesce a subsequent event for the same name into this event, if the listener would observe the same outcome.
+         *
+         * @return true, if the event was coalesced, false otherwise
+         */
+        boolean coalesce(NamingEvent next) {
+            if (next.getType() != NamingEvent.OBJECT_CHANGED) {
+                return false;
+            }
+            switch (this.event.getType()) {
+                case NamingEvent.OBJECT_ADDED:
+                case NamingEvent.OBJECT_CHANGED:
+                    this.event = new NamingEvent(next.getEventContext(), this.event.getType(), next.getNewBinding(), this.event.getOldBinding(), next.getChangeInfo());
+                    return true;
+                default:
+                    return false;
             }
         }
     }
 
-    private class ListenerHolder {
+    private class ListenerHolder implements Runnable {
         private volatile Set<TargetScope> targets = new HashSet<TargetScope>();
         private final NamingListener listener;
 
+        // Guarded by this
+        private final Queue<QueuedEvent> queue = new ArrayDeque<QueuedEvent>();
+        // The last queued event, by target name, guarded by this
+        private final Map<String, QueuedEvent> lastQueuedEvents = new HashMap<String, QueuedEvent>();
+        private boolean scheduled = false;
+        private boolean removed = false;
+
         private ListenerHolder(final NamingListener listener, final TargetScope initialTarget) {
             this.listener = listener;
             addTarget(initialTarget);
@@ -214,6 +419,113 @@ public class NamingEventCoordinator {
         private synchronized void addTarget(final TargetScope targetScope) {
             targets.add(targetScope);
         }
+
+        private void queue(final String target, final NamingEvent event) {
+            synchronized (this) {
+                if (this.removed) {
+                    return;
+                }
+                final QueuedEvent last = this.lastQueuedEvents.get(target);
+                if (last != null && last.coalesce(event)) {
+                    COALESCED_EVENTS.increment();
+                    return;
+                }
+            }
+            final boolean permit = acquirePermit();
+            final boolean schedule;
+            synchronized (this) {
+                if (this.removed) {
+                    if (permit) {
+                        permits.release();
+                    }
+                    return;
+                } else {
+                    final QueuedEvent queued = new QueuedEvent(target, event, permit);
+                    this.queue.add(queued);
+                    this.lastQueuedEvents.put(target, queued);
+                    queuedEvents.incrementAndGet();
+                    schedule = !this.scheduled;
+                    this.scheduled = true;
+                }
+            }
+            if (schedule) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // Coordinator was closed concurrently, which removed this listener
+                }
+            }
+        }
+
+        private void remove() {
+            synchronized (this) {
+                this.removed = true;
+                QueuedEvent queued = this.queue.poll();
+                while (queued != null) {
+                    this.dequeued(queued);
+                    queued = this.queue.poll();
+                }
+                this.lastQueuedEvents.clear();
+            }
+        }
+
+        private void dequeued(final QueuedEvent queued) {
+            if (queuedEvents.decrementAndGet() == 0) {
+                overflowing = false;
+            }
+            if (queued.permit) {
+                permits.release();
+            }
+        }
+
+        @Override
+        public void run() {
+            DISPATCHING.set(Boolean.TRUE);
+            try {
+                for (;;) {
+                    final NamingEvent event;
+                    synchronized (this) {
+                        final QueuedEvent queued = this.queue.poll();
+                        if (queued == null) {
+                            this.scheduled = false;
+                            return;
+                        }
+                        this.lastQueuedEvents.remove(queued.target, queued);
+                        this.dequeued(queued);
+                        event = queued.event;
+                    }
+                    try {
+                        this.dispatch(event);
+                    } catch (Throwable e) {
+                        NamingLogger.ROOT_LOGGER.failedToNotifyNamingListener(e, this.listener, event);
+                    }
+                }
+            } finally {
+                DISPATCHING.remove();
+            }
+        }
+
+        private void dispatch(final NamingEvent event) {
+            final NamingListener listener = this.listener;
+            switch (event.getType()) {
+                case NamingEvent.OBJECT_ADDED:
+                    if (listener instanceof NamespaceChangeListener)
+                        ((NamespaceChangeListener) listener).objectAdded(event);
+                    break;
+                case NamingEvent.OBJECT_REMOVED:
+                    if (listener instanceof NamespaceChangeListener)
+                        ((NamespaceChangeListener) listener).objectRemoved(event);
+                    break;
+                case NamingEvent.OBJECT_RENAMED:
+                    if (listener instanceof NamespaceChangeListener)
+                        ((NamespaceChangeListener) listener).objectRenamed(event);
+                    break;
+                case NamingEvent.OBJECT_CHANGED:
+                    if (listener instanceof ObjectChangeListener)
+                        ((ObjectChangeListener) listener).objectChanged(event);
+                    break;
+            }
+        }
     }
 
     private class TargetScope {
@@ -12,8 +12,11 @@ import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.NavigableSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.naming.Binding;
 import javax.naming.CannotProceedException;
@@ -47,6 +50,14 @@ public class ServiceBasedNamingStore implements NamingStore {
     private final ServiceName serviceNameBase;
 
     private ConcurrentSkipListSet<ServiceName> boundServices = new ConcurrentSkipListSet<ServiceName>();
+    // The service resolved by previous lookups, by lookup name.
+    // Only lookups resolving a service of the exact name are cached, since these take precedence over any parent or child binding.
+    private final Map<String, ServiceController<?>> resolvedServices = new ConcurrentHashMap<>();
+    // The lookup name of each resolved service, by service name, so that removing a binding need not scan the resolved services
+    private final Map<ServiceName, String> resolvedNames = new ConcurrentHashMap<>();
+    // Shared by every service based naming store, including those of deployments
+    private static final LongAdder LOOKUPS = new LongAdder();
+    private static final LongAdder CACHED_LOOKUPS = new LongAdder();
 
     public ServiceBasedNamingStore(final ServiceRegistry serviceRegistry, final ServiceName serviceNameBase) {
         this.serviceRegistry = serviceRegistry;
@@ -62,13 +73,30 @@ public class ServiceBasedNamingStore implements NamingStore {
         if (name.isEmpty()) {
             return new NamingContext(EMPTY_NAME, this, null);
         }
+        LOOKUPS.increment();
+        final String nameString = name.toString();
+        final ServiceController<?> resolved = resolvedServices.get(nameString);
+        if (resolved != null) {
+            if (resolved.getState() != ServiceController.State.REMOVED) {
+                final Object obj = getValue(nameString, resolved, dereference);
+                if (obj != null) {
+                    CACHED_LOOKUPS.increment();
+                    return obj;
+                }
+            }
+            resolvedServices.remove(nameString, resolved);
+        }
         final ServiceName lookupName = buildServiceName(name);
-        Object obj = lookup(name.toString(), lookupName, dereference);
-        if (obj == null) {
+        final ServiceController<?> controller = serviceRegistry.getService(lookupName);
+        Object obj = (controller != null) ? getValue(nameString, controller, dereference) : null;
+        if (obj != null) {
+            resolvedServices.put(nameString, controller);
+            resolvedNames.put(lookupName, nameString);
+        } else {
             final ServiceName lower = boundServices.lower(lookupName);
             if (lower != null && lower.isParentOf(lookupName)) {
                 // Parent might be a reference or a link
-                obj = lookup(name.toString(), lower, dereference);
+                obj = lookup(nameString, lower, dereference);
                 //if the lower is a context that has been explicitly bound then
                 //we do not return a resolve result, as this will result in an
                 //infinite loop
@@ -86,7 +114,7 @@ public class ServiceBasedNamingStore implements NamingStore {
                 }
                 return new NamingContext((Name) name.clone(), this, null);
             }
-            throw new NameNotFoundException(name.toString() + " -- " + lookupName);
+            throw new NameNotFoundException(nameString + " -- " + lookupName);
         }
 
         return obj;
@@ -107,29 +135,29 @@ public class ServiceBasedNamingStore implements NamingStore {
     }
 
     private Object lookup(final String name, final ServiceName lookupName, boolean dereference) throws NamingException {
+        final ServiceController<?> controller = serviceRegistry.getService(lookupName);
+        return (controller != null) ? getValue(name, controller, dereference) : null;
+    }
+
+    private static Object getValue(final String name, final ServiceController<?> controller, boolean dereference) throws NamingException {
         try {
-            final ServiceController<?> controller = serviceRegistry.getService(lookupName);
-            if (controller != null) {
-                final Object object = controller.getValue();
-                if (dereference && object instanceof ManagedReferenceFactory) {
-                    if(WildFlySecurityManager.isChecking()) {
-                        //WFLY-3487 JNDI lookups should be executed in a clean access control context
-                        return AccessController.doPrivileged(new PrivilegedAction<Object>() {
-                            @Override
-                            public Object run() {
-                                final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
-                                return managedReference != null ? managedReference.getInstance() : null;
-                            }
-                        });
-                    } else {
-                        final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
-                        return managedReference != null ? managedReference.getInstance() : null;
-                    }
+            final Object object = controller.getValue();
+            if (dereference && object instanceof ManagedReferenceFactory) {
+                if(WildFlySecurityManager.isChecking()) {
+                    //WFLY-3487 JNDI lookups should be executed in a clean access control context
+                    return AccessController.doPrivileged(new PrivilegedAction<Object>() {
+                        @Override
+                        public Object run() {
+                            final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
+                            return managedReference != null ? managedReference.getInstance() : null;
+                        }
+                    });
                 } else {
-                    return object;
+                    final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
+                    return managedReference != null ? managedReference.getInstance() : null;
                 }
             } else {
-                return null;
+                return object;
             }
         } catch (IllegalStateException e) {
             NameNotFoundException n = new NameNotFoundException(name);
@@ -240,6 +268,8 @@ public class ServiceBasedNamingStore implements NamingStore {
 
     public void close() throws NamingException {
         boundServices.clear();
+        resolvedServices.clear();
+        resolvedNames.clear();
     }
 
     public void addNamingListener(Name target, int scope, NamingListener listener) {
@@ -258,6 +288,26 @@ public class ServiceBasedNamingStore implements NamingStore {
 
     public void remove(final ServiceName serviceName) {
         boundServices.remove(serviceName);
+        final String name = resolvedNames.remove(serviceName);
+        if (name != null) {
+            resolvedServices.remove(name);
+        }
+    }
+
+    /**
+     * Returns the number of lookups performed by all service based naming stores.
+     * @return a number of lookups
+     */
+    public static long getLookupCount() {
+        return LOOKUPS.sum();
+    }
+
+    /**
+     * Returns the number of lookups, performed by all service based naming stores, that were resolved from a cache.
+     * @return a number of lookups
+     */
+    public static long getCachedLookupCount() {
+        return CACHED_LOOKUPS.sum();
     }
 
     protected ServiceName buildServiceName(final Name name) {
@@ -5,6 +5,8 @@
 
 package org.jboss.as.naming;
 
+import java.util.Map;
+
 import javax.naming.Context;
 import javax.naming.Name;
 import javax.naming.NamingException;
@@ -36,6 +38,20 @@ public interface WritableNamingStore extends NamingStore {
      */
     void bind(Name name, Object object, Class<?> bindType) throws NamingException;
 
+    /**
+     * Bind the specified objects into the naming store, as if by {@link #bind(Name, Object)}.  Stores that can bind a batch
+     * of objects more cheaply than one at a time, or atomically, may override this method; by default the objects are bound
+     * one at a time, in iteration order.
+     *
+     * @param bindings The entry objects, by entry name
+     * @throws NamingException If any problems occur
+     */
+    default void bindAll(Map<Name, Object> bindings) throws NamingException {
+        for (Map.Entry<Name, Object> entry : bindings.entrySet()) {
+            this.bind(entry.getKey(), entry.getValue());
+        }
+    }
+
     /**
      * Re-bind and object into the naming store.  All parent contexts must be created before this can be executed.
      * The bind object type will be determined by the class of the object being passed in.
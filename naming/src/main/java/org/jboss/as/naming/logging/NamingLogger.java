@@ -18,6 +18,8 @@ import javax.naming.Name;
 import javax.naming.NameNotFoundException;
 import javax.naming.NamingException;
 import javax.naming.OperationNotSupportedException;
+import javax.naming.event.NamingEvent;
+import javax.naming.event.NamingListener;
 import javax.naming.spi.ObjectFactory;
 
 import org.jboss.as.controller.OperationFailedException;
@@ -586,4 +588,12 @@ public interface NamingLogger extends BasicLogger {
 
     @Message(id = 67, value = "Failed to stop remote naming service")
     IllegalStateException failedToStopRemoteNamingService(@Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 68, value = "Naming listener %s failed to handle event %s")
+    void failedToNotifyNamingListener(@Cause Throwable cause, NamingListener listener, NamingEvent event);
+
+    @LogMessage(level = WARN)
+    @Message(id = 69, value = "Naming event queue of %d events is full, queuing events without waiting for naming listeners until they catch up")
+    void namingEventQueueFull(int capacity);
 }
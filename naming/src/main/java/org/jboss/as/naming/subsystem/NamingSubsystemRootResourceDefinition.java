@@ -6,17 +6,25 @@
 package org.jboss.as.naming.subsystem;
 
 import java.util.EnumSet;
+import java.util.function.LongSupplier;
 
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleOperationDefinition;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.naming.NamingEventCoordinator;
 import org.jboss.as.naming.NamingStore;
+import org.jboss.as.naming.ServiceBasedNamingStore;
 import org.jboss.as.naming.management.JndiViewOperation;
 import org.jboss.as.naming.service.NamingService;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
 /**
@@ -48,12 +56,48 @@ public class NamingSubsystemRootResourceDefinition extends SimpleResourceDefinit
             .setReplyValueType(ModelType.STRING)
             .build();
 
+    static final AttributeDefinition LOOKUP_COUNT = new SimpleAttributeDefinitionBuilder("lookup-count", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setStorageRuntime()
+            .build();
+
+    static final AttributeDefinition CACHED_LOOKUP_COUNT = new SimpleAttributeDefinitionBuilder("cached-lookup-count", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setStorageRuntime()
+            .build();
+
+    static final AttributeDefinition COALESCED_EVENT_COUNT = new SimpleAttributeDefinitionBuilder("coalesced-event-count", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setStorageRuntime()
+            .build();
+
+    static final AttributeDefinition DELAYED_EVENT_COUNT = new SimpleAttributeDefinitionBuilder("delayed-event-count", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setStorageRuntime()
+            .build();
+
+    static final AttributeDefinition OVERFLOWED_EVENT_COUNT = new SimpleAttributeDefinitionBuilder("overflowed-event-count", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setStorageRuntime()
+            .build();
+
     NamingSubsystemRootResourceDefinition() {
         super(PathElement.pathElement(ModelDescriptionConstants.SUBSYSTEM, NamingExtension.SUBSYSTEM_NAME),
                 NamingExtension.getResourceDescriptionResolver(NamingExtension.SUBSYSTEM_NAME),
                 new NamingSubsystemAdd(), new NamingSubsystemRemove());
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration registration) {
+        super.registerAttributes(registration);
+
+        registration.registerMetric(LOOKUP_COUNT, new NamingStoreMetricHandler(ServiceBasedNamingStore::getLookupCount));
+        registration.registerMetric(CACHED_LOOKUP_COUNT, new NamingStoreMetricHandler(ServiceBasedNamingStore::getCachedLookupCount));
+        registration.registerMetric(COALESCED_EVENT_COUNT, new NamingStoreMetricHandler(NamingEventCoordinator::getCoalescedEventCount));
+        registration.registerMetric(DELAYED_EVENT_COUNT, new NamingStoreMetricHandler(NamingEventCoordinator::getDelayedEventCount));
+        registration.registerMetric(OVERFLOWED_EVENT_COUNT, new NamingStoreMetricHandler(NamingEventCoordinator::getOverflowedEventCount));
+    }
+
     @Override
     public void registerCapabilities(ManagementResourceRegistration registration) {
         super.registerCapabilities(registration);
@@ -63,4 +107,20 @@ public class NamingSubsystemRootResourceDefinition extends SimpleResourceDefinit
             registration.registerCapability(definition);
         }
     }
+
+    /**
+     * Reports a metric shared by all service based naming stores, or by all naming event coordinators.
+     */
+    private static class NamingStoreMetricHandler extends AbstractRuntimeOnlyHandler {
+        private final LongSupplier metric;
+
+        NamingStoreMetricHandler(LongSupplier metric) {
+            this.metric = metric;
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) {
+            context.getResult().set(this.metric.getAsLong());
+        }
+    }
 }
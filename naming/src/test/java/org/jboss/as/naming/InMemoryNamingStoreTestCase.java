@@ -14,13 +14,16 @@ import javax.naming.CompositeName;
 import javax.naming.Context;
 import javax.naming.InvalidNameException;
 import javax.naming.Name;
+import javax.naming.NameAlreadyBoundException;
 import javax.naming.NameClassPair;
 import javax.naming.NameNotFoundException;
 import javax.naming.Reference;
 import javax.naming.spi.ResolveResult;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
@@ -248,4 +251,65 @@ public class InMemoryNamingStoreTestCase {
             fail("Should have throw name not found exception");
         } catch (NameNotFoundException expected){}
     }
+
+    @Test
+    public void testBindAll() throws Exception {
+        final Map<Name, Object> bindings = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            bindings.put(new CompositeName("test/item" + i), i);
+            bindings.put(new CompositeName("test/nested/item" + i), i);
+        }
+        bindings.put(new CompositeName("other"), "other");
+        nameStore.bindAll(bindings);
+
+        for (Map.Entry<Name, Object> entry : bindings.entrySet()) {
+            assertEquals(entry.getValue(), nameStore.lookup(entry.getKey()));
+        }
+        assertEquals(101, nameStore.list(new CompositeName("test")).size());
+    }
+
+    @Test
+    public void testBindAllAlreadyBound() throws Exception {
+        nameStore.bind(new CompositeName("test/bound"), new Object());
+
+        final Map<Name, Object> bindings = new LinkedHashMap<>();
+        bindings.put(new CompositeName("other/item"), new Object());
+        bindings.put(new CompositeName("test/item"), new Object());
+        bindings.put(new CompositeName("test/bound"), new Object());
+        try {
+            nameStore.bindAll(bindings);
+            fail("Should have thrown a NameAlreadyBoundException");
+        } catch (NameAlreadyBoundException expected) {
+        }
+        // None of the bindings were applied
+        for (Name name : Arrays.asList(new CompositeName("other/item"), new CompositeName("test/item"))) {
+            try {
+                nameStore.lookup(name);
+                fail("Should have thrown a NameNotFoundException");
+            } catch (NameNotFoundException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void testBindAllIntoExistingContext() throws Exception {
+        nameStore.bind(new CompositeName("test/nested/item"), new Object());
+
+        final Map<Name, Object> bindings = new LinkedHashMap<>();
+        bindings.put(new CompositeName("test/item"), "item");
+        bindings.put(new CompositeName("test/other/item"), "other");
+        nameStore.bindAll(bindings);
+
+        assertEquals("item", nameStore.lookup(new CompositeName("test/item")));
+        assertEquals("other", nameStore.lookup(new CompositeName("test/other/item")));
+
+        // Contexts beneath the copied context still prune themselves from the published copy
+        nameStore.unbind(new CompositeName("test/nested/item"));
+        try {
+            nameStore.lookup(new CompositeName("test/nested"));
+            fail("Should have throw name not found exception");
+        } catch (NameNotFoundException expected) {
+        }
+        assertEquals(2, nameStore.list(new CompositeName("test")).size());
+    }
 }
@@ -75,6 +75,21 @@ public class NamingContextTestCase {
         assertEquals(object, result);
     }
 
+    @Test
+    public void testLookupString() throws Exception {
+        final Object object = new Object();
+        namingStore.bind(new CompositeName("test/string"), object);
+        final Object other = new Object();
+        namingStore.bind(new CompositeName("other/test/string"), other);
+
+        // Names parsed by a previous lookup are reused, but never modified
+        assertEquals(object, namingContext.lookup("test/string"));
+        assertEquals(object, namingContext.lookup("test/string"));
+        final Context context = (Context) namingContext.lookup("other");
+        assertEquals(other, context.lookup("test/string"));
+        assertEquals(object, namingContext.lookup("test/string"));
+    }
+
     @Test
     public void testLookupReference() throws Exception {
         final Name name = new CompositeName("test");
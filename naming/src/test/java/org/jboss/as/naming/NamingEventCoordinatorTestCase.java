@@ -5,9 +5,11 @@
 
 package org.jboss.as.naming;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import javax.naming.Binding;
 import javax.naming.CompositeName;
 import javax.naming.event.EventContext;
 import javax.naming.event.NamespaceChangeListener;
@@ -15,6 +17,7 @@ import javax.naming.event.NamingEvent;
 import javax.naming.event.NamingExceptionEvent;
 import javax.naming.event.ObjectChangeListener;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -30,6 +33,7 @@ import static org.junit.Assert.assertTrue;
 public class NamingEventCoordinatorTestCase {
 
     private NamingContext context;
+    private NamingEventCoordinator coordinator;
 
     @Before
     public void setup() throws Exception {
@@ -37,9 +41,16 @@ public class NamingEventCoordinatorTestCase {
         context = new NamingContext(null);
     }
 
+    @After
+    public void cleanup() {
+        if (coordinator != null) {
+            coordinator.close();
+        }
+    }
+
     @Test
     public void testFireObjectEvent() throws Exception {
-        final NamingEventCoordinator coordinator = new NamingEventCoordinator();
+        coordinator = new NamingEventCoordinator();
 
         final CollectingListener objectListener = new CollectingListener(1);
         coordinator.addListener("test/path", EventContext.OBJECT_SCOPE, objectListener);
@@ -59,7 +70,7 @@ public class NamingEventCoordinatorTestCase {
 
     @Test
     public void testFireSubTreeEvent() throws Exception {
-        final NamingEventCoordinator coordinator = new NamingEventCoordinator();
+        coordinator = new NamingEventCoordinator();
 
         final CollectingListener objectListener = new CollectingListener(0);
         coordinator.addListener("test/path", EventContext.OBJECT_SCOPE, objectListener);
@@ -79,7 +90,7 @@ public class NamingEventCoordinatorTestCase {
 
     @Test
     public void testFireOneLevelEvent() throws Exception {
-        final NamingEventCoordinator coordinator = new NamingEventCoordinator();
+        coordinator = new NamingEventCoordinator();
 
         final CollectingListener objectListener = new CollectingListener(0);
         coordinator.addListener("test/path", EventContext.OBJECT_SCOPE, objectListener);
@@ -99,7 +110,7 @@ public class NamingEventCoordinatorTestCase {
 
     @Test
     public void testFireAllEvent() throws Exception {
-        final NamingEventCoordinator coordinator = new NamingEventCoordinator();
+        coordinator = new NamingEventCoordinator();
 
         final CollectingListener objectListener = new CollectingListener(1);
         coordinator.addListener("test/path", EventContext.OBJECT_SCOPE, objectListener);
@@ -122,7 +133,7 @@ public class NamingEventCoordinatorTestCase {
 
     @Test
     public void testFireMultiLevelEvent() throws Exception {
-        final NamingEventCoordinator coordinator = new NamingEventCoordinator();
+        coordinator = new NamingEventCoordinator();
 
         final CollectingListener subtreeListener = new CollectingListener(1);
         coordinator.addListener("foo", EventContext.SUBTREE_SCOPE, subtreeListener);
@@ -144,6 +155,177 @@ public class NamingEventCoordinatorTestCase {
         assertEquals(1, subtreeListenerThree.capturedEvents.size());
     }
 
+    @Test
+    public void testSlowListener() throws Exception {
+        coordinator = new NamingEventCoordinator(2, 100);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final BlockingListener slowListener = new BlockingListener(release, 2);
+        coordinator.addListener("test", EventContext.ONELEVEL_SCOPE, slowListener);
+        final CollectingListener listener = new CollectingListener(2);
+        coordinator.addListener("test", EventContext.ONELEVEL_SCOPE, listener);
+
+        coordinator.fireEvent(context, new CompositeName("test/one"), null, null, NamingEvent.OBJECT_ADDED, "one", EventContext.ONELEVEL_SCOPE);
+        coordinator.fireEvent(context, new CompositeName("test/two"), null, null, NamingEvent.OBJECT_ADDED, "two", EventContext.ONELEVEL_SCOPE);
+
+        // Other listeners are notified while the slow listener is still handling its first event
+        assertTrue(slowListener.started.await(5, TimeUnit.SECONDS));
+        assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+        assertEquals(2, listener.capturedEvents.size());
+        assertTrue(slowListener.capturedEvents.isEmpty());
+
+        release.countDown();
+        assertTrue(slowListener.latch.await(5, TimeUnit.SECONDS));
+        // Each listener receives its events in order
+        assertEquals("one", slowListener.capturedEvents.get(0).getChangeInfo());
+        assertEquals("two", slowListener.capturedEvents.get(1).getChangeInfo());
+    }
+
+    @Test
+    public void testCoalesceEvents() throws Exception {
+        coordinator = new NamingEventCoordinator(1, 100);
+        final long coalesced = NamingEventCoordinator.getCoalescedEventCount();
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final BlockingListener listener = new BlockingListener(release, 3);
+        coordinator.addListener("test/path", EventContext.OBJECT_SCOPE, listener);
+
+        coordinator.fireEvent(context, new CompositeName("test/path"), null, new Binding("path", 0), NamingEvent.OBJECT_ADDED, "bind", EventContext.OBJECT_SCOPE);
+        // The first event is being dispatched, so the following changes are queued, then coalesced
+        assertTrue(listener.started.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 3; i++) {
+            coordinator.fireEvent(context, new CompositeName("test/path"), new Binding("path", i - 1), new Binding("path", i), NamingEvent.OBJECT_CHANGED, "rebind", EventContext.OBJECT_SCOPE);
+        }
+        // Removal is never coalesced, and is dispatched after any preceding events
+        coordinator.fireEvent(context, new CompositeName("test/path"), new Binding("path", 3), null, NamingEvent.OBJECT_REMOVED, "unbind", EventContext.OBJECT_SCOPE);
+        release.countDown();
+
+        assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+        assertEquals(3, listener.capturedEvents.size());
+        final NamingEvent changed = listener.capturedEvents.get(1);
+        assertEquals(NamingEvent.OBJECT_CHANGED, changed.getType());
+        assertEquals(3, changed.getNewBinding().getObject());
+        assertEquals(0, changed.getOldBinding().getObject());
+        assertEquals(NamingEvent.OBJECT_REMOVED, listener.capturedEvents.get(2).getType());
+        assertEquals(2, NamingEventCoordinator.getCoalescedEventCount() - coalesced);
+    }
+
+    @Test
+    public void testOverflow() throws Exception {
+        final long timeout = TimeUnit.MILLISECONDS.toNanos(500);
+        coordinator = new NamingEventCoordinator(2, 1, timeout);
+        final long delayed = NamingEventCoordinator.getDelayedEventCount();
+        final long overflowed = NamingEventCoordinator.getOverflowedEventCount();
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final BlockingListener listener = new BlockingListener(release, 4);
+        coordinator.addListener("test", EventContext.ONELEVEL_SCOPE, listener);
+
+        coordinator.fireEvent(context, new CompositeName("test/one"), null, null, NamingEvent.OBJECT_ADDED, "one", EventContext.ONELEVEL_SCOPE);
+        assertTrue(listener.started.await(5, TimeUnit.SECONDS));
+        // Fills the queue
+        coordinator.fireEvent(context, new CompositeName("test/two"), null, null, NamingEvent.OBJECT_ADDED, "two", EventContext.ONELEVEL_SCOPE);
+
+        // Waits for capacity, until timed out
+        long start = System.nanoTime();
+        coordinator.fireEvent(context, new CompositeName("test/three"), null, null, NamingEvent.OBJECT_ADDED, "three", EventContext.ONELEVEL_SCOPE);
+        assertTrue(System.nanoTime() - start >= timeout);
+
+        // Subsequent events are queued without waiting, until the queue drains
+        start = System.nanoTime();
+        coordinator.fireEvent(context, new CompositeName("test/four"), null, null, NamingEvent.OBJECT_ADDED, "four", EventContext.ONELEVEL_SCOPE);
+        assertTrue(System.nanoTime() - start < timeout);
+
+        release.countDown();
+        assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+        assertEquals(4, listener.capturedEvents.size());
+
+        final CountDownLatch otherRelease = new CountDownLatch(1);
+        final BlockingListener otherListener = new BlockingListener(otherRelease, 3);
+        coordinator.addListener("other", EventContext.ONELEVEL_SCOPE, otherListener);
+
+        coordinator.fireEvent(context, new CompositeName("other/one"), null, null, NamingEvent.OBJECT_ADDED, "one", EventContext.ONELEVEL_SCOPE);
+        assertTrue(otherListener.started.await(5, TimeUnit.SECONDS));
+        coordinator.fireEvent(context, new CompositeName("other/two"), null, null, NamingEvent.OBJECT_ADDED, "two", EventContext.ONELEVEL_SCOPE);
+
+        // Queue drained, so firing threads wait for capacity again
+        start = System.nanoTime();
+        coordinator.fireEvent(context, new CompositeName("other/three"), null, null, NamingEvent.OBJECT_ADDED, "three", EventContext.ONELEVEL_SCOPE);
+        assertTrue(System.nanoTime() - start >= timeout);
+
+        otherRelease.countDown();
+        assertTrue(otherListener.latch.await(5, TimeUnit.SECONDS));
+        assertEquals(2, NamingEventCoordinator.getDelayedEventCount() - delayed);
+        assertEquals(3, NamingEventCoordinator.getOverflowedEventCount() - overflowed);
+    }
+
+    @Test
+    public void testCloseStore() throws Exception {
+        coordinator = new NamingEventCoordinator(1, 100);
+        final InMemoryNamingStore store = new InMemoryNamingStore(coordinator);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final BlockingListener listener = new BlockingListener(release, 1);
+        store.addNamingListener(new CompositeName("test"), EventContext.ONELEVEL_SCOPE, listener);
+
+        store.bind(new CompositeName("test/one"), new Object());
+        assertTrue(listener.started.await(5, TimeUnit.SECONDS));
+        store.bind(new CompositeName("test/two"), new Object());
+        assertEquals(1, coordinator.getQueuedEventCount());
+
+        // Closing the store closes its coordinator, which discards undispatched events
+        store.close();
+        assertEquals(0, coordinator.getQueuedEventCount());
+        release.countDown();
+    }
+
+    private class BlockingListener implements NamespaceChangeListener, ObjectChangeListener {
+        private final List<NamingEvent> capturedEvents = Collections.synchronizedList(new ArrayList<NamingEvent>());
+        private final CountDownLatch release;
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch latch;
+
+        BlockingListener(CountDownLatch release, int expectedEvents) {
+            this.release = release;
+            this.latch = new CountDownLatch(expectedEvents);
+        }
+
+        @Override
+        public void objectAdded(NamingEvent evt) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            captured(evt);
+        }
+
+        @Override
+        public void objectChanged(NamingEvent evt) {
+            captured(evt);
+        }
+
+        @Override
+        public void objectRemoved(NamingEvent evt) {
+            captured(evt);
+        }
+
+        @Override
+        public void objectRenamed(NamingEvent evt) {
+            captured(evt);
+        }
+
+        private void captured(final NamingEvent event) {
+            capturedEvents.add(event);
+            latch.countDown();
+        }
+
+        @Override
+        public void namingExceptionThrown(NamingExceptionEvent evt) {
+        }
+    }
+
     private class CollectingListener implements ObjectChangeListener, NamespaceChangeListener {
         private final List<NamingEvent> capturedEvents = new ArrayList<NamingEvent>();
 
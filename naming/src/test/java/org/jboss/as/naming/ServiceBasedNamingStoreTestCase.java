@@ -14,12 +14,16 @@ import javax.naming.CompositeName;
 import javax.naming.Context;
 import javax.naming.Name;
 import javax.naming.NameClassPair;
+import javax.naming.NameNotFoundException;
 import javax.naming.NameParser;
 import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
 
+import org.jboss.msc.service.LifecycleEvent;
+import org.jboss.msc.service.LifecycleListener;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
@@ -80,6 +84,43 @@ public class ServiceBasedNamingStoreTestCase {
         assertEquals(value, obj);
     }
 
+    @Test
+    public void testCachedLookup() throws Exception {
+        final ServiceName bindingName = ServiceName.JBOSS.append("foo", "cached");
+        final Object value = new Object();
+        bindObject(bindingName, value);
+
+        // Counters are shared by all stores
+        final long lookups = ServiceBasedNamingStore.getLookupCount();
+        final long cachedLookups = ServiceBasedNamingStore.getCachedLookupCount();
+        assertEquals(value, store.lookup(new CompositeName("foo/cached")));
+        assertEquals(lookups + 1, ServiceBasedNamingStore.getLookupCount());
+        assertEquals(cachedLookups, ServiceBasedNamingStore.getCachedLookupCount());
+        assertEquals(value, store.lookup(new CompositeName("foo/cached")));
+        assertEquals(lookups + 2, ServiceBasedNamingStore.getLookupCount());
+        assertEquals(cachedLookups + 1, ServiceBasedNamingStore.getCachedLookupCount());
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final ServiceController<?> controller = container.getRequiredService(bindingName);
+        controller.addListener(new LifecycleListener() {
+            @Override
+            public void handleEvent(ServiceController<?> controller, LifecycleEvent event) {
+                if (event == LifecycleEvent.REMOVED) {
+                    latch.countDown();
+                }
+            }
+        });
+        controller.setMode(ServiceController.Mode.REMOVE);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        // As would the binder service
+        store.remove(bindingName);
+        try {
+            store.lookup(new CompositeName("foo/cached"));
+            fail("Binding should have been removed");
+        } catch (NameNotFoundException expected) {
+        }
+    }
+
     @Test
     public void testLookupParentContext() throws Exception {
         final ServiceName bindingName = ServiceName.JBOSS.append("foo", "bar");
@@ -4,14 +4,14 @@
  */
 package org.jboss.as.txn.service.internal.tsr;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 import jakarta.transaction.Status;
 import jakarta.transaction.Synchronization;
 import jakarta.transaction.SystemException;
 
 import org.jboss.as.txn.logging.TransactionLogger;
+import org.wildfly.transaction.client.AbstractTransaction;
 import org.wildfly.transaction.client.ContextTransactionManager;
 import org.wildfly.transaction.client.ContextTransactionSynchronizationRegistry;
 
@@ -30,21 +30,45 @@ import org.wildfly.transaction.client.ContextTransactionSynchronizationRegistry;
  * "Resources can be closed but no transactional work can be performed with them"
  */
 public class JCAOrderedLastSynchronizationList implements Synchronization {
-    private final List<Synchronization> preJcaSyncs = new ArrayList<Synchronization>();
-    private final List<Synchronization> jcaSyncs = new ArrayList<Synchronization>();
+    // Caches whether a given Synchronization class is a Jakarta Connectors synchronization
+    private static final ClassValue<Boolean> JCA_SYNCHRONIZATION = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> synchronizationClass) {
+            return synchronizationClass.getName().startsWith("org.jboss.jca");
+        }
+    };
+    private static final Synchronization[] NO_SYNCS = new Synchronization[0];
+    static final int INITIAL_CAPACITY = 4;
+
+    private final AbstractTransaction transaction;
+    // Arrays are allocated on first registration, and are only ever appended to
+    private Synchronization[] preJcaSyncs = NO_SYNCS;
+    private int preJcaSyncCount = 0;
+    private Synchronization[] jcaSyncs = NO_SYNCS;
+    private int jcaSyncCount = 0;
 
     public JCAOrderedLastSynchronizationList() {
+        this(null);
+    }
+
+    /**
+     * Creates a synchronization list for the specified transaction.
+     * @param transaction the transaction with which this list is registered, or null if the status of the current transaction should be looked up on registration
+     */
+    public JCAOrderedLastSynchronizationList(AbstractTransaction transaction) {
+        this.transaction = transaction;
     }
 
     /**
      * This is only allowed at various points of the transaction lifecycle.
+     * Registration is synchronized, since multiple threads may be associated with the same transaction.
      *
      * @param synchronization The synchronization to register
      * @throws IllegalStateException In case the transaction was in a state that was not valid to register under
      * @throws SystemException In case the transaction status was not known
      */
-    public void registerInterposedSynchronization(Synchronization synchronization) throws IllegalStateException, SystemException {
-        int status = ContextTransactionSynchronizationRegistry.getInstance().getTransactionStatus();
+    public synchronized void registerInterposedSynchronization(Synchronization synchronization) throws IllegalStateException, SystemException {
+        int status = (this.transaction != null) ? this.transaction.getStatus() : ContextTransactionSynchronizationRegistry.getInstance().getTransactionStatus();
         switch (status) {
             case jakarta.transaction.Status.STATUS_ACTIVE:
             case jakarta.transaction.Status.STATUS_PREPARING:
@@ -55,19 +79,25 @@ public class JCAOrderedLastSynchronizationList implements Synchronization {
             default:
                 throw TransactionLogger.ROOT_LOGGER.syncsnotallowed(status);
         }
-        if (synchronization.getClass().getName().startsWith("org.jboss.jca")) {
+        if (JCA_SYNCHRONIZATION.get(synchronization.getClass())) {
             if (TransactionLogger.ROOT_LOGGER.isTraceEnabled()) {
                 TransactionLogger.ROOT_LOGGER.trace("JCAOrderedLastSynchronizationList.jcaSyncs.add - Class: " + synchronization.getClass() + " HashCode: "
                     + synchronization.hashCode() + " toString: " + synchronization);
             }
-            jcaSyncs.add(synchronization);
+            if (this.jcaSyncCount == this.jcaSyncs.length) {
+                this.jcaSyncs = Arrays.copyOf(this.jcaSyncs, Math.max(INITIAL_CAPACITY, this.jcaSyncCount * 2));
+            }
+            this.jcaSyncs[this.jcaSyncCount++] = synchronization;
 
         } else {
             if (TransactionLogger.ROOT_LOGGER.isTraceEnabled()) {
                 TransactionLogger.ROOT_LOGGER.trace("JCAOrderedLastSynchronizationList.preJcaSyncs.add - Class: " + synchronization.getClass() + " HashCode: "
                     + synchronization.hashCode() + " toString: " + synchronization);
             }
-            preJcaSyncs.add(synchronization);
+            if (this.preJcaSyncCount == this.preJcaSyncs.length) {
+                this.preJcaSyncs = Arrays.copyOf(this.preJcaSyncs, Math.max(INITIAL_CAPACITY, this.preJcaSyncCount * 2));
+            }
+            this.preJcaSyncs[this.preJcaSyncCount++] = synchronization;
         }
     }
 
@@ -85,8 +115,8 @@ public class JCAOrderedLastSynchronizationList implements Synchronization {
     public void beforeCompletion() {
         // This is needed to guard against syncs being registered during the run, otherwise we could have used an iterator
         int lastIndexProcessed = 0;
-        while ((lastIndexProcessed < preJcaSyncs.size())) {
-            Synchronization preJcaSync = preJcaSyncs.get(lastIndexProcessed);
+        while ((lastIndexProcessed < this.preJcaSyncCount)) {
+            Synchronization preJcaSync = this.preJcaSyncs[lastIndexProcessed];
             if (TransactionLogger.ROOT_LOGGER.isTraceEnabled()) {
                 TransactionLogger.ROOT_LOGGER.trace("JCAOrderedLastSynchronizationList.preJcaSyncs.before_completion - Class: " + preJcaSync.getClass() + " HashCode: "
                     + preJcaSync.hashCode()
@@ -99,8 +129,8 @@ public class JCAOrderedLastSynchronizationList implements Synchronization {
 
         // Do the same for the jca syncs
         lastIndexProcessed = 0;
-        while ((lastIndexProcessed < jcaSyncs.size())) {
-            Synchronization jcaSync = jcaSyncs.get(lastIndexProcessed);
+        while ((lastIndexProcessed < this.jcaSyncCount)) {
+            Synchronization jcaSync = this.jcaSyncs[lastIndexProcessed];
             if (TransactionLogger.ROOT_LOGGER.isTraceEnabled()) {
                 TransactionLogger.ROOT_LOGGER.trace("JCAOrderedLastSynchronizationList.jcaSyncs.before_completion - Class: " + jcaSync.getClass() + " HashCode: "
                     + jcaSync.hashCode()
@@ -116,8 +146,8 @@ public class JCAOrderedLastSynchronizationList implements Synchronization {
     public void afterCompletion(int status) {
         // The list should be iterated in reverse order - has issues with Enterprise Beans 3 if not. See the afterCompletion method in:
         // https://github.com/jbosstm/narayana/blob/main/ArjunaCore/arjuna/classes/com/arjuna/ats/arjuna/coordinator/TwoPhaseCoordinator.java
-        for (int i = preJcaSyncs.size() - 1; i>= 0; --i) {
-            Synchronization preJcaSync = preJcaSyncs.get(i);
+        for (int i = this.preJcaSyncCount - 1; i>= 0; --i) {
+            Synchronization preJcaSync = this.preJcaSyncs[i];
             if (TransactionLogger.ROOT_LOGGER.isTraceEnabled()) {
                 TransactionLogger.ROOT_LOGGER.trace("JCAOrderedLastSynchronizationList.preJcaSyncs.afterCompletion - Class: " + preJcaSync.getClass() + " HashCode: "
                     + preJcaSync.hashCode()
@@ -131,8 +161,8 @@ public class JCAOrderedLastSynchronizationList implements Synchronization {
                 TransactionLogger.ROOT_LOGGER.preJcaSyncAfterCompletionFailed(preJcaSync, ContextTransactionManager.getInstance().getTransaction(), e);
             }
         }
-        for (int i = jcaSyncs.size() - 1; i>= 0; --i) {
-            Synchronization jcaSync = jcaSyncs.get(i);
+        for (int i = this.jcaSyncCount - 1; i>= 0; --i) {
+            Synchronization jcaSync = this.jcaSyncs[i];
             if (TransactionLogger.ROOT_LOGGER.isTraceEnabled()) {
                 TransactionLogger.ROOT_LOGGER.trace("JCAOrderedLastSynchronizationList.jcaSyncs.afterCompletion - Class: " + jcaSync.getClass() + " HashCode: "
                     + jcaSync.hashCode()
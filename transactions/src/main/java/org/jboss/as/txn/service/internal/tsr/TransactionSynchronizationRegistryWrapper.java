@@ -50,14 +50,12 @@ public class TransactionSynchronizationRegistryWrapper implements TransactionSyn
             }
             JCAOrderedLastSynchronizationList jcaOrderedLastSynchronization = (JCAOrderedLastSynchronizationList) tx.getResource(key);
             if (jcaOrderedLastSynchronization == null) {
-                final ContextTransactionSynchronizationRegistry tsr = ContextTransactionSynchronizationRegistry.getInstance();
-                synchronized (key) {
-                    jcaOrderedLastSynchronization = (JCAOrderedLastSynchronizationList) tx.getResource(key);
-                    if (jcaOrderedLastSynchronization == null) {
-                        jcaOrderedLastSynchronization = new JCAOrderedLastSynchronizationList();
-                        tx.putResource(key, jcaOrderedLastSynchronization);
-                        tsr.registerInterposedSynchronization(jcaOrderedLastSynchronization);
-                    }
+                // Resolve any race between threads associated with the same transaction via the resources of that transaction, rather than a global monitor
+                JCAOrderedLastSynchronizationList newJcaOrderedLastSynchronization = new JCAOrderedLastSynchronizationList(tx);
+                jcaOrderedLastSynchronization = (JCAOrderedLastSynchronizationList) tx.putResourceIfAbsent(key, newJcaOrderedLastSynchronization);
+                if (jcaOrderedLastSynchronization == null) {
+                    jcaOrderedLastSynchronization = newJcaOrderedLastSynchronization;
+                    ContextTransactionSynchronizationRegistry.getInstance().registerInterposedSynchronization(jcaOrderedLastSynchronization);
                 }
             }
             jcaOrderedLastSynchronization.registerInterposedSynchronization(sync);
@@ -0,0 +1,151 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.txn.service.internal.tsr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.SystemException;
+
+import org.jboss.jca.RecordingSynchronization;
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.transaction.client.AbstractTransaction;
+
+/**
+ * Unit test for {@link JCAOrderedLastSynchronizationList}.
+ */
+public class JCAOrderedLastSynchronizationListTestCase {
+
+    private final AbstractTransaction transaction = mock(AbstractTransaction.class);
+    private final List<String> events = new ArrayList<>();
+
+    @Before
+    public void init() throws SystemException {
+        when(this.transaction.getStatus()).thenReturn(Status.STATUS_ACTIVE);
+    }
+
+    @Test
+    public void order() throws SystemException {
+        JCAOrderedLastSynchronizationList list = new JCAOrderedLastSynchronizationList(this.transaction);
+        list.registerInterposedSynchronization(new RecordingSynchronization("jca1", this.events));
+        list.registerInterposedSynchronization(new NonJCASynchronization("other1", this.events));
+        list.registerInterposedSynchronization(new RecordingSynchronization("jca2", this.events));
+        list.registerInterposedSynchronization(new NonJCASynchronization("other2", this.events));
+
+        list.beforeCompletion();
+
+        // Jakarta Connectors synchronizations run after all other synchronizations
+        assertEquals(List.of("before:other1", "before:other2", "before:jca1", "before:jca2"), this.events);
+
+        this.events.clear();
+        list.afterCompletion(Status.STATUS_COMMITTED);
+
+        // Each group runs in reverse order of registration, with Jakarta Connectors synchronizations last
+        assertEquals(List.of("after:other2", "after:other1", "after:jca2", "after:jca1"), this.events);
+    }
+
+    @Test
+    public void growth() throws SystemException {
+        int count = JCAOrderedLastSynchronizationList.INITIAL_CAPACITY * 4 + 1;
+        JCAOrderedLastSynchronizationList list = new JCAOrderedLastSynchronizationList(this.transaction);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < count; ++i) {
+            list.registerInterposedSynchronization(new RecordingSynchronization("jca" + i, this.events));
+            list.registerInterposedSynchronization(new NonJCASynchronization("other" + i, this.events));
+        }
+        for (int i = 0; i < count; ++i) {
+            expected.add("before:other" + i);
+        }
+        for (int i = 0; i < count; ++i) {
+            expected.add("before:jca" + i);
+        }
+
+        list.beforeCompletion();
+
+        assertEquals(expected, this.events);
+    }
+
+    @Test
+    public void registrationDuringBeforeCompletion() throws SystemException {
+        JCAOrderedLastSynchronizationList list = new JCAOrderedLastSynchronizationList(this.transaction);
+        // Fill the initial capacity of both groups, such that registrations during beforeCompletion grow them
+        for (int i = 0; i < JCAOrderedLastSynchronizationList.INITIAL_CAPACITY - 1; ++i) {
+            list.registerInterposedSynchronization(new NonJCASynchronization("other" + i, this.events));
+            list.registerInterposedSynchronization(new RecordingSynchronization("jca" + i, this.events));
+        }
+        list.registerInterposedSynchronization(new RecordingSynchronization("jca", this.events));
+        list.registerInterposedSynchronization(new NonJCASynchronization("registering", this.events) {
+            @Override
+            public void beforeCompletion() {
+                super.beforeCompletion();
+                try {
+                    list.registerInterposedSynchronization(new NonJCASynchronization("late", JCAOrderedLastSynchronizationListTestCase.this.events));
+                    list.registerInterposedSynchronization(new RecordingSynchronization("lateJca", JCAOrderedLastSynchronizationListTestCase.this.events));
+                } catch (SystemException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+
+        list.beforeCompletion();
+
+        // Synchronizations registered during beforeCompletion still run, in order
+        int registering = this.events.indexOf("before:registering");
+        assertEquals(registering + 1, this.events.indexOf("before:late"));
+        assertEquals(this.events.size() - 1, this.events.indexOf("before:lateJca"));
+        assertTrue(this.events.indexOf("before:late") < this.events.indexOf("before:jca0"));
+        assertEquals(JCAOrderedLastSynchronizationList.INITIAL_CAPACITY * 2 + 2, this.events.size());
+    }
+
+    @Test
+    public void markedRollback() throws SystemException {
+        when(this.transaction.getStatus()).thenReturn(Status.STATUS_MARKED_ROLLBACK);
+        JCAOrderedLastSynchronizationList list = new JCAOrderedLastSynchronizationList(this.transaction);
+
+        // Registration is ignored, since the synchronization would never run
+        list.registerInterposedSynchronization(new NonJCASynchronization("other", this.events));
+        list.beforeCompletion();
+
+        assertTrue(this.events.isEmpty());
+    }
+
+    @Test
+    public void completed() throws SystemException {
+        when(this.transaction.getStatus()).thenReturn(Status.STATUS_COMMITTED);
+        JCAOrderedLastSynchronizationList list = new JCAOrderedLastSynchronizationList(this.transaction);
+
+        assertThrows(IllegalStateException.class, () -> list.registerInterposedSynchronization(new NonJCASynchronization("other", this.events)));
+    }
+
+    private static class NonJCASynchronization implements Synchronization {
+        private final String name;
+        private final List<String> events;
+
+        NonJCASynchronization(String name, List<String> events) {
+            this.name = name;
+            this.events = events;
+        }
+
+        @Override
+        public void beforeCompletion() {
+            this.events.add("before:" + this.name);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            this.events.add("after:" + this.name);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.txn.service.internal.tsr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.Transaction;
+import jakarta.transaction.TransactionManager;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import com.arjuna.ats.arjuna.common.arjPropertyManager;
+import com.arjuna.ats.internal.jta.transaction.arjunacore.TransactionImple;
+import com.arjuna.ats.internal.jta.transaction.arjunacore.jca.XATerminatorImple;
+import com.arjuna.ats.jta.common.jtaPropertyManager;
+import org.jboss.tm.XAResourceRecovery;
+import org.jboss.tm.XAResourceRecoveryRegistry;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.wildfly.transaction.client.ContextTransactionManager;
+import org.wildfly.transaction.client.LocalTransactionContext;
+import org.wildfly.transaction.client.provider.jboss.JBossLocalTransactionProvider;
+
+/**
+ * Unit test for {@link TransactionSynchronizationRegistryWrapper}.
+ */
+public class TransactionSynchronizationRegistryWrapperTestCase {
+    private static final int THREADS = 4;
+    private static final int ITERATIONS = 1000;
+
+    @BeforeClass
+    public static void init() {
+        jtaPropertyManager.getJTAEnvironmentBean().setTransactionManagerClassName("com.arjuna.ats.internal.jta.transaction.arjunacore.TransactionManagerImple");
+        arjPropertyManager.getObjectStoreEnvironmentBean().setObjectStoreDir(System.getProperty("ObjectStoreEnvironmentBean.objectStoreDir"));
+        JBossLocalTransactionProvider.Builder builder = JBossLocalTransactionProvider.builder();
+        builder.setTransactionManager(com.arjuna.ats.jta.TransactionManager.transactionManager());
+        builder.setExtendedJBossXATerminator(new XATerminatorImple());
+        builder.setXAResourceRecoveryRegistry(new XAResourceRecoveryRegistry() {
+            @Override
+            public void addXAResourceRecovery(XAResourceRecovery xaResourceRecovery) {
+            }
+
+            @Override
+            public void removeXAResourceRecovery(XAResourceRecovery xaResourceRecovery) {
+            }
+        });
+        LocalTransactionContext.getContextManager().setGlobalDefault(new LocalTransactionContext(builder.build()));
+    }
+
+    @Test
+    public void concurrentRegistration() throws Exception {
+        TransactionSynchronizationRegistry registry = new TransactionSynchronizationRegistryWrapper();
+        TransactionManager transactionManager = ContextTransactionManager.getInstance();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int i = 0; i < ITERATIONS; ++i) {
+                transactionManager.begin();
+                int synchronizations = TransactionImple.getTransaction().getSynchronizations().size();
+                Transaction transaction = transactionManager.suspend();
+
+                AtomicInteger completions = new AtomicInteger();
+                CyclicBarrier barrier = new CyclicBarrier(THREADS);
+                List<Future<Void>> futures = new ArrayList<>(THREADS);
+                for (int j = 0; j < THREADS; ++j) {
+                    // Threads associated with the same transaction register their first synchronization concurrently
+                    futures.add(executor.submit(() -> {
+                        transactionManager.resume(transaction);
+                        try {
+                            barrier.await(10, TimeUnit.SECONDS);
+                            registry.registerInterposedSynchronization(new CountingSynchronization(completions));
+                        } finally {
+                            transactionManager.suspend();
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<Void> future : futures) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+
+                transactionManager.resume(transaction);
+                // Only one synchronization list was registered with the transaction
+                assertEquals(synchronizations + 1, TransactionImple.getTransaction().getSynchronizations().size());
+                transactionManager.commit();
+
+                // Both synchronizations were registered with that list
+                assertEquals(THREADS, completions.get());
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    private static class CountingSynchronization implements Synchronization {
+        private final AtomicInteger completions;
+
+        CountingSynchronization(AtomicInteger completions) {
+            this.completions = completions;
+        }
+
+        @Override
+        public void beforeCompletion() {
+            this.completions.incrementAndGet();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+        }
+    }
+}
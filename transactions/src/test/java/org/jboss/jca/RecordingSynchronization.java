@@ -0,0 +1,33 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.jca;
+
+import java.util.List;
+
+import jakarta.transaction.Synchronization;
+
+/**
+ * Synchronization recognized as a Jakarta Connectors synchronization by virtue of its package, which records its completion callbacks.
+ */
+public class RecordingSynchronization implements Synchronization {
+    private final String name;
+    private final List<String> events;
+
+    public RecordingSynchronization(String name, List<String> events) {
+        this.name = name;
+        this.events = events;
+    }
+
+    @Override
+    public void beforeCompletion() {
+        this.events.add("before:" + this.name);
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        this.events.add("after:" + this.name);
+    }
+}
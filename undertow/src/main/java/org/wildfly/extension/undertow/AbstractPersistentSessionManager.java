@@ -4,6 +4,7 @@
  */
 package org.wildfly.extension.undertow;
 
+import io.undertow.server.session.SessionListener;
 import io.undertow.servlet.UndertowServletLogger;
 import io.undertow.servlet.api.SessionPersistenceManager;
 import org.jboss.marshalling.ByteBufferInput;
@@ -26,9 +27,13 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -57,23 +62,8 @@ public abstract class AbstractPersistentSessionManager implements SessionPersist
         try {
             final Marshaller marshaller = createMarshaller();
             try {
-                final Map<String, SessionEntry> serializedData = new HashMap<String, SessionEntry>();
-                for (Map.Entry<String, PersistentSession> sessionEntry : sessionData.entrySet()) {
-                    Map<String, byte[]> data = new HashMap<String, byte[]>();
-                    for (Map.Entry<String, Object> sessionAttribute : sessionEntry.getValue().getSessionData().entrySet()) {
-                        try {
-                            final ByteArrayOutputStream out = new ByteArrayOutputStream();
-                            marshaller.start(new OutputStreamByteOutput(out));
-                            marshaller.writeObject(sessionAttribute.getValue());
-                            marshaller.finish();
-                            data.put(sessionAttribute.getKey(), out.toByteArray());
-                        } catch (Exception e) {
-                            UndertowLogger.ROOT_LOGGER.failedToPersistSessionAttribute(sessionAttribute.getKey(), sessionAttribute.getValue(), sessionEntry.getKey(), e);
-                        }
-                    }
-                    serializedData.put(sessionEntry.getKey(), new SessionEntry(sessionEntry.getValue().getExpiration(), data));
-                }
-                persistSerializedSessions(deploymentName, serializedData);
+                // Sessions are serialized on demand, as they are consumed by the implementation, so that they need not all be retained in serialized form
+                persistSerializedSessions(deploymentName, new SerializedSessionMap(marshaller, sessionData));
             } finally {
                 marshaller.close();
             }
@@ -83,39 +73,84 @@ public abstract class AbstractPersistentSessionManager implements SessionPersist
 
     }
 
+    /**
+     * Serializes the specified session attribute.
+     * @param marshaller a marshaller
+     * @param sessionId the identifier of the session
+     * @param name the attribute name
+     * @param value the attribute value
+     * @return the serialized attribute value, or null, if the attribute could not be serialized.
+     */
+    protected static byte[] serializeAttribute(Marshaller marshaller, String sessionId, String name, Object value) {
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            marshaller.start(new OutputStreamByteOutput(out));
+            marshaller.writeObject(value);
+            marshaller.finish();
+            return out.toByteArray();
+        } catch (Exception e) {
+            UndertowLogger.ROOT_LOGGER.failedToPersistSessionAttribute(name, value, sessionId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Persists the serialized sessions of the specified deployment.
+     * The specified map serializes each session as it is iterated, thus implementations should iterate it at most once.
+     * @param deploymentName the deployment name
+     * @param serializedData the serialized sessions, keyed by session identifier
+     * @throws IOException if the sessions could not be persisted
+     */
     protected abstract void persistSerializedSessions(String deploymentName, Map<String, SessionEntry> serializedData) throws IOException;
 
     protected abstract Map<String, SessionEntry> loadSerializedSessions(final String deploymentName) throws IOException;
 
     @Override
     public Map<String, PersistentSession> loadSessionAttributes(String deploymentName, final ClassLoader classLoader) {
+        try {
+            long time = System.currentTimeMillis();
+            Map<String, SessionEntry> data = loadSerializedSessions(deploymentName);
+            if (data != null) {
+                Map<String, PersistentSession> ret = new HashMap<String, PersistentSession>();
+                for (Map.Entry<String, SessionEntry> sessionEntry : data.entrySet()) {
+                    if (sessionEntry.getValue().expiry.getTime() > time) {
+                        // Attributes are only unmarshalled once the session is restored, i.e. on first request for the session
+                        ret.put(sessionEntry.getKey(), new PersistentSession(sessionEntry.getValue().expiry, new DeserializedSessionAttributeMap(sessionEntry.getKey(), sessionEntry.getValue().data)));
+                    }
+                }
+                return ret;
+            }
+        } catch (Exception e) {
+            UndertowServletLogger.ROOT_LOGGER.failedtoLoadPersistentSessions(e);
+        }
+        return null;
+    }
+
+    /**
+     * Unmarshals the specified serialized session attributes.
+     * Attributes that cannot be unmarshalled are logged and omitted.
+     */
+    private Map<String, Object> deserialize(String sessionId, Map<String, byte[]> serializedAttributes) {
+        Map<String, Object> attributes = new HashMap<>();
         try {
             Unmarshaller unmarshaller = createUnmarshaller();
             try {
-                long time = System.currentTimeMillis();
-                Map<String, SessionEntry> data = loadSerializedSessions(deploymentName);
-                if (data != null) {
-                    Map<String, PersistentSession> ret = new HashMap<String, PersistentSession>();
-                    for (Map.Entry<String, SessionEntry> sessionEntry : data.entrySet()) {
-                        if (sessionEntry.getValue().expiry.getTime() > time) {
-                            Map<String, Object> session = new HashMap<String, Object>();
-                            for (Map.Entry<String, byte[]> sessionAttribute : sessionEntry.getValue().data.entrySet()) {
-                                unmarshaller.start(new ByteBufferInput(ByteBuffer.wrap(sessionAttribute.getValue())));
-                                session.put(sessionAttribute.getKey(), unmarshaller.readObject());
-                                unmarshaller.finish();
-                            }
-                            ret.put(sessionEntry.getKey(), new PersistentSession(sessionEntry.getValue().expiry, session));
-                        }
+                for (Map.Entry<String, byte[]> attribute : serializedAttributes.entrySet()) {
+                    try {
+                        unmarshaller.start(new ByteBufferInput(ByteBuffer.wrap(attribute.getValue())));
+                        attributes.put(attribute.getKey(), unmarshaller.readObject());
+                        unmarshaller.finish();
+                    } catch (Exception e) {
+                        UndertowLogger.ROOT_LOGGER.failedToRestoreSessionAttribute(attribute.getKey(), sessionId, e);
                     }
-                    return ret;
                 }
             } finally {
                 unmarshaller.close();
             }
-        } catch (Exception e) {
+        } catch (IOException e) {
             UndertowServletLogger.ROOT_LOGGER.failedtoLoadPersistentSessions(e);
         }
-        return null;
+        return attributes;
     }
 
     protected Marshaller createMarshaller() throws IOException {
@@ -130,6 +165,15 @@ public abstract class AbstractPersistentSessionManager implements SessionPersist
     public void clear(String deploymentName) {
     }
 
+    /**
+     * Returns a listener to register with the session manager of the specified deployment, through which implementations may track session changes.
+     * @param deploymentName the deployment name
+     * @return a session listener, or null, if this implementation does not track session changes.
+     */
+    public SessionListener getSessionListener(String deploymentName) {
+        return null;
+    }
+
     @Override
     public void start(final StartContext startContext) throws StartException {
         final RiverMarshallerFactory factory = new RiverMarshallerFactory();
@@ -154,7 +198,7 @@ public abstract class AbstractPersistentSessionManager implements SessionPersist
         private final Date expiry;
         private final Map<String, byte[]> data;
 
-        private SessionEntry(Date expiry, Map<String, byte[]> data) {
+        SessionEntry(Date expiry, Map<String, byte[]> data) {
             this.expiry = expiry;
             this.data = data;
         }
@@ -167,4 +211,81 @@ public abstract class AbstractPersistentSessionManager implements SessionPersist
             return data;
         }
     }
+
+    /**
+     * Map view of the persistent sessions of a deployment that serializes the attributes of each session as its entry is iterated.
+     */
+    private static class SerializedSessionMap extends AbstractMap<String, SessionEntry> {
+        private final Marshaller marshaller;
+        private final Map<String, PersistentSession> sessions;
+
+        SerializedSessionMap(Marshaller marshaller, Map<String, PersistentSession> sessions) {
+            this.marshaller = marshaller;
+            this.sessions = sessions;
+        }
+
+        @Override
+        public Set<Map.Entry<String, SessionEntry>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<String, SessionEntry>> iterator() {
+                    Iterator<Map.Entry<String, PersistentSession>> sessions = SerializedSessionMap.this.sessions.entrySet().iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return sessions.hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<String, SessionEntry> next() {
+                            Map.Entry<String, PersistentSession> session = sessions.next();
+                            Map<String, byte[]> data = new HashMap<>();
+                            for (Map.Entry<String, Object> attribute : session.getValue().getSessionData().entrySet()) {
+                                byte[] value = serializeAttribute(SerializedSessionMap.this.marshaller, session.getKey(), attribute.getKey(), attribute.getValue());
+                                if (value != null) {
+                                    data.put(attribute.getKey(), value);
+                                }
+                            }
+                            return new AbstractMap.SimpleImmutableEntry<>(session.getKey(), new SessionEntry(session.getValue().getExpiration(), data));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return SerializedSessionMap.this.sessions.size();
+                }
+            };
+        }
+    }
+
+    /**
+     * Map view of the serialized attributes of a persistent session, which are unmarshalled on first access, i.e. once the session is restored.
+     * This avoids unmarshalling the attributes of sessions that are never requested again.
+     */
+    private class DeserializedSessionAttributeMap extends AbstractMap<String, Object> {
+        private final String sessionId;
+        // Retained until unmarshalled
+        private Map<String, byte[]> serializedAttributes;
+        private Map<String, Object> attributes;
+
+        DeserializedSessionAttributeMap(String sessionId, Map<String, byte[]> serializedAttributes) {
+            this.sessionId = sessionId;
+            this.serializedAttributes = serializedAttributes;
+        }
+
+        @Override
+        public synchronized Set<Map.Entry<String, Object>> entrySet() {
+            if (this.attributes == null) {
+                this.attributes = deserialize(this.sessionId, this.serializedAttributes);
+                this.serializedAttributes = null;
+            }
+            return this.attributes.entrySet();
+        }
+
+        @Override
+        public synchronized int size() {
+            return (this.attributes != null) ? this.attributes.size() : this.serializedAttributes.size();
+        }
+    }
 }
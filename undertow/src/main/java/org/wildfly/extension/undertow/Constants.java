@@ -112,6 +112,7 @@ public interface Constants {
     String ALLOW_NON_STANDARD_WRAPPERS = "allow-non-standard-wrappers";
 
     String PERSISTENT_SESSIONS = "persistent-sessions";
+    String CHECKPOINT_INTERVAL = "checkpoint-interval";
     String DEFAULT_BUFFER_CACHE = "default-buffer-cache";
 
     String RELATIVE_TO = "relative-to";
@@ -5,6 +5,7 @@
 
 package org.wildfly.extension.undertow;
 
+import static org.jboss.as.controller.client.helpers.MeasurementUnit.MILLISECONDS;
 import static org.jboss.as.controller.client.helpers.MeasurementUnit.SECONDS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
@@ -42,6 +43,7 @@ import org.jboss.dmr.Property;
 import org.jboss.msc.service.ServiceController;
 import org.wildfly.extension.undertow.deployment.UndertowDeploymentService;
 import org.wildfly.extension.undertow.logging.UndertowLogger;
+import org.wildfly.extension.undertow.session.DistributableSessionStatistics;
 
 /**
  * @author Tomaz Cerar
@@ -346,6 +348,27 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
                             result.set((int) sms.getHighestSessionCount());
                         }
                         break;
+                    case SESSION_AVG_COMMIT_LAG:
+                        if (sms instanceof DistributableSessionStatistics) {
+                            result.set(((DistributableSessionStatistics) sms).getMeanCommitLag());
+                        } else {
+                            result.set(0L);
+                        }
+                        break;
+                    case SESSION_MAX_COMMIT_LAG:
+                        if (sms instanceof DistributableSessionStatistics) {
+                            result.set(((DistributableSessionStatistics) sms).getMaxCommitLag());
+                        } else {
+                            result.set(0L);
+                        }
+                        break;
+                    case PENDING_SESSION_COMMITS:
+                        if (sms instanceof DistributableSessionStatistics) {
+                            result.set((int) ((DistributableSessionStatistics) sms).getPendingCommitCount());
+                        } else {
+                            result.set(0);
+                        }
+                        break;
                     default:
                         throw new IllegalStateException(UndertowLogger.ROOT_LOGGER.unknownMetric(stat));
                 }
@@ -408,6 +431,18 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
         MAX_ACTIVE_SESSIONS(new SimpleAttributeDefinitionBuilder("max-active-sessions", ModelType.INT)
                 .setUndefinedMetricValue(ModelNode.ZERO).setStorageRuntime().build()),
         HIGHEST_SESSION_COUNT(new SimpleAttributeDefinitionBuilder("highest-session-count", ModelType.INT)
+                .setUndefinedMetricValue(ModelNode.ZERO).setStorageRuntime().build()),
+        SESSION_AVG_COMMIT_LAG(new SimpleAttributeDefinitionBuilder("session-avg-commit-lag", ModelType.LONG)
+                .setUndefinedMetricValue(new ModelNode(0L))
+                .setMeasurementUnit(MILLISECONDS)
+                .setStorageRuntime()
+                .build()),
+        SESSION_MAX_COMMIT_LAG(new SimpleAttributeDefinitionBuilder("session-max-commit-lag", ModelType.LONG)
+                .setUndefinedMetricValue(new ModelNode(0L))
+                .setMeasurementUnit(MILLISECONDS)
+                .setStorageRuntime()
+                .build()),
+        PENDING_SESSION_COMMITS(new SimpleAttributeDefinitionBuilder("pending-session-commits", ModelType.INT)
                 .setUndefinedMetricValue(ModelNode.ZERO).setStorageRuntime().build());
 
         private static final Map<String, SessionStat> MAP = new HashMap<>();
@@ -4,53 +4,83 @@
  */
 package org.wildfly.extension.undertow;
 
+import io.undertow.server.session.SessionListener;
 import io.undertow.servlet.api.SessionPersistenceManager;
 import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.marshalling.InputStreamByteInput;
-import org.jboss.marshalling.Marshaller;
-import org.jboss.marshalling.OutputStreamByteOutput;
 import org.jboss.marshalling.Unmarshaller;
 import org.jboss.modules.ModuleLoader;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
+import org.jboss.threads.JBossThreadFactory;
 import org.wildfly.extension.undertow.logging.UndertowLogger;
-import org.xnio.IoUtils;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
- * Persistent session manager that stores persistent session information to disk
+ * Persistent session manager that stores persistent session information to disk.
+ * The sessions of a deployment are streamed to a snapshot file, one record per session, when the deployment stops.
+ * If a checkpoint interval is configured, changes made to the sessions of a deployment are additionally appended to a journal file,
+ * which is replayed on top of the snapshot on startup.
  *
  * @author Stuart Douglas
  * @author <a href="mailto:ropalka@redhat.com">Richard Opalka</a>
  */
 public class DiskBasedModularPersistentSessionManager extends AbstractPersistentSessionManager {
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final String CHECKPOINT_THREAD_NAME_PATTERN = "%G - %t";
+
     private final String path;
     private final String pathRelativeTo;
+    private final int checkpointInterval;
     private final Supplier<PathManager> pathManager;
+    private final Map<String, PersistentSessionJournal> journals = new ConcurrentHashMap<>();
     private File baseDir;
     private PathManager.Callback.Handle callbackHandle;
+    private ScheduledExecutorService checkpointExecutor;
 
     DiskBasedModularPersistentSessionManager(final Consumer<SessionPersistenceManager> serviceConsumer,
                                              final Supplier<ModuleLoader> moduleLoader,
                                              final Supplier<PathManager> pathManager,
-                                             final String path, final String pathRelativeTo) {
+                                             final String path, final String pathRelativeTo,
+                                             final int checkpointInterval) {
         super(serviceConsumer, moduleLoader);
         this.pathManager = pathManager;
         this.path = path;
         this.pathRelativeTo = pathRelativeTo;
+        this.checkpointInterval = checkpointInterval;
     }
 
     @Override
     public void stop(final StopContext stopContext) {
         super.stop(stopContext);
+        if (checkpointExecutor != null) {
+            checkpointExecutor.shutdown();
+            checkpointExecutor = null;
+        }
+        journals.clear();
         if (callbackHandle != null) {
             callbackHandle.remove();
         }
@@ -69,51 +99,171 @@ public class DiskBasedModularPersistentSessionManager extends AbstractPersistent
         if (!baseDir.isDirectory()) {
             throw UndertowLogger.ROOT_LOGGER.invalidPersistentSessionDir(baseDir);
         }
+        if (checkpointInterval > 0) {
+            ThreadFactory threadFactory = new JBossThreadFactory(ThreadGroupHolder.THREAD_GROUP, Boolean.TRUE, null, CHECKPOINT_THREAD_NAME_PATTERN, null, null);
+            checkpointExecutor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+            checkpointExecutor.scheduleWithFixedDelay(this::checkpoint, checkpointInterval, checkpointInterval, TimeUnit.SECONDS);
+        }
     }
 
-
     @Override
-    protected void persistSerializedSessions(String deploymentName, Map<String, SessionEntry> serializedData) throws IOException {
-        File file = new File(baseDir, deploymentName);
-        FileOutputStream out = new FileOutputStream(file, false);
-        try {
-            Marshaller marshaller = createMarshaller();
+    public SessionListener getSessionListener(String deploymentName) {
+        return (checkpointInterval > 0) ? journals.computeIfAbsent(deploymentName, name -> new PersistentSessionJournal(this, name)) : null;
+    }
+
+    private void checkpoint() {
+        for (PersistentSessionJournal journal : journals.values()) {
             try {
-                marshaller.start(new OutputStreamByteOutput(out));
-                marshaller.writeObject(serializedData);
-                marshaller.finish();
-            } finally {
-                marshaller.close();
+                journal.checkpoint();
+            } catch (IOException | RuntimeException e) {
+                UndertowLogger.ROOT_LOGGER.failedToCheckpointPersistentSessions(journal.getDeploymentName(), e);
             }
-        } finally {
-            IoUtils.safeClose(out);
         }
     }
 
+    File getSnapshotFile(String deploymentName) {
+        return new File(baseDir, deploymentName);
+    }
+
+    File getJournalFile(String deploymentName) {
+        return new File(baseDir, deploymentName + JOURNAL_SUFFIX);
+    }
+
+    @Override
+    protected void persistSerializedSessions(String deploymentName, Map<String, SessionEntry> serializedData) throws IOException {
+        PersistentSessionJournal journal = journals.remove(deploymentName);
+        if (journal != null) {
+            // The snapshot supersedes the journal, and any subsequent changes, e.g. sessions destroyed on undeploy, must not be journaled
+            journal.close();
+        }
+        writeSnapshot(deploymentName, serializedData.entrySet());
+        Files.deleteIfExists(getJournalFile(deploymentName).toPath());
+    }
+
     @Override
     protected Map<String, SessionEntry> loadSerializedSessions(String deploymentName) throws IOException {
-        File file = new File(baseDir, deploymentName);
-        if (!file.exists()) {
+        File file = getSnapshotFile(deploymentName);
+        File journalFile = getJournalFile(deploymentName);
+        boolean journaled = journalFile.exists();
+        PersistentSessionJournal journal = journals.get(deploymentName);
+        if (!file.exists() && !journaled) {
+            if (journal != null) {
+                journal.open(PersistentSessionRecords.NO_SNAPSHOT, -1, Set.of());
+            }
             return null;
         }
-        FileInputStream in = new FileInputStream(file);
+        long time = System.currentTimeMillis();
+        Map<String, SessionEntry> sessions = new HashMap<>();
+        // A session expired according to its snapshot may since have been accessed according to the journal
+        long snapshotId = readSnapshot(file, journaled ? Long.MIN_VALUE : time, sessions);
+        long journalLength = journaled ? readJournal(journalFile, snapshotId, sessions) : -1;
+        if (journaled) {
+            sessions.values().removeIf(entry -> entry.getExpiry().getTime() <= time);
+        }
+        if (journal != null) {
+            journal.open(snapshotId, journalLength, sessions.keySet());
+        }
+        return sessions;
+    }
+
+    /**
+     * Merges the snapshot and journal of the specified deployment into a new snapshot, omitting expired sessions.
+     * @param deploymentName the deployment name
+     * @return the identifier of the new snapshot
+     * @throws IOException if the new snapshot could not be written
+     */
+    long compact(String deploymentName) throws IOException {
+        File journalFile = getJournalFile(deploymentName);
+        Map<String, SessionEntry> sessions = new HashMap<>();
+        long snapshotId = readSnapshot(getSnapshotFile(deploymentName), Long.MIN_VALUE, sessions);
+        if (journalFile.exists()) {
+            readJournal(journalFile, snapshotId, sessions);
+        }
+        long time = System.currentTimeMillis();
+        sessions.values().removeIf(entry -> entry.getExpiry().getTime() <= time);
+        return writeSnapshot(deploymentName, sessions.entrySet());
+    }
+
+    /**
+     * Writes the specified sessions to a new snapshot, one record at a time, replacing the current snapshot only once complete.
+     * @return the identifier of the new snapshot
+     */
+    private long writeSnapshot(String deploymentName, Iterable<Map.Entry<String, SessionEntry>> sessions) throws IOException {
+        long snapshotId = ThreadLocalRandom.current().nextLong();
+        while (snapshotId == PersistentSessionRecords.NO_SNAPSHOT) {
+            snapshotId = ThreadLocalRandom.current().nextLong();
+        }
+        File file = getSnapshotFile(deploymentName);
+        File temporaryFile = new File(baseDir, deploymentName + TEMPORARY_SUFFIX);
+        try (FileOutputStream out = new FileOutputStream(temporaryFile, false)) {
+            PersistentSessionRecords.Writer writer = new PersistentSessionRecords.Writer(new BufferedOutputStream(out));
+            writer.writeHeader(snapshotId);
+            for (Map.Entry<String, SessionEntry> session : sessions) {
+                writer.writeSession(session.getKey(), true, session.getValue().getExpiry().getTime(), session.getValue().getData());
+            }
+            writer.flush();
+            out.getFD().sync();
+        }
+        try {
+            Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return snapshotId;
+    }
+
+    /**
+     * Reads the sessions of the specified snapshot file.
+     * @return the snapshot identifier
+     */
+    private long readSnapshot(File file, long expiration, Map<String, SessionEntry> sessions) throws IOException {
+        if (!file.exists()) {
+            return PersistentSessionRecords.NO_SNAPSHOT;
+        }
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            Long snapshotId = PersistentSessionRecords.readHeader(in);
+            if (snapshotId == null) {
+                // Snapshot was written by a previous release, as a single marshalled map
+                sessions.putAll(readLegacySnapshot(in));
+                return PersistentSessionRecords.NO_SNAPSHOT;
+            }
+            PersistentSessionRecords.read(in, file.length() - PersistentSessionRecords.HEADER_LENGTH, expiration, sessions);
+            return snapshotId;
+        }
+    }
+
+    /**
+     * Replays the specified journal file onto the sessions of the specified snapshot.
+     * @return the length of the valid content of the journal, or -1 if the journal does not belong to the specified snapshot
+     */
+    private static long readJournal(File file, long snapshotId, Map<String, SessionEntry> sessions) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            Long journalSnapshotId = PersistentSessionRecords.readHeader(in);
+            if ((journalSnapshotId == null) || (journalSnapshotId != snapshotId)) {
+                return -1;
+            }
+            return PersistentSessionRecords.HEADER_LENGTH + PersistentSessionRecords.read(in, file.length() - PersistentSessionRecords.HEADER_LENGTH, Long.MIN_VALUE, sessions);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, SessionEntry> readLegacySnapshot(InputStream in) throws IOException {
+        Unmarshaller unMarshaller = createUnmarshaller();
         try {
-            Unmarshaller unMarshaller = createUnmarshaller();
             try {
-                try {
-                    unMarshaller.start(new InputStreamByteInput(in));
-                    return (Map<String, SessionEntry>) unMarshaller.readObject();
-                } catch (ClassNotFoundException e) {
-                    throw new RuntimeException(e);
-                } finally {
-                    unMarshaller.finish();
-                }
+                unMarshaller.start(new InputStreamByteInput(in));
+                return (Map<String, SessionEntry>) unMarshaller.readObject();
+            } catch (ClassNotFoundException e) {
+                throw new RuntimeException(e);
             } finally {
-                unMarshaller.close();
+                unMarshaller.finish();
             }
         } finally {
-            IoUtils.safeClose(in);
+            unMarshaller.close();
         }
+    }
 
+    private static class ThreadGroupHolder {
+        private static final ThreadGroup THREAD_GROUP = new ThreadGroup("persistent-session-checkpoint");
     }
 }
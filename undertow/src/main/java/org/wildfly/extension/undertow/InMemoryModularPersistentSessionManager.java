@@ -32,7 +32,7 @@ public class InMemoryModularPersistentSessionManager extends AbstractPersistentS
 
     @Override
     protected void persistSerializedSessions(String deploymentName, Map<String, SessionEntry> serializedData) {
-        sessionData.put(deploymentName, serializedData);
+        sessionData.put(deploymentName, new HashMap<>(serializedData));
     }
 
     @Override
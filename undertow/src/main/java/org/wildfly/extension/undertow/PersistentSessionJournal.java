@@ -0,0 +1,358 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.undertow;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.session.Session;
+import io.undertow.server.session.SessionListener;
+import org.jboss.marshalling.Marshaller;
+import org.wildfly.extension.undertow.logging.UndertowLogger;
+import org.xnio.IoUtils;
+
+/**
+ * Tracks the changes made to the sessions of a deployment, and periodically appends them to a journal.
+ * On startup, the journal is replayed on top of the snapshot to which it belongs,
+ * so that an unclean shutdown only loses those changes made since the last checkpoint.
+ * Once the journal grows larger than its snapshot, both are compacted into a new snapshot.
+ */
+class PersistentSessionJournal implements SessionListener {
+    // Journals smaller than this are never compacted
+    private static final long MIN_COMPACTION_LENGTH = 1 << 20;
+
+    private final DiskBasedModularPersistentSessionManager manager;
+    private final String deploymentName;
+
+    // Guarded by this
+    private final Map<String, TrackedSession> sessions = new HashMap<>();
+    private final Set<String> removedSessions = new HashSet<>();
+    // Sessions loaded from the snapshot and journal that have not yet been restored
+    private final Set<String> restoredSessions = new HashSet<>();
+    private boolean closed = false;
+
+    // Guarded by checkpointLock
+    private final Object checkpointLock = new Object();
+    private boolean opened = false;
+    private long snapshotId = PersistentSessionRecords.NO_SNAPSHOT;
+    // The length of the valid content of the journal file, or -1 if the journal file must be recreated
+    private long length = -1;
+    private FileChannel channel;
+
+    PersistentSessionJournal(DiskBasedModularPersistentSessionManager manager, String deploymentName) {
+        this.manager = manager;
+        this.deploymentName = deploymentName;
+    }
+
+    String getDeploymentName() {
+        return this.deploymentName;
+    }
+
+    /**
+     * Associates this journal with the snapshot from which the sessions of its deployment were loaded.
+     * @param snapshotId the snapshot identifier
+     * @param length the length of the valid content of the existing journal file, or -1 if it must be recreated
+     * @param restoredSessions the identifiers of the sessions loaded from the snapshot and journal
+     */
+    void open(long snapshotId, long length, Set<String> restoredSessions) {
+        synchronized (this.checkpointLock) {
+            synchronized (this) {
+                this.restoredSessions.clear();
+                this.restoredSessions.addAll(restoredSessions);
+            }
+            this.closeChannel();
+            this.snapshotId = snapshotId;
+            this.length = length;
+            this.opened = true;
+        }
+    }
+
+    /**
+     * Stops tracking changes, e.g. once the sessions of this deployment are persisted in full.
+     */
+    void close() {
+        synchronized (this.checkpointLock) {
+            synchronized (this) {
+                this.closed = true;
+                this.sessions.clear();
+                this.removedSessions.clear();
+                this.restoredSessions.clear();
+            }
+            this.closeChannel();
+        }
+    }
+
+    /**
+     * Appends the changes made to the sessions of this deployment since the previous checkpoint to the journal.
+     * @throws IOException if the changes could not be appended, in which case they will be retried by the next checkpoint.
+     */
+    void checkpoint() throws IOException {
+        synchronized (this.checkpointLock) {
+            List<Change> changes = new ArrayList<>();
+            Set<String> removed;
+            synchronized (this) {
+                if (this.closed) {
+                    return;
+                }
+                removed = new HashSet<>(this.removedSessions);
+                this.removedSessions.clear();
+                for (TrackedSession session : this.sessions.values()) {
+                    Change change = session.drain();
+                    if (change != null) {
+                        changes.add(change);
+                    }
+                }
+            }
+            if (removed.isEmpty() && changes.isEmpty()) {
+                return;
+            }
+            try {
+                this.append(removed, changes);
+            } catch (IOException | RuntimeException e) {
+                synchronized (this) {
+                    this.removedSessions.addAll(removed);
+                    for (Change change : changes) {
+                        change.revert(this.removedSessions);
+                    }
+                }
+                throw e;
+            }
+            if (this.length > Math.max(MIN_COMPACTION_LENGTH, this.manager.getSnapshotFile(this.deploymentName).length())) {
+                this.closeChannel();
+                this.snapshotId = this.manager.compact(this.deploymentName);
+                this.length = -1;
+            }
+        }
+    }
+
+    private void append(Set<String> removed, List<Change> changes) throws IOException {
+        if (!this.opened) {
+            // Sessions of this deployment were not loaded via this manager, so start from a fresh snapshot of whatever was persisted
+            this.snapshotId = this.manager.compact(this.deploymentName);
+            this.length = -1;
+            this.opened = true;
+        }
+        if (this.channel == null) {
+            this.channel = FileChannel.open(this.manager.getJournalFile(this.deploymentName).toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        }
+        BufferedOutputStream output = new BufferedOutputStream(Channels.newOutputStream(this.channel));
+        PersistentSessionRecords.Writer writer = new PersistentSessionRecords.Writer(output);
+        try {
+            if (this.length < 0) {
+                this.channel.truncate(0);
+                writer.writeHeader(this.snapshotId);
+            } else {
+                // Discard any partial records following the valid content of the journal
+                this.channel.truncate(this.length);
+                this.channel.position(this.length);
+            }
+            for (String id : removed) {
+                writer.writeSessionRemoved(id);
+            }
+            for (Change change : changes) {
+                boolean created = change.persistedId == null;
+                if (!created && !change.persistedId.equals(change.id)) {
+                    writer.writeSessionRenamed(change.persistedId, change.id);
+                }
+                writer.writeSession(change.id, created, change.expiry, change.attributes);
+            }
+            writer.flush();
+            this.channel.force(false);
+            this.length = this.channel.position();
+        } catch (IOException | RuntimeException e) {
+            // Next checkpoint discards any partially written records
+            this.closeChannel();
+            throw e;
+        }
+    }
+
+    private void closeChannel() {
+        if (this.channel != null) {
+            IoUtils.safeClose(this.channel);
+            this.channel = null;
+        }
+    }
+
+    @Override
+    public synchronized void sessionCreated(Session session, HttpServerExchange exchange) {
+        if (!this.closed) {
+            TrackedSession tracked = new TrackedSession(session);
+            if (this.restoredSessions.remove(session.getId())) {
+                // Session already exists in the snapshot or journal, so its removal must be journaled, even if never checkpointed
+                tracked.persistedId = session.getId();
+            }
+            this.sessions.put(session.getId(), tracked);
+        }
+    }
+
+    @Override
+    public synchronized void sessionDestroyed(Session session, HttpServerExchange exchange, SessionDestroyedReason reason) {
+        // Sessions destroyed on undeploy are persisted in full, rather than removed
+        if (reason != SessionDestroyedReason.UNDEPLOY) {
+            TrackedSession tracked = this.sessions.remove(session.getId());
+            if (tracked != null) {
+                tracked.destroyed = true;
+                if (tracked.persistedId != null) {
+                    this.removedSessions.add(tracked.persistedId);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void attributeAdded(Session session, String name, Object value) {
+        this.attributeChanged(session, name, this.serializeAttribute(session, name, value));
+    }
+
+    @Override
+    public void attributeUpdated(Session session, String name, Object newValue, Object oldValue) {
+        this.attributeChanged(session, name, this.serializeAttribute(session, name, newValue));
+    }
+
+    @Override
+    public synchronized void attributeRemoved(Session session, String name, Object oldValue) {
+        TrackedSession tracked = this.sessions.get(session.getId());
+        if (tracked != null) {
+            tracked.attributes.remove(name);
+            tracked.dirtyAttributes.add(name);
+        }
+    }
+
+    @Override
+    public synchronized void sessionIdChanged(Session session, String oldSessionId) {
+        TrackedSession tracked = this.sessions.remove(oldSessionId);
+        if (tracked != null) {
+            tracked.id = session.getId();
+            this.sessions.put(tracked.id, tracked);
+        }
+    }
+
+    /**
+     * Serializes the specified attribute value on the thread that changed it, i.e. within the context of its deployment,
+     * since the checkpoint thread can neither safely access the value nor resolve its classes.
+     * @return the serialized attribute value, or null, if the value could not be serialized.
+     */
+    private byte[] serializeAttribute(Session session, String name, Object value) {
+        try {
+            Marshaller marshaller = this.manager.createMarshaller();
+            try {
+                return AbstractPersistentSessionManager.serializeAttribute(marshaller, session.getId(), name, value);
+            } finally {
+                marshaller.close();
+            }
+        } catch (IOException e) {
+            UndertowLogger.ROOT_LOGGER.failedToPersistSessionAttribute(name, value, session.getId(), e);
+            return null;
+        }
+    }
+
+    private synchronized void attributeChanged(Session session, String name, byte[] value) {
+        TrackedSession tracked = this.sessions.get(session.getId());
+        if (tracked != null) {
+            if (value != null) {
+                tracked.attributes.put(name, value);
+                tracked.dirtyAttributes.add(name);
+            } else {
+                // Like persisting sessions on undeploy, a value that cannot be serialized is omitted, retaining any previously persisted value
+                tracked.attributes.remove(name);
+                tracked.dirtyAttributes.remove(name);
+            }
+        }
+    }
+
+    /**
+     * The state of a session, as of its last checkpoint, and its attributes changed since.
+     * Attribute values are captured, in serialized form, from listener events, since reading them from the session would affect its last access time.
+     * Consequently, changes made to a mutable attribute value are only journaled once the attribute is set again.
+     */
+    private static class TrackedSession {
+        final Session session;
+        final Map<String, byte[]> attributes = new HashMap<>();
+        Set<String> dirtyAttributes = new HashSet<>();
+        String id;
+        // The identifier under which this session is persisted, or null if not yet persisted
+        String persistedId = null;
+        long expiry = 0;
+        boolean destroyed = false;
+
+        TrackedSession(Session session) {
+            this.session = session;
+            this.id = session.getId();
+        }
+
+        /**
+         * Captures the changes to this session since its last checkpoint, assuming they will be persisted.
+         * @return the changes to this session, or null if there are none.
+         */
+        Change drain() {
+            long expiry;
+            try {
+                // Mirrors the expiration time computed when persisting sessions on undeploy
+                expiry = this.session.getLastAccessedTime() + (this.session.getMaxInactiveInterval() * 1000L);
+            } catch (IllegalStateException e) {
+                // Session is being invalidated
+                return null;
+            }
+            boolean created = this.persistedId == null;
+            if (!created && this.persistedId.equals(this.id) && this.dirtyAttributes.isEmpty() && (expiry == this.expiry)) {
+                return null;
+            }
+            Map<String, byte[]> attributes = new HashMap<>();
+            for (String name : created ? this.attributes.keySet() : this.dirtyAttributes) {
+                attributes.put(name, this.attributes.get(name));
+            }
+            Change change = new Change(this, this.id, this.persistedId, this.expiry, expiry, attributes);
+            this.persistedId = this.id;
+            this.expiry = expiry;
+            this.dirtyAttributes = new HashSet<>();
+            return change;
+        }
+    }
+
+    private static class Change {
+        final TrackedSession session;
+        final String id;
+        final String persistedId;
+        final long previousExpiry;
+        final long expiry;
+        // Serialized attribute values, keyed by name, where a null value indicates a removed attribute
+        final Map<String, byte[]> attributes;
+
+        Change(TrackedSession session, String id, String persistedId, long previousExpiry, long expiry, Map<String, byte[]> attributes) {
+            this.session = session;
+            this.id = id;
+            this.persistedId = persistedId;
+            this.previousExpiry = previousExpiry;
+            this.expiry = expiry;
+            this.attributes = attributes;
+        }
+
+        /**
+         * Restores the state of the tracked session following a failure to persist this change.
+         * @param removedSessions the sessions whose removal is yet to be journaled
+         */
+        void revert(Set<String> removedSessions) {
+            if (this.session.destroyed) {
+                if (this.persistedId != null) {
+                    removedSessions.add(this.persistedId);
+                }
+            } else {
+                this.session.persistedId = this.persistedId;
+                this.session.expiry = this.previousExpiry;
+                this.session.dirtyAttributes.addAll(this.attributes.keySet());
+            }
+        }
+    }
+}
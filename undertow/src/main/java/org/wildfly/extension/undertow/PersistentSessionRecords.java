@@ -0,0 +1,236 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.undertow;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import org.wildfly.extension.undertow.AbstractPersistentSessionManager.SessionEntry;
+import org.wildfly.extension.undertow.logging.UndertowLogger;
+
+/**
+ * Binary format of the files written by {@link DiskBasedModularPersistentSessionManager}.
+ * <p>
+ * A file consists of a header, identifying a snapshot, followed by a sequence of records, each prefixed by its length and checksum.
+ * A snapshot contains a record per session, while a journal contains the records of the changes made to the sessions of its snapshot.
+ * Records are written and read one at a time, so neither requires all sessions of a deployment to be serialized up front.
+ * A truncated or corrupt record, e.g. left by a crash during a write, ends the sequence.
+ * </p>
+ */
+final class PersistentSessionRecords {
+
+    /** Identifies the absence of a snapshot, or a snapshot in the legacy format */
+    static final long NO_SNAPSHOT = 0;
+
+    private static final int MAGIC = 0x57465053;
+    private static final byte VERSION = 1;
+    static final int HEADER_LENGTH = Integer.BYTES + Byte.BYTES + Long.BYTES;
+    private static final int RECORD_HEADER_LENGTH = Integer.BYTES + Integer.BYTES;
+
+    private static final byte SESSION = 1;
+    private static final byte SESSION_REMOVED = 2;
+    private static final byte SESSION_RENAMED = 3;
+
+    private static final byte CREATED = 0x1;
+    private static final int REMOVED_ATTRIBUTE = -1;
+
+    private PersistentSessionRecords() {
+    }
+
+    /**
+     * Reads the header of a persistent session file.
+     * @param input a stream that supports mark/reset
+     * @return the snapshot identifier, or null if the stream does not start with a header, in which case the stream is reset.
+     * @throws IOException if the header could not be read, or if the file version is not supported
+     */
+    static Long readHeader(InputStream input) throws IOException {
+        input.mark(HEADER_LENGTH);
+        DataInputStream data = new DataInputStream(input);
+        try {
+            if (data.readInt() == MAGIC) {
+                byte version = data.readByte();
+                if (version != VERSION) {
+                    throw UndertowLogger.ROOT_LOGGER.unsupportedPersistentSessionFileVersion(version);
+                }
+                return data.readLong();
+            }
+        } catch (EOFException e) {
+            // Too short to contain a header
+        }
+        input.reset();
+        return null;
+    }
+
+    /**
+     * Applies the records read from the specified stream to the specified sessions.
+     * @param input a stream positioned after the header
+     * @param limit the maximum number of bytes to read, i.e. the remaining length of the file
+     * @param expiration sessions expiring at or before this time are not retained
+     * @param sessions the sessions to which records are applied
+     * @return the number of bytes consumed by complete and intact records
+     * @throws IOException if the stream could not be read
+     */
+    static long read(InputStream input, long limit, long expiration, Map<String, SessionEntry> sessions) throws IOException {
+        DataInputStream data = new DataInputStream(input);
+        CRC32 checksum = new CRC32();
+        long position = 0;
+        while (position + RECORD_HEADER_LENGTH <= limit) {
+            int length = data.readInt();
+            int crc = data.readInt();
+            if ((length <= 0) || (position + RECORD_HEADER_LENGTH + length > limit)) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            try {
+                data.readFully(payload);
+            } catch (EOFException e) {
+                break;
+            }
+            checksum.reset();
+            checksum.update(payload, 0, length);
+            if ((int) checksum.getValue() != crc) {
+                break;
+            }
+            apply(new DataInputStream(new ByteArrayInputStream(payload)), expiration, sessions);
+            position += RECORD_HEADER_LENGTH + length;
+        }
+        return position;
+    }
+
+    private static void apply(DataInputStream input, long expiration, Map<String, SessionEntry> sessions) throws IOException {
+        byte type = input.readByte();
+        switch (type) {
+            case SESSION: {
+                boolean created = (input.readByte() & CREATED) != 0;
+                String id = input.readUTF();
+                long expiry = input.readLong();
+                SessionEntry existing = created ? null : sessions.get(id);
+                if (!created && (existing == null)) {
+                    // Changes to a session that is no longer persistent, e.g. that already expired
+                    return;
+                }
+                Map<String, byte[]> attributes = created ? new HashMap<>() : existing.getData();
+                int count = input.readInt();
+                for (int i = 0; i < count; ++i) {
+                    String name = input.readUTF();
+                    int length = input.readInt();
+                    if (length == REMOVED_ATTRIBUTE) {
+                        attributes.remove(name);
+                    } else {
+                        byte[] value = new byte[length];
+                        input.readFully(value);
+                        attributes.put(name, value);
+                    }
+                }
+                if (expiry > expiration) {
+                    sessions.put(id, new SessionEntry(new Date(expiry), attributes));
+                } else {
+                    sessions.remove(id);
+                }
+                break;
+            }
+            case SESSION_REMOVED: {
+                sessions.remove(input.readUTF());
+                break;
+            }
+            case SESSION_RENAMED: {
+                String oldId = input.readUTF();
+                String newId = input.readUTF();
+                SessionEntry entry = sessions.remove(oldId);
+                if (entry != null) {
+                    sessions.put(newId, entry);
+                }
+                break;
+            }
+            default: {
+                throw UndertowLogger.ROOT_LOGGER.invalidPersistentSessionRecordType(type);
+            }
+        }
+    }
+
+    /**
+     * Writes records to a persistent session file.
+     * Each record is buffered in full before it is written to the target stream, preceded by its length and checksum.
+     */
+    static class Writer {
+        private final DataOutputStream output;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final CRC32 checksum = new CRC32();
+        private final DataOutputStream record = new DataOutputStream(new CheckedOutputStream(this.buffer, this.checksum));
+
+        Writer(OutputStream output) {
+            this.output = new DataOutputStream(output);
+        }
+
+        void writeHeader(long snapshotId) throws IOException {
+            this.output.writeInt(MAGIC);
+            this.output.writeByte(VERSION);
+            this.output.writeLong(snapshotId);
+        }
+
+        /**
+         * Writes a session record.
+         * @param id a session identifier
+         * @param created indicates whether the specified attributes replace any previous state of the session, or are changes to it
+         * @param expiry the expiration time of the session
+         * @param attributes the serialized session attributes, where a null value indicates a removed attribute
+         * @throws IOException if the record could not be written
+         */
+        void writeSession(String id, boolean created, long expiry, Map<String, byte[]> attributes) throws IOException {
+            this.record.writeByte(SESSION);
+            this.record.writeByte(created ? CREATED : 0);
+            this.record.writeUTF(id);
+            this.record.writeLong(expiry);
+            this.record.writeInt(attributes.size());
+            for (Map.Entry<String, byte[]> attribute : attributes.entrySet()) {
+                this.record.writeUTF(attribute.getKey());
+                byte[] value = attribute.getValue();
+                if (value != null) {
+                    this.record.writeInt(value.length);
+                    this.record.write(value);
+                } else {
+                    this.record.writeInt(REMOVED_ATTRIBUTE);
+                }
+            }
+            this.writeRecord();
+        }
+
+        void writeSessionRemoved(String id) throws IOException {
+            this.record.writeByte(SESSION_REMOVED);
+            this.record.writeUTF(id);
+            this.writeRecord();
+        }
+
+        void writeSessionRenamed(String oldId, String newId) throws IOException {
+            this.record.writeByte(SESSION_RENAMED);
+            this.record.writeUTF(oldId);
+            this.record.writeUTF(newId);
+            this.writeRecord();
+        }
+
+        void flush() throws IOException {
+            this.output.flush();
+        }
+
+        private void writeRecord() throws IOException {
+            this.output.writeInt(this.buffer.size());
+            this.output.writeInt((int) this.checksum.getValue());
+            this.buffer.writeTo(this.output);
+            this.buffer.reset();
+            this.checksum.reset();
+        }
+    }
+}
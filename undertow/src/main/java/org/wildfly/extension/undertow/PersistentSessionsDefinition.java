@@ -19,8 +19,11 @@ import org.jboss.as.controller.RestartParentResourceRemoveHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.as.server.Services;
+import org.jboss.as.version.Stability;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.modules.ModuleLoader;
@@ -52,7 +55,17 @@ class PersistentSessionsDefinition extends PersistentResourceDefinition {
                     .setAllowExpression(true)
                     .build();
 
-    static final Collection<AttributeDefinition> ATTRIBUTES = List.of(PATH, RELATIVE_TO);
+    protected static final SimpleAttributeDefinition CHECKPOINT_INTERVAL =
+            new SimpleAttributeDefinitionBuilder(Constants.CHECKPOINT_INTERVAL, ModelType.INT, true)
+                    .setRestartAllServices()
+                    .setAllowExpression(true)
+                    .setDefaultValue(ModelNode.ZERO)
+                    .setValidator(new IntRangeValidator(0, true, true))
+                    .setMeasurementUnit(MeasurementUnit.SECONDS)
+                    .setStability(Stability.PREVIEW)
+                    .build();
+
+    static final Collection<AttributeDefinition> ATTRIBUTES = List.of(PATH, RELATIVE_TO, CHECKPOINT_INTERVAL);
 
     PersistentSessionsDefinition() {
         super(new SimpleResourceDefinition.Parameters(PATH_ELEMENT, UndertowExtension.getResolver(PATH_ELEMENT.getKeyValuePair()))
@@ -105,8 +118,9 @@ class PersistentSessionsDefinition extends PersistentResourceDefinition {
                     final String path = pathValue.asString();
                     final ModelNode relativeToValue = RELATIVE_TO.resolveModelAttribute(context, model);
                     final String relativeTo = relativeToValue.isDefined() ? relativeToValue.asString() : null;
+                    final int checkpointInterval = CHECKPOINT_INTERVAL.resolveModelAttribute(context, model).asInt();
                     final Supplier<PathManager> pmSupplier = sb.requires(PathManager.SERVICE_DESCRIPTOR);
-                    sb.setInstance(new DiskBasedModularPersistentSessionManager(sConsumer, mlSupplier, pmSupplier, path, relativeTo));
+                    sb.setInstance(new DiskBasedModularPersistentSessionManager(sConsumer, mlSupplier, pmSupplier, path, relativeTo, checkpointInterval));
                 } else {
                     sb.setInstance(new InMemoryModularPersistentSessionManager(sConsumer, mlSupplier));
                 }
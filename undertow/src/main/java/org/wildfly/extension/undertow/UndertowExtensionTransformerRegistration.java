@@ -67,8 +67,13 @@ public class UndertowExtensionTransformerRegistration implements ExtensionTransf
                 .addRejectCheck(RejectAttributeChecker.DEFINED, AjpListenerResourceDefinition.ALLOWED_REQUEST_ATTRIBUTES_PATTERN)
                 .end();
 
+                final ResourceTransformationDescriptionBuilder servletContainer = subsystem.addChildResource(ServletContainerDefinition.PATH_ELEMENT);
+                servletContainer.addChildResource(PersistentSessionsDefinition.PATH_ELEMENT).getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, PersistentSessionsDefinition.CHECKPOINT_INTERVAL)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, PersistentSessionsDefinition.CHECKPOINT_INTERVAL)
+                .end();
+
                 if (UndertowSubsystemModel.VERSION_13_0_0.requiresTransformation(version)) {
-                    final ResourceTransformationDescriptionBuilder servletContainer = subsystem.addChildResource(ServletContainerDefinition.PATH_ELEMENT);
                     servletContainer.getAttributeBuilder()
                         .setDiscard(DiscardAttributeChecker.UNDEFINED, ServletContainerDefinition.ORPHAN_SESSION_ALLOWED)
                         .addRejectCheck(RejectAttributeChecker.DEFINED, ServletContainerDefinition.ORPHAN_SESSION_ALLOWED)
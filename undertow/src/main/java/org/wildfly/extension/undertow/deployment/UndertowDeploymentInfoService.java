@@ -19,6 +19,7 @@ import io.undertow.server.handlers.resource.CachingResourceManager;
 import io.undertow.server.handlers.resource.FileResourceManager;
 import io.undertow.server.handlers.resource.ResourceManager;
 import io.undertow.server.session.SecureRandomSessionIdGenerator;
+import io.undertow.server.session.SessionListener;
 import io.undertow.servlet.ServletExtension;
 import io.undertow.servlet.Servlets;
 import io.undertow.servlet.api.AuthMethodConfig;
@@ -97,6 +98,7 @@ import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.jboss.vfs.VirtualFile;
 import org.wildfly.extension.requestcontroller.ControlPoint;
+import org.wildfly.extension.undertow.AbstractPersistentSessionManager;
 import org.wildfly.extension.undertow.Host;
 import org.wildfly.extension.undertow.JSPConfig;
 import org.wildfly.extension.undertow.ServletContainerService;
@@ -535,6 +537,12 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
 
             if (servletContainer.getSessionPersistenceManager() != null) {
                 d.setSessionPersistenceManager(servletContainer.getSessionPersistenceManager());
+                if (servletContainer.getSessionPersistenceManager() instanceof AbstractPersistentSessionManager) {
+                    SessionListener listener = ((AbstractPersistentSessionManager) servletContainer.getSessionPersistenceManager()).getSessionListener(deploymentName);
+                    if (listener != null) {
+                        d.addSessionListener(listener);
+                    }
+                }
             }
             d.setOrphanSessionAllowed(servletContainer.isOrphanSessionAllowed());
 
@@ -429,4 +429,18 @@ public interface UndertowLogger extends BasicLogger {
     @Message(id = 111, value = "The annotation: '%s' will have no effect on Servlet: '%s'")
     void badAnnotationOnServlet(String annotation, String servlet);
 
+    @LogMessage(level = WARN)
+    @Message(id = 112, value = "Failed to checkpoint persistent sessions of deployment %s")
+    void failedToCheckpointPersistentSessions(String deploymentName, @Cause Throwable cause);
+
+    @Message(id = 113, value = "Unsupported persistent session file version %d")
+    IOException unsupportedPersistentSessionFileVersion(int version);
+
+    @Message(id = 114, value = "Invalid persistent session record type %d")
+    IOException invalidPersistentSessionRecordType(int type);
+
+    @LogMessage(level = WARN)
+    @Message(id = 115, value = "Failed to restore attribute %s of persistent session %s")
+    void failedToRestoreSessionAttribute(String attributeName, String sessionID, @Cause Exception e);
+
 }
@@ -0,0 +1,32 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow.session;
+
+import io.undertow.server.session.SessionManagerStatistics;
+
+/**
+ * Statistics of a distributable session manager, exposed via the management model of a deployment in addition to those of {@link SessionManagerStatistics}.
+ */
+public interface DistributableSessionStatistics extends SessionManagerStatistics {
+
+    /**
+     * Returns the mean duration between the completion of a request and the commit of its session, in milliseconds.
+     * @return a number of milliseconds, or 0 if sessions are committed synchronously
+     */
+    long getMeanCommitLag();
+
+    /**
+     * Returns the maximum duration between the completion of a request and the commit of its session, in milliseconds.
+     * @return a number of milliseconds, or 0 if sessions are committed synchronously
+     */
+    long getMaxCommitLag();
+
+    /**
+     * Returns the number of completed requests whose session is not yet committed.
+     * @return a number of commits, or 0 if sessions are committed synchronously
+     */
+    long getPendingCommitCount();
+}
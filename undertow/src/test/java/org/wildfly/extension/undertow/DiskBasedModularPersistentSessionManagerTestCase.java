@@ -0,0 +1,220 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import io.undertow.server.session.Session;
+import io.undertow.server.session.SessionListener;
+import io.undertow.server.session.SessionListener.SessionDestroyedReason;
+import io.undertow.servlet.api.SessionPersistenceManager.PersistentSession;
+import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.modules.Module;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link DiskBasedModularPersistentSessionManager} and {@link PersistentSessionJournal}.
+ * Each test simulates an unclean restart by discarding a manager without persisting its sessions.
+ */
+public class DiskBasedModularPersistentSessionManagerTestCase {
+    private static final String DEPLOYMENT = "test.war";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final PathManager pathManager = mock(PathManager.class);
+    private DiskBasedModularPersistentSessionManager manager;
+
+    @Before
+    public void init() throws StartException {
+        when(this.pathManager.resolveRelativePathEntry(any(), any())).thenReturn(this.folder.getRoot().getAbsolutePath());
+        this.manager = this.restart();
+    }
+
+    @After
+    public void destroy() {
+        this.manager.stop(mock(StopContext.class));
+    }
+
+    @Test
+    public void roundTrip() throws IOException, StartException {
+        PersistentSessionJournal journal = this.journal();
+        Session session = session("a");
+        journal.sessionCreated(session, null);
+        journal.attributeAdded(session, "foo", "1");
+        journal.attributeAdded(session, "bar", "2");
+        journal.checkpoint();
+
+        journal.attributeUpdated(session, "foo", "3", "1");
+        journal.attributeRemoved(session, "bar", "2");
+        journal.checkpoint();
+
+        this.manager = this.restart();
+        Map<String, PersistentSession> sessions = this.manager.loadSessionAttributes(DEPLOYMENT, null);
+
+        assertNotNull(sessions);
+        assertEquals(1, sessions.size());
+        assertEquals(Map.of("foo", "3"), sessions.get("a").getSessionData());
+    }
+
+    @Test
+    public void tornTail() throws IOException, StartException {
+        PersistentSessionJournal journal = this.journal();
+        Session session = session("a");
+        journal.sessionCreated(session, null);
+        journal.attributeAdded(session, "foo", "1");
+        journal.checkpoint();
+
+        File journalFile = this.manager.getJournalFile(DEPLOYMENT);
+        long length = journalFile.length();
+
+        journal.attributeUpdated(session, "foo", "2", "1");
+        journal.checkpoint();
+
+        // Simulate a crash in the middle of writing the second checkpoint
+        try (RandomAccessFile file = new RandomAccessFile(journalFile, "rw")) {
+            file.setLength(length + (file.length() - length) / 2);
+        }
+
+        this.manager = this.restart();
+        journal = this.journal();
+        Map<String, PersistentSession> sessions = this.manager.loadSessionAttributes(DEPLOYMENT, null);
+
+        assertNotNull(sessions);
+        assertEquals(Map.of("foo", "1"), sessions.get("a").getSessionData());
+
+        // Subsequent checkpoints must discard the torn record
+        session = session("a");
+        journal.sessionCreated(session, null);
+        journal.attributeUpdated(session, "foo", "4", "1");
+        journal.checkpoint();
+
+        this.manager = this.restart();
+        sessions = this.manager.loadSessionAttributes(DEPLOYMENT, null);
+
+        assertNotNull(sessions);
+        assertEquals(Map.of("foo", "4"), sessions.get("a").getSessionData());
+    }
+
+    @Test
+    public void compaction() throws IOException, StartException {
+        PersistentSessionJournal journal = this.journal();
+        Session session = session("a");
+        journal.sessionCreated(session, null);
+        // Large enough to trigger compaction of the journal into a new snapshot
+        journal.attributeAdded(session, "foo", new byte[2 << 20]);
+        journal.checkpoint();
+
+        File snapshotFile = this.manager.getSnapshotFile(DEPLOYMENT);
+        assertTrue(snapshotFile.length() > (2 << 20));
+
+        journal.attributeAdded(session, "bar", "1");
+        journal.checkpoint();
+
+        // Journal now belongs to the compacted snapshot
+        assertTrue(this.manager.getJournalFile(DEPLOYMENT).length() < (1 << 20));
+
+        this.manager = this.restart();
+        Map<String, PersistentSession> sessions = this.manager.loadSessionAttributes(DEPLOYMENT, null);
+
+        assertNotNull(sessions);
+        Map<String, Object> attributes = sessions.get("a").getSessionData();
+        assertEquals(2, attributes.size());
+        assertEquals(2 << 20, ((byte[]) attributes.get("foo")).length);
+        assertEquals("1", attributes.get("bar"));
+    }
+
+    @Test
+    public void removalAfterRestore() throws IOException, StartException {
+        PersistentSessionJournal journal = this.journal();
+        Session session = session("a");
+        journal.sessionCreated(session, null);
+        journal.attributeAdded(session, "foo", "1");
+        journal.checkpoint();
+
+        this.manager = this.restart();
+        journal = this.journal();
+        Map<String, PersistentSession> sessions = this.manager.loadSessionAttributes(DEPLOYMENT, null);
+
+        assertNotNull(sessions);
+        assertTrue(sessions.containsKey("a"));
+
+        // Restored session is destroyed before any subsequent checkpoint of its state
+        session = session("a");
+        journal.sessionCreated(session, null);
+        journal.sessionDestroyed(session, null, SessionDestroyedReason.INVALIDATED);
+        journal.checkpoint();
+
+        this.manager = this.restart();
+        sessions = this.manager.loadSessionAttributes(DEPLOYMENT, null);
+
+        assertNotNull(sessions);
+        assertFalse(sessions.containsKey("a"));
+    }
+
+    @Test
+    public void serializedOnChange() throws IOException, StartException {
+        PersistentSessionJournal journal = this.journal();
+        Session session = session("a");
+        journal.sessionCreated(session, null);
+        ArrayList<String> list = new ArrayList<>(List.of("1"));
+        journal.attributeAdded(session, "foo", list);
+        journal.attributeAdded(session, "bar", "1");
+        // Mutations made after the attribute was set are not visible to the checkpoint
+        list.add("2");
+        journal.checkpoint();
+
+        // Value that cannot be serialized does not replace the persisted value
+        journal.attributeUpdated(session, "bar", new Object(), "1");
+        journal.checkpoint();
+
+        this.manager = this.restart();
+        Map<String, PersistentSession> sessions = this.manager.loadSessionAttributes(DEPLOYMENT, null);
+
+        assertNotNull(sessions);
+        assertEquals(Map.of("foo", List.of("1"), "bar", "1"), sessions.get("a").getSessionData());
+    }
+
+    private PersistentSessionJournal journal() {
+        SessionListener listener = this.manager.getSessionListener(DEPLOYMENT);
+        assertNotNull(listener);
+        return (PersistentSessionJournal) listener;
+    }
+
+    private DiskBasedModularPersistentSessionManager restart() throws StartException {
+        if (this.manager != null) {
+            // Discards the manager without persisting its sessions, as would an unclean shutdown
+            this.manager.stop(mock(StopContext.class));
+        }
+        // Checkpoints are triggered explicitly
+        DiskBasedModularPersistentSessionManager manager = new DiskBasedModularPersistentSessionManager(value -> {}, Module::getBootModuleLoader, () -> this.pathManager, "sessions", null, Integer.MAX_VALUE);
+        manager.start(mock(StartContext.class));
+        return manager;
+    }
+
+    private static Session session(String id) {
+        Session session = mock(Session.class);
+        when(session.getId()).thenReturn(id);
+        when(session.getLastAccessedTime()).thenReturn(System.currentTimeMillis());
+        when(session.getMaxInactiveInterval()).thenReturn(1800);
+        return session;
+    }
+}